@@ -18,23 +18,39 @@ package com.ritense.audit.autoconfigure;
 
 import com.ritense.audit.domain.AuditRecord;
 import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.AuditRecordPartitionInterval;
 import com.ritense.audit.domain.listener.AuditEventListener;
 import com.ritense.audit.domain.listener.impl.AuditEventListenerImpl;
+import com.ritense.audit.repository.AuditRecordBatchWriter;
 import com.ritense.audit.repository.AuditRecordRepository;
+import com.ritense.audit.repository.AuditRecordRetentionRepository;
+import com.ritense.audit.repository.AuditRecordStreamReader;
+import com.ritense.audit.repository.impl.MySqlAuditRecordBatchWriter;
 import com.ritense.audit.repository.impl.MySqlAuditRecordRepository;
+import com.ritense.audit.repository.impl.MySqlAuditRecordRetentionRepository;
+import com.ritense.audit.repository.impl.MySqlAuditRecordStreamReader;
+import com.ritense.audit.repository.impl.PostgresAuditRecordBatchWriter;
 import com.ritense.audit.repository.impl.PostgresAuditRecordRepository;
+import com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository;
+import com.ritense.audit.repository.impl.PostgresAuditRecordStreamReader;
 import com.ritense.audit.service.AuditEventProcessor;
+import com.ritense.audit.service.AuditPartitionService;
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditSearchService;
 import com.ritense.audit.service.AuditService;
 import com.ritense.audit.service.impl.AuditEventProcessorImpl;
+import com.ritense.audit.service.impl.AuditPartitionServiceImpl;
 import com.ritense.audit.service.impl.AuditRetentionServiceImpl;
 import com.ritense.audit.service.impl.AuditSearchServiceImpl;
 import com.ritense.audit.service.impl.AuditServiceImpl;
+import com.ritense.audit.service.impl.WriteBehindAuditEventProcessor;
 import com.ritense.authorization.AuthorizationService;
 import com.ritense.document.service.DocumentService;
 import com.ritense.valtimo.contract.database.QueryDialectHelper;
 import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.TimeZone;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -43,12 +59,42 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @AutoConfiguration
 @EnableJpaRepositories(basePackages = "com.ritense.audit.repository.impl")
 @EntityScan("com.ritense.audit.domain")
 public class AuditAutoConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean(AuditEventProcessor.class)
+    @ConditionalOnProperty(prefix = "audit.record.write-behind", name = "enabled", havingValue = "true")
+    public AuditEventProcessor writeBehindAuditEventProcessor(
+        AuditRecordBatchWriter auditRecordBatchWriter,
+        PlatformTransactionManager transactionManager,
+        @Value("${audit.record.write-behind.queue-capacity:10000}") int queueCapacity,
+        @Value("${audit.record.write-behind.flush-size:500}") int flushSize,
+        @Value("${audit.record.write-behind.flush-interval:PT1S}") Duration flushInterval,
+        @Value("${audit.record.write-behind.offer-timeout:PT0.1S}") Duration offerTimeout,
+        @Value("${audit.record.write-behind.retry-interval:PT1S}") Duration retryInterval,
+        @Value("${audit.record.write-behind.max-retry-interval:PT1M}") Duration maxRetryInterval,
+        @Value("${audit.record.write-behind.shutdown-timeout:PT30S}") Duration shutdownTimeout
+    ) {
+        return new WriteBehindAuditEventProcessor(
+            auditRecordBatchWriter,
+            transactionManager,
+            queueCapacity,
+            flushSize,
+            flushInterval,
+            offerTimeout,
+            retryInterval,
+            maxRetryInterval,
+            shutdownTimeout
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean(AuditEventProcessor.class)
     public AuditEventProcessor auditEventProcessor(AuditRecordRepository<AuditRecord> auditRecordRepository) {
@@ -60,9 +106,15 @@ public class AuditAutoConfiguration {
     public AuditService auditService(
         AuditRecordRepository<AuditRecord> auditRecordRepository,
         AuthorizationService authorizationService,
-        DocumentService documentService
+        DocumentService documentService,
+        AuditRecordStreamReader auditRecordStreamReader
     ) {
-        return new AuditServiceImpl(auditRecordRepository, authorizationService, documentService);
+        return new AuditServiceImpl(
+            auditRecordRepository,
+            authorizationService,
+            documentService,
+            auditRecordStreamReader
+        );
     }
 
     @Bean
@@ -70,9 +122,42 @@ public class AuditAutoConfiguration {
     @ConditionalOnProperty(prefix = "scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
     public AuditRetentionService auditRetentionService(
         AuditService auditService,
-        @Value("${audit.record.retention:15}") long retentionInDays
+        @Value("${audit.record.retention:15}") long retentionInDays,
+        AuditRecordRetentionRepository auditRecordRetentionRepository,
+        ObjectProvider<AuditPartitionService> auditPartitionService,
+        PlatformTransactionManager transactionManager,
+        @Value("${audit.record.retention-chunk-size:10000}") int chunkSize,
+        @Value("${audit.record.retention-chunk-pause:PT0.1S}") Duration chunkPause
     ) {
-        return new AuditRetentionServiceImpl(auditService, retentionInDays);
+        return new AuditRetentionServiceImpl(
+            auditService,
+            retentionInDays,
+            auditRecordRetentionRepository,
+            auditPartitionService.getIfAvailable(),
+            new TransactionTemplate(transactionManager),
+            chunkSize,
+            chunkPause
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditPartitionService.class)
+    @ConditionalOnProperty(prefix = "audit.record.partitioning", name = "enabled", havingValue = "true")
+    public AuditPartitionService auditPartitionService(
+        AuditRecordRetentionRepository auditRecordRetentionRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${audit.record.partitioning.interval:DAY}") AuditRecordPartitionInterval interval,
+        @Value("${audit.record.partitioning.premake:7}") int premake
+    ) {
+        if (!(auditRecordRetentionRepository instanceof PostgresAuditRecordRetentionRepository postgresRepository)) {
+            throw new IllegalStateException("Audit record partitioning is only supported on PostgreSQL");
+        }
+        return new AuditPartitionServiceImpl(
+            postgresRepository,
+            new TransactionTemplate(transactionManager),
+            interval,
+            premake
+        );
     }
 
     @Bean
@@ -91,6 +176,66 @@ public class AuditAutoConfiguration {
         return new AuditEventListenerImpl(auditEventProcessor);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordBatchWriter.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
+    public AuditRecordBatchWriter postgresAuditRecordBatchWriter(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new PostgresAuditRecordBatchWriter(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordBatchWriter.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "mysql", matchIfMissing = true)
+    public AuditRecordBatchWriter mySqlAuditRecordBatchWriter(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new MySqlAuditRecordBatchWriter(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordStreamReader.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
+    public AuditRecordStreamReader postgresAuditRecordStreamReader(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new PostgresAuditRecordStreamReader(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordStreamReader.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "mysql", matchIfMissing = true)
+    public AuditRecordStreamReader mySqlAuditRecordStreamReader(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new MySqlAuditRecordStreamReader(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordRetentionRepository.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
+    public AuditRecordRetentionRepository postgresAuditRecordRetentionRepository(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new PostgresAuditRecordRetentionRepository(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditRecordRetentionRepository.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "mysql", matchIfMissing = true)
+    public AuditRecordRetentionRepository mySqlAuditRecordRetentionRepository(
+        JdbcTemplate jdbcTemplate,
+        @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:#{null}}") TimeZone jdbcTimeZone
+    ) {
+        return new MySqlAuditRecordRetentionRepository(jdbcTemplate, jdbcTimeZone);
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
     public JpaRepositoryFactoryBean<AuditRecordRepository<AuditRecord>, AuditRecord, AuditRecordId> postgresAuditRecordRepository() {
@@ -18,9 +18,12 @@ package com.ritense.audit.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.ritense.valtimo.contract.audit.AuditEvent;
+import com.ritense.valtimo.contract.audit.ProcessIdentity;
 import com.ritense.valtimo.contract.audit.view.AuditView;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
+import io.hypersistence.utils.hibernate.type.util.Configuration;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.EmbeddedId;
@@ -67,6 +70,9 @@ public class AuditRecord implements Persistable<AuditRecordId> {
     @Column(name = "classname", updatable = false)
     private String className;
 
+    @Column(name = "process_instance_id", updatable = false)
+    private String processInstanceId;
+
     public AuditRecord(
         AuditRecordId auditRecordId,
         MetaData metaData,
@@ -79,6 +85,7 @@ public class AuditRecord implements Persistable<AuditRecordId> {
         this.createdOn = createdOn;
         this.auditEvent = auditEvent;
         this.documentId = documentId;
+        this.processInstanceId = processInstanceId(auditEvent);
     }
 
     private AuditRecord() {
@@ -146,6 +153,27 @@ public class AuditRecord implements Persistable<AuditRecordId> {
         return className;
     }
 
+    @JsonIgnore
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    /**
+     * The process instance id as it is stored in the audit event JSON, so the column matches the JSON queries.
+     */
+    private static String processInstanceId(AuditEvent auditEvent) {
+        if (auditEvent == null) {
+            return null;
+        }
+        if (auditEvent instanceof ProcessIdentity processIdentity) {
+            return processIdentity.getProcessInstanceId();
+        }
+        final JsonNode value = Configuration.INSTANCE.getObjectMapperWrapper().getObjectMapper()
+            .valueToTree(auditEvent)
+            .get("processInstanceId");
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
     public static AuditRecordBuilder builder() {
         return new AuditRecordBuilder();
     }
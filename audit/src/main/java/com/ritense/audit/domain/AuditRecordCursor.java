@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.domain;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import jakarta.persistence.criteria.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Position of an audit record in the audit log, which is ordered from the most recent to the oldest audit record.
+ *
+ * <p>Unlike an offset, the position stays valid while new audit records are added. It is passed to clients as an opaque
+ * token.</p>
+ */
+public record AuditRecordCursor(LocalDateTime occurredOn, UUID id) {
+
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, "metaData.occurredOn", "auditRecordId.id");
+
+    private static final String SEPARATOR = "|";
+
+    public AuditRecordCursor {
+        assertArgumentNotNull(occurredOn, "occurredOn is required");
+        assertArgumentNotNull(id, "id is required");
+    }
+
+    public static AuditRecordCursor of(AuditRecord auditRecord) {
+        return new AuditRecordCursor(auditRecord.getMetaData().getOccurredOn(), auditRecord.getAuditRecordId().id());
+    }
+
+    public static AuditRecordCursor decode(String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            return new AuditRecordCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                UUID.fromString(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid audit record cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((occurredOn + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Matches the audit records that come after this position in the audit log.
+     */
+    public Specification<AuditRecord> after() {
+        return (root, query, cb) -> {
+            final Path<LocalDateTime> occurredOnPath = root.get("metaData").get("occurredOn");
+            final Path<UUID> idPath = root.get("auditRecordId").get("id");
+            return cb.or(
+                cb.lessThan(occurredOnPath, occurredOn),
+                cb.and(cb.equal(occurredOnPath, occurredOn), cb.lessThan(idPath, id))
+            );
+        };
+    }
+
+}
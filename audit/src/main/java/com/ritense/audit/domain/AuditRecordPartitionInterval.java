@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.domain;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The range of occurrence dates covered by one audit record partition.
+ */
+public enum AuditRecordPartitionInterval {
+
+    DAY("yyyyMMdd") {
+        @Override
+        public LocalDateTime start(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime start) {
+            return start.plusDays(1);
+        }
+    },
+    MONTH("yyyyMM") {
+        @Override
+        public LocalDateTime start(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    private final DateTimeFormatter nameFormatter;
+
+    AuditRecordPartitionInterval(String namePattern) {
+        this.nameFormatter = DateTimeFormatter.ofPattern(namePattern);
+    }
+
+    /**
+     * Returns the start of the interval that contains the date.
+     */
+    public abstract LocalDateTime start(LocalDateTime dateTime);
+
+    /**
+     * Returns the start of the interval after the interval that starts at {@code start}.
+     */
+    public abstract LocalDateTime next(LocalDateTime start);
+
+    public String partitionName(LocalDateTime start) {
+        return "audit_record_p" + nameFormatter.format(start);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.domain;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Properties of the audit event that are also stored in an indexed column of the audit record. Queries on these
+ * properties use the column instead of extracting the property from the JSON of every audit event.
+ */
+public enum ExtractedAuditProperty {
+
+    CLASS_NAME("className") {
+        @Override
+        Path<String> path(Root<AuditRecord> root) {
+            return root.get("className");
+        }
+    },
+    PROCESS_INSTANCE_ID("processInstanceId") {
+        @Override
+        Path<String> path(Root<AuditRecord> root) {
+            return root.get("processInstanceId");
+        }
+    },
+    USER("user") {
+        @Override
+        Path<String> path(Root<AuditRecord> root) {
+            return root.get("metaData").get("user");
+        }
+    };
+
+    private static final String JSON_PATH_PREFIX = "$.";
+
+    private final String key;
+
+    ExtractedAuditProperty(String key) {
+        this.key = key;
+    }
+
+    abstract Path<String> path(Root<AuditRecord> root);
+
+    /**
+     * Finds the property by its key in the audit event, for example "processInstanceId" or "$.processInstanceId".
+     */
+    public static Optional<ExtractedAuditProperty> fromKey(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        final String property = key.startsWith(JSON_PATH_PREFIX) ? key.substring(JSON_PATH_PREFIX.length()) : key;
+        return Arrays.stream(values())
+            .filter(extractedProperty -> extractedProperty.key.equals(property))
+            .findFirst();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Matches the audit records of which the property equals the value. Like the JSON query, a null value never
+     * matches.
+     */
+    public Specification<AuditRecord> hasValue(Object value) {
+        return (root, query, cb) -> value == null ? cb.disjunction() : cb.equal(path(root), value.toString());
+    }
+
+    /**
+     * Matches the audit records of which the property equals one of the values.
+     */
+    public Specification<AuditRecord> hasAnyValue(Collection<String> values) {
+        return (root, query, cb) -> values.isEmpty() ? cb.disjunction() : path(root).in(values);
+    }
+
+}
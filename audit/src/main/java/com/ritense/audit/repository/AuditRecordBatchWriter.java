@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import com.ritense.audit.domain.AuditRecord;
+import io.hypersistence.utils.hibernate.type.util.Configuration;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts audit records with JDBC batch inserts, bypassing the persistence context.
+ *
+ * <p>Values are bound the way Hibernate binds them for {@link AuditRecord}: the audit event is serialized with the
+ * same object mapper as the JSON column type, and timestamps are converted with the configured JDBC time zone.</p>
+ */
+public abstract class AuditRecordBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeZone jdbcTimeZone;
+
+    protected AuditRecordBatchWriter(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTimeZone = jdbcTimeZone;
+    }
+
+    public void insertAll(List<AuditRecord> auditRecords) {
+        if (auditRecords.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql(), auditRecords, auditRecords.size(), this::bind);
+    }
+
+    protected abstract String insertSql();
+
+    protected abstract void setUuid(PreparedStatement statement, int index, UUID value) throws SQLException;
+
+    private void bind(PreparedStatement statement, AuditRecord auditRecord) throws SQLException {
+        setUuid(statement, 1, auditRecord.getId().id());
+        setTimestamp(statement, 2, auditRecord.getCreatedOn());
+        statement.setString(3, Configuration.INSTANCE.getObjectMapperWrapper().toString(auditRecord.getAuditEvent()));
+        setTimestamp(statement, 4, auditRecord.getMetaData().getOccurredOn());
+        statement.setString(5, auditRecord.getMetaData().getOrigin());
+        statement.setString(6, auditRecord.getMetaData().getUser());
+        setUuid(statement, 7, auditRecord.getDocumentId());
+        statement.setString(8, auditRecord.getProcessInstanceId());
+    }
+
+    private void setTimestamp(PreparedStatement statement, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            statement.setTimestamp(index, null);
+        } else if (jdbcTimeZone == null) {
+            statement.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            statement.setTimestamp(index, Timestamp.valueOf(value), Calendar.getInstance(jdbcTimeZone));
+        }
+    }
+
+}
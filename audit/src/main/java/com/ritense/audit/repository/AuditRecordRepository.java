@@ -24,11 +24,12 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
 @NoRepositoryBean
 public interface AuditRecordRepository<T extends AuditRecord>
-    extends JpaRepository<T, AuditRecordId> {
+    extends JpaRepository<T, AuditRecordId>, JpaSpecificationExecutor<T> {
 
     List<AuditRecord> findAuditRecordsByEvent(String className);
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.TimeZone;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deletes expired audit records in chunks, so retention never runs one long delete over the whole table.
+ */
+public abstract class AuditRecordRetentionRepository {
+
+    protected final JdbcTemplate jdbcTemplate;
+    private final TimeZone jdbcTimeZone;
+
+    protected AuditRecordRetentionRepository(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTimeZone = jdbcTimeZone;
+    }
+
+    /**
+     * Deletes at most {@code limit} audit records that were created before the date.
+     *
+     * @return the number of deleted audit records
+     */
+    public int deleteChunkBefore(LocalDateTime date, int limit) {
+        return jdbcTemplate.update(deleteChunkSql(), statement -> {
+            if (jdbcTimeZone == null) {
+                statement.setTimestamp(1, Timestamp.valueOf(date));
+            } else {
+                statement.setTimestamp(1, Timestamp.valueOf(date), Calendar.getInstance(jdbcTimeZone));
+            }
+            statement.setInt(2, limit);
+        });
+    }
+
+    protected abstract String deleteChunkSql();
+
+}
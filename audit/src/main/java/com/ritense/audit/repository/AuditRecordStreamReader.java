@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.MetaDataBuilder;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import io.hypersistence.utils.hibernate.type.util.Configuration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Reads audit records with a forward-only JDBC cursor, so any number of audit records can be exported in constant
+ * memory.
+ *
+ * <p>Every row is mapped to a detached {@link AuditRecord} and handed to the consumer before the next row is fetched.
+ * The records are never attached to a persistence context. Some drivers only stream the result inside a transaction,
+ * so callers should read within one.</p>
+ */
+public abstract class AuditRecordStreamReader {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeZone jdbcTimeZone;
+
+    protected AuditRecordStreamReader(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcTimeZone = jdbcTimeZone;
+    }
+
+    /**
+     * Reads the audit records of the document with one of the event types, in the order in which they occurred.
+     */
+    public void readByEventAndDocumentId(List<String> eventTypes, UUID documentId, Consumer<AuditRecord> consumer) {
+        if (eventTypes.isEmpty()) {
+            return;
+        }
+        final String placeholders = String.join(", ", Collections.nCopies(eventTypes.size(), "?"));
+        final String sql = selectByEventAndDocumentIdSql(placeholders);
+        jdbcTemplate.query(
+            connection -> prepareStatement(connection, sql, eventTypes, documentId),
+            (RowCallbackHandler) resultSet -> consumer.accept(toAuditRecord(resultSet))
+        );
+    }
+
+    /**
+     * Returns the query for the audit records of a document with one of the event types. The document id is the first
+     * parameter, followed by the event types.
+     */
+    protected abstract String selectByEventAndDocumentIdSql(String eventTypePlaceholders);
+
+    protected abstract int fetchSize();
+
+    protected abstract void setUuid(PreparedStatement statement, int index, UUID value) throws SQLException;
+
+    protected abstract UUID getUuid(ResultSet resultSet, String column) throws SQLException;
+
+    private PreparedStatement prepareStatement(
+        Connection connection,
+        String sql,
+        List<String> eventTypes,
+        UUID documentId
+    ) throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(
+            sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+        );
+        statement.setFetchSize(fetchSize());
+        setUuid(statement, 1, documentId);
+        for (int i = 0; i < eventTypes.size(); i++) {
+            statement.setString(i + 2, eventTypes.get(i));
+        }
+        return statement;
+    }
+
+    private AuditRecord toAuditRecord(ResultSet resultSet) throws SQLException {
+        final AuditEvent auditEvent = Configuration.INSTANCE.getObjectMapperWrapper()
+            .fromString(resultSet.getString("audit_event"), AuditEvent.class);
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.existingId(getUuid(resultSet, "audit_record_id")))
+            .metaData(new MetaDataBuilder()
+                .origin(resultSet.getString("origin"))
+                .occurredOn(getTimestamp(resultSet, "occurred_on"))
+                .user(resultSet.getString("user"))
+                .build())
+            .createdOn(getTimestamp(resultSet, "created_on"))
+            .auditEvent(auditEvent)
+            .documentId(getUuid(resultSet, "document_id"))
+            .build();
+    }
+
+    private LocalDateTime getTimestamp(ResultSet resultSet, String column) throws SQLException {
+        final Timestamp timestamp = jdbcTimeZone == null
+            ? resultSet.getTimestamp(column)
+            : resultSet.getTimestamp(column, Calendar.getInstance(jdbcTimeZone));
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository.impl;
+
+import com.ritense.audit.repository.AuditRecordBatchWriter;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.TimeZone;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class PostgresAuditRecordBatchWriter extends AuditRecordBatchWriter {
+
+    public PostgresAuditRecordBatchWriter(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        super(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Override
+    protected String insertSql() {
+        return "INSERT INTO audit_record "
+            + "(audit_record_id, created_on, audit_event, occurred_on, origin, \"user\", document_id, process_instance_id) "
+            + "VALUES (?, ?, CAST(? AS JSONB), ?, ?, ?, ?, ?)";
+    }
+
+    @Override
+    protected void setUuid(PreparedStatement statement, int index, UUID value) throws SQLException {
+        statement.setObject(index, value, Types.OTHER);
+    }
+
+}
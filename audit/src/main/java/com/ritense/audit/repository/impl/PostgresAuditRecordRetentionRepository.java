@@ -0,0 +1,231 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository.impl;
+
+import com.ritense.audit.domain.AuditRecordPartition;
+import com.ritense.audit.repository.AuditRecordRetentionRepository;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.List;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Deletes expired audit records and manages the range partitions of the audit record table on PostgreSQL.
+ *
+ * <p>The audit record table is partitioned by {@code occurred_on}. The existing table is never copied: it is attached
+ * as the first partition, covering everything before the partitioning boundary, and a default partition catches
+ * records for which no partition was created in time.</p>
+ */
+public class PostgresAuditRecordRetentionRepository extends AuditRecordRetentionRepository {
+
+    public static final String LEGACY_PARTITION = "audit_record_legacy";
+    public static final String DEFAULT_PARTITION = "audit_record_default";
+
+    private static final long PARTITION_LOCK_KEY = 0x617564697452L;
+    private static final String LEGACY_RANGE_CONSTRAINT = "audit_record_legacy_range";
+    private static final Pattern PARTITION_NAME = Pattern.compile("[a-z0-9_]+");
+    private static final Pattern PARTITION_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final DateTimeFormatter BOUND_FORMATTER = new DateTimeFormatterBuilder()
+        .appendPattern("yyyy-MM-dd HH:mm:ss")
+        .optionalStart()
+        .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+        .optionalEnd()
+        .toFormatter();
+    private static final List<String> PARENT_INDEXES = List.of(
+        "CREATE INDEX ix_audit_record_p_created_on ON audit_record (created_on)",
+        "CREATE INDEX ix_audit_record_p_occurred_on ON audit_record (occurred_on)",
+        "CREATE INDEX ix_audit_record_p_origin ON audit_record (origin)",
+        "CREATE INDEX ix_audit_record_p_user ON audit_record (\"user\")",
+        "CREATE INDEX ix_audit_record_p_document_id_classname ON audit_record (document_id, classname)",
+        "CREATE INDEX ix_audit_record_p_process_instance_id ON audit_record (process_instance_id, occurred_on)",
+        "CREATE INDEX ix_audit_record_p_classname_occurred_on ON audit_record (classname, occurred_on)",
+        "CREATE INDEX ix_audit_record_p_document_id_occurred_on ON audit_record (document_id, occurred_on)"
+    );
+
+    public PostgresAuditRecordRetentionRepository(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        super(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Override
+    protected String deleteChunkSql() {
+        return "DELETE FROM audit_record WHERE audit_record_id IN "
+            + "(SELECT audit_record_id FROM audit_record WHERE created_on < ? LIMIT ?)";
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('audit_record'))",
+            Boolean.class
+        ));
+    }
+
+    /**
+     * Returns the range partitions of the audit record table. The default partition is not included.
+     */
+    public List<AuditRecordPartition> findPartitions() {
+        return jdbcTemplate.query(
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('audit_record')",
+            (resultSet, rowNum) -> toPartition(resultSet.getString(1), resultSet.getString(2))
+        ).stream().filter(Objects::nonNull).toList();
+    }
+
+    public void createPartition(AuditRecordPartition partition) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + validName(partition.name())
+            + " PARTITION OF audit_record FOR VALUES FROM (" + literal(partition.from())
+            + ") TO (" + literal(partition.to()) + ")");
+    }
+
+    /**
+     * Creates the partition when the default partition already contains records for its range, and moves those records
+     * into it. The default partition is detached while the records are moved, so this must run in a transaction.
+     */
+    public void createPartitionFromDefault(AuditRecordPartition partition) {
+        final String range = " WHERE occurred_on >= " + literal(partition.from())
+            + " AND occurred_on < " + literal(partition.to());
+        final String columns = String.join(", ", jdbcTemplate.queryForList(
+            "SELECT quote_ident(column_name) FROM information_schema.columns WHERE table_schema = current_schema() "
+                + "AND table_name = 'audit_record' AND is_generated = 'NEVER' ORDER BY ordinal_position",
+            String.class
+        ));
+        jdbcTemplate.execute("ALTER TABLE audit_record DETACH PARTITION " + DEFAULT_PARTITION);
+        createPartition(partition);
+        jdbcTemplate.execute("INSERT INTO audit_record (" + columns + ") SELECT " + columns
+            + " FROM " + DEFAULT_PARTITION + range);
+        jdbcTemplate.execute("DELETE FROM " + DEFAULT_PARTITION + range);
+        jdbcTemplate.execute("ALTER TABLE audit_record ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+    }
+
+    public void dropPartition(AuditRecordPartition partition) {
+        final String name = validName(partition.name());
+        jdbcTemplate.execute("ALTER TABLE audit_record DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    /**
+     * Converts the audit record table into a table partitioned by {@code occurred_on}. The existing table becomes the
+     * partition for all records that occurred before the boundary.
+     *
+     * <p>The unique index and the range constraint that allow the existing table to be attached without a full table
+     * lock are created first. Only the final switch runs in a short transaction. Nodes that start at the same time are
+     * serialized with an advisory lock, and the conversion is skipped when the table is already partitioned.</p>
+     */
+    public void partitionTable(LocalDateTime boundary) {
+        final String bound = literal(boundary);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + PARTITION_LOCK_KEY + ")");
+                try {
+                    if (!isPartitioned(statement)) {
+                        prepareLegacyTable(statement, bound);
+                        switchToPartitionedTable(connection, statement, bound);
+                    }
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + PARTITION_LOCK_KEY + ")");
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private void prepareLegacyTable(Statement statement, String bound) throws SQLException {
+        statement.execute("CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ix_audit_record_id_occurred_on "
+            + "ON audit_record (audit_record_id, occurred_on)");
+        statement.execute("ALTER TABLE audit_record DROP CONSTRAINT IF EXISTS " + LEGACY_RANGE_CONSTRAINT);
+        statement.execute("ALTER TABLE audit_record ADD CONSTRAINT " + LEGACY_RANGE_CONSTRAINT
+            + " CHECK (occurred_on IS NOT NULL AND occurred_on < " + bound + ") NOT VALID");
+        statement.execute("ALTER TABLE audit_record VALIDATE CONSTRAINT " + LEGACY_RANGE_CONSTRAINT);
+    }
+
+    private void switchToPartitionedTable(
+        Connection connection,
+        Statement statement,
+        String bound
+    ) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            statement.execute("LOCK TABLE audit_record IN ACCESS EXCLUSIVE MODE");
+            statement.execute("ALTER TABLE audit_record RENAME TO " + LEGACY_PARTITION);
+            statement.execute("CREATE TABLE audit_record (LIKE " + LEGACY_PARTITION
+                + " INCLUDING DEFAULTS INCLUDING GENERATED) PARTITION BY RANGE (occurred_on)");
+            statement.execute("ALTER TABLE audit_record ADD CONSTRAINT audit_record_p_pk "
+                + "PRIMARY KEY (audit_record_id, occurred_on)");
+            for (String index : PARENT_INDEXES) {
+                statement.execute(index);
+            }
+            statement.execute("ALTER TABLE audit_record ATTACH PARTITION " + LEGACY_PARTITION
+                + " FOR VALUES FROM (MINVALUE) TO (" + bound + ")");
+            statement.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF audit_record DEFAULT");
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private boolean isPartitioned(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('audit_record'))"
+        )) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private static AuditRecordPartition toPartition(String name, String bound) {
+        final Matcher matcher = PARTITION_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new AuditRecordPartition(name, toDateTime(matcher.group(1)), toDateTime(matcher.group(2)));
+    }
+
+    private static LocalDateTime toDateTime(String value) {
+        if (value.equalsIgnoreCase("MINVALUE") || value.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(value.replace("'", ""), BOUND_FORMATTER);
+    }
+
+    private static String literal(LocalDateTime value) {
+        return "'" + BOUND_FORMATTER.format(value) + "'";
+    }
+
+    private static String validName(String name) {
+        if (!PARTITION_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid audit record partition name: " + name);
+        }
+        return name;
+    }
+
+}
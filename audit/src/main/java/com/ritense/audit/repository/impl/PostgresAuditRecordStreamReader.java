@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository.impl;
+
+import com.ritense.audit.repository.AuditRecordStreamReader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.TimeZone;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class PostgresAuditRecordStreamReader extends AuditRecordStreamReader {
+
+    private static final int FETCH_SIZE = 500;
+
+    public PostgresAuditRecordStreamReader(JdbcTemplate jdbcTemplate, TimeZone jdbcTimeZone) {
+        super(jdbcTemplate, jdbcTimeZone);
+    }
+
+    @Override
+    protected String selectByEventAndDocumentIdSql(String eventTypePlaceholders) {
+        return "SELECT audit_record_id, created_on, audit_event, occurred_on, origin, \"user\", document_id "
+            + "FROM audit_record WHERE document_id = ? AND classname IN (" + eventTypePlaceholders + ") "
+            + "ORDER BY occurred_on, audit_record_id";
+    }
+
+    /**
+     * The PostgreSQL driver only uses a cursor when auto-commit is disabled, so this requires a transaction.
+     */
+    @Override
+    protected int fetchSize() {
+        return FETCH_SIZE;
+    }
+
+    @Override
+    protected void setUuid(PreparedStatement statement, int index, UUID value) throws SQLException {
+        statement.setObject(index, value, Types.OTHER);
+    }
+
+    @Override
+    protected UUID getUuid(ResultSet resultSet, String column) throws SQLException {
+        return resultSet.getObject(column, UUID.class);
+    }
+
+}
@@ -17,11 +17,13 @@
 package com.ritense.audit.service;
 
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.audit.domain.AuditRecordId;
 import com.ritense.valtimo.contract.audit.AuditEvent;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -30,6 +32,26 @@ public interface AuditService {
 
     Page<AuditRecord> findByEventAndDocumentId(List<Class<? extends AuditEvent>> eventTypes, UUID documentId, Pageable pageable);
 
+    /**
+     * Finds the page of audit records that comes after the cursor, ordered from the most recent to the oldest audit
+     * record. Without a cursor the first page is returned.
+     */
+    AuditRecordCursorPage findByEventAndDocumentId(
+        List<Class<? extends AuditEvent>> eventTypes,
+        UUID documentId,
+        String cursor,
+        int size
+    );
+
+    /**
+     * Reads all audit records of the document in the order in which they occurred, without loading them into memory.
+     */
+    void readByEventAndDocumentId(
+        List<Class<? extends AuditEvent>> eventTypes,
+        UUID documentId,
+        Consumer<AuditRecord> consumer
+    );
+
     /**
      * Find audit record.
      *
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static java.time.LocalDateTime.now;
+
+import com.ritense.audit.domain.AuditRecordPartition;
+import com.ritense.audit.domain.AuditRecordPartitionInterval;
+import com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository;
+import com.ritense.audit.service.AuditPartitionService;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the audit record table partitioned by occurrence date on PostgreSQL.
+ *
+ * <p>The table is converted when the application is ready, after the database migrations have run. Partitions are
+ * created a number of intervals ahead, so new audit records normally never end up in the default partition. When they
+ * do, for instance after the job has not run for a while, they are moved into the partition that is created for their
+ * range. Retention drops whole partitions instead of deleting the records one by one.</p>
+ */
+public class AuditPartitionServiceImpl implements AuditPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionServiceImpl.class);
+
+    private final PostgresAuditRecordRetentionRepository auditRecordRetentionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditRecordPartitionInterval interval;
+    private final int premake;
+
+    public AuditPartitionServiceImpl(
+        PostgresAuditRecordRetentionRepository auditRecordRetentionRepository,
+        TransactionTemplate transactionTemplate,
+        AuditRecordPartitionInterval interval,
+        int premake
+    ) {
+        this.auditRecordRetentionRepository = auditRecordRetentionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.interval = interval;
+        this.premake = premake;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        partitionTable();
+        createPartitions();
+    }
+
+    @Override
+    public void partitionTable() {
+        if (auditRecordRetentionRepository.isPartitioned()) {
+            return;
+        }
+        final LocalDateTime boundary = interval.next(interval.next(interval.start(now())));
+        logger.info("Partitioning audit_record by occurred_on. Existing records are kept in partition {} until {}",
+            PostgresAuditRecordRetentionRepository.LEGACY_PARTITION, boundary);
+        auditRecordRetentionRepository.partitionTable(boundary);
+    }
+
+    @Override
+    @Scheduled(cron = "${scheduling.job.cron.createAuditRecordPartitions:0 0 * * * ?}")
+    @SchedulerLock(
+        name = "AuditPartitionService_createPartitions", lockAtLeastFor = "PT4S", lockAtMostFor = "PT10M"
+    )
+    public void createPartitions() {
+        if (!auditRecordRetentionRepository.isPartitioned()) {
+            return;
+        }
+        final LocalDateTime until = until();
+        LocalDateTime from = auditRecordRetentionRepository.findPartitions().stream()
+            .map(AuditRecordPartition::to)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElseGet(() -> interval.start(now()));
+        while (from.isBefore(until)) {
+            final AuditRecordPartition partition = new AuditRecordPartition(
+                interval.partitionName(from), from, interval.next(interval.start(from))
+            );
+            try {
+                transactionTemplate.executeWithoutResult(
+                    status -> auditRecordRetentionRepository.createPartition(partition)
+                );
+            } catch (DataIntegrityViolationException e) {
+                // The default partition already contains records for this range. They are moved, because the default
+                // partition is never dropped by retention. Any failure to do so is left to the caller.
+                logger.warn("Default audit record partition contains records for {}. Moving them to the new partition",
+                    partition.name());
+                transactionTemplate.executeWithoutResult(
+                    status -> auditRecordRetentionRepository.createPartitionFromDefault(partition)
+                );
+            }
+            logger.debug("Created audit record partition {} from {} to {}",
+                partition.name(), partition.from(), partition.to());
+            from = partition.to();
+        }
+    }
+
+    @Override
+    public int dropPartitionsBefore(LocalDateTime date) {
+        if (!auditRecordRetentionRepository.isPartitioned()) {
+            return 0;
+        }
+        final List<AuditRecordPartition> expired = auditRecordRetentionRepository.findPartitions().stream()
+            .filter(partition -> partition.to() != null && !partition.to().isAfter(date))
+            .toList();
+        for (AuditRecordPartition partition : expired) {
+            transactionTemplate.executeWithoutResult(status -> auditRecordRetentionRepository.dropPartition(partition));
+            logger.info("Dropped audit record partition {} with records until {}", partition.name(), partition.to());
+        }
+        return expired.size();
+    }
+
+    private LocalDateTime until() {
+        LocalDateTime until = interval.start(now());
+        for (int i = 0; i <= premake; i++) {
+            until = interval.next(until);
+        }
+        return until;
+    }
+
+}
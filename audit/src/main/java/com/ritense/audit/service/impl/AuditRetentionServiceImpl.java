@@ -18,19 +18,57 @@ package com.ritense.audit.service.impl;
 
 import static java.time.LocalDateTime.now;
 
+import com.ritense.audit.repository.AuditRecordRetentionRepository;
+import com.ritense.audit.service.AuditPartitionService;
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditService;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Removes audit records that are older than the retention period.
+ *
+ * <p>When a retention repository is configured, expired partitions are dropped first. The remaining expired records
+ * are deleted in chunks, each in its own short transaction, with a pause in between so retention does not hold long
+ * locks or compete with the application for the database.</p>
+ */
 public class AuditRetentionServiceImpl implements AuditRetentionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuditRetentionServiceImpl.class);
+
     private final AuditService auditService;
     private final long retention;
+    private final AuditRecordRetentionRepository auditRecordRetentionRepository;
+    private final AuditPartitionService auditPartitionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration chunkPause;
 
     public AuditRetentionServiceImpl(AuditService auditService, long retention) {
+        this(auditService, retention, null, null, null, 0, Duration.ZERO);
+    }
+
+    public AuditRetentionServiceImpl(
+        AuditService auditService,
+        long retention,
+        AuditRecordRetentionRepository auditRecordRetentionRepository,
+        AuditPartitionService auditPartitionService,
+        TransactionTemplate transactionTemplate,
+        int chunkSize,
+        Duration chunkPause
+    ) {
         this.auditService = auditService;
         this.retention = retention;
+        this.auditRecordRetentionRepository = auditRecordRetentionRepository;
+        this.auditPartitionService = auditPartitionService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
     }
 
     @Override
@@ -39,7 +77,40 @@ public class AuditRetentionServiceImpl implements AuditRetentionService {
         name = "AuditRetentionService_cleanup", lockAtLeastFor = "PT4S", lockAtMostFor = "PT60M"
     )
     public void cleanup() {
-        auditService.deleteAllBefore(now().minusDays(retention));
+        final LocalDateTime date = now().minusDays(retention);
+        if (auditRecordRetentionRepository == null) {
+            auditService.deleteAllBefore(date);
+            return;
+        }
+        if (auditPartitionService != null) {
+            auditPartitionService.dropPartitionsBefore(date);
+        }
+        deleteInChunks(date);
+    }
+
+    private void deleteInChunks(LocalDateTime date) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(
+                status -> auditRecordRetentionRepository.deleteChunkBefore(date, chunkSize)
+            );
+            total += deleted;
+        } while (deleted >= chunkSize && pause());
+        logger.debug("Deleted {} audit records created before {}", total, date);
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@
 package com.ritense.audit.service.impl;
 
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.ExtractedAuditProperty;
 import com.ritense.audit.service.AuditSearchService;
 import com.ritense.authorization.Action;
 import com.ritense.authorization.AuthorizationService;
@@ -63,8 +64,8 @@ public class AuditSearchServiceImpl implements AuditSearchService {
         final List<Predicate> predicateList = criteriaList
             .stream()
             .map(searchCriteria -> cb.and(
-                    isNotNull(cb, root, searchCriteria.getPath(), searchCriteria.getValue()),
-                    isNotNull(cb, root, "$.className", searchCriteria.getAuditEvent().getName())
+                    isNotNull(cb, query, root, searchCriteria.getPath(), searchCriteria.getValue()),
+                    isNotNull(cb, query, root, "$.className", searchCriteria.getAuditEvent().getName())
                 )
             ).toList();
 
@@ -80,7 +81,17 @@ public class AuditSearchServiceImpl implements AuditSearchService {
         return new PageImpl<>(typedQuery.getResultList());
     }
 
-    private Predicate isNotNull(CriteriaBuilder cb, Root<AuditRecord> root, String path, String value) {
+    private Predicate isNotNull(
+        CriteriaBuilder cb,
+        CriteriaQuery<AuditRecord> query,
+        Root<AuditRecord> root,
+        String path,
+        String value
+    ) {
+        final var extractedProperty = ExtractedAuditProperty.fromKey(path);
+        if (extractedProperty.isPresent()) {
+            return extractedProperty.get().hasValue(value).toPredicate(root, query, cb);
+        }
         return queryDialectHelper.getJsonValueExistsInPathExpression(cb, root.get("auditEvent"), path, value);
     }
 
@@ -16,10 +16,17 @@
 
 package com.ritense.audit.service.impl;
 
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentRange;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertStateTrue;
+
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursor;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.ExtractedAuditProperty;
 import com.ritense.audit.exception.AuditRecordNotFoundException;
 import com.ritense.audit.repository.AuditRecordRepository;
+import com.ritense.audit.repository.AuditRecordStreamReader;
 import com.ritense.audit.service.AuditService;
 import com.ritense.authorization.Action;
 import com.ritense.authorization.AuthorizationContext;
@@ -33,25 +40,40 @@ import com.ritense.valtimo.contract.audit.AuditEvent;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional
 public class AuditServiceImpl implements AuditService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final AuditRecordRepository<AuditRecord> auditRecordRepository;
     private final AuthorizationService authorizationService;
     private final DocumentService documentService;
+    private final AuditRecordStreamReader auditRecordStreamReader;
 
     public AuditServiceImpl(
         AuditRecordRepository<AuditRecord> auditRecordRepository,
         AuthorizationService authorizationService,
         DocumentService documentService
+    ) {
+        this(auditRecordRepository, authorizationService, documentService, null);
+    }
+
+    public AuditServiceImpl(
+        AuditRecordRepository<AuditRecord> auditRecordRepository,
+        AuthorizationService authorizationService,
+        DocumentService documentService,
+        AuditRecordStreamReader auditRecordStreamReader
     ) {
         this.auditRecordRepository = auditRecordRepository;
         this.authorizationService = authorizationService;
         this.documentService = documentService;
+        this.auditRecordStreamReader = auditRecordStreamReader;
     }
 
     @Override
@@ -64,17 +86,51 @@ public class AuditServiceImpl implements AuditService {
 
     @Override
     public Page<AuditRecord> findByEventAndDocumentId(List<Class<? extends AuditEvent>> eventTypes, UUID documentId, Pageable pageable) {
-        var document = AuthorizationContext.runWithoutAuthorization(() -> documentService.get(documentId.toString()));
+        requireViewPermission(documentId);
+        return auditRecordRepository.findByEventAndDocumentId(eventTypes.stream().map(Class::getName).toList(), documentId, pageable);
+    }
 
-        authorizationService.requirePermission(
-            new EntityAuthorizationRequest(
-                JsonSchemaDocument.class,
-                JsonSchemaDocumentActionProvider.VIEW,
-                document
-            )
+    @Override
+    public AuditRecordCursorPage findByEventAndDocumentId(
+        List<Class<? extends AuditEvent>> eventTypes,
+        UUID documentId,
+        String cursor,
+        int size
+    ) {
+        assertArgumentRange(size, 1, MAX_CURSOR_PAGE_SIZE, "size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        requireViewPermission(documentId);
+
+        Specification<AuditRecord> specification = ExtractedAuditProperty.CLASS_NAME.hasAnyValue(
+            eventTypes.stream().map(Class::getName).toList()
+        ).and((root, query, cb) -> cb.equal(root.get("documentId"), documentId));
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(AuditRecordCursor.decode(cursor).after());
+        }
+        final List<AuditRecord> auditRecords = auditRecordRepository.findBy(
+            specification,
+            query -> query.sortBy(AuditRecordCursor.SORT).limit(size + 1).all()
         );
+        if (auditRecords.size() <= size) {
+            return new AuditRecordCursorPage(auditRecords, null);
+        }
+        final List<AuditRecord> content = auditRecords.subList(0, size);
+        return new AuditRecordCursorPage(content, AuditRecordCursor.of(content.get(size - 1)).encode());
+    }
 
-        return auditRecordRepository.findByEventAndDocumentId(eventTypes.stream().map(Class::getName).toList(), documentId, pageable);
+    @Override
+    @Transactional(readOnly = true)
+    public void readByEventAndDocumentId(
+        List<Class<? extends AuditEvent>> eventTypes,
+        UUID documentId,
+        Consumer<AuditRecord> consumer
+    ) {
+        assertStateTrue(auditRecordStreamReader != null, "No AuditRecordStreamReader configured");
+        requireViewPermission(documentId);
+        auditRecordStreamReader.readByEventAndDocumentId(
+            eventTypes.stream().map(Class::getName).toList(),
+            documentId,
+            consumer
+        );
     }
 
     @Override
@@ -86,13 +142,19 @@ public class AuditServiceImpl implements AuditService {
     @Override
     public Page<AuditRecord> findByProperty(String key, Object value, Pageable pageable) {
         denyAuthorization();
-        return auditRecordRepository.findAuditRecordsByProperty(key, value, pageable);
+        return ExtractedAuditProperty.fromKey(key)
+            .map(property -> auditRecordRepository.findAll(property.hasValue(value), pageable))
+            .orElseGet(() -> auditRecordRepository.findAuditRecordsByProperty(key, value, pageable));
     }
 
     @Override
     public List<AuditRecord> findByEventTypeAndProperty(Class<? extends AuditEvent> eventType, String key, Object value) {
         denyAuthorization();
-        return auditRecordRepository.findAuditRecordsByEventAndProperty(eventType.getName(), key, value);
+        return ExtractedAuditProperty.fromKey(key)
+            .map(property -> auditRecordRepository.findAll(
+                ExtractedAuditProperty.CLASS_NAME.hasValue(eventType.getName()).and(property.hasValue(value))
+            ))
+            .orElseGet(() -> auditRecordRepository.findAuditRecordsByEventAndProperty(eventType.getName(), key, value));
     }
 
     @Override
@@ -100,6 +162,18 @@ public class AuditServiceImpl implements AuditService {
         auditRecordRepository.deleteAllBefore(date);
     }
 
+    private void requireViewPermission(UUID documentId) {
+        var document = AuthorizationContext.runWithoutAuthorization(() -> documentService.get(documentId.toString()));
+
+        authorizationService.requirePermission(
+            new EntityAuthorizationRequest(
+                JsonSchemaDocument.class,
+                JsonSchemaDocumentActionProvider.VIEW,
+                document
+            )
+        );
+    }
+
     private void denyAuthorization() {
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
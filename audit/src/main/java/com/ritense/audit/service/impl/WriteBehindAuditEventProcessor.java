@@ -0,0 +1,323 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static com.ritense.audit.service.impl.AuditEventProcessorImpl.toAuditRecord;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentTrue;
+
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.exception.AuditRuntimeException;
+import com.ritense.audit.repository.AuditRecordBatchWriter;
+import com.ritense.audit.service.AuditEventProcessor;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind {@link AuditEventProcessor}. Audit records are queued after the surrounding transaction commits, and
+ * written with JDBC batch inserts by a background worker, so the business transaction no longer pays for the insert.
+ *
+ * <p>The worker writes a batch when it contains {@code flushSize} records, or when the oldest record in the batch has
+ * waited {@code flushInterval}. When the queue is full, the caller waits up to {@code offerTimeout} for space, and then
+ * writes the record itself in a new transaction. Records of rolled back transactions are never written.</p>
+ *
+ * <p>Records that cannot be written are kept, and retried by the worker. The retries wait {@code retryInterval}, doubling
+ * up to {@code maxRetryInterval} while the writes keep failing, and the worker takes no new records from the queue until
+ * the failed batch is written. A batch is only split into single records when the database rejects its contents, so
+ * that one bad record does not hold back the others. A single record that the database rejects is logged and dropped,
+ * and records that were already written are skipped.</p>
+ *
+ * <p>Records that the callers could not write themselves wait in a retry queue that holds at most
+ * {@code queueCapacity} records. When that queue is full as well, the caller writes the record itself and any error is
+ * thrown, as it is without write-behind, so an unavailable database never fills the memory.</p>
+ *
+ * <p>On {@link #shutdown()}, the worker stops accepting records and drains the queue. Records that are still queued or
+ * waiting for a retry after the {@code shutdownTimeout} are written by the thread that shuts the processor down.</p>
+ */
+public class WriteBehindAuditEventProcessor implements AuditEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindAuditEventProcessor.class);
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private final AuditRecordBatchWriter auditRecordBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditRecord> queue;
+    private final BlockingQueue<AuditRecord> retryQueue;
+    private final int flushSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration retryInterval;
+    private final Duration maxRetryInterval;
+    private final Duration shutdownTimeout;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public WriteBehindAuditEventProcessor(
+        AuditRecordBatchWriter auditRecordBatchWriter,
+        PlatformTransactionManager transactionManager,
+        int queueCapacity,
+        int flushSize,
+        Duration flushInterval,
+        Duration offerTimeout,
+        Duration retryInterval,
+        Duration maxRetryInterval,
+        Duration shutdownTimeout
+    ) {
+        assertArgumentNotNull(auditRecordBatchWriter, "auditRecordBatchWriter is required");
+        assertArgumentTrue(queueCapacity > 0, "queueCapacity must be at least 1");
+        assertArgumentTrue(flushSize > 0, "flushSize must be at least 1");
+        assertArgumentTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval must be positive");
+        assertArgumentTrue(!retryInterval.isNegative() && !retryInterval.isZero(), "retryInterval must be positive");
+        assertArgumentTrue(maxRetryInterval.compareTo(retryInterval) >= 0, "maxRetryInterval must not be less than retryInterval");
+        this.auditRecordBatchWriter = auditRecordBatchWriter;
+        // Records written after a commit must not join the transaction that just completed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retryQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.retryInterval = retryInterval;
+        this.maxRetryInterval = maxRetryInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.worker = new Thread(this::run, "audit-record-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void process(final AuditEvent event) {
+        logger.debug("Enter: {}.{} with argument[s] = {}",
+            WriteBehindAuditEventProcessor.class,
+            "process(AuditEvent event)",
+            event
+        );
+        final AuditRecord auditRecord;
+        try {
+            auditRecord = toAuditRecord(event);
+        } catch (IllegalArgumentException e) {
+            throw new AuditRuntimeException("Error due to invalid argument.", e);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(auditRecord);
+                }
+            });
+        } else {
+            enqueue(auditRecord);
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        try {
+            worker.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final List<AuditRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        drainRetries(remaining, Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            logger.warn("Audit record writer did not drain in time. Writing {} remaining audit records", remaining.size());
+            for (int start = 0; start < remaining.size(); start += flushSize) {
+                writeOrLog(remaining.subList(start, Math.min(start + flushSize, remaining.size())));
+            }
+        }
+    }
+
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    int getRetryQueueSize() {
+        return retryQueue.size();
+    }
+
+    private void enqueue(AuditRecord auditRecord) {
+        try {
+            if (running && queue.offer(auditRecord, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                if (!running && queue.remove(auditRecord)) {
+                    // The worker might have stopped before the record was queued
+                    writeOrLog(List.of(auditRecord));
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.debug("Audit record queue is full or stopped. Writing AuditRecord {} directly", auditRecord.getId().id());
+        if (running) {
+            if (retryQueue.remainingCapacity() == 0
+                || !write(List.of(auditRecord)).isEmpty() && !retryQueue.offer(auditRecord)) {
+                writeOrThrow(auditRecord);
+            }
+        } else {
+            writeOrLog(List.of(auditRecord));
+        }
+    }
+
+    private void run() {
+        final List<AuditRecord> batch = new ArrayList<>(flushSize);
+        long retryDelay = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (retryDelay > 0) {
+                    pause(retryDelay);
+                }
+                if (batch.isEmpty()) {
+                    collect(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                final List<AuditRecord> failed = write(batch);
+                batch.clear();
+                if (failed.isEmpty()) {
+                    retryDelay = 0;
+                } else if (!running) {
+                    failed.forEach(auditRecord -> logger.error("Could not write AuditRecord {}", auditRecord));
+                } else {
+                    // The failed records are retried before any new record is taken from the queue
+                    batch.addAll(failed);
+                    retryDelay = retryDelay == 0
+                        ? retryInterval.toMillis()
+                        : Math.min(retryDelay * 2, maxRetryInterval.toMillis());
+                    logger.warn("Failed to write {} audit records. Retrying in {} ms", failed.size(), retryDelay);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the first record, and then collects records until the batch is full or the flush interval has passed.
+     * Records waiting for a retry are collected first, until shutdown. The queue is polled in short intervals, so a
+     * shutdown is noticed quickly.
+     */
+    private void collect(List<AuditRecord> batch) throws InterruptedException {
+        if (running) {
+            drainRetries(batch, flushSize);
+        }
+        long deadline = batch.isEmpty() ? 0 : System.nanoTime();
+        while (running && batch.size() < flushSize) {
+            final long now = System.nanoTime();
+            if (!batch.isEmpty() && now - deadline >= 0) {
+                return;
+            }
+            final long wait = batch.isEmpty() ? MAX_POLL_NANOS : Math.min(deadline - now, MAX_POLL_NANOS);
+            final AuditRecord next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next != null) {
+                if (batch.isEmpty()) {
+                    deadline = System.nanoTime() + flushInterval.toNanos();
+                }
+                batch.add(next);
+                queue.drainTo(batch, flushSize - batch.size());
+            }
+        }
+        queue.drainTo(batch, flushSize - batch.size());
+    }
+
+    private void drainRetries(List<AuditRecord> target, int maxSize) {
+        AuditRecord next;
+        while (target.size() < maxSize && (next = retryQueue.poll()) != null) {
+            target.add(next);
+        }
+    }
+
+    private void pause(long millis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, MAX_POLL_NANOS));
+        }
+    }
+
+    private void writeOrLog(List<AuditRecord> auditRecords) {
+        write(auditRecords).forEach(auditRecord -> logger.error("Could not write AuditRecord {}", auditRecord));
+    }
+
+    /**
+     * Writes the audit record in a new transaction, and throws when it cannot be written.
+     */
+    private void writeOrThrow(AuditRecord auditRecord) {
+        logger.debug("Audit record retry queue is full. Writing AuditRecord {} synchronously", auditRecord.getId().id());
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditRecordBatchWriter.insertAll(List.of(auditRecord)));
+        } catch (DuplicateKeyException e) {
+            logger.debug("Notice: AuditRecord {} was already processed", auditRecord.getId().id());
+        } catch (Exception e) {
+            throw new AuditRuntimeException("Unexpected error occurred.", e);
+        }
+    }
+
+    /**
+     * Writes the audit records in a new transaction.
+     *
+     * @return the audit records that could not be written, and should be retried.
+     */
+    private List<AuditRecord> write(List<AuditRecord> auditRecords) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditRecordBatchWriter.insertAll(auditRecords));
+            logger.debug("Wrote {} audit records", auditRecords.size());
+            return List.of();
+        } catch (Exception e) {
+            if (auditRecords.size() == 1 && e instanceof DuplicateKeyException) {
+                logger.debug("Notice: AuditRecord {} was already processed", auditRecords.get(0).getId().id());
+                return List.of();
+            } else if (auditRecords.size() == 1 && isRejected(e)) {
+                logger.error("AuditRecord {} was rejected by the database and is dropped", auditRecords.get(0), e);
+                return List.of();
+            } else if (isRejected(e)) {
+                logger.warn("Failed to write batch of {} audit records. Writing them one by one", auditRecords.size(), e);
+                final List<AuditRecord> failed = new ArrayList<>();
+                auditRecords.forEach(auditRecord -> failed.addAll(write(List.of(auditRecord))));
+                return failed;
+            } else {
+                logger.warn("Error writing {} audit records", auditRecords.size(), e);
+                return List.copyOf(auditRecords);
+            }
+        }
+    }
+
+    /**
+     * Whether the database rejected the records themselves, rather than being unavailable.
+     */
+    private static boolean isRejected(Exception e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.audit.BaseIntegrationTest;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.event.TestEvent;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+class AuditRecordBatchWriterIntTest extends BaseIntegrationTest {
+
+    @Inject
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void shouldInsertAuditRecordsThatCanBeReadWithJpa() {
+        final LocalDateTime occurredOn = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        final UUID documentId = UUID.randomUUID();
+        final AuditRecord withDocument = auditRecord(testEvent(occurredOn, "Jane Doe"), documentId);
+        final AuditRecord withoutDocument = auditRecord(testEvent(occurredOn, "John Doe"), null);
+
+        auditRecordBatchWriter.insertAll(List.of(withDocument, withoutDocument));
+
+        final AuditRecord found = (AuditRecord) auditRecordRepository.findById(withDocument.getId()).orElseThrow();
+        assertThat(found.getAuditEvent()).isInstanceOf(TestEvent.class);
+        assertThat(((TestEvent) found.getAuditEvent()).getName()).isEqualTo("Jane Doe");
+        assertThat(found.getMetaData().getOccurredOn()).isEqualTo(occurredOn);
+        assertThat(found.getMetaData().getUser()).isEqualTo("somebody");
+        assertThat(found.getDocumentId()).isEqualTo(documentId);
+        assertThat(found.getClassName()).isEqualTo(TestEvent.class.getName());
+        assertThat(found.getProcessInstanceId()).isEqualTo("myProcessInstanceId");
+        assertThat(auditRecordRepository.findById(withoutDocument.getId())).isPresent();
+    }
+
+    private AuditRecord auditRecord(AuditEvent event, UUID documentId) {
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.newId(event.getId()))
+            .metaData(metaData(event))
+            .auditEvent(event)
+            .documentId(documentId)
+            .build();
+    }
+
+}
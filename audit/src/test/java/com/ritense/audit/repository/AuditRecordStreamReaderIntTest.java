@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.audit.BaseIntegrationTest;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.event.TestEvent;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+class AuditRecordStreamReaderIntTest extends BaseIntegrationTest {
+
+    @Inject
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+
+    @Inject
+    private AuditRecordStreamReader auditRecordStreamReader;
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void shouldReadAuditRecordsOfDocumentInOrderOfOccurrence() {
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        final UUID documentId = UUID.randomUUID();
+        final AuditRecord second = auditRecord(testEvent(now, "second"), documentId);
+        final AuditRecord first = auditRecord(testEvent(now.minusMinutes(1), "first"), documentId);
+        final AuditRecord otherDocument = auditRecord(testEvent(now, "other"), UUID.randomUUID());
+        auditRecordBatchWriter.insertAll(List.of(second, first, otherDocument));
+
+        final List<AuditRecord> read = new ArrayList<>();
+        auditRecordStreamReader.readByEventAndDocumentId(List.of(TestEvent.class.getName()), documentId, read::add);
+
+        assertThat(read).extracting(AuditRecord::getId).containsExactly(first.getId(), second.getId());
+        assertThat(read.get(0).getAuditEvent()).isInstanceOf(TestEvent.class);
+        assertThat(((TestEvent) read.get(0).getAuditEvent()).getName()).isEqualTo("first");
+        assertThat(read.get(0).getMetaData().getOccurredOn()).isEqualTo(now.minusMinutes(1));
+        assertThat(read.get(0).getMetaData().getUser()).isEqualTo("somebody");
+        assertThat(read.get(0).getDocumentId()).isEqualTo(documentId);
+    }
+
+    @Test
+    @Transactional
+    void shouldReadNothingForOtherEventTypes() {
+        final UUID documentId = UUID.randomUUID();
+        auditRecordBatchWriter.insertAll(List.of(auditRecord(testEvent(LocalDateTime.now(), "name"), documentId)));
+
+        final List<AuditRecord> read = new ArrayList<>();
+        auditRecordStreamReader.readByEventAndDocumentId(List.of("com.example.OtherEvent"), documentId, read::add);
+
+        assertThat(read).isEmpty();
+    }
+
+    private AuditRecord auditRecord(AuditEvent event, UUID documentId) {
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.newId(event.getId()))
+            .metaData(metaData(event))
+            .auditEvent(event)
+            .documentId(documentId)
+            .build();
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.repository;
+
+import static com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository.DEFAULT_PARTITION;
+import static com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository.LEGACY_PARTITION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ritense.audit.BaseIntegrationTest;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.AuditRecordPartition;
+import com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@EnabledIfSystemProperty(named = "spring.profiles.include", matches = "postgresql")
+class PostgresAuditRecordRetentionRepositoryIntTest extends BaseIntegrationTest {
+
+    @Inject
+    private AuditRecordRetentionRepository auditRecordRetentionRepository;
+
+    @Inject
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+
+    @Inject
+    private JdbcTemplate jdbcTemplate;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private PostgresAuditRecordRetentionRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private LocalDateTime boundary;
+
+    @BeforeEach
+    public void setUp() {
+        repository = (PostgresAuditRecordRetentionRepository) auditRecordRetentionRepository;
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        boundary = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        auditRecordRepository.deleteAll();
+        repository.findPartitions().stream()
+            .filter(partition -> !partition.name().equals(LEGACY_PARTITION))
+            .forEach(partition -> transactionTemplate.executeWithoutResult(status -> repository.dropPartition(partition)));
+    }
+
+    @Test
+    void shouldKeepExistingRecordsWhenPartitioningTable() {
+        final boolean converted = !repository.isPartitioned();
+        final AuditEvent existing = testEvent(LocalDateTime.now().minusDays(1));
+        auditEventProcessor.process(existing);
+
+        repository.partitionTable(boundary);
+
+        assertThat(repository.isPartitioned()).isTrue();
+        assertThat(partitionOf(existing.getId())).isEqualTo(LEGACY_PARTITION);
+        final AuditRecordPartition legacy = legacyPartition();
+        assertThat(legacy.from()).isNull();
+        if (converted) {
+            assertThat(legacy.to()).isEqualTo(boundary);
+        }
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, DEFAULT_PARTITION
+        )).isEqualTo(1);
+        assertThat(auditRecordRepository.findById(AuditRecordId.existingId(existing.getId()))).isPresent();
+
+        repository.partitionTable(boundary);
+        assertThat(repository.findPartitions()).containsExactly(legacy);
+    }
+
+    @Test
+    void shouldWriteRecordsIntoCreatedPartition() {
+        repository.partitionTable(boundary);
+        final LocalDateTime from = legacyPartition().to();
+        final AuditRecordPartition partition = new AuditRecordPartition("audit_record_test_p1", from, from.plusDays(1));
+
+        transactionTemplate.executeWithoutResult(status -> repository.createPartition(partition));
+
+        assertThat(repository.findPartitions()).contains(partition);
+        final AuditEvent throughJpa = testEvent(from.plusHours(1));
+        auditEventProcessor.process(throughJpa);
+        final AuditEvent throughBatch = testEvent(from.plusHours(2));
+        transactionTemplate.executeWithoutResult(
+            status -> auditRecordBatchWriter.insertAll(List.of(auditRecord(throughBatch)))
+        );
+        assertThat(partitionOf(throughJpa.getId())).isEqualTo(partition.name());
+        assertThat(partitionOf(throughBatch.getId())).isEqualTo(partition.name());
+        assertThat(auditRecordRepository.findById(AuditRecordId.existingId(throughBatch.getId()))).isPresent();
+    }
+
+    @Test
+    void shouldMoveRecordsOutOfDefaultPartition() {
+        repository.partitionTable(boundary);
+        final LocalDateTime from = legacyPartition().to().plusDays(10);
+        final AuditRecordPartition partition = new AuditRecordPartition("audit_record_test_p2", from, from.plusDays(1));
+        final AuditEvent inRange = testEvent(from.plusHours(1));
+        final AuditEvent outOfRange = testEvent(from.plusDays(2));
+        auditEventProcessor.process(inRange);
+        auditEventProcessor.process(outOfRange);
+        assertThat(partitionOf(inRange.getId())).isEqualTo(DEFAULT_PARTITION);
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> transactionTemplate.executeWithoutResult(status -> repository.createPartition(partition)));
+        transactionTemplate.executeWithoutResult(status -> repository.createPartitionFromDefault(partition));
+
+        assertThat(partitionOf(inRange.getId())).isEqualTo(partition.name());
+        assertThat(partitionOf(outOfRange.getId())).isEqualTo(DEFAULT_PARTITION);
+        assertThat(auditRecordRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropPartitionWithItsRecords() {
+        repository.partitionTable(boundary);
+        final LocalDateTime from = legacyPartition().to().plusDays(20);
+        final AuditRecordPartition partition = new AuditRecordPartition("audit_record_test_p3", from, from.plusDays(1));
+        transactionTemplate.executeWithoutResult(status -> repository.createPartition(partition));
+        auditEventProcessor.process(testEvent(from.plusHours(1)));
+        auditEventProcessor.process(testEvent(LocalDateTime.now().minusDays(1)));
+
+        transactionTemplate.executeWithoutResult(status -> repository.dropPartition(partition));
+
+        assertThat(repository.findPartitions()).doesNotContain(partition);
+        assertThat(auditRecordRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeleteChunkOfRecordsCreatedBefore() {
+        repository.partitionTable(boundary);
+        for (int i = 0; i < 3; i++) {
+            auditEventProcessor.process(testEvent(LocalDateTime.now().minusDays(1)));
+        }
+
+        final Integer deleted = transactionTemplate.execute(
+            status -> repository.deleteChunkBefore(LocalDateTime.now().plusMinutes(1), 2)
+        );
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(auditRecordRepository.count()).isEqualTo(1);
+    }
+
+    private AuditRecordPartition legacyPartition() {
+        return repository.findPartitions().stream()
+            .filter(partition -> partition.name().equals(LEGACY_PARTITION))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private String partitionOf(UUID id) {
+        return jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM audit_record WHERE audit_record_id = ?", String.class, id
+        );
+    }
+
+    private AuditRecord auditRecord(AuditEvent event) {
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.newId(event.getId()))
+            .metaData(metaData(event))
+            .auditEvent(event)
+            .build();
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ritense.audit.domain.AuditRecordPartition;
+import com.ritense.audit.domain.AuditRecordPartitionInterval;
+import com.ritense.audit.repository.impl.PostgresAuditRecordRetentionRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AuditPartitionServiceImplTest {
+
+    private PostgresAuditRecordRetentionRepository auditRecordRetentionRepository;
+    private AuditPartitionServiceImpl auditPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        auditRecordRetentionRepository = mock(PostgresAuditRecordRetentionRepository.class);
+        auditPartitionService = new AuditPartitionServiceImpl(
+            auditRecordRetentionRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            AuditRecordPartitionInterval.DAY,
+            3
+        );
+        when(auditRecordRetentionRepository.isPartitioned()).thenReturn(true);
+    }
+
+    @Test
+    void shouldPartitionTableWhenNotPartitioned() {
+        when(auditRecordRetentionRepository.isPartitioned()).thenReturn(false);
+
+        auditPartitionService.partitionTable();
+
+        verify(auditRecordRetentionRepository).partitionTable(
+            LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(2)
+        );
+    }
+
+    @Test
+    void shouldNotPartitionTableTwice() {
+        auditPartitionService.partitionTable();
+
+        verify(auditRecordRetentionRepository, never()).partitionTable(any());
+    }
+
+    @Test
+    void shouldCreatePartitionsAheadOfLastPartition() {
+        final LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        when(auditRecordRetentionRepository.findPartitions()).thenReturn(List.of(
+            new AuditRecordPartition(PostgresAuditRecordRetentionRepository.LEGACY_PARTITION, null, today.plusDays(2))
+        ));
+
+        auditPartitionService.createPartitions();
+
+        ArgumentCaptor<AuditRecordPartition> captor = ArgumentCaptor.forClass(AuditRecordPartition.class);
+        verify(auditRecordRetentionRepository, times(2)).createPartition(captor.capture());
+        assertThat(captor.getAllValues()).extracting(AuditRecordPartition::from)
+            .containsExactly(today.plusDays(2), today.plusDays(3));
+        assertThat(captor.getAllValues().get(0).to()).isEqualTo(today.plusDays(3));
+        assertThat(captor.getAllValues().get(0).name())
+            .isEqualTo(AuditRecordPartitionInterval.DAY.partitionName(today.plusDays(2)));
+    }
+
+    @Test
+    void shouldMoveRecordsOutOfDefaultPartitionWhenPartitionCannotBeCreated() {
+        final LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        when(auditRecordRetentionRepository.findPartitions()).thenReturn(List.of(
+            new AuditRecordPartition(PostgresAuditRecordRetentionRepository.LEGACY_PARTITION, null, today.plusDays(3))
+        ));
+        doThrow(new DataIntegrityViolationException("default partition contains records"))
+            .when(auditRecordRetentionRepository).createPartition(any());
+
+        auditPartitionService.createPartitions();
+
+        ArgumentCaptor<AuditRecordPartition> captor = ArgumentCaptor.forClass(AuditRecordPartition.class);
+        verify(auditRecordRetentionRepository).createPartitionFromDefault(captor.capture());
+        assertThat(captor.getValue().from()).isEqualTo(today.plusDays(3));
+    }
+
+    @Test
+    void shouldFailWhenRecordsCannotBeMovedOutOfDefaultPartition() {
+        final LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        when(auditRecordRetentionRepository.findPartitions()).thenReturn(List.of(
+            new AuditRecordPartition(PostgresAuditRecordRetentionRepository.LEGACY_PARTITION, null, today.plusDays(3))
+        ));
+        doThrow(new DataIntegrityViolationException("default partition contains records"))
+            .when(auditRecordRetentionRepository).createPartition(any());
+        doThrow(new DataIntegrityViolationException("move failed"))
+            .when(auditRecordRetentionRepository).createPartitionFromDefault(any());
+
+        assertThrows(DataIntegrityViolationException.class, () -> auditPartitionService.createPartitions());
+    }
+
+    @Test
+    void shouldOnlyDropExpiredPartitions() {
+        final LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        final AuditRecordPartition expired = new AuditRecordPartition(
+            "audit_record_p1", today.minusDays(11), today.minusDays(10)
+        );
+        final AuditRecordPartition current = new AuditRecordPartition("audit_record_p2", today.minusDays(1), today);
+        when(auditRecordRetentionRepository.findPartitions()).thenReturn(List.of(expired, current));
+
+        final int dropped = auditPartitionService.dropPartitionsBefore(today.minusDays(5));
+
+        assertThat(dropped).isEqualTo(1);
+        verify(auditRecordRetentionRepository).dropPartition(expired);
+        verify(auditRecordRetentionRepository, never()).dropPartition(current);
+    }
+
+}
@@ -17,25 +17,41 @@
 package com.ritense.audit.service.impl;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.ritense.audit.repository.AuditRecordRetentionRepository;
+import com.ritense.audit.service.AuditPartitionService;
 import com.ritense.audit.service.AuditRetentionService;
 import com.ritense.audit.service.AuditService;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 public class AuditRetentionServiceImplTest {
 
     private AuditRetentionService auditRetentionService;
     private AuditService auditService;
+    private AuditRecordRetentionRepository auditRecordRetentionRepository;
+    private AuditPartitionService auditPartitionService;
+    private TransactionTemplate transactionTemplate;
 
     @BeforeEach
     public void setUp() {
         auditService = mock(AuditServiceImpl.class);
         auditRetentionService = new AuditRetentionServiceImpl(auditService, 5);
+        auditRecordRetentionRepository = mock(AuditRecordRetentionRepository.class);
+        auditPartitionService = mock(AuditPartitionService.class);
+        transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
     }
 
     @Test
@@ -44,4 +60,32 @@ public class AuditRetentionServiceImplTest {
         verify(auditService, times(1)).deleteAllBefore(any(LocalDateTime.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldDeleteInChunksUntilChunkIsNotFull() {
+        auditRetentionService = new AuditRetentionServiceImpl(
+            auditService, 5, auditRecordRetentionRepository, null, transactionTemplate, 100, Duration.ZERO
+        );
+        when(auditRecordRetentionRepository.deleteChunkBefore(any(LocalDateTime.class), eq(100)))
+            .thenReturn(100, 100, 42);
+
+        auditRetentionService.cleanup();
+
+        verify(auditRecordRetentionRepository, times(3)).deleteChunkBefore(any(LocalDateTime.class), eq(100));
+        verify(auditService, never()).deleteAllBefore(any(LocalDateTime.class));
+    }
+
+    @Test
+    public void shouldDropPartitionsBeforeDeletingInChunks() {
+        auditRetentionService = new AuditRetentionServiceImpl(
+            auditService, 5, auditRecordRetentionRepository, auditPartitionService, transactionTemplate, 100,
+            Duration.ZERO
+        );
+
+        auditRetentionService.cleanup();
+
+        InOrder inOrder = inOrder(auditPartitionService, auditRecordRetentionRepository);
+        inOrder.verify(auditPartitionService).dropPartitionsBefore(any(LocalDateTime.class));
+        inOrder.verify(auditRecordRetentionRepository).deleteChunkBefore(any(LocalDateTime.class), eq(100));
+    }
+
+}
@@ -49,6 +49,14 @@ class AuditSearchServiceImplIntTest extends BaseIntegrationTest {
         assertThat(page.getTotalPages()).isEqualTo(1);
     }
 
+    @Test
+    void shouldStoreExtractedPropertiesInColumns() {
+        final AuditRecord auditRecord = (AuditRecord) auditRecordRepository.findAll().get(0);
+
+        assertThat(auditRecord.getProcessInstanceId()).isEqualTo("myProcessInstanceId");
+        assertThat(auditRecord.getClassName()).isEqualTo(TestEvent.class.getName());
+    }
+
     @Test
     void shouldNotFindBySearchCriteria() {
         final List<SearchCriteria> searchCriteriaList = List.of(new SearchCriteria("$.processInstanceId2", TestEvent.class, "myProcessInstanceId"));
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.audit.BaseIntegrationTest;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordCursor;
+import com.ritense.audit.domain.AuditRecordCursorPage;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.event.TestEvent;
+import com.ritense.audit.repository.AuditRecordBatchWriter;
+import com.ritense.audit.service.AuditService;
+import com.ritense.authorization.AuthorizationContext;
+import com.ritense.document.service.impl.JsonSchemaDocumentService;
+import com.ritense.valtimo.contract.audit.AuditEvent;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+class AuditServiceImplIntTest extends BaseIntegrationTest {
+
+    @Inject
+    private AuditService auditService;
+
+    @Inject
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+
+    @MockBean
+    private JsonSchemaDocumentService documentService;
+
+    private final UUID documentId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void shouldWalkAuditLogPagesWithEqualOccurredOn() {
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final List<AuditRecord> auditRecords = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            auditRecords.add(auditRecord(testEvent(now), documentId));
+        }
+        auditRecords.add(auditRecord(testEvent(now.plusMinutes(1)), documentId));
+        auditRecords.add(auditRecord(testEvent(now.minusMinutes(1)), documentId));
+        auditRecords.add(auditRecord(testEvent(now), UUID.randomUUID()));
+        auditRecordBatchWriter.insertAll(auditRecords);
+
+        final List<AuditRecord> walked = new ArrayList<>();
+        final List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            final AuditRecordCursorPage page = findPage(cursor, 2);
+            walked.addAll(page.content());
+            pageSizes.add(page.content().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(2, 2, 2, 1);
+        final List<?> sorted = auditRecordRepository.findAll(AuditRecordCursor.SORT);
+        final List<AuditRecordId> expected = sorted.stream()
+            .map(AuditRecord.class::cast)
+            .filter(auditRecord -> documentId.equals(auditRecord.getDocumentId()))
+            .map(AuditRecord::getId)
+            .toList();
+        assertThat(walked).extracting(AuditRecord::getId).containsExactlyElementsOf(expected).doesNotHaveDuplicates();
+        assertThat(walked.get(0).getMetaData().getOccurredOn()).isEqualTo(now.plusMinutes(1));
+        assertThat(walked.get(6).getMetaData().getOccurredOn()).isEqualTo(now.minusMinutes(1));
+    }
+
+    @Test
+    @Transactional
+    void shouldReturnLastPageWithoutNextCursor() {
+        auditRecordBatchWriter.insertAll(List.of(
+            auditRecord(testEvent(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)), documentId)
+        ));
+
+        final AuditRecordCursorPage page = findPage(null, 1);
+
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    private AuditRecordCursorPage findPage(String cursor, int size) {
+        return AuthorizationContext.runWithoutAuthorization(() ->
+            auditService.findByEventAndDocumentId(List.of(TestEvent.class), documentId, cursor, size));
+    }
+
+    private AuditRecord auditRecord(AuditEvent event, UUID documentId) {
+        return new AuditRecordBuilder()
+            .id(AuditRecordId.newId(event.getId()))
+            .metaData(metaData(event))
+            .auditEvent(event)
+            .documentId(documentId)
+            .build();
+    }
+
+}
@@ -21,12 +21,20 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ritense.audit.AbstractTestHelper;
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursor;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.audit.domain.AuditRecordId;
 import com.ritense.audit.domain.MetaData;
 import com.ritense.audit.domain.event.TestEvent;
@@ -39,11 +47,13 @@ import com.ritense.valtimo.contract.audit.AuditEvent;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 public class AuditServiceImplTest extends AbstractTestHelper {
 
@@ -166,6 +176,66 @@ public class AuditServiceImplTest extends AbstractTestHelper {
         assertEquals(1, auditRecords.size());
     }
 
+    @Test
+    public void shouldFindByExtractedPropertyWithoutJsonQuery() {
+        final AuditRecord auditRecord = generateTestAuditRecord(testEvent(LocalDateTime.now()));
+        final Pageable pageable = Pageable.unpaged();
+        when(auditRecordRepository.findAll(any(Specification.class), eq(pageable)))
+            .thenReturn(new PageImpl<>(List.of(auditRecord), pageable, 1));
+
+        final Page<AuditRecord> auditRecords = auditService.findByProperty("processInstanceId", "myProcessInstanceId", pageable);
+
+        assertEquals(1, auditRecords.getContent().size());
+        verify(auditRecordRepository, never()).findAuditRecordsByProperty(anyString(), any(), any());
+    }
+
+    @Test
+    public void shouldFindByEventAndExtractedPropertyWithoutJsonQuery() {
+        final AuditRecord auditRecord = generateTestAuditRecord(testEvent(LocalDateTime.now()));
+        when(auditRecordRepository.findAll(any(Specification.class))).thenReturn(List.of(auditRecord));
+
+        final List<AuditRecord> auditRecords = auditService.findByEventTypeAndProperty(TestEvent.class, "user", "somebody");
+
+        assertEquals(1, auditRecords.size());
+        verify(auditRecordRepository, never()).findAuditRecordsByEventAndProperty(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void shouldReturnNextCursorWhenMoreAuditRecordsExist() {
+        final AuditRecord newest = generateTestAuditRecord(testEvent(LocalDateTime.now()));
+        final AuditRecord older = generateTestAuditRecord(testEvent(LocalDateTime.now().minusMinutes(1)));
+        final AuditRecord oldest = generateTestAuditRecord(testEvent(LocalDateTime.now().minusMinutes(2)));
+        when(auditRecordRepository.findBy(any(Specification.class), any())).thenReturn(List.of(newest, older, oldest));
+
+        final AuditRecordCursorPage page = auditService.findByEventAndDocumentId(
+            List.of(TestEvent.class), UUID.randomUUID(), null, 2
+        );
+
+        assertEquals(List.of(newest, older), page.content());
+        assertEquals(AuditRecordCursor.of(older), AuditRecordCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void shouldNotReturnNextCursorOnLastPage() {
+        final AuditRecord auditRecord = generateTestAuditRecord(testEvent(LocalDateTime.now()));
+        when(auditRecordRepository.findBy(any(Specification.class), any())).thenReturn(List.of(auditRecord));
+        final String cursor = AuditRecordCursor.of(generateTestAuditRecord(testEvent(LocalDateTime.now()))).encode();
+
+        final AuditRecordCursorPage page = auditService.findByEventAndDocumentId(
+            List.of(TestEvent.class), UUID.randomUUID(), cursor, 2
+        );
+
+        assertEquals(List.of(auditRecord), page.content());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void shouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> auditService.findByEventAndDocumentId(
+            List.of(TestEvent.class), UUID.randomUUID(), "not-a-cursor", 2
+        ));
+    }
+
     private AuditRecord generateTestAuditRecord(AuditEvent auditEvent) {
         MetaData metaData = metaData(auditEvent);
         return auditRecord(auditEvent, metaData);
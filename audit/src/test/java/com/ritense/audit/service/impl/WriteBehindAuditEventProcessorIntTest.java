@@ -0,0 +1,106 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import com.ritense.audit.BaseIntegrationTest;
+import com.ritense.audit.domain.AuditRecordId;
+import com.ritense.audit.domain.event.TestEvent;
+import com.ritense.audit.repository.AuditRecordBatchWriter;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class WriteBehindAuditEventProcessorIntTest extends BaseIntegrationTest {
+
+    @Inject
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WriteBehindAuditEventProcessor writeBehindAuditEventProcessor;
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordRepository.deleteAll();
+        final AuditRecordBatchWriter blockingWriter = spy(auditRecordBatchWriter);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-record-writer")) {
+                blocked.countDown();
+                release.await();
+            }
+            return invocation.callRealMethod();
+        }).when(blockingWriter).insertAll(anyList());
+        writeBehindAuditEventProcessor = new WriteBehindAuditEventProcessor(
+            blockingWriter,
+            transactionManager,
+            1,
+            1,
+            Duration.ofMillis(10),
+            Duration.ofMillis(10),
+            Duration.ofMillis(10),
+            Duration.ofMillis(50),
+            Duration.ofSeconds(5)
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        writeBehindAuditEventProcessor.shutdown();
+    }
+
+    @Test
+    void shouldCommitRecordWrittenAfterCommitWhenQueueIsFull() throws InterruptedException {
+        final TestEvent queued = testEvent(LocalDateTime.now());
+        writeBehindAuditEventProcessor.process(testEvent(LocalDateTime.now()));
+        blocked.await();
+        writeBehindAuditEventProcessor.process(queued);
+        assertThat(writeBehindAuditEventProcessor.getQueueSize()).isEqualTo(1);
+
+        final TestEvent direct = testEvent(LocalDateTime.now());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditRecordRepository.count();
+            writeBehindAuditEventProcessor.process(direct);
+        });
+
+        assertThat(writeBehindAuditEventProcessor.getQueueSize()).isEqualTo(1);
+        assertThat(new TransactionTemplate(transactionManager).execute(status ->
+            auditRecordRepository.findById(AuditRecordId.existingId(direct.getId())).isPresent()
+        )).isTrue();
+        assertThat(auditRecordRepository.findById(AuditRecordId.existingId(queued.getId()))).isEmpty();
+
+        release.countDown();
+        writeBehindAuditEventProcessor.shutdown();
+
+        assertThat(auditRecordRepository.count()).isEqualTo(3);
+    }
+
+}
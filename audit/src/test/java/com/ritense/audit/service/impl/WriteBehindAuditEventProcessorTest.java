@@ -0,0 +1,274 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.audit.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.ritense.audit.AbstractTestHelper;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.exception.AuditRuntimeException;
+import com.ritense.audit.repository.AuditRecordBatchWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class WriteBehindAuditEventProcessorTest extends AbstractTestHelper {
+
+    private AuditRecordBatchWriter auditRecordBatchWriter;
+    private List<List<AuditRecord>> batches;
+    private WriteBehindAuditEventProcessor auditEventProcessor;
+
+    @BeforeEach
+    public void setUp() {
+        auditRecordBatchWriter = mock(AuditRecordBatchWriter.class);
+        batches = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0))))
+            .when(auditRecordBatchWriter).insertAll(anyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (auditEventProcessor != null) {
+            auditEventProcessor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldFailProcessingEventWhenNull() {
+        auditEventProcessor = processor(10, 10, Duration.ofMillis(50));
+
+        assertThrows(AuditRuntimeException.class, () -> auditEventProcessor.process(null));
+    }
+
+    @Test
+    void shouldWriteRecordsInBatchesOfFlushSize() {
+        auditEventProcessor = processor(100, 2, Duration.ofSeconds(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordBatchWriter, timeout(5000)).insertAll(anyList());
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+    }
+
+    @Test
+    void shouldWriteIncompleteBatchAfterFlushInterval() {
+        auditEventProcessor = processor(100, 500, Duration.ofMillis(50));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordBatchWriter, timeout(5000)).insertAll(anyList());
+        assertThat(batches.get(0)).hasSize(1);
+    }
+
+    @Test
+    void shouldOnlyQueueRecordAfterCommit() {
+        auditEventProcessor = processor(100, 1, Duration.ofMillis(50));
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordBatchWriter, after(200).never()).insertAll(anyList());
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        verify(auditRecordBatchWriter, timeout(5000)).insertAll(anyList());
+    }
+
+    @Test
+    void shouldWriteOnCallingThreadWhenQueueIsFull() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-record-writer")) {
+                blocked.countDown();
+                release.await();
+            }
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(1, 1, Duration.ofMillis(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        blocked.await();
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        assertThat(batches).hasSize(1);
+        assertThat(auditEventProcessor.getQueueSize()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void shouldDrainQueueOnShutdown() {
+        auditEventProcessor = processor(100, 500, Duration.ofSeconds(10));
+
+        for (int i = 0; i < 3; i++) {
+            auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        }
+        auditEventProcessor.shutdown();
+
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+        assertThat(auditEventProcessor.getQueueSize()).isZero();
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(4);
+        auditEventProcessor = null;
+    }
+
+    @Test
+    void shouldWriteRecordsOneByOneWhenBatchFails() {
+        doAnswer(invocation -> {
+            final List<AuditRecord> auditRecords = invocation.getArgument(0);
+            if (auditRecords.size() > 1) {
+                throw new DataIntegrityViolationException("batch failed");
+            }
+            batches.add(List.copyOf(auditRecords));
+            return null;
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(100, 2, Duration.ofSeconds(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.shutdown();
+
+        assertThat(batches).hasSize(2);
+        auditEventProcessor = null;
+    }
+
+    @Test
+    void shouldRetryBatchWhenDatabaseIsUnavailable() {
+        final AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(100, 2, Duration.ofSeconds(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordBatchWriter, timeout(5000).times(3)).insertAll(anyList());
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+        assertThat(auditEventProcessor.getRetryQueueSize()).isZero();
+    }
+
+    @Test
+    void shouldRetryRecordThatFailedOnCallingThread() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-record-writer")) {
+                blocked.countDown();
+                release.await();
+            } else {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(1, 1, Duration.ofMillis(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        blocked.await();
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        assertThat(batches).isEmpty();
+        assertThat(auditEventProcessor.getRetryQueueSize()).isEqualTo(1);
+        release.countDown();
+        verify(auditRecordBatchWriter, timeout(5000).times(4)).insertAll(anyList());
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldThrowWhenRetryQueueIsFull() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-record-writer")) {
+                blocked.countDown();
+                release.await();
+            } else {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batches.add(List.copyOf(invocation.getArgument(0)));
+            return null;
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(1, 1, Duration.ofMillis(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        blocked.await();
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        assertThrows(AuditRuntimeException.class, () -> auditEventProcessor.process(testEvent(LocalDateTime.now())));
+        assertThat(auditEventProcessor.getRetryQueueSize()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void shouldDropSingleRecordRejectedByDatabase() {
+        doAnswer(invocation -> {
+            throw new DataIntegrityViolationException("value too long");
+        }).when(auditRecordBatchWriter).insertAll(anyList());
+        auditEventProcessor = processor(100, 1, Duration.ofMillis(10));
+
+        auditEventProcessor.process(testEvent(LocalDateTime.now()));
+
+        verify(auditRecordBatchWriter, after(500).times(1)).insertAll(anyList());
+        assertThat(auditEventProcessor.getRetryQueueSize()).isZero();
+    }
+
+    private WriteBehindAuditEventProcessor processor(int queueCapacity, int flushSize, Duration flushInterval) {
+        return new WriteBehindAuditEventProcessor(
+            auditRecordBatchWriter,
+            mock(PlatformTransactionManager.class),
+            queueCapacity,
+            flushSize,
+            flushInterval,
+            Duration.ofMillis(10),
+            Duration.ofMillis(10),
+            Duration.ofMillis(50),
+            Duration.ofSeconds(5)
+        );
+    }
+
+}
@@ -17,6 +17,7 @@
 package com.ritense.authorization
 
 import com.ritense.authorization.permission.Permission
+import com.ritense.authorization.permission.PermissionIndex
 import com.ritense.authorization.permission.PermissionRepository
 import com.ritense.authorization.request.AuthorizationRequest
 import com.ritense.authorization.role.Role
@@ -33,7 +34,8 @@ class ValtimoAuthorizationService(
     private val mappers: List<AuthorizationEntityMapper<*, *>>,
     private val actionProviders: List<ResourceActionProvider<*>>,
     private val permissionRepository: PermissionRepository,
-    private val userManagementService: UserManagementService
+    private val userManagementService: UserManagementService,
+    private val permissionIndex: PermissionIndex = PermissionIndex.disabled(permissionRepository)
 ) : AuthorizationService {
     override fun <T : Any> requirePermission(
         request: AuthorizationRequest<T>
@@ -75,7 +77,7 @@ class ValtimoAuthorizationService(
     }
 
     override fun getPermissions(resourceType: Class<*>, action: Action<*>): List<Permission> {
-        return permissionRepository.findAllByResourceTypeAndAction(resourceType, action)
+        return permissionIndex.getPermissions(resourceType, action)
     }
 
     override fun <FROM, TO> getMapper(
@@ -120,10 +122,7 @@ class ValtimoAuthorizationService(
                 ?.roles
                 ?: return emptyList()
         }
-        return permissionRepository.findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(userRoles)
-            .filter { permission ->
-                context.resourceType == permission.resourceType && context.action == permission.action
-            }
+        return permissionIndex.getPermissions(userRoles, context.resourceType, context.action)
     }
 
     private fun logPermissions(request: AuthorizationRequest<*>, permissions: List<Permission>) {
@@ -28,6 +28,8 @@ import com.ritense.authorization.ValtimoAuthorizationService
 import com.ritense.authorization.annotation.RunWithoutAuthorizationAspect
 import com.ritense.authorization.deployment.PermissionDeployer
 import com.ritense.authorization.deployment.RoleDeployer
+import com.ritense.authorization.permission.PermissionIndex
+import com.ritense.authorization.permission.PermissionIndexRefreshJob
 import com.ritense.authorization.permission.PermissionRepository
 import com.ritense.authorization.role.RoleRepository
 import com.ritense.authorization.specification.AuthorizationSpecificationFactory
@@ -77,19 +79,38 @@ class AuthorizationAutoConfiguration(
         actionProviders: List<ResourceActionProvider<*>>,
         permissionRepository: PermissionRepository,
         roleRepository: RoleRepository,
-        userManagementService: UserManagementService
+        userManagementService: UserManagementService,
+        permissionIndex: PermissionIndex
     ): AuthorizationService {
         val authorizationService = ValtimoAuthorizationService(
             authorizationSpecificationFactories,
             mappers,
             actionProviders,
             permissionRepository,
-            userManagementService
+            userManagementService,
+            permissionIndex
         )
         AuthorizationServiceHolder(authorizationService)
         return authorizationService
     }
 
+    @Bean
+    @ConditionalOnMissingBean(PermissionIndex::class)
+    fun permissionIndex(
+        permissionRepository: PermissionRepository,
+        @Value("\${valtimo.authorization.permission-index.enabled:true}") enabled: Boolean
+    ): PermissionIndex {
+        return PermissionIndex(permissionRepository, enabled)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PermissionIndexRefreshJob::class)
+    fun permissionIndexRefreshJob(
+        permissionIndex: PermissionIndex
+    ): PermissionIndexRefreshJob {
+        return PermissionIndexRefreshJob(permissionIndex)
+    }
+
     @Order(HIGHEST_PRECEDENCE + 1)
     @Bean
     @ConditionalOnClass(DataSource::class)
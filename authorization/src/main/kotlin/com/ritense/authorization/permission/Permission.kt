@@ -24,6 +24,7 @@ import io.hypersistence.utils.hibernate.type.json.JsonType
 import jakarta.persistence.Column
 import jakarta.persistence.Embedded
 import jakarta.persistence.Entity
+import jakarta.persistence.EntityListeners
 import jakarta.persistence.FetchType
 import jakarta.persistence.Id
 import jakarta.persistence.JoinColumn
@@ -38,6 +39,7 @@ import org.hibernate.annotations.Type
 
 @Entity
 @Table(name = "permission")
+@EntityListeners(PermissionIndexEntityListener::class)
 data class Permission(
     @Id
     @Column(name = "id")
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.authorization.permission
+
+import com.ritense.authorization.Action
+import java.util.concurrent.atomic.AtomicLong
+import mu.KotlinLogging
+import org.springframework.data.domain.Sort
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * In-memory index of all permissions, keyed by role, resource type and action.
+ *
+ * The index is loaded on first use and rebuilt after permissions or roles are saved or deleted on this node. It is
+ * invalidated both immediately and after the surrounding transaction completes, so uncommitted or rolled back changes
+ * never stay indexed. A load that overlaps with an invalidation is used once but not kept. Changes made by other nodes
+ * are picked up by [refreshIfChanged], which compares a version stamp derived from the permission table.
+ */
+class PermissionIndex(
+    private val permissionRepository: PermissionRepository,
+    private val enabled: Boolean = true
+) {
+    private val version = AtomicLong()
+
+    @Volatile
+    private var snapshot: Snapshot? = null
+
+    @Volatile
+    private var stamp: String? = null
+
+    fun getPermissions(roleKeys: Collection<String>, resourceType: Class<*>, action: Action<*>): List<Permission> {
+        if (!enabled) {
+            return permissionRepository.findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(roleKeys)
+                .filter { permission -> resourceType == permission.resourceType && action == permission.action }
+        }
+        val current = snapshot ?: load()
+        return roleKeys.distinct()
+            .sorted()
+            .flatMap { roleKey -> current.byRole[Key(roleKey, resourceType, action.key)] ?: emptyList() }
+    }
+
+    fun getPermissions(resourceType: Class<*>, action: Action<*>): List<Permission> {
+        if (!enabled) {
+            return permissionRepository.findAllByResourceTypeAndAction(resourceType, action)
+        }
+        val current = snapshot ?: load()
+        return current.byResourceTypeAndAction[resourceType to action.key] ?: emptyList()
+    }
+
+    fun invalidate() {
+        if (!enabled) {
+            return
+        }
+        evict()
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+                override fun afterCompletion(status: Int) {
+                    evict()
+                }
+            })
+        }
+    }
+
+    /**
+     * Clears the index when the permissions in the database were changed by another node.
+     */
+    fun refreshIfChanged() {
+        if (!enabled) {
+            return
+        }
+        val rows = permissionRepository.findAllIdsAndRoleKeys()
+        val currentStamp = "${rows.size}:${rows.fold(1) { hash, row -> 31 * hash + row.contentHashCode() }}"
+        if (stamp != currentStamp) {
+            if (stamp != null) {
+                logger.debug { "Permissions changed ($stamp -> $currentStamp). Clearing permission index" }
+            }
+            evict()
+            stamp = currentStamp
+        }
+    }
+
+    private fun load(): Snapshot {
+        val loadedVersion = version.get()
+        val loaded = Snapshot(permissionRepository.findAll(Sort.by("role.key", "resourceType")))
+        synchronized(this) {
+            if (version.get() == loadedVersion) {
+                snapshot = loaded
+            }
+        }
+        return loaded
+    }
+
+    private fun evict() {
+        synchronized(this) {
+            version.incrementAndGet()
+            snapshot = null
+        }
+    }
+
+    private data class Key(
+        val roleKey: String,
+        val resourceType: Class<*>,
+        val actionKey: String
+    )
+
+    private class Snapshot(permissions: List<Permission>) {
+        val byRole = permissions.groupBy { Key(it.role.key, it.resourceType, it.action.key) }
+        val byResourceTypeAndAction = permissions.groupBy { it.resourceType to it.action.key }
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+
+        @JvmStatic
+        fun disabled(permissionRepository: PermissionRepository) = PermissionIndex(permissionRepository, false)
+    }
+}
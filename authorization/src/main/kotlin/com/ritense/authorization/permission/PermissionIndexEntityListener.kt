@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.authorization.permission
+
+import jakarta.persistence.PostPersist
+import jakarta.persistence.PostRemove
+import jakarta.persistence.PostUpdate
+import org.springframework.beans.factory.ObjectProvider
+
+/**
+ * Invalidates the [PermissionIndex] when a permission or role is saved or deleted. The index is looked up lazily,
+ * because Hibernate creates this listener while the entity manager factory that the index depends on is being built.
+ */
+class PermissionIndexEntityListener(
+    private val permissionIndex: ObjectProvider<PermissionIndex>
+) {
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    fun invalidate(entity: Any) {
+        permissionIndex.ifAvailable { it.invalidate() }
+    }
+}
@@ -19,10 +19,14 @@ package com.ritense.authorization.permission
 import com.ritense.authorization.Action
 import java.util.UUID
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Query
 
 interface PermissionRepository : JpaRepository<Permission, UUID> {
     fun findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(roleKeys: Collection<String>): List<Permission>
 
     fun findAllByResourceTypeAndAction(resourceType: Class<*>, action: Action<*>): List<Permission>
     fun deleteByRoleKeyIn(roleKeys: List<String>)
+
+    @Query("SELECT p.id, r.key FROM Permission p JOIN p.role r ORDER BY p.id")
+    fun findAllIdsAndRoleKeys(): List<Array<Any>>
 }
\ No newline at end of file
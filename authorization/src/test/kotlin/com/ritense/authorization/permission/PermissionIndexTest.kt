@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.authorization.permission
+
+import com.ritense.authorization.Action
+import com.ritense.authorization.role.Role
+import kotlin.test.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.springframework.data.domain.Sort
+
+class PermissionIndexTest {
+
+    lateinit var permissionRepository: PermissionRepository
+    lateinit var permissionIndex: PermissionIndex
+
+    private val viewStringAsUser = permission(String::class.java, Action.VIEW, "ROLE_USER")
+    private val viewStringAsAdmin = permission(String::class.java, Action.VIEW, "ROLE_ADMIN")
+    private val createStringAsUser = permission(String::class.java, Action.CREATE, "ROLE_USER")
+    private val viewIntAsUser = permission(Int::class.java, Action.VIEW, "ROLE_USER")
+
+    @BeforeEach
+    fun setup() {
+        permissionRepository = mock()
+        permissionIndex = PermissionIndex(permissionRepository)
+        whenever(permissionRepository.findAll(any<Sort>())).thenReturn(
+            listOf(viewStringAsAdmin, viewStringAsUser, createStringAsUser, viewIntAsUser)
+        )
+    }
+
+    @Test
+    fun `should find permissions by role, resource type and action`() {
+        val permissions = permissionIndex.getPermissions(
+            listOf("ROLE_USER", "ROLE_ADMIN", "ROLE_USER"),
+            String::class.java,
+            Action<String>(Action.VIEW)
+        )
+
+        assertEquals(listOf(viewStringAsAdmin, viewStringAsUser), permissions)
+    }
+
+    @Test
+    fun `should find permissions of all roles by resource type and action`() {
+        val permissions = permissionIndex.getPermissions(String::class.java, Action<String>(Action.CREATE))
+
+        assertEquals(listOf(createStringAsUser), permissions)
+    }
+
+    @Test
+    fun `should load permissions only once`() {
+        repeat(3) {
+            permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+        }
+
+        verify(permissionRepository, times(1)).findAll(any<Sort>())
+        verify(permissionRepository, never()).findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(any())
+    }
+
+    @Test
+    fun `should reload permissions after invalidate`() {
+        permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+        permissionIndex.invalidate()
+        permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+
+        verify(permissionRepository, times(2)).findAll(any<Sort>())
+    }
+
+    @Test
+    fun `should reload permissions when stamp changes`() {
+        whenever(permissionRepository.findAllIdsAndRoleKeys())
+            .thenReturn(listOf(arrayOf<Any>(viewStringAsUser.id, "ROLE_USER")))
+        permissionIndex.refreshIfChanged()
+
+        permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+        permissionIndex.refreshIfChanged()
+        permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+        verify(permissionRepository, times(1)).findAll(any<Sort>())
+
+        whenever(permissionRepository.findAllIdsAndRoleKeys())
+            .thenReturn(listOf(arrayOf<Any>(viewStringAsUser.id, "ROLE_OTHER")))
+        permissionIndex.refreshIfChanged()
+        permissionIndex.getPermissions(listOf("ROLE_USER"), String::class.java, Action<String>(Action.VIEW))
+        verify(permissionRepository, times(2)).findAll(any<Sort>())
+    }
+
+    @Test
+    fun `should always query repository when disabled`() {
+        permissionIndex = PermissionIndex.disabled(permissionRepository)
+        whenever(permissionRepository.findAllByRoleKeyInOrderByRoleKeyAscResourceTypeAsc(any()))
+            .thenReturn(listOf(viewStringAsUser, createStringAsUser))
+
+        val permissions = permissionIndex.getPermissions(
+            listOf("ROLE_USER"),
+            String::class.java,
+            Action<String>(Action.VIEW)
+        )
+
+        assertEquals(listOf(viewStringAsUser), permissions)
+        verify(permissionRepository, never()).findAll(any<Sort>())
+    }
+
+    private fun permission(resourceType: Class<*>, action: String, roleKey: String) = Permission(
+        resourceType = resourceType,
+        action = Action<Any>(action),
+        conditionContainer = ConditionContainer(),
+        role = Role(key = roleKey)
+    )
+}
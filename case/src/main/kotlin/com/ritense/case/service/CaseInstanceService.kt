@@ -20,6 +20,8 @@ import com.ritense.case.domain.CaseListColumn
 import com.ritense.case.repository.CaseDefinitionListColumnRepository
 import com.ritense.case.web.rest.dto.CaseListRowDto
 import com.ritense.document.domain.Document
+import com.ritense.document.domain.search.KeysetPage
+import com.ritense.document.domain.search.KeysetPageRequest
 import com.ritense.document.domain.search.SearchWithConfigRequest
 import com.ritense.document.service.DocumentSearchService
 import com.ritense.valueresolver.ValueResolverService
@@ -47,36 +49,74 @@ class CaseInstanceService(
         )
         val newPageable = mutatePageable(caseListColumns, pageable)
 
-        return documentSearchService.search(caseDefinitionName, searchRequest, newPageable)
-            .map { document -> toCaseListRowDto(document, caseListColumns) }
+        val page = documentSearchService.search(caseDefinitionName, searchRequest, newPageable)
+        val toCaseListRowDto = caseListRowMapper(caseDefinitionName, page.content, caseListColumns)
+        return page.map { document -> toCaseListRowDto(document) }
+    }
+
+    /**
+     * Returns the page after the cursor of the given page request. Unlike the offset based search, deep pages are
+     * as fast as the first page.
+     */
+    fun search(
+        caseDefinitionName: String,
+        searchRequest: SearchWithConfigRequest,
+        pageRequest: KeysetPageRequest
+    ): KeysetPage<CaseListRowDto> {
+        // No authorization on this level, as we have to fully rely on the documentSearchService for filtering results
+        val caseListColumns = caseDefinitionListColumnRepository.findByIdCaseDefinitionNameOrderByOrderAsc(
+            caseDefinitionName
+        )
+        val newPageRequest = pageRequest.withSort(mutateSort(caseListColumns, pageRequest.sort))
+
+        val page = documentSearchService.search(caseDefinitionName, searchRequest, newPageRequest)
+        val toCaseListRowDto = caseListRowMapper(caseDefinitionName, page.content, caseListColumns)
+        return page.map { document -> toCaseListRowDto(document) }
     }
 
     private fun mutatePageable(caseListColumns: Collection<CaseListColumn>, pageable: Pageable): PageRequest {
-        val newSortOrders = pageable.sort.map { sortOrder ->
+        return PageRequest.of(pageable.pageNumber, pageable.pageSize, mutateSort(caseListColumns, pageable.sort))
+    }
+
+    private fun mutateSort(caseListColumns: Collection<CaseListColumn>, sort: Sort): Sort {
+        val newSortOrders = sort.map { sortOrder ->
             val caseListColumn = caseListColumns.find { caseListColumn -> caseListColumn.id.key == sortOrder.property }
             val sortingProperty = caseListColumn?.path ?: sortOrder.property
             Sort.Order(sortOrder.direction, sortingProperty, sortOrder.nullHandling)
         }
-        val newSort = Sort.by(newSortOrders.toMutableList())
-        return PageRequest.of(pageable.pageNumber, pageable.pageSize, newSort)
+        return Sort.by(newSortOrders.toMutableList())
     }
 
-    private fun toCaseListRowDto(document: Document, caseListColumns: List<CaseListColumn>): CaseListRowDto {
+    /**
+     * Resolves the values of all rows at once, so value resolvers can load what they need in bulk instead of once per
+     * row.
+     */
+    private fun caseListRowMapper(
+        caseDefinitionName: String,
+        documents: List<Document>,
+        caseListColumns: List<CaseListColumn>
+    ): (Document) -> CaseListRowDto {
         val paths = caseListColumns.map { it.path }
-        val resolvedValuesMap = valueResolverService.resolveValues(document.id().id.toString(), paths)
+        val resolvedValues = valueResolverService.resolveValues(
+            documents.associateBy { document -> document.id().id.toString() },
+            paths
+        )
+        val addAssignee = caseListColumns.none { it.id.key == "assigneeFullName" }
+            && documents.isNotEmpty()
+            && caseDefinitionService.getCaseSettings(caseDefinitionName).canHaveAssignee
 
-        val items = caseListColumns.map { caseListColumn ->
-            CaseListRowDto.CaseListItemDto(caseListColumn.id.key, resolvedValuesMap[caseListColumn.path])
-        }.toMutableList()
+        return { document ->
+            val resolvedValuesMap = resolvedValues[document.id().id.toString()] ?: emptyMap()
+            val items = caseListColumns.map { caseListColumn ->
+                CaseListRowDto.CaseListItemDto(caseListColumn.id.key, resolvedValuesMap[caseListColumn.path])
+            }.toMutableList()
 
-        if (items.none { it.key == "assigneeFullName" }) {
-            val caseSettings = caseDefinitionService.getCaseSettings(document.definitionId().name())
-            if (caseSettings.canHaveAssignee) {
+            if (addAssignee) {
                 items.add(CaseListRowDto.CaseListItemDto("assigneeFullName", document.assigneeFullName()))
             }
-        }
 
-        return CaseListRowDto(document.id().toString(), items)
+            CaseListRowDto(document.id().toString(), items)
+        }
     }
 
 }
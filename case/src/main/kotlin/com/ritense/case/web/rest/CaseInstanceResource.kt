@@ -18,17 +18,21 @@ package com.ritense.case.web.rest
 
 import com.ritense.case.service.CaseInstanceService
 import com.ritense.case.web.rest.dto.CaseListRowDto
+import com.ritense.document.domain.search.KeysetPage
+import com.ritense.document.domain.search.KeysetPageRequest
 import com.ritense.document.domain.search.SearchWithConfigRequest
 import com.ritense.valtimo.contract.annotation.SkipComponentScan
 import com.ritense.valtimo.contract.domain.ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE
 import org.springframework.data.domain.Page
 import org.springframework.data.domain.Pageable
+import org.springframework.data.domain.Sort
 import org.springframework.http.ResponseEntity
 import org.springframework.stereotype.Controller
 import org.springframework.web.bind.annotation.PathVariable
 import org.springframework.web.bind.annotation.PostMapping
 import org.springframework.web.bind.annotation.RequestBody
 import org.springframework.web.bind.annotation.RequestMapping
+import org.springframework.web.bind.annotation.RequestParam
 
 @Controller
 @SkipComponentScan
@@ -46,4 +50,17 @@ class CaseInstanceResource(
         val result = service.search(caseDefinitionName, searchRequest, pageable)
         return ResponseEntity.ok(result)
     }
+
+    @PostMapping("/v1/case/{caseDefinitionName}/search/keyset")
+    fun keysetSearch(
+        @PathVariable(name = "caseDefinitionName") caseDefinitionName: String,
+        @RequestBody searchRequest: SearchWithConfigRequest,
+        @RequestParam(name = "size", defaultValue = "20") size: Int,
+        @RequestParam(name = "cursor", required = false) cursor: String?,
+        @RequestParam(name = "count", defaultValue = "NONE") countMode: KeysetPageRequest.CountMode,
+        sort: Sort
+    ): ResponseEntity<KeysetPage<CaseListRowDto>> {
+        val pageRequest = KeysetPageRequest(size, sort, cursor, countMode)
+        return ResponseEntity.ok(service.search(caseDefinitionName, searchRequest, pageRequest))
+    }
 }
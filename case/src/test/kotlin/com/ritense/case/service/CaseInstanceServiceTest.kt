@@ -68,8 +68,8 @@ class CaseInstanceServiceTest {
         whenever(DOCUMENT.id()).thenReturn(JsonSchemaDocumentId.newId(UUID.randomUUID()))
         whenever(caseDefinitionListColumnRepository.findByIdCaseDefinitionNameOrderByOrderAsc(CASE_DEFINITION_NAME))
             .thenReturn(listOf(FIRST_NAME_CASE_LIST_COLUMN))
-        whenever(valueResolverService.resolveValues(DOCUMENT.id().id.toString(), listOf("doc:firstName")))
-            .thenReturn(mapOf("doc:firstName" to "John"))
+        whenever(valueResolverService.resolveValues(mapOf(DOCUMENT.id().id.toString() to DOCUMENT), listOf("doc:firstName")))
+            .thenReturn(mapOf(DOCUMENT.id().id.toString() to mapOf("doc:firstName" to "John")))
         whenever(DOCUMENT.definitionId()).thenReturn(JsonSchemaDocumentDefinitionId.newId(CASE_DEFINITION_NAME))
     }
 
@@ -26,18 +26,20 @@ import java.util.UUID;
 public class MysqlQueryDialectHelper implements QueryDialectHelper {
 
     private static final String LOWER_CASE_FUNCTION = "lower";
+    private static final String JSON_VALUE_FUNCTION = "JSON_EXTRACT";
+    private static final String JSON_UNQUOTE_FUNCTION = "JSON_UNQUOTE";
 
     @Override
     public <T> Expression<T> getJsonValueExpression(CriteriaBuilder cb, Path column, String path, Class<T> type) {
         var jsonValue = cb.function(
-            "JSON_EXTRACT",
+            JSON_VALUE_FUNCTION,
             Object.class,
             column,
             cb.literal(path)
         );
         if (CharSequence.class.isAssignableFrom(type) || TemporalAccessor.class.isAssignableFrom(type)) {
             // Strings or timestamps extracted from JSON have additional quotes ("") around them in MySQL 5.7.
-            return cb.function("JSON_UNQUOTE", type, jsonValue);
+            return cb.function(JSON_UNQUOTE_FUNCTION, type, jsonValue);
         } else if (Boolean.class.isAssignableFrom(type)) {
             // Booleans extracted from JSON can be true/false while MySQL only accepts 1/0.
             return cb.function("IF", type, jsonValue, cb.literal(1), cb.literal(0));
@@ -46,6 +48,12 @@ public class MysqlQueryDialectHelper implements QueryDialectHelper {
         }
     }
 
+    @Override
+    public String getJsonValueSql(String column, String path) {
+        final var literal = "'" + path.replace("\\", "\\\\").replace("'", "''") + "'";
+        return JSON_UNQUOTE_FUNCTION + "(" + JSON_VALUE_FUNCTION + "(" + column + ", " + literal + "))";
+    }
+
     @Override
     public Predicate getJsonValueExistsExpression(CriteriaBuilder cb, Path column, String value) {
         Expression<?> searchColumn = column;
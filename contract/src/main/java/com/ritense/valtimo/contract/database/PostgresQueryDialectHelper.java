@@ -29,14 +29,16 @@ import java.util.UUID;
 public class PostgresQueryDialectHelper implements QueryDialectHelper {
 
     private static final String LOWER_CASE_FUNCTION = "lower";
+    private static final String JSON_VALUE_FUNCTION = "jsonb_path_query_first";
+    private static final String JSON_PATH_FUNCTION = "jsonpath";
 
     @Override
     public <T> Expression<T> getJsonValueExpression(CriteriaBuilder cb, Path column, String jsonPath, Class<T> type) {
         var jsonValue = cb.function(
-            "jsonb_path_query_first",
+            JSON_VALUE_FUNCTION,
             Object.class,
             column,
-            cb.function("jsonpath", String.class, cb.literal(jsonPath))
+            cb.function(JSON_PATH_FUNCTION, String.class, cb.literal(jsonPath))
         );
         if (String.class.isAssignableFrom(type)) {
             return cb.trim('"', jsonValue.as(String.class)).as(type);
@@ -52,6 +54,13 @@ public class PostgresQueryDialectHelper implements QueryDialectHelper {
         }
     }
 
+    @Override
+    public String getJsonValueSql(String column, String path) {
+        // Hibernate renders the trim of a cast to String like this. Postgres normalizes both to btrim(x::varchar, '"').
+        return "trim(both '\"' from cast(" + JSON_VALUE_FUNCTION + "(" + column + ", "
+            + JSON_PATH_FUNCTION + "('" + path.replace("'", "''") + "')) as varchar))";
+    }
+
     @Override
     public Predicate getJsonValueExistsExpression(CriteriaBuilder cb, Path column, String value) {
         return cb.isTrue(
@@ -26,6 +26,12 @@ public interface QueryDialectHelper {
 
     <T> Expression<T> getJsonValueExpression(CriteriaBuilder cb, Path column, String path, Class<T> type);
 
+    /**
+     * Renders the SQL of {@link #getJsonValueExpression} for a text value, with the path as a literal. Database objects
+     * that must match the queries exactly, like the indexes of search fields, are defined with this expression.
+     */
+    String getJsonValueSql(String column, String path);
+
     Predicate getJsonValueExistsExpression(CriteriaBuilder cb, Path column, String value);
 
     Predicate getJsonValueExistsInPathExpression(CriteriaBuilder cb, Path column, String path, String value);
@@ -31,12 +31,16 @@ import com.ritense.document.repository.DocumentDefinitionSequenceRepository;
 import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
 import com.ritense.document.service.DocumentDefinitionService;
 import com.ritense.document.service.DocumentSearchService;
+import com.ritense.document.service.DocumentSearchTextService;
 import com.ritense.document.service.DocumentSequenceGeneratorService;
 import com.ritense.document.service.DocumentService;
 import com.ritense.document.service.DocumentStatisticService;
 import com.ritense.document.service.InternalCaseStatusService;
 import com.ritense.document.service.SearchFieldService;
 import com.ritense.document.service.UndeployDocumentDefinitionService;
+import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionCache;
+import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionCacheRefreshJob;
+import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionSequenceAllocator;
 import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionSequenceGeneratorService;
 import com.ritense.document.service.impl.JsonSchemaDocumentDefinitionService;
 import com.ritense.document.service.impl.JsonSchemaDocumentSearchService;
@@ -57,6 +61,7 @@ import com.ritense.valtimo.contract.hardening.service.HardeningService;
 import jakarta.persistence.EntityManager;
 import java.util.Optional;
 import javax.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -83,7 +88,10 @@ public class DocumentAutoConfiguration {
         final ApplicationEventPublisher applicationEventPublisher,
         final OutboxService outboxService,
         final ObjectMapper objectMapper,
-        final InternalCaseStatusService internalCaseStatusService
+        final InternalCaseStatusService internalCaseStatusService,
+        final EntityManager entityManager,
+        @Value("${valtimo.document.bulk.batch-size:100}") final int batchSize,
+        @Value("${valtimo.document.bulk.validation-threads:4}") final int validationThreads
     ) {
         return new JsonSchemaDocumentService(
             documentRepository,
@@ -95,7 +103,10 @@ public class DocumentAutoConfiguration {
             applicationEventPublisher,
             outboxService,
             objectMapper,
-            internalCaseStatusService
+            internalCaseStatusService,
+            entityManager,
+            batchSize,
+            validationThreads
         );
     }
 
@@ -104,15 +115,35 @@ public class DocumentAutoConfiguration {
     public JsonSchemaDocumentDefinitionService documentDefinitionService(
         final ResourceLoader resourceLoader,
         final DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository,
-        final AuthorizationService authorizationService
+        final AuthorizationService authorizationService,
+        final JsonSchemaDocumentDefinitionCache documentDefinitionCache
     ) {
         return new JsonSchemaDocumentDefinitionService(
             resourceLoader,
             documentDefinitionRepository,
-            authorizationService
+            authorizationService,
+            documentDefinitionCache
         );
     }
 
+    @Bean
+    @ConditionalOnMissingBean(JsonSchemaDocumentDefinitionCache.class)
+    public JsonSchemaDocumentDefinitionCache documentDefinitionCache(
+        final DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository,
+        @Value("${valtimo.document.definition.cache.enabled:true}") final boolean enabled,
+        @Value("${valtimo.document.definition.cache.maximum-size:1000}") final long maximumSize
+    ) {
+        return new JsonSchemaDocumentDefinitionCache(documentDefinitionRepository, enabled, maximumSize);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(JsonSchemaDocumentDefinitionCacheRefreshJob.class)
+    public JsonSchemaDocumentDefinitionCacheRefreshJob documentDefinitionCacheRefreshJob(
+        final JsonSchemaDocumentDefinitionCache documentDefinitionCache
+    ) {
+        return new JsonSchemaDocumentDefinitionCacheRefreshJob(documentDefinitionCache);
+    }
+
     @Bean
     @ConditionalOnMissingBean(JsonSchemaDocumentDefinitionExporter.class)
     public JsonSchemaDocumentDefinitionExporter documentDefinitionExporter(
@@ -135,12 +166,28 @@ public class DocumentAutoConfiguration {
         );
     }
 
+    @Bean
+    @ConditionalOnMissingBean(JsonSchemaDocumentDefinitionSequenceAllocator.class)
+    public JsonSchemaDocumentDefinitionSequenceAllocator documentSequenceAllocator(
+        final DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository
+    ) {
+        return new JsonSchemaDocumentDefinitionSequenceAllocator(documentDefinitionSequenceRepository);
+    }
+
     @Bean
     @ConditionalOnMissingBean(DocumentSequenceGeneratorService.class)
     public JsonSchemaDocumentDefinitionSequenceGeneratorService documentSequenceGeneratorService(
-        final DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository
+        final JsonSchemaDocumentDefinitionSequenceAllocator documentSequenceAllocator,
+        final DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository,
+        @Value("${valtimo.document.sequence.block-size:1}") final long blockSize,
+        @Value("${valtimo.document.sequence.allow-gaps:false}") final boolean allowGaps
     ) {
-        return new JsonSchemaDocumentDefinitionSequenceGeneratorService(documentDefinitionSequenceRepository);
+        return new JsonSchemaDocumentDefinitionSequenceGeneratorService(
+            documentSequenceAllocator,
+            documentDefinitionSequenceRepository,
+            blockSize,
+            allowGaps
+        );
     }
 
     @Bean
@@ -168,7 +215,9 @@ public class DocumentAutoConfiguration {
         final UserManagementService userManagementService,
         final AuthorizationService authorizationService,
         final OutboxService outboxService,
-        final ObjectMapper objectMapper
+        final ObjectMapper objectMapper,
+        @Nullable final DocumentSearchTextService documentSearchTextService,
+        @Value("${valtimo.document.search-text.like-search:false}") final boolean searchTextForLikeSearch
     ) {
         return new JsonSchemaDocumentSearchService(
             entityManager,
@@ -177,7 +226,9 @@ public class DocumentAutoConfiguration {
             userManagementService,
             authorizationService,
             outboxService,
-            objectMapper
+            objectMapper,
+            documentSearchTextService,
+            searchTextForLikeSearch
         );
     }
 
@@ -225,9 +276,11 @@ public class DocumentAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(DocumentResource.class)
     public JsonSchemaDocumentResource documentResource(
-        DocumentService documentService
+        DocumentService documentService,
+        ObjectMapper objectMapper,
+        @Value("${valtimo.document.bulk.batch-size:100}") int batchSize
     ) {
-        return new JsonSchemaDocumentResource(documentService);
+        return new JsonSchemaDocumentResource(documentService, objectMapper, batchSize);
     }
 
     @Bean
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.autoconfigure;
+
+import com.ritense.document.domain.impl.listener.DocumentSearchTextEventListener;
+import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
+import com.ritense.document.repository.impl.JsonSchemaDocumentSearchTextRepository;
+import com.ritense.document.service.DocumentSearchTextService;
+import com.ritense.document.service.impl.MysqlDocumentSearchTextService;
+import com.ritense.document.service.impl.PostgresDocumentSearchTextService;
+import com.ritense.document.web.rest.impl.DocumentSearchTextManagementResource;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "valtimo.document.search-text", name = "enabled", havingValue = "true")
+public class DocumentSearchTextAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentSearchTextService.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
+    public PostgresDocumentSearchTextService postgresDocumentSearchTextService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentSearchTextRepository searchTextRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        @Value("${valtimo.document.search-text.rebuild-batch-size:500}") int rebuildBatchSize
+    ) {
+        return new PostgresDocumentSearchTextService(
+            documentRepository,
+            searchTextRepository,
+            entityManager,
+            new TransactionTemplate(transactionManager),
+            rebuildBatchSize
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentSearchTextService.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "mysql", matchIfMissing = true)
+    public MysqlDocumentSearchTextService mysqlDocumentSearchTextService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentSearchTextRepository searchTextRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        JdbcTemplate jdbcTemplate,
+        @Value("${valtimo.document.search-text.rebuild-batch-size:500}") int rebuildBatchSize
+    ) {
+        return new MysqlDocumentSearchTextService(
+            documentRepository,
+            searchTextRepository,
+            entityManager,
+            new TransactionTemplate(transactionManager),
+            jdbcTemplate,
+            rebuildBatchSize
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentSearchTextEventListener.class)
+    public DocumentSearchTextEventListener documentSearchTextEventListener(
+        DocumentSearchTextService documentSearchTextService
+    ) {
+        return new DocumentSearchTextEventListener(documentSearchTextService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DocumentSearchTextManagementResource.class)
+    public DocumentSearchTextManagementResource documentSearchTextManagementResource(
+        DocumentSearchTextService documentSearchTextService
+    ) {
+        return new DocumentSearchTextManagementResource(documentSearchTextService);
+    }
+
+}
@@ -32,6 +32,7 @@ import com.ritense.document.service.impl.JsonSchemaDocumentService;
 import com.ritense.document.service.impl.JsonSchemaDocumentSnapshotService;
 import com.ritense.document.web.rest.DocumentSnapshotResource;
 import com.ritense.document.web.rest.impl.JsonSchemaDocumentSnapshotResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -51,13 +52,17 @@ public class DocumentSnapshotAutoConfiguration {
         final DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
         final JsonSchemaDocumentService documentService,
         final JsonSchemaDocumentDefinitionService documentDefinitionService,
-        final AuthorizationService authorizationService
+        final AuthorizationService authorizationService,
+        @Value("${valtimo.versioning.delta.enabled:false}") final boolean deltaEnabled,
+        @Value("${valtimo.versioning.delta.checkpoint-interval:10}") final int checkpointInterval
     ) {
         return new JsonSchemaDocumentSnapshotService(
             documentSnapshotRepository,
             documentService,
             documentDefinitionService,
-            authorizationService
+            authorizationService,
+            deltaEnabled,
+            checkpointInterval
         );
     }
 
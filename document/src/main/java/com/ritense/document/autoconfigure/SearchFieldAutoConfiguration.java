@@ -25,12 +25,20 @@ import com.ritense.document.repository.SearchFieldRepository;
 import com.ritense.document.service.DocumentDefinitionService;
 import com.ritense.document.service.DocumentStatisticService;
 import com.ritense.document.service.SearchConfigurationDeploymentService;
+import com.ritense.document.service.SearchFieldIndexService;
 import com.ritense.document.service.SearchFieldService;
+import com.ritense.document.service.impl.MysqlSearchFieldIndexService;
+import com.ritense.document.service.impl.PostgresSearchFieldIndexService;
+import com.ritense.document.web.rest.impl.SearchFieldIndexManagementResource;
 import com.ritense.document.web.rest.impl.SearchFieldResource;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @AutoConfiguration
 public class SearchFieldAutoConfiguration {
@@ -43,6 +51,14 @@ public class SearchFieldAutoConfiguration {
         return new SearchFieldResource(searchFieldService);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(SearchFieldIndexManagementResource.class)
+    public SearchFieldIndexManagementResource searchFieldIndexManagementResource(
+        SearchFieldService searchFieldService
+    ) {
+        return new SearchFieldIndexManagementResource(searchFieldService);
+    }
+
     @Bean
     @ConditionalOnMissingBean(SearchFieldExporter.class)
     public SearchFieldExporter searchFieldExporter(
@@ -65,9 +81,39 @@ public class SearchFieldAutoConfiguration {
     public SearchFieldService searchFieldService(
         SearchFieldRepository searchFieldRepository,
         DocumentDefinitionService documentDefinitionService,
-        AuthorizationService authorizationService
+        AuthorizationService authorizationService,
+        SearchFieldIndexService searchFieldIndexService
+    ) {
+        return new SearchFieldService(
+            searchFieldRepository,
+            documentDefinitionService,
+            authorizationService,
+            searchFieldIndexService
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SearchFieldIndexService.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "postgres")
+    public PostgresSearchFieldIndexService postgresSearchFieldIndexService(
+        JdbcTemplate jdbcTemplate,
+        SearchFieldRepository searchFieldRepository,
+        QueryDialectHelper queryDialectHelper,
+        @Value("${valtimo.document.search-field.indexing.enabled:false}") boolean enabled
+    ) {
+        return new PostgresSearchFieldIndexService(jdbcTemplate, searchFieldRepository, queryDialectHelper, enabled);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SearchFieldIndexService.class)
+    @ConditionalOnProperty(prefix = "valtimo", name = "database", havingValue = "mysql", matchIfMissing = true)
+    public MysqlSearchFieldIndexService mysqlSearchFieldIndexService(
+        JdbcTemplate jdbcTemplate,
+        SearchFieldRepository searchFieldRepository,
+        QueryDialectHelper queryDialectHelper,
+        @Value("${valtimo.document.search-field.indexing.enabled:false}") boolean enabled
     ) {
-        return new SearchFieldService(searchFieldRepository, documentDefinitionService, authorizationService);
+        return new MysqlSearchFieldIndexService(jdbcTemplate, searchFieldRepository, queryDialectHelper, enabled);
     }
 
     @Bean
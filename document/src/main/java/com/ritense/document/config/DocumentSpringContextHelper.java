@@ -16,6 +16,7 @@
 
 package com.ritense.document.config;
 
+import com.ritense.document.domain.impl.JsonSchemaValidationEngine;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 
@@ -26,10 +27,18 @@ public class DocumentSpringContextHelper implements ApplicationContextAware {
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) {
         context = applicationContext;
+        JsonSchemaValidationEngine.configure(applicationContext.getEnvironment());
     }
 
     public static <T> T getProperty(String property, Class<T> targetClass) {
         return context.getEnvironment().getProperty(property, targetClass);
     }
 
+    public static <T> T getProperty(String property, Class<T> targetClass, T defaultValue) {
+        if (context == null) {
+            return defaultValue;
+        }
+        return context.getEnvironment().getProperty(property, targetClass, defaultValue);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.everit.json.schema.Schema;
+
+/**
+ * Bounded cache of compiled Everit {@link Schema} instances keyed by document definition id.
+ *
+ * <p>Compiling a schema is expensive, while a deployed definition version never changes. Entries are verified against
+ * the raw schema source on every lookup, so a definition that was undeployed and redeployed under the same id (for
+ * example on another node) is recompiled instead of served stale.</p>
+ */
+public final class CompiledJsonSchemaCache {
+
+    private static final long MAXIMUM_SIZE = 1_000;
+
+    private static final Cache<JsonSchemaDocumentDefinitionId, Entry> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .build();
+
+    private CompiledJsonSchemaCache() {
+    }
+
+    public static Schema get(JsonSchemaDocumentDefinitionId id, JsonSchema jsonSchema) {
+        assertArgumentNotNull(id, "id is required");
+        assertArgumentNotNull(jsonSchema, "jsonSchema is required");
+        final var entry = CACHE.getIfPresent(id);
+        if (entry != null && entry.matches(jsonSchema)) {
+            return entry.schema;
+        }
+        return put(id, jsonSchema);
+    }
+
+    public static Schema put(JsonSchemaDocumentDefinitionId id, JsonSchema jsonSchema) {
+        assertArgumentNotNull(id, "id is required");
+        assertArgumentNotNull(jsonSchema, "jsonSchema is required");
+        final var schema = jsonSchema.getSchema();
+        CACHE.put(id, new Entry(jsonSchema.getSource(), schema));
+        return schema;
+    }
+
+    public static void evict(String documentDefinitionName) {
+        assertArgumentNotNull(documentDefinitionName, "documentDefinitionName is required");
+        CACHE.asMap().keySet().removeIf(id -> id.name().equals(documentDefinitionName));
+    }
+
+    public static void evictAll() {
+        CACHE.invalidateAll();
+    }
+
+    private static final class Entry {
+
+        private final String source;
+        private final Schema schema;
+
+        private Entry(String source, Schema schema) {
+            this.source = source;
+            this.schema = schema;
+        }
+
+        private boolean matches(JsonSchema jsonSchema) {
+            final var otherSource = jsonSchema.getSource();
+            return source == otherSource || source.equals(otherSource);
+        }
+    }
+
+}
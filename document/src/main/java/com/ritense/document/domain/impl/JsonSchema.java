@@ -31,10 +31,7 @@ import jakarta.persistence.Embeddable;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.util.Objects;
-import org.everit.json.schema.ReadWriteContext;
 import org.everit.json.schema.Schema;
-import org.everit.json.schema.Validator;
 import org.everit.json.schema.loader.SchemaClient;
 import org.everit.json.schema.loader.SchemaLoader;
 import org.hibernate.annotations.Type;
@@ -50,15 +47,12 @@ public final class JsonSchema {
     @Transient
     private static final String DEFAULT_REFERENCE_PATH_LOCATION = "classpath://config/document/definition/reference/";
 
-    @Transient
-    private static final Validator VALIDATOR = Validator.builder()
-        .readWriteContext(ReadWriteContext.WRITE)
-        .build();
-
     @Type(value = JsonType.class)
     @Column(name = "json_schema", columnDefinition = "json")
     private String schema;
 
+    private transient Schema compiledSchema;
+
     JsonSchema() {
     }
 
@@ -88,11 +82,11 @@ public final class JsonSchema {
     }
 
     JsonDocumentContent validateDocument(DocumentContent content) {
-        final var jsonObject = new JSONObject(content.asJson().toString()); // Wrapped is needed for lib
-        // If there are some properties missing from input which have "default" values in the schema,
-        // then they will be set by the validator during validation.
-        VALIDATOR.performValidation(getSchema(), jsonObject);
-        return new JsonDocumentContent(jsonObject.toString());
+        return validateDocument(content, getSchema());
+    }
+
+    JsonDocumentContent validateDocument(DocumentContent content, Schema compiledSchema) {
+        return JsonSchemaValidationEngine.current().validate(compiledSchema, content);
     }
 
     public JsonNode asJson() {
@@ -105,10 +99,17 @@ public final class JsonSchema {
 
     @JsonIgnore
     public Schema getSchema() {
-        final SchemaLoader schemaLoader = getSchemaLoaderBuilder()
-            .schemaJson(new JSONObject(new JSONTokener(schema)))
-            .build();
-        return schemaLoader.load().build();
+        if (compiledSchema == null) {
+            final SchemaLoader schemaLoader = getSchemaLoaderBuilder()
+                .schemaJson(new JSONObject(new JSONTokener(schema)))
+                .build();
+            compiledSchema = schemaLoader.load().build();
+        }
+        return compiledSchema;
+    }
+
+    String getSource() {
+        return schema;
     }
 
     @Override
@@ -120,12 +121,14 @@ public final class JsonSchema {
             return false;
         }
         JsonSchema that = (JsonSchema) o;
-        return getSchema().equals(that.getSchema());
+        // Compares the source instead of the compiled schema, so comparing never compiles. The stored JSON may be
+        // formatted differently, so sources that differ as text are compared as JSON.
+        return schema.equals(that.schema) || asJson().equals(that.asJson());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getSchema());
+        return asJson().hashCode();
     }
 
     @Transient
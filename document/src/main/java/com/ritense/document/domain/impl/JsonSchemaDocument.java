@@ -61,6 +61,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.StreamSupport;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.Type;
@@ -201,6 +203,61 @@ public class JsonSchemaDocument extends AbstractAggregateRoot<JsonSchemaDocument
         return new CreateDocumentResultImpl(document);
     }
 
+    /**
+     * Creates documents for many contents of the same definition. The contents are validated in parallel on the
+     * validation executor and the sequences of the valid documents are reserved in one step.
+     *
+     * @param contents The (unvalidated) contents
+     * @param documentRelations The relation of each document, or null. Must have the same size as the contents
+     * @return The result of each content, in the same order as the contents
+     */
+    public static List<CreateDocumentResultImpl> createAll(
+        final JsonSchemaDocumentDefinition definition,
+        final List<JsonDocumentContent> contents,
+        final List<JsonSchemaDocumentRelation> documentRelations,
+        final String createdBy,
+        final DocumentSequenceGeneratorService documentSequenceGeneratorService,
+        final Executor validationExecutor
+    ) {
+        assertArgumentNotNull(definition, "definition is required");
+        assertArgumentNotNull(contents, "contents is required");
+        assertArgumentNotNull(documentRelations, "documentRelations is required");
+        assertArgumentTrue(contents.size() == documentRelations.size(), "Every content requires a document relation");
+        assertArgumentNotNull(createdBy, "createdBy is required");
+        assertArgumentNotNull(validationExecutor, "validationExecutor is required");
+
+        final List<DocumentContentValidationResult> validationResults = contents.stream()
+            .map(content -> CompletableFuture.supplyAsync(() -> definition.validate(content), validationExecutor))
+            .toList()
+            .stream()
+            .map(CompletableFuture::join)
+            .toList();
+
+        final var validCount = (int) validationResults.stream().filter(DocumentContentValidationResult::passedValidation).count();
+        final var sequences = validCount == 0
+            ? List.<Long>of()
+            : documentSequenceGeneratorService.next(definition.id(), validCount);
+
+        final var results = new ArrayList<CreateDocumentResultImpl>(contents.size());
+        var sequenceIndex = 0;
+        for (int i = 0; i < validationResults.size(); i++) {
+            final var result = validationResults.get(i);
+            if (!result.passedValidation()) {
+                results.add(new CreateDocumentResultImpl(new ArrayList<DocumentOperationError>(result.validationErrors())));
+            } else {
+                results.add(new CreateDocumentResultImpl(new JsonSchemaDocument(
+                    JsonSchemaDocumentId.newId(UUID.randomUUID()),
+                    (JsonDocumentContent) result.content(),
+                    definition,
+                    createdBy,
+                    sequences.get(sequenceIndex++),
+                    documentRelations.get(i)
+                )));
+            }
+        }
+        return results;
+    }
+
     /**
      * Sets this document's content to the given one (super-set value), but only if it passes validation.
      *
@@ -420,7 +477,7 @@ public class JsonSchemaDocument extends AbstractAggregateRoot<JsonSchemaDocument
             super(resultingDocument);
         }
 
-        CreateDocumentResultImpl(List<DocumentOperationError> errors) {
+        public CreateDocumentResultImpl(List<DocumentOperationError> errors) {
             super(errors);
         }
     }
@@ -80,6 +80,7 @@ public class JsonSchemaDocumentDefinition extends AbstractAggregateRoot<JsonSche
         id = another.id();
         schema = another.schema;
         createdOn = another.createdOn();
+        readOnly = another.readOnly;
     }
 
     JsonSchemaDocumentDefinition() {
@@ -104,6 +105,14 @@ public class JsonSchemaDocumentDefinition extends AbstractAggregateRoot<JsonSche
         return schema;
     }
 
+    /**
+     * Returns a copy of this definition that is not attached to any persistence context, so it can be shared outside
+     * the transaction that loaded it.
+     */
+    public JsonSchemaDocumentDefinition detachedCopy() {
+        return new JsonSchemaDocumentDefinition(this);
+    }
+
     public void markReadOnly() {
         this.readOnly = true;
     }
@@ -119,7 +128,7 @@ public class JsonSchemaDocumentDefinition extends AbstractAggregateRoot<JsonSche
 
         List<DocumentContentValidationError> errors = new ArrayList<>();
         try {
-            content = schema.validateDocument(content);
+            content = schema.validateDocument(content, CompiledJsonSchemaCache.get(id, schema));
         } catch (ValidationException e) {
             errors = e.getAllMessages()
                 .stream()
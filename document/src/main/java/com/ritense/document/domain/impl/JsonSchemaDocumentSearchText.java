@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The words of a document's content, stored next to the document so they can be searched with the full-text index of
+ * the database.
+ *
+ * <p>The text contains every distinct word of the leaf values of the content, lowercased and separated by a single
+ * space. Search queries are split with {@link #tokenize(String)}, so the document text and the query always use the
+ * same word boundaries, regardless of the parser of the database.</p>
+ */
+@Entity
+@Table(name = "json_schema_document_search_text")
+public class JsonSchemaDocumentSearchText {
+
+    public static final int MAX_LENGTH = 200_000;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Id
+    @Column(name = "json_schema_document_id", updatable = false, nullable = false)
+    private UUID documentId;
+
+    @Column(name = "search_text", nullable = false)
+    private String searchText;
+
+    public JsonSchemaDocumentSearchText(UUID documentId, String searchText) {
+        assertArgumentNotNull(documentId, "documentId is required");
+        assertArgumentNotNull(searchText, "searchText is required");
+        this.documentId = documentId;
+        this.searchText = searchText;
+    }
+
+    private JsonSchemaDocumentSearchText() {
+    }
+
+    public static JsonSchemaDocumentSearchText of(JsonSchemaDocument document) {
+        return new JsonSchemaDocumentSearchText(document.id().getId(), toSearchText(document.content().asJson()));
+    }
+
+    public static String toSearchText(JsonNode content) {
+        final var words = new LinkedHashSet<String>();
+        collectWords(content, words);
+        final var text = new StringBuilder();
+        for (String word : words) {
+            if (text.length() + word.length() + 1 > MAX_LENGTH) {
+                break;
+            }
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+
+    public static List<String> tokenize(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return WORD_SEPARATOR.splitAsStream(value.toLowerCase(Locale.ROOT))
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .toList();
+    }
+
+    public UUID getDocumentId() {
+        return documentId;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    private static void collectWords(JsonNode node, Set<String> words) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return;
+        }
+        if (node.isContainerNode()) {
+            node.forEach(child -> collectWords(child, words));
+        } else {
+            words.addAll(tokenize(node.asText()));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ritense.document.domain.DocumentContent;
+import java.util.Locale;
+import org.everit.json.schema.ReadWriteContext;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.Validator;
+import org.json.JSONObject;
+import org.springframework.core.env.Environment;
+
+/**
+ * Strategy used by {@link JsonSchema} to validate document content and apply the schema "default" values.
+ *
+ * <p>The engine is selected with the {@value #PROPERTY} property ({@code everit} or {@code jackson}), which is read
+ * once when the application context is set. Both engines validate with the same compiled Everit schema and therefore
+ * report the same errors. Neither engine modifies the content that is validated.</p>
+ */
+public enum JsonSchemaValidationEngine {
+
+    /**
+     * Serializes the content to a String and parses it with org.json before validating, then serializes the result
+     * again. This is the original behaviour.
+     */
+    EVERIT {
+        @Override
+        JsonDocumentContent validate(Schema schema, DocumentContent content) {
+            final var jsonObject = new JSONObject(content.asJson().toString()); // Wrapped is needed for lib
+            // If there are some properties missing from input which have "default" values in the schema,
+            // then they will be set by the validator during validation.
+            VALIDATOR.performValidation(schema, jsonObject);
+            return new JsonDocumentContent(jsonObject.toString());
+        }
+    },
+
+    /**
+     * Copies the Jackson tree directly into an org.json tree and merges the applied defaults back into a copy of the
+     * Jackson tree, so the document is serialized only once. Existing values keep their original key order and number
+     * formatting.
+     */
+    JACKSON {
+        @Override
+        JsonDocumentContent validate(Schema schema, DocumentContent content) {
+            final var json = content.asJson();
+            if (!(json instanceof ObjectNode original)) {
+                return EVERIT.validate(schema, content);
+            }
+            final var objectNode = original.deepCopy();
+            final var jsonObject = OrgJsonTreeConverter.toJsonObject(objectNode);
+            VALIDATOR.performValidation(schema, jsonObject);
+            OrgJsonTreeConverter.mergeMissing(jsonObject, objectNode);
+            return JsonDocumentContent.build(objectNode);
+        }
+    };
+
+    public static final String PROPERTY = "valtimo.document.validation.engine";
+
+    private static final Validator VALIDATOR = Validator.builder()
+        .readWriteContext(ReadWriteContext.WRITE)
+        .build();
+
+    private static volatile JsonSchemaValidationEngine configured = EVERIT;
+
+    abstract JsonDocumentContent validate(Schema schema, DocumentContent content);
+
+    /**
+     * Selects the engine that is configured in the environment.
+     */
+    public static void configure(Environment environment) {
+        final var engine = environment.getProperty(PROPERTY, String.class, EVERIT.name());
+        configured = valueOf(engine.trim().toUpperCase(Locale.ROOT));
+    }
+
+    static JsonSchemaValidationEngine current() {
+        return configured;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Converts between Jackson trees and org.json trees without serializing to an intermediate String.
+ *
+ * <p>Number types follow the conventions of the org.json parser, so the Everit validator sees the same values as it
+ * would after parsing the serialized document.</p>
+ */
+final class OrgJsonTreeConverter {
+
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    private OrgJsonTreeConverter() {
+    }
+
+    static JSONObject toJsonObject(ObjectNode objectNode) {
+        final var jsonObject = new JSONObject();
+        objectNode.fields().forEachRemaining(field -> jsonObject.put(field.getKey(), toOrgJson(field.getValue())));
+        return jsonObject;
+    }
+
+    /**
+     * Copies every key that exists in the org.json tree but not in the Jackson tree into the Jackson tree. This is how
+     * the schema "default" values that Everit sets during validation are carried back, leaving the existing values and
+     * their formatting untouched.
+     */
+    static void mergeMissing(JSONObject source, ObjectNode target) {
+        for (String key : source.keySet()) {
+            final var sourceValue = source.opt(key);
+            final var targetValue = target.get(key);
+            if (targetValue == null) {
+                target.set(key, toJsonNode(sourceValue));
+            } else {
+                mergeMissing(sourceValue, targetValue);
+            }
+        }
+    }
+
+    private static void mergeMissing(Object source, JsonNode target) {
+        if (source instanceof JSONObject sourceObject && target instanceof ObjectNode targetObject) {
+            mergeMissing(sourceObject, targetObject);
+        } else if (source instanceof JSONArray sourceArray && target instanceof ArrayNode targetArray) {
+            for (int i = 0; i < Math.min(sourceArray.length(), targetArray.size()); i++) {
+                mergeMissing(sourceArray.opt(i), targetArray.get(i));
+            }
+        }
+    }
+
+    private static Object toOrgJson(JsonNode node) {
+        if (node.isObject()) {
+            return toJsonObject((ObjectNode) node);
+        } else if (node.isArray()) {
+            final var jsonArray = new JSONArray();
+            node.forEach(element -> jsonArray.put(toOrgJson(element)));
+            return jsonArray;
+        } else if (node.isTextual()) {
+            return node.textValue();
+        } else if (node.isBoolean()) {
+            return node.booleanValue();
+        } else if (node.isIntegralNumber()) {
+            final BigInteger value = node.bigIntegerValue();
+            if (value.bitLength() <= 31) {
+                return value.intValue();
+            } else if (value.bitLength() <= 63) {
+                return value.longValue();
+            }
+            return value;
+        } else if (node.isNumber()) {
+            return node.decimalValue();
+        } else if (node.isNull() || node.isMissingNode()) {
+            return JSONObject.NULL;
+        }
+        return node.asText();
+    }
+
+    private static JsonNode toJsonNode(Object value) {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            return NODE_FACTORY.nullNode();
+        } else if (value instanceof JSONObject jsonObject) {
+            final var objectNode = NODE_FACTORY.objectNode();
+            for (String key : jsonObject.keySet()) {
+                objectNode.set(key, toJsonNode(jsonObject.opt(key)));
+            }
+            return objectNode;
+        } else if (value instanceof JSONArray jsonArray) {
+            final var arrayNode = NODE_FACTORY.arrayNode();
+            for (int i = 0; i < jsonArray.length(); i++) {
+                arrayNode.add(toJsonNode(jsonArray.opt(i)));
+            }
+            return arrayNode;
+        } else if (value instanceof Boolean booleanValue) {
+            return NODE_FACTORY.booleanNode(booleanValue);
+        } else if (value instanceof Integer integerValue) {
+            return NODE_FACTORY.numberNode(integerValue);
+        } else if (value instanceof Long longValue) {
+            return NODE_FACTORY.numberNode(longValue);
+        } else if (value instanceof BigInteger bigIntegerValue) {
+            return NODE_FACTORY.numberNode(bigIntegerValue);
+        } else if (value instanceof BigDecimal bigDecimalValue) {
+            return NODE_FACTORY.numberNode(bigDecimalValue);
+        } else if (value instanceof Number numberValue) {
+            return NODE_FACTORY.numberNode(numberValue.doubleValue());
+        }
+        return NODE_FACTORY.textNode(value.toString());
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl.listener;
+
+import com.ritense.document.domain.impl.event.JsonSchemaDocumentCreatedEvent;
+import com.ritense.document.domain.impl.event.JsonSchemaDocumentModifiedEvent;
+import com.ritense.document.service.DocumentSearchTextService;
+import org.springframework.context.event.EventListener;
+
+public class DocumentSearchTextEventListener {
+
+    private final DocumentSearchTextService documentSearchTextService;
+
+    public DocumentSearchTextEventListener(DocumentSearchTextService documentSearchTextService) {
+        this.documentSearchTextService = documentSearchTextService;
+    }
+
+    @EventListener(JsonSchemaDocumentCreatedEvent.class)
+    public void handleDocumentCreatedEvent(JsonSchemaDocumentCreatedEvent event) {
+        documentSearchTextService.index(event.documentId());
+    }
+
+    @EventListener(JsonSchemaDocumentModifiedEvent.class)
+    public void handleDocumentModifiedEvent(JsonSchemaDocumentModifiedEvent event) {
+        documentSearchTextService.index(event.documentId());
+    }
+
+}
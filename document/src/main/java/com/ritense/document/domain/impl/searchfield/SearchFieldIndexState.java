@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl.searchfield;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum SearchFieldIndexState {
+    /**
+     * The index exists and is used by the database.
+     */
+    PRESENT("present"),
+    /**
+     * The index is expected but does not exist (yet). Indexes are created in the background.
+     */
+    MISSING("missing"),
+    /**
+     * The index exists but could not be built completely. It will be recreated on the next synchronization.
+     */
+    INVALID("invalid"),
+    /**
+     * No index is maintained for this search field, because the generated query can't be supported by an index.
+     */
+    UNSUPPORTED("unsupported"),
+    /**
+     * Automatic indexing of search fields is disabled.
+     */
+    DISABLED("disabled");
+
+    @JsonValue
+    private final String name;
+
+    SearchFieldIndexState(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
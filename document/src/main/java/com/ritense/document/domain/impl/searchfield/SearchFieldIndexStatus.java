@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl.searchfield;
+
+public class SearchFieldIndexStatus {
+
+    private String key;
+    private String path;
+    private String indexName;
+    private SearchFieldIndexState state;
+
+    public SearchFieldIndexStatus(String key, String path, String indexName, SearchFieldIndexState state) {
+        this.key = key;
+        this.path = path;
+        this.indexName = indexName;
+        this.state = state;
+    }
+
+    public SearchFieldIndexStatus() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public SearchFieldIndexState getState() {
+        return state;
+    }
+
+}
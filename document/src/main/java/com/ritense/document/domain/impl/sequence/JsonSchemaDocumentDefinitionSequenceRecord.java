@@ -57,6 +57,10 @@ public class JsonSchemaDocumentDefinitionSequenceRecord
         this.sequence++;
     }
 
+    public void increment(long count) {
+        this.sequence += count;
+    }
+
     @Override
     public DocumentDefinition.Id definitionId() {
         return id;
@@ -47,6 +47,9 @@ public class HistoricDocument implements Document {
     @Embedded
     private JsonDocumentContent content;
 
+    @Transient
+    private JsonDocumentContent restoredContent;
+
     @Embedded
     private JsonSchemaDocumentDefinitionId documentDefinitionId;
 
@@ -125,7 +128,7 @@ public class HistoricDocument implements Document {
 
     @Override
     public JsonDocumentContent content() {
-        return content;
+        return content != null ? content : restoredContent;
     }
 
     @Override
@@ -177,6 +180,14 @@ public class HistoricDocument implements Document {
         return relatedFiles;
     }
 
+    void clearContent() {
+        this.content = null;
+    }
+
+    void restoreContent(JsonDocumentContent content) {
+        this.restoredContent = content;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
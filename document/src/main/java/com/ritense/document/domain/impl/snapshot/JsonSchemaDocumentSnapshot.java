@@ -16,9 +16,19 @@
 
 package com.ritense.document.domain.impl.snapshot;
 
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_COPY_OPERATION;
+import static com.flipkart.zjsonpatch.DiffFlags.OMIT_MOVE_OPERATION;
+import static com.ritense.document.domain.patch.JsonPatchFilterFlag.allowRemovalOperations;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ritense.document.domain.diff.JsonDifferenceService;
+import com.ritense.document.domain.impl.JsonDocumentContent;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.domain.patch.JsonPatchService;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.EmbeddedId;
@@ -26,9 +36,23 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import org.hibernate.annotations.Type;
 import org.springframework.data.domain.Persistable;
 
+/**
+ * A snapshot of a document at a point in time.
+ *
+ * <p>A snapshot is either a checkpoint, which stores the full document content, or a delta, which only stores an
+ * RFC 6902 patch against the content of the previous snapshot of the same document. Deltas reference the checkpoint
+ * that starts their chain and are numbered by {@code deltaSequence}, so the content of a delta is reconstructed by
+ * applying the patches of its chain, in order, to the checkpoint content. See {@link #reconstruct}.</p>
+ */
 @Entity
 @Table(name = "json_schema_document_snapshot")
 public class JsonSchemaDocumentSnapshot implements DocumentSnapshot, Persistable<JsonSchemaDocumentSnapshotId> {
@@ -45,6 +69,16 @@ public class JsonSchemaDocumentSnapshot implements DocumentSnapshot, Persistable
     @Embedded
     private HistoricDocument document;
 
+    @Type(value = JsonType.class)
+    @Column(name = "document_content_patch", columnDefinition = "json", updatable = false)
+    private JsonNode contentPatch;
+
+    @Column(name = "checkpoint_snapshot_id", updatable = false)
+    private UUID checkpointId;
+
+    @Column(name = "delta_sequence", nullable = false, updatable = false)
+    private int deltaSequence;
+
     @Transient
     private transient boolean isNew = false;
 
@@ -64,6 +98,82 @@ public class JsonSchemaDocumentSnapshot implements DocumentSnapshot, Persistable
     private JsonSchemaDocumentSnapshot() {
     }
 
+    /**
+     * Creates a delta snapshot that stores the difference between the content of the previous snapshot and the
+     * current content of the document.
+     *
+     * @param previous        the latest snapshot of the document
+     * @param previousContent the (reconstructed) content of the previous snapshot
+     */
+    public static JsonSchemaDocumentSnapshot delta(
+        JsonSchemaDocument document,
+        LocalDateTime createdOn,
+        String createdBy,
+        JsonSchemaDocumentDefinition documentDefinition,
+        JsonSchemaDocumentSnapshot previous,
+        JsonNode previousContent
+    ) {
+        final var snapshot = new JsonSchemaDocumentSnapshot(document, createdOn, createdBy, documentDefinition);
+        snapshot.contentPatch = JsonDifferenceService.diff(
+            previousContent,
+            document.content().asJson(),
+            EnumSet.of(OMIT_MOVE_OPERATION, OMIT_COPY_OPERATION)
+        );
+        snapshot.checkpointId = previous.checkpointId();
+        snapshot.deltaSequence = previous.deltaSequence + 1;
+        snapshot.document.clearContent();
+        return snapshot;
+    }
+
+    /**
+     * Reconstructs the content of every delta in a chain by applying the patches, in order, to the content of the
+     * checkpoint.
+     *
+     * @param checkpoint the checkpoint that starts the chain
+     * @param chain      the deltas of the chain, in any order
+     * @return the content of every delta in the chain by snapshot id
+     */
+    public static Map<JsonSchemaDocumentSnapshotId, JsonDocumentContent> reconstruct(
+        JsonSchemaDocumentSnapshot checkpoint,
+        Collection<JsonSchemaDocumentSnapshot> chain
+    ) {
+        final var deltas = chain.stream()
+            .sorted(Comparator.comparingInt(JsonSchemaDocumentSnapshot::deltaSequence))
+            .toList();
+        final var contents = new HashMap<JsonSchemaDocumentSnapshotId, JsonDocumentContent>();
+        final var content = checkpoint.document.content().asJson().deepCopy();
+        for (var delta : deltas) {
+            if (!checkpoint.id.getId().equals(delta.checkpointId)) {
+                throw new IllegalArgumentException("Snapshot " + delta.id + " does not belong to checkpoint " + checkpoint.id);
+            }
+            JsonPatchService.apply(delta.contentPatch.deepCopy(), content, allowRemovalOperations());
+            contents.put(delta.id, JsonDocumentContent.build(content));
+        }
+        return contents;
+    }
+
+    public void restoreContent(JsonDocumentContent content) {
+        document.restoreContent(content);
+    }
+
+    @JsonIgnore
+    public boolean isCheckpoint() {
+        return deltaSequence == 0;
+    }
+
+    public UUID checkpointId() {
+        return isCheckpoint() ? id.getId() : checkpointId;
+    }
+
+    public int deltaSequence() {
+        return deltaSequence;
+    }
+
+    @JsonIgnore
+    public boolean isContentRestored() {
+        return document.content() != null;
+    }
+
     @Override
     public String id() {
         return id.toString();
@@ -45,6 +45,10 @@ public class JsonSchemaDocumentSnapshotId extends AbstractId<JsonSchemaDocumentS
         return new JsonSchemaDocumentSnapshotId(id).newIdentity();
     }
 
+    public UUID getId() {
+        return id;
+    }
+
     @Override
     public String toString() {
         return id.toString();
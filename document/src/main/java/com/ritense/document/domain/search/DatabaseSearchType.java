@@ -22,5 +22,6 @@ public enum DatabaseSearchType {
     GREATER_THAN_OR_EQUAL_TO,
     LESS_THAN_OR_EQUAL_TO,
     BETWEEN,
-    IN
+    IN,
+    TEXT
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.search;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final Long totalElements;
+    private final boolean totalElementsExact;
+
+    public KeysetPage(List<T> content, String nextCursor, Long totalElements, boolean totalElementsExact) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+        this.totalElementsExact = totalElementsExact;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the cursor of the next page, or {@code null} when this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Returns the total number of results, or {@code null} when the results were not counted.
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public boolean isTotalElementsExact() {
+        return totalElementsExact;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(
+            content.stream().<U>map(converter).toList(),
+            nextCursor,
+            totalElements,
+            totalElementsExact
+        );
+    }
+
+}
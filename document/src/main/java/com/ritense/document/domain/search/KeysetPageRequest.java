@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.search;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentRange;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Requests a page that starts after the row identified by a cursor, instead of after a number of skipped rows.
+ *
+ * <p>The cursor is returned by the previous {@link KeysetPage}. The first page is requested without a cursor. The
+ * sort of a keyset request supports one property. Rows with the same value are ordered by their id, and rows
+ * without a value are always placed last.</p>
+ */
+public class KeysetPageRequest {
+
+    public static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdOn");
+
+    private final int size;
+    private final Sort sort;
+    private final String cursor;
+    private final CountMode countMode;
+
+    public KeysetPageRequest(int size, Sort sort, String cursor, CountMode countMode) {
+        assertArgumentRange(size, 1, 1000, "size must be between 1 and 1000");
+        assertArgumentNotNull(countMode, "countMode is required");
+        this.size = size;
+        this.sort = sort == null || sort.isUnsorted() ? DEFAULT_SORT : sort;
+        this.cursor = cursor == null || cursor.isBlank() ? null : cursor;
+        this.countMode = countMode;
+    }
+
+    public static KeysetPageRequest firstPage(int size, Sort sort) {
+        return new KeysetPageRequest(size, sort, null, CountMode.NONE);
+    }
+
+    public KeysetPageRequest withSort(Sort sort) {
+        return new KeysetPageRequest(size, sort, cursor, countMode);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    public enum CountMode {
+        /**
+         * The total number of results is not counted.
+         */
+        NONE,
+        /**
+         * The results are counted up to a fixed limit. When there are more results, the limit is returned as total
+         * and the total is marked as not exact.
+         */
+        LIMITED,
+        /**
+         * All results are counted.
+         */
+        EXACT
+    }
+
+}
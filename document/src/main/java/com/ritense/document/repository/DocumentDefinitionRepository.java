@@ -18,6 +18,7 @@ package com.ritense.document.repository;
 
 import com.ritense.document.domain.DocumentDefinition;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -37,6 +38,10 @@ public interface DocumentDefinitionRepository<T extends DocumentDefinition> exte
 
     List<Long> findVersionsByName(String documentDefinitionName);
 
+    Optional<LocalDateTime> findMaxCreatedOn();
+
+    long countReadOnly();
+
     Page<T> findAll(Pageable pageable);
 
     Page<JsonSchemaDocumentDefinition> findAllForRoles(List<String> roles, Pageable pageable);
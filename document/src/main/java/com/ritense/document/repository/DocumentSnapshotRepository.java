@@ -16,7 +16,12 @@
 
 package com.ritense.document.repository;
 
+import com.ritense.document.domain.Document;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -27,4 +32,8 @@ public interface DocumentSnapshotRepository<T extends DocumentSnapshot> extends
     JpaSpecificationExecutor<T> {
 
     void deleteAllByDefinitionName(String definitionName);
+
+    Optional<T> findFirstByDocumentIdOrderByCreatedOnDesc(Document.Id documentId);
+
+    List<T> findAllByCheckpointIdIn(Collection<UUID> checkpointIds);
 }
\ No newline at end of file
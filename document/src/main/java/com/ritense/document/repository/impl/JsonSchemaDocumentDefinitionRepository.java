@@ -18,7 +18,9 @@ package com.ritense.document.repository.impl;
 
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
 import com.ritense.document.repository.DocumentDefinitionRepository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -85,4 +87,15 @@ public interface JsonSchemaDocumentDefinitionRepository extends DocumentDefiniti
         "   WHERE       definition.id.name = :documentDefinitionName " +
         "   ORDER BY    definition.id.version DESC")
     List<Long> findVersionsByName(String documentDefinitionName);
+
+    @Query("" +
+        "   SELECT      MAX(definition.createdOn)" +
+        "   FROM        JsonSchemaDocumentDefinition definition ")
+    Optional<LocalDateTime> findMaxCreatedOn();
+
+    @Query("" +
+        "   SELECT      COUNT(definition)" +
+        "   FROM        JsonSchemaDocumentDefinition definition " +
+        "   WHERE       definition.readOnly = true")
+    long countReadOnly();
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 
 package com.ritense.document.security.config;
 
+import static com.ritense.valtimo.contract.authentication.AuthoritiesConstants.ADMIN;
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
@@ -34,6 +35,7 @@ public class DocumentHttpSecurityConfigurer implements HttpSecurityConfigurer {
             http.authorizeHttpRequests(requests ->
                 requests.requestMatchers(antMatcher(GET, "/api/v1/document/{id}")).authenticated()
                 .requestMatchers(antMatcher(POST, "/api/v1/document")).authenticated()
+                .requestMatchers(antMatcher(POST, "/api/v1/document/bulk")).authenticated()
                 .requestMatchers(antMatcher(PUT, "/api/v1/document")).authenticated()
                 .requestMatchers(antMatcher(POST, "/api/v1/document/{document-id}/resource/{resource-id}")).authenticated()
                 .requestMatchers(antMatcher(DELETE, "/api/v1/document/{document-id}/resource/{resource-id}")).authenticated()
@@ -41,7 +43,8 @@ public class DocumentHttpSecurityConfigurer implements HttpSecurityConfigurer {
                 .requestMatchers(antMatcher(POST, "/api/v1/document/assign")).authenticated()
                 .requestMatchers(antMatcher(POST, "/api/v1/document/{documentId}/unassign")).authenticated()
                 .requestMatchers(antMatcher(GET, "/api/v1/document/{document-id}/candidate-user")).authenticated()
-                .requestMatchers(antMatcher(POST, "/api/v1/document/candidate-user")).authenticated());
+                .requestMatchers(antMatcher(POST, "/api/v1/document/candidate-user")).authenticated()
+                .requestMatchers(antMatcher(POST, "/api/management/v1/document/search-text/rebuild")).hasAuthority(ADMIN));
         } catch (Exception e) {
             throw new HttpConfigurerConfigurationException(e);
         }
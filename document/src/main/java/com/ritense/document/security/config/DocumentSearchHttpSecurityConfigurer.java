@@ -42,7 +42,9 @@ public class DocumentSearchHttpSecurityConfigurer implements HttpSecurityConfigu
                     .requestMatchers(antMatcher(PUT, FIELDS_URL)).hasAuthority(ADMIN)
                     .requestMatchers(antMatcher(DELETE, FIELDS_URL)).hasAuthority( ADMIN)
                     .requestMatchers(antMatcher(
-                        GET, "/api/management/v1/document-search/{documentDefinitionName}/fields")).hasAuthority(ADMIN));
+                        GET, "/api/management/v1/document-search/{documentDefinitionName}/fields")).hasAuthority(ADMIN)
+                    .requestMatchers(antMatcher(
+                        GET, "/api/management/v1/document-search/{documentDefinitionName}/fields/indexes")).hasAuthority(ADMIN));
         } catch (Exception e) {
             throw new HttpConfigurerConfigurationException(e);
         }
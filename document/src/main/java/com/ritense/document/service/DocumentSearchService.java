@@ -18,6 +18,8 @@ package com.ritense.document.service;
 
 import com.ritense.document.domain.Document;
 import com.ritense.document.domain.search.AdvancedSearchRequest;
+import com.ritense.document.domain.search.KeysetPage;
+import com.ritense.document.domain.search.KeysetPageRequest;
 import com.ritense.document.domain.search.SearchWithConfigRequest;
 import com.ritense.document.service.impl.SearchRequest;
 import org.springframework.data.domain.Page;
@@ -37,6 +39,20 @@ public interface DocumentSearchService {
     @SuppressWarnings({"squid:S1452","java:S1452"})
     Page<? extends Document> search(String documentDefinitionName, AdvancedSearchRequest searchRequest, Pageable pageable);
 
+    @SuppressWarnings({"squid:S1452","java:S1452"})
+    KeysetPage<? extends Document> search(
+        String documentDefinitionName,
+        SearchWithConfigRequest searchWithConfigRequest,
+        KeysetPageRequest pageRequest
+    );
+
+    @SuppressWarnings({"squid:S1452","java:S1452"})
+    KeysetPage<? extends Document> search(
+        String documentDefinitionName,
+        AdvancedSearchRequest searchRequest,
+        KeysetPageRequest pageRequest
+    );
+
     Long count(String documentDefinitionName, AdvancedSearchRequest advancedSearchRequest);
 
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service;
+
+import com.ritense.document.domain.Document;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface DocumentSearchTextService {
+
+    /**
+     * Stores the words of the current content of the document, so the document can be found by a free-text search.
+     */
+    void index(Document.Id documentId);
+
+    /**
+     * Indexes all documents again in the background. This is needed after the search text was enabled on an
+     * existing installation.
+     *
+     * @return false when a rebuild is already running
+     */
+    boolean rebuild();
+
+    /**
+     * Returns a predicate that matches the documents of which the content contains all words of at least one of the
+     * values, as whole words or word prefixes. Documents that have no search text yet always match, so the caller
+     * must still apply its own predicate for the values.
+     *
+     * @param documentDefinitionName the definition the search is limited to, or null
+     * @return an empty Optional when the index can't narrow down the search for these values
+     */
+    Optional<Predicate> getMatchPredicate(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        String documentDefinitionName,
+        Collection<String> values
+    );
+
+}
@@ -17,11 +17,23 @@
 package com.ritense.document.service;
 
 import com.ritense.document.domain.DocumentDefinition;
+import java.util.List;
+import java.util.stream.LongStream;
 
 public interface DocumentSequenceGeneratorService {
 
     long next(DocumentDefinition.Id documentDefinitionId);
 
+    /**
+     * Returns the next {@code count} sequence values, in ascending order.
+     */
+    default List<Long> next(DocumentDefinition.Id documentDefinitionId, int count) {
+        return LongStream.range(0, count)
+            .map(i -> next(documentDefinitionId))
+            .boxed()
+            .toList();
+    }
+
     void deleteSequenceRecordBy(String documentDefinitionName);
 
 }
\ No newline at end of file
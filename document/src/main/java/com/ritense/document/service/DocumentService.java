@@ -45,6 +45,17 @@ public interface DocumentService {
 
     CreateDocumentResult createDocument(NewDocumentRequest newDocumentRequest);
 
+    /**
+     * Creates a document for every request, in one transaction.
+     *
+     * @return The result of each request, in the same order as the requests
+     */
+    default List<? extends CreateDocumentResult> createDocuments(List<NewDocumentRequest> newDocumentRequests) {
+        return newDocumentRequests.stream()
+            .map(this::createDocument)
+            .toList();
+    }
+
     void modifyDocument(Document document, JsonNode jsonNode);
 
     ModifyDocumentResult modifyDocument(ModifyDocumentRequest modifyDocumentRequest);
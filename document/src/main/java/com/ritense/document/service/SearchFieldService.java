@@ -27,6 +27,7 @@ import com.ritense.document.domain.impl.searchfield.SearchFieldDataType;
 import com.ritense.document.domain.impl.searchfield.SearchFieldDto;
 import com.ritense.document.domain.impl.searchfield.SearchFieldFieldType;
 import com.ritense.document.domain.impl.searchfield.SearchFieldId;
+import com.ritense.document.domain.impl.searchfield.SearchFieldIndexStatus;
 import com.ritense.document.domain.impl.searchfield.SearchFieldMatchType;
 import com.ritense.document.exception.InvalidSearchFieldException;
 import com.ritense.document.repository.SearchFieldRepository;
@@ -45,15 +46,26 @@ public class SearchFieldService {
     private final SearchFieldRepository searchFieldRepository;
     private final DocumentDefinitionService documentDefinitionService;
     private final AuthorizationService authorizationService;
+    private final SearchFieldIndexService searchFieldIndexService;
 
     public SearchFieldService(
         final SearchFieldRepository searchFieldRepository,
         final DocumentDefinitionService documentDefinitionService,
         final AuthorizationService authorizationService
+    ) {
+        this(searchFieldRepository, documentDefinitionService, authorizationService, null);
+    }
+
+    public SearchFieldService(
+        final SearchFieldRepository searchFieldRepository,
+        final DocumentDefinitionService documentDefinitionService,
+        final AuthorizationService authorizationService,
+        final SearchFieldIndexService searchFieldIndexService
     ) {
         this.searchFieldRepository = searchFieldRepository;
         this.documentDefinitionService = documentDefinitionService;
         this.authorizationService = authorizationService;
+        this.searchFieldIndexService = searchFieldIndexService;
     }
 
     public void addSearchField(String documentDefinitionName, SearchField searchField) {
@@ -71,6 +83,7 @@ public class SearchFieldService {
         searchField.setId(searchFieldId);
         documentDefinitionService.validateJsonPath(documentDefinitionName, searchField.getPath());
         searchFieldRepository.save(searchField);
+        synchronizeIndexes(documentDefinitionName);
     }
 
     public List<SearchField> getSearchFields(String documentDefinitionName) {
@@ -90,6 +103,7 @@ public class SearchFieldService {
 
     public void deleteSearchFields(String documentDefinitionName) {
         searchFieldRepository.deleteAllByIdDocumentDefinitionName(documentDefinitionName);
+        synchronizeIndexes(documentDefinitionName);
     }
 
     public void updateSearchFields(String documentDefinitionName, List<SearchFieldDto> searchFieldDtos) {
@@ -103,6 +117,7 @@ public class SearchFieldService {
             .mapToObj(index -> toOrderedSearchField(documentDefinitionName, searchFieldDtos.get(index), index))
             .toList();
         searchFieldRepository.saveAll(searchFields);
+        synchronizeIndexes(documentDefinitionName);
     }
 
     public void createSearchConfiguration(List<SearchField> searchFields) {
@@ -120,6 +135,10 @@ public class SearchFieldService {
                 ) > 1))
             .distinct().findAny().isEmpty()) {
             searchFieldRepository.saveAll(searchFields);
+            searchFields.stream()
+                .map(searchField -> searchField.getId().getDocumentDefinitionName())
+                .distinct()
+                .forEach(this::synchronizeIndexes);
         }
     }
 
@@ -128,6 +147,22 @@ public class SearchFieldService {
 
         searchFieldRepository.findByIdDocumentDefinitionNameAndKey(documentDefinitionName, key).ifPresent(
             searchFieldRepository::delete);
+        synchronizeIndexes(documentDefinitionName);
+    }
+
+    public List<SearchFieldIndexStatus> getSearchFieldIndexStatus(String documentDefinitionName) {
+        denyAuthorization();
+
+        if (searchFieldIndexService == null) {
+            return List.of();
+        }
+        return searchFieldIndexService.getIndexStatus(documentDefinitionName);
+    }
+
+    private void synchronizeIndexes(String documentDefinitionName) {
+        if (searchFieldIndexService != null) {
+            searchFieldIndexService.synchronizeIndexes(documentDefinitionName);
+        }
     }
 
     private SearchField toOrderedSearchField(String documentDefinitionName, SearchFieldDto searchFieldDto, int order) {
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.ritense.document.domain.Document;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentSearchText;
+import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
+import com.ritense.document.repository.impl.JsonSchemaDocumentSearchTextRepository;
+import com.ritense.document.service.DocumentSearchTextService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the {@link JsonSchemaDocumentSearchText} of every document up to date and turns free-text search values into
+ * predicates on the full-text index of the database.
+ *
+ * <p>The index matches whole words and word prefixes, so it is used to narrow down the candidates of a search. The
+ * original search predicate is still applied to the remaining documents. Documents without a search text, for
+ * instance those created before the search text was enabled, are left to the original search predicate until they
+ * are indexed.</p>
+ */
+public abstract class AbstractDocumentSearchTextService implements DocumentSearchTextService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDocumentSearchTextService.class);
+    protected static final String DOCUMENT_ID = "documentId";
+    protected static final String SEARCH_TEXT = "searchText";
+
+    private final JsonSchemaDocumentRepository documentRepository;
+    private final JsonSchemaDocumentSearchTextRepository searchTextRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildBatchSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("document-search-text-%d").setDaemon(true).build()
+    );
+
+    protected AbstractDocumentSearchTextService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentSearchTextRepository searchTextRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        int rebuildBatchSize
+    ) {
+        assertArgumentNotNull(documentRepository, "documentRepository is required");
+        assertArgumentNotNull(searchTextRepository, "searchTextRepository is required");
+        assertArgumentNotNull(entityManager, "entityManager is required");
+        assertArgumentNotNull(transactionTemplate, "transactionTemplate is required");
+        this.documentRepository = documentRepository;
+        this.searchTextRepository = searchTextRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+    }
+
+    @Override
+    public void index(Document.Id documentId) {
+        documentRepository.findById(documentId)
+            .ifPresent(document -> searchTextRepository.save(JsonSchemaDocumentSearchText.of(document)));
+    }
+
+    @Override
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                final var count = rebuildNow();
+                logger.info("Rebuilt the search text of {} documents", count);
+            } catch (RuntimeException e) {
+                logger.error("Failed to rebuild the search text of the documents", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public Optional<Predicate> getMatchPredicate(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        String documentDefinitionName,
+        Collection<String> values
+    ) {
+        final var predicates = new ArrayList<Predicate>();
+        for (String value : values) {
+            final var predicate = getMatchPredicate(
+                cb,
+                query,
+                documentRoot,
+                documentDefinitionName,
+                JsonSchemaDocumentSearchText.tokenize(value)
+            );
+            if (predicate.isEmpty()) {
+                return Optional.empty();
+            }
+            predicates.add(predicate.get());
+        }
+        if (predicates.isEmpty()) {
+            return Optional.empty();
+        }
+        predicates.add(hasNoSearchText(cb, query, documentRoot));
+        return Optional.of(cb.or(predicates.toArray(Predicate[]::new)));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    protected abstract Optional<Predicate> getMatchPredicate(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        String documentDefinitionName,
+        List<String> words
+    );
+
+    private Predicate hasNoSearchText(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot
+    ) {
+        final var subquery = query.subquery(UUID.class);
+        final var searchTextRoot = subquery.from(JsonSchemaDocumentSearchText.class);
+        subquery
+            .select(searchTextRoot.<UUID>get(DOCUMENT_ID))
+            .where(cb.equal(searchTextRoot.get(DOCUMENT_ID), documentRoot.get("id").get("id")));
+        return cb.not(cb.exists(subquery));
+    }
+
+    long rebuildNow() {
+        long count = 0;
+        UUID lastId = null;
+        while (true) {
+            final var previousId = lastId;
+            final var batch = transactionTemplate.execute(status -> indexBatch(previousId));
+            if (batch == null || batch.isEmpty()) {
+                return count;
+            }
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1);
+        }
+    }
+
+    private List<UUID> indexBatch(UUID afterId) {
+        final var documents = entityManager.createQuery(
+                afterId == null
+                    ? "SELECT d FROM JsonSchemaDocument d ORDER BY d.id.id"
+                    : "SELECT d FROM JsonSchemaDocument d WHERE d.id.id > :afterId ORDER BY d.id.id",
+                JsonSchemaDocument.class
+            )
+            .setMaxResults(rebuildBatchSize);
+        if (afterId != null) {
+            documents.setParameter("afterId", afterId);
+        }
+        final var ids = new ArrayList<UUID>();
+        final var searchTexts = new ArrayList<JsonSchemaDocumentSearchText>();
+        for (JsonSchemaDocument document : documents.getResultList()) {
+            ids.add(document.id().getId());
+            searchTexts.add(JsonSchemaDocumentSearchText.of(document));
+        }
+        // Loads the existing rows in a single query, so saving them doesn't select them one by one
+        searchTextRepository.findAllById(ids);
+        searchTextRepository.saveAll(searchTexts);
+        return ids;
+    }
+
+}
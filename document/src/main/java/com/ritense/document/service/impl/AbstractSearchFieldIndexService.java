@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.MULTIPLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.MULTI_SELECT_DROPDOWN;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.RANGE;
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.document.domain.impl.searchfield.SearchFieldDataType;
+import com.ritense.document.domain.impl.searchfield.SearchFieldIndexState;
+import com.ritense.document.domain.impl.searchfield.SearchFieldIndexStatus;
+import com.ritense.document.domain.impl.searchfield.SearchFieldMatchType;
+import com.ritense.document.repository.SearchFieldRepository;
+import com.ritense.document.service.SearchFieldIndexService;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains database indexes that match the expressions {@link JsonSchemaDocumentSearchService} generates for search
+ * fields. The indexed expression is rendered by the same {@link QueryDialectHelper} that builds the search queries.
+ *
+ * <p>Index names are derived from the document definition name and the indexed expression, so the indexes of a
+ * document definition can be reconciled with its search fields at any time: missing indexes are created and indexes
+ * that no longer belong to a search field are dropped. Building an index on a large table takes a while, which is why
+ * the DDL is executed on a background thread after the search fields have been committed.</p>
+ *
+ * <p>Only text search fields on a {@code doc:} path that are matched exactly, or by a list of values, can be
+ * supported. Other search fields are compared with a cast that depends on the search value, or with
+ * {@code LIKE '%value%'}, which a B-tree index can't serve.</p>
+ */
+public abstract class AbstractSearchFieldIndexService implements SearchFieldIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractSearchFieldIndexService.class);
+    protected static final String DOCUMENT_TABLE = "json_schema_document";
+    protected static final String CONTENT_COLUMN = "json_document_content";
+    private static final String INDEX_PREFIX = "sf_";
+    private static final String DOC_PREFIX = "doc:";
+
+    protected final JdbcTemplate jdbcTemplate;
+    private final SearchFieldRepository searchFieldRepository;
+    private final QueryDialectHelper queryDialectHelper;
+    private final boolean enabled;
+    private final ExecutorService executor;
+
+    protected AbstractSearchFieldIndexService(
+        JdbcTemplate jdbcTemplate,
+        SearchFieldRepository searchFieldRepository,
+        QueryDialectHelper queryDialectHelper,
+        boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchFieldRepository = searchFieldRepository;
+        this.queryDialectHelper = queryDialectHelper;
+        this.enabled = enabled;
+        this.executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("search-field-index-%d").setDaemon(true).build()
+        );
+    }
+
+    @Override
+    public void synchronizeIndexes(String documentDefinitionName) {
+        assertArgumentNotNull(documentDefinitionName, "documentDefinitionName is required");
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(documentDefinitionName);
+                }
+            });
+        } else {
+            submit(documentDefinitionName);
+        }
+    }
+
+    @Override
+    public List<SearchFieldIndexStatus> getIndexStatus(String documentDefinitionName) {
+        assertArgumentNotNull(documentDefinitionName, "documentDefinitionName is required");
+        final var existingIndexes = findIndexes(getIndexPrefix(documentDefinitionName));
+        return searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(documentDefinitionName).stream()
+            .map(searchField -> getIndexStatus(documentDefinitionName, searchField, existingIndexes))
+            .toList();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    void synchronize(String documentDefinitionName) {
+        final var expectedIndexes = new LinkedHashMap<String, String>();
+        searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(documentDefinitionName)
+            .forEach(searchField -> getIndexExpression(searchField).ifPresent(expression ->
+                expectedIndexes.put(getIndexName(documentDefinitionName, expression), expression)
+            ));
+        final var existingIndexes = findIndexes(getIndexPrefix(documentDefinitionName));
+
+        existingIndexes.forEach((indexName, valid) -> {
+            if (!valid || !expectedIndexes.containsKey(indexName)) {
+                logger.info("Dropping search field index '{}' of document definition '{}'", indexName, documentDefinitionName);
+                dropIndex(indexName);
+            }
+        });
+        expectedIndexes.forEach((indexName, expression) -> {
+            if (!Boolean.TRUE.equals(existingIndexes.get(indexName))) {
+                logger.info("Creating search field index '{}' of document definition '{}'", indexName, documentDefinitionName);
+                createIndex(indexName, documentDefinitionName, expression);
+            }
+        });
+    }
+
+    Optional<String> getIndexExpression(SearchField searchField) {
+        if (!searchField.getPath().startsWith(DOC_PREFIX)
+            || searchField.getDataType() != SearchFieldDataType.TEXT
+            || searchField.getMatchType() == SearchFieldMatchType.LIKE) {
+            return Optional.empty();
+        }
+        final var valueExpression = queryDialectHelper.getJsonValueSql(
+            CONTENT_COLUMN,
+            "$." + searchField.getPath().substring(DOC_PREFIX.length())
+        );
+        if (searchField.getFieldType() == MULTIPLE
+            || searchField.getFieldType() == MULTI_SELECT_DROPDOWN
+            || searchField.getFieldType() == RANGE) {
+            return Optional.of(valueExpression);
+        }
+        // Exact matches on a single text value are case-insensitive
+        return Optional.of("lower(" + valueExpression + ")");
+    }
+
+    /**
+     * Returns the names of the existing indexes that start with the given prefix, and whether they are valid.
+     */
+    protected abstract Map<String, Boolean> findIndexes(String indexPrefix);
+
+    protected abstract void createIndex(String indexName, String documentDefinitionName, String expression);
+
+    protected abstract void dropIndex(String indexName);
+
+    protected String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /**
+     * Executes the DDL outside of a transaction. Connections may have auto-commit disabled, and statements like
+     * {@code CREATE INDEX CONCURRENTLY} fail inside a transaction block.
+     */
+    protected void executeDdl(String sql) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (var statement = connection.createStatement()) {
+                statement.execute(sql);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private void submit(String documentDefinitionName) {
+        executor.execute(() -> {
+            try {
+                synchronize(documentDefinitionName);
+            } catch (RuntimeException e) {
+                logger.error("Failed to synchronize search field indexes of document definition '{}'", documentDefinitionName, e);
+            }
+        });
+    }
+
+    private SearchFieldIndexStatus getIndexStatus(
+        String documentDefinitionName,
+        SearchField searchField,
+        Map<String, Boolean> existingIndexes
+    ) {
+        final var expression = getIndexExpression(searchField);
+        if (expression.isEmpty()) {
+            return new SearchFieldIndexStatus(searchField.getKey(), searchField.getPath(), null, SearchFieldIndexState.UNSUPPORTED);
+        }
+        final var indexName = getIndexName(documentDefinitionName, expression.get());
+        final SearchFieldIndexState state;
+        if (!enabled) {
+            state = SearchFieldIndexState.DISABLED;
+        } else if (!existingIndexes.containsKey(indexName)) {
+            state = SearchFieldIndexState.MISSING;
+        } else if (existingIndexes.get(indexName)) {
+            state = SearchFieldIndexState.PRESENT;
+        } else {
+            state = SearchFieldIndexState.INVALID;
+        }
+        return new SearchFieldIndexStatus(searchField.getKey(), searchField.getPath(), indexName, state);
+    }
+
+    static String getIndexName(String documentDefinitionName, String expression) {
+        return getIndexPrefix(documentDefinitionName) + hash(expression, 16);
+    }
+
+    private static String getIndexPrefix(String documentDefinitionName) {
+        return INDEX_PREFIX + hash(documentDefinitionName, 8) + "_";
+    }
+
+    private static String hash(String value, int length) {
+        return Hashing.sha256().hashString(value, UTF_8).toString().substring(0, length);
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort key and the id of the document. The cursor also
+ * holds the sort it was created for, so it can't be used with a different sort.
+ */
+final class DocumentSearchCursor {
+
+    private static final String PROPERTY = "p";
+    private static final String DIRECTION = "d";
+    private static final String VALUE = "v";
+    private static final String ID = "i";
+
+    private final Object value;
+    private final UUID id;
+
+    private DocumentSearchCursor(Object value, UUID id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    static String encode(ObjectMapper objectMapper, Sort.Order order, Object value, UUID id) {
+        final var cursor = objectMapper.createObjectNode()
+            .put(PROPERTY, order.getProperty())
+            .put(DIRECTION, order.getDirection().name())
+            .put(ID, id.toString());
+        cursor.set(VALUE, objectMapper.valueToTree(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(UTF_8));
+    }
+
+    static DocumentSearchCursor decode(ObjectMapper objectMapper, String cursor, Sort.Order order, Class<?> valueType) {
+        final JsonNode node;
+        try {
+            node = objectMapper.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'", e);
+        }
+        if (!order.getProperty().equals(node.path(PROPERTY).asText())
+            || !order.getDirection().name().equals(node.path(DIRECTION).asText())) {
+            throw new IllegalArgumentException("Cursor '" + cursor + "' was not created for sort '" + order + "'");
+        }
+        try {
+            final var valueNode = node.path(VALUE);
+            final var value = valueNode.isNull() || valueNode.isMissingNode()
+                ? null
+                : objectMapper.treeToValue(valueNode, valueType);
+            return new DocumentSearchCursor(value, UUID.fromString(node.path(ID).asText()));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'", e);
+        }
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.valtimo.contract.utils.AssertionConcern.assertArgumentNotNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.ritense.document.domain.DocumentDefinition;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.repository.DocumentDefinitionRepository;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache for document definitions.
+ *
+ * <p>Deployed definition versions are immutable, so they can be served from memory. Entries are invalidated locally
+ * when a definition is deployed or removed, both immediately and again after the surrounding transaction completes,
+ * so uncommitted or rolled back definitions never stay cached. Changes made by other nodes are picked up by
+ * {@link #refreshIfChanged()}, which compares a version stamp derived from the definition table. Besides deploys
+ * and removals, the stamp covers the read-only flag, which is the only column of a definition that can change in
+ * place.</p>
+ *
+ * <p>Only found definitions are cached. The cache never holds the entity returned by the loader, which is managed by
+ * the persistence context of the calling transaction: it stores a detached copy, and every cache hit returns a new
+ * copy, so callers on different threads never share an entity instance. Authorization is never cached and remains the
+ * responsibility of the caller.</p>
+ */
+public class JsonSchemaDocumentDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonSchemaDocumentDefinitionCache.class);
+
+    private final DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository;
+    private final boolean enabled;
+    private final Cache<DocumentDefinition.Id, JsonSchemaDocumentDefinition> byId;
+    private final Cache<String, JsonSchemaDocumentDefinition> latestByName;
+    private volatile String stamp;
+
+    public JsonSchemaDocumentDefinitionCache(
+        DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository,
+        boolean enabled,
+        long maximumSize
+    ) {
+        this.documentDefinitionRepository = documentDefinitionRepository;
+        this.enabled = enabled;
+        this.byId = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.latestByName = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public static JsonSchemaDocumentDefinitionCache disabled() {
+        return new JsonSchemaDocumentDefinitionCache(null, false, 0);
+    }
+
+    public Optional<JsonSchemaDocumentDefinition> findById(
+        DocumentDefinition.Id id,
+        Supplier<Optional<JsonSchemaDocumentDefinition>> loader
+    ) {
+        assertArgumentNotNull(id, "id is required");
+        if (!enabled) {
+            return loader.get();
+        }
+        final var cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.detachedCopy());
+        }
+        final var definition = loader.get();
+        definition.ifPresent(found -> byId.put(id, found.detachedCopy()));
+        return definition;
+    }
+
+    public Optional<JsonSchemaDocumentDefinition> findLatestByName(
+        String documentDefinitionName,
+        Supplier<Optional<JsonSchemaDocumentDefinition>> loader
+    ) {
+        assertArgumentNotNull(documentDefinitionName, "documentDefinitionName is required");
+        if (!enabled) {
+            return loader.get();
+        }
+        final var cached = latestByName.getIfPresent(documentDefinitionName);
+        if (cached != null) {
+            return Optional.of(cached.detachedCopy());
+        }
+        final var definition = loader.get();
+        definition.ifPresent(found -> latestByName.put(documentDefinitionName, found.detachedCopy()));
+        return definition;
+    }
+
+    public void invalidate(String documentDefinitionName) {
+        assertArgumentNotNull(documentDefinitionName, "documentDefinitionName is required");
+        if (!enabled) {
+            return;
+        }
+        evict(documentDefinitionName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(documentDefinitionName);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        latestByName.invalidateAll();
+    }
+
+    /**
+     * Clears the cache when the document definitions in the database were changed by another node.
+     */
+    public void refreshIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        final var currentStamp = documentDefinitionRepository.count() + ":"
+            + documentDefinitionRepository.countReadOnly() + ":"
+            + documentDefinitionRepository.findMaxCreatedOn().orElse(null);
+        if (!Objects.equals(stamp, currentStamp)) {
+            if (stamp != null) {
+                logger.debug("Document definitions changed ({} -> {}). Clearing cache", stamp, currentStamp);
+            }
+            invalidateAll();
+            stamp = currentStamp;
+        }
+    }
+
+    private void evict(String documentDefinitionName) {
+        latestByName.invalidate(documentDefinitionName);
+        byId.asMap().keySet().removeIf(id -> id.name().equals(documentDefinitionName));
+    }
+
+}
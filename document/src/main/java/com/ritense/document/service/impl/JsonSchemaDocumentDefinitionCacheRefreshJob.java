@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class JsonSchemaDocumentDefinitionCacheRefreshJob {
+
+    private final JsonSchemaDocumentDefinitionCache documentDefinitionCache;
+
+    public JsonSchemaDocumentDefinitionCacheRefreshJob(JsonSchemaDocumentDefinitionCache documentDefinitionCache) {
+        this.documentDefinitionCache = documentDefinitionCache;
+    }
+
+    @Scheduled(fixedRateString = "${valtimo.document.definition.cache.refresh-rate:PT10S}")
+    public void refreshIfChanged() {
+        documentDefinitionCache.refreshIfChanged();
+    }
+
+}
@@ -17,65 +17,100 @@
 package com.ritense.document.service.impl;
 
 import com.ritense.document.domain.DocumentDefinition;
-import com.ritense.document.domain.impl.JsonSchemaDocumentDefinitionId;
 import com.ritense.document.domain.impl.sequence.JsonSchemaDocumentDefinitionSequenceRecord;
 import com.ritense.document.repository.DocumentDefinitionSequenceRepository;
 import com.ritense.document.service.DocumentSequenceGeneratorService;
-import org.hibernate.exception.LockAcquisitionException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.CannotAcquireLockException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Generates the sequence numbers of documents.
+ *
+ * <p>By default every sequence value is reserved on the sequence record of the document definition, which serializes
+ * document creation per definition. With a block size larger than 1, a node reserves that many values at once and
+ * hands them out from memory. Values that are reserved but not used before the node stops are lost, and nodes hand
+ * out their values in a different order than the documents are created. Block allocation is therefore only available
+ * when gaps are explicitly allowed.</p>
+ *
+ * <p>The allocator must be the Spring bean, because it reserves the values in its own transaction and retries when
+ * the sequence record is locked.</p>
+ */
 public class JsonSchemaDocumentDefinitionSequenceGeneratorService implements DocumentSequenceGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonSchemaDocumentDefinitionSequenceGeneratorService.class);
+    private final JsonSchemaDocumentDefinitionSequenceAllocator sequenceAllocator;
     private final DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository;
+    private final long blockSize;
+    private final Map<String, SequenceBlock> blocks = new ConcurrentHashMap<>();
 
     public JsonSchemaDocumentDefinitionSequenceGeneratorService(
-        DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository
+        JsonSchemaDocumentDefinitionSequenceAllocator sequenceAllocator,
+        DocumentDefinitionSequenceRepository<JsonSchemaDocumentDefinitionSequenceRecord> documentDefinitionSequenceRepository,
+        long blockSize,
+        boolean allowGaps
     ) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The document sequence block size must be at least 1");
+        }
+        if (blockSize > 1 && !allowGaps) {
+            throw new IllegalArgumentException(
+                "A document sequence block size larger than 1 requires 'valtimo.document.sequence.allow-gaps' to be true"
+            );
+        }
+        this.sequenceAllocator = sequenceAllocator;
         this.documentDefinitionSequenceRepository = documentDefinitionSequenceRepository;
+        this.blockSize = blockSize;
     }
 
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.SERIALIZABLE)
-    @Retryable(
-        value = {LockAcquisitionException.class, CannotAcquireLockException.class},
-        maxAttempts = 5,
-        backoff = @Backoff(delay = 500, maxDelay = 5000)
-    )
     public long next(DocumentDefinition.Id documentDefinitionId) {
-        final var optionalSequence = documentDefinitionSequenceRepository
-            .findByDefinitionName(documentDefinitionId.name());
+        if (blockSize == 1) {
+            return sequenceAllocator.allocate(documentDefinitionId, 1);
+        }
+        final var block = blocks.computeIfAbsent(documentDefinitionId.name(), name -> new SequenceBlock());
+        synchronized (block) {
+            if (block.next > block.last) {
+                block.last = sequenceAllocator.allocate(documentDefinitionId, blockSize);
+                block.next = block.last - blockSize + 1;
+                logger.debug("Reserved sequence block for - {} - {} to {}", documentDefinitionId, block.next, block.last);
+            }
+            return block.next++;
+        }
+    }
 
-        JsonSchemaDocumentDefinitionSequenceRecord sequenceRecord;
-        if (optionalSequence.isPresent()) {
-            sequenceRecord = optionalSequence.get();
-            sequenceRecord.increment();
-            logger.debug("Updating sequence record for - {} - next {}", documentDefinitionId, sequenceRecord.sequence());
-        } else {
-            sequenceRecord = new JsonSchemaDocumentDefinitionSequenceRecord(
-                JsonSchemaDocumentDefinitionId.existingId(documentDefinitionId)
-            );
-            logger.debug(
-                "Creating new sequence record for - {} - initial sequence {}",
-                documentDefinitionId,
-                sequenceRecord.sequence()
-            );
+    /**
+     * Reserves all values on the sequence record at once, regardless of the block size.
+     */
+    @Override
+    public List<Long> next(DocumentDefinition.Id documentDefinitionId, int count) {
+        if (count < 1) {
+            return List.of();
         }
-        documentDefinitionSequenceRepository.saveAndFlush(sequenceRecord);
-        return sequenceRecord.sequence();
+        final var last = sequenceAllocator.allocate(documentDefinitionId, count);
+        return LongStream.rangeClosed(last - count + 1, last)
+            .boxed()
+            .toList();
     }
 
+    /**
+     * Removes the sequence record and the block of this node. Blocks that other nodes reserved before the record was
+     * removed are used until they are exhausted.
+     */
     @Transactional
     @Override
     public void deleteSequenceRecordBy(String documentDefinitionName) {
         documentDefinitionSequenceRepository.deleteByDocumentDefinitionName(documentDefinitionName);
+        blocks.remove(documentDefinitionName);
+    }
+
+    private static class SequenceBlock {
+        private long next = 1;
+        private long last = 0;
     }
 
-}
\ No newline at end of file
+}
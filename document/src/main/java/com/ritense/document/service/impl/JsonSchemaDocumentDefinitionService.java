@@ -39,6 +39,7 @@ import com.ritense.authorization.AuthorizationService;
 import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.DocumentDefinition;
 import com.ritense.document.domain.EveritSchemaAllowsPropertyKt;
+import com.ritense.document.domain.impl.CompiledJsonSchemaCache;
 import com.ritense.document.domain.impl.JsonSchema;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinitionId;
@@ -78,15 +79,31 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
     private final ResourceLoader resourceLoader;
     private final DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository;
     private final AuthorizationService authorizationService;
+    private final JsonSchemaDocumentDefinitionCache documentDefinitionCache;
 
     public JsonSchemaDocumentDefinitionService(
         ResourceLoader resourceLoader,
         DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository,
         AuthorizationService authorizationService
+    ) {
+        this(
+            resourceLoader,
+            documentDefinitionRepository,
+            authorizationService,
+            JsonSchemaDocumentDefinitionCache.disabled()
+        );
+    }
+
+    public JsonSchemaDocumentDefinitionService(
+        ResourceLoader resourceLoader,
+        DocumentDefinitionRepository<JsonSchemaDocumentDefinition> documentDefinitionRepository,
+        AuthorizationService authorizationService,
+        JsonSchemaDocumentDefinitionCache documentDefinitionCache
     ) {
         this.resourceLoader = resourceLoader;
         this.documentDefinitionRepository = documentDefinitionRepository;
         this.authorizationService = authorizationService;
+        this.documentDefinitionCache = documentDefinitionCache;
     }
 
     @Override
@@ -125,7 +142,9 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
 
     @Override
     public Optional<JsonSchemaDocumentDefinition> findBy(DocumentDefinition.Id id) {
-        final var definition = documentDefinitionRepository.findById(id).orElse(null);
+        final var definition = documentDefinitionCache
+            .findById(id, () -> documentDefinitionRepository.findById(id))
+            .orElse(null);
 
         if (definition != null) {
             authorizationService.requirePermission(
@@ -142,8 +161,9 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
 
     @Override
     public Optional<JsonSchemaDocumentDefinition> findLatestByName(String documentDefinitionName) {
-        final var definition = documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc(
-            documentDefinitionName
+        final var definition = documentDefinitionCache.findLatestByName(
+            documentDefinitionName,
+            () -> documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc(documentDefinitionName)
         ).orElse(null);
 
         if (definition != null) {
@@ -174,7 +194,10 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
     @Override
     public Optional<JsonSchemaDocumentDefinition> findByNameAndVersion(String documentDefinitionName, long version) {
         final var documentDefinitionId = JsonSchemaDocumentDefinitionId.existingId(documentDefinitionName, version);
-        final var optionalDefinition = documentDefinitionRepository.findById(documentDefinitionId);
+        final var optionalDefinition = documentDefinitionCache.findById(
+            documentDefinitionId,
+            () -> documentDefinitionRepository.findById(documentDefinitionId)
+        );
 
         optionalDefinition.ifPresent(definition -> authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
@@ -336,6 +359,8 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
             );
 
             documentDefinitionRepository.saveAndFlush(documentDefinition);
+            documentDefinitionCache.invalidate(documentDefinition.id().name());
+            CompiledJsonSchemaCache.put(documentDefinition.id(), documentDefinition.getSchema());
         }
     }
 
@@ -350,6 +375,8 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
         ));
 
         documentDefinitionRepository.deleteByIdName(documentDefinitionName);
+        documentDefinitionCache.invalidate(documentDefinitionName);
+        CompiledJsonSchemaCache.evict(documentDefinitionName);
     }
 
     @Override
@@ -414,7 +441,10 @@ public class JsonSchemaDocumentDefinitionService implements DocumentDefinitionSe
     }
 
     private boolean isValidJsonPointer(JsonSchemaDocumentDefinition definition, String jsonPointer) {
-        return EveritSchemaAllowsPropertyKt.allowsProperty(definition.getSchema().getSchema(), jsonPointer);
+        return EveritSchemaAllowsPropertyKt.allowsProperty(
+            CompiledJsonSchemaCache.get(definition.id(), definition.getSchema()),
+            jsonPointer
+        );
     }
 
     private String toJsonPointerRecursive(PathToken pathToken) {
@@ -24,21 +24,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ritense.authorization.AuthorizationService;
 import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentSearchText;
 import com.ritense.document.domain.impl.searchfield.SearchField;
 import com.ritense.document.domain.search.AdvancedSearchRequest;
 import com.ritense.document.domain.search.AssigneeFilter;
+import com.ritense.document.domain.search.KeysetPage;
+import com.ritense.document.domain.search.KeysetPageRequest;
 import com.ritense.document.domain.search.SearchOperator;
 import com.ritense.document.domain.search.SearchRequestMapper;
 import com.ritense.document.domain.search.SearchRequestValidator;
 import com.ritense.document.domain.search.SearchWithConfigRequest;
 import com.ritense.document.event.DocumentsListed;
 import com.ritense.document.service.DocumentSearchService;
+import com.ritense.document.service.DocumentSearchTextService;
 import com.ritense.document.service.SearchFieldService;
 import com.ritense.outbox.OutboxService;
 import com.ritense.valtimo.contract.authentication.UserManagementService;
 import com.ritense.valtimo.contract.database.QueryDialectHelper;
 import com.ritense.valtimo.contract.utils.RequestHelper;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -62,6 +67,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.NotImplementedException;
@@ -85,6 +91,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     private static final String INTERNAL_STATUS_ORDER = "internalStatus.order";
     private static final String DOC_PREFIX = "doc:";
     private static final String CASE_PREFIX = "case:";
+    private static final String ID = "id";
+    private static final int LIMITED_COUNT = 1000;
 
     private static final Map<String, String> DOCUMENT_FIELD_MAP = Map.of(
         "definitionId.name", "documentDefinitionId.name",
@@ -92,6 +100,17 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         INTERNAL_STATUS, INTERNAL_STATUS_ORDER
     );
 
+    /**
+     * Sort properties of which the column is never null. Keyset queries on these skip the null handling, so the
+     * database can use an index on the column for both the seek and the order.
+     */
+    private static final Set<String> NON_NULL_SORT_PROPERTIES = Set.of(
+        "createdOn",
+        "id.id",
+        "documentDefinitionId.name",
+        "documentDefinitionId.version"
+    );
+
     private final EntityManager entityManager;
     private final QueryDialectHelper queryDialectHelper;
     private final SearchFieldService searchFieldService;
@@ -101,6 +120,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     private final OutboxService outboxService;
 
     private final ObjectMapper objectMapper;
+    private final DocumentSearchTextService documentSearchTextService;
+    private final boolean searchTextForLikeSearch;
 
     public JsonSchemaDocumentSearchService(
         EntityManager entityManager,
@@ -109,6 +130,57 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         UserManagementService userManagementService,
         AuthorizationService authorizationService, OutboxService outboxService,
         ObjectMapper objectMapper
+    ) {
+        this(
+            entityManager,
+            queryDialectHelper,
+            searchFieldService,
+            userManagementService,
+            authorizationService,
+            outboxService,
+            objectMapper,
+            null,
+            false
+        );
+    }
+
+    public JsonSchemaDocumentSearchService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldService searchFieldService,
+        UserManagementService userManagementService,
+        AuthorizationService authorizationService, OutboxService outboxService,
+        ObjectMapper objectMapper,
+        DocumentSearchTextService documentSearchTextService
+    ) {
+        this(
+            entityManager,
+            queryDialectHelper,
+            searchFieldService,
+            userManagementService,
+            authorizationService,
+            outboxService,
+            objectMapper,
+            documentSearchTextService,
+            false
+        );
+    }
+
+    /**
+     * @param searchTextForLikeSearch whether LIKE and global searches are narrowed down by the full-text index of the
+     *                                search text. The index matches whole words and word prefixes only, so these
+     *                                searches no longer find values that contain the search text in the middle of a
+     *                                word.
+     */
+    public JsonSchemaDocumentSearchService(
+        EntityManager entityManager,
+        QueryDialectHelper queryDialectHelper,
+        SearchFieldService searchFieldService,
+        UserManagementService userManagementService,
+        AuthorizationService authorizationService, OutboxService outboxService,
+        ObjectMapper objectMapper,
+        DocumentSearchTextService documentSearchTextService,
+        boolean searchTextForLikeSearch
     ) {
         this.entityManager = entityManager;
         this.queryDialectHelper = queryDialectHelper;
@@ -117,6 +189,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         this.authorizationService = authorizationService;
         this.outboxService = outboxService;
         this.objectMapper = objectMapper;
+        this.documentSearchTextService = documentSearchTextService;
+        this.searchTextForLikeSearch = searchTextForLikeSearch && documentSearchTextService != null;
     }
 
     @Override
@@ -132,21 +206,7 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
 
     @Override
     public Page<JsonSchemaDocument> search(String documentDefinitionName, SearchWithConfigRequest searchWithConfigRequest, Pageable pageable) {
-        ZoneOffset zoneOffset = RequestHelper.getZoneOffset();
-        var searchFieldMap = searchFieldService.getSearchFields(documentDefinitionName).stream()
-            .collect(toMap(SearchField::getKey, searchField -> searchField));
-
-        var searchCriteria = searchWithConfigRequest.getOtherFilters().stream()
-            .map(otherFilter -> SearchRequestMapper.toOtherFilter(
-                otherFilter,
-                searchFieldMap.get(otherFilter.getKey()),
-                zoneOffset
-            ))
-            .toList();
-
-        var advancedSearchRequest = SearchRequestMapper.toAdvancedSearchRequest(searchWithConfigRequest, searchCriteria);
-
-        return search(documentDefinitionName, advancedSearchRequest, pageable);
+        return search(documentDefinitionName, toAdvancedSearchRequest(documentDefinitionName, searchWithConfigRequest), pageable);
     }
 
     @Override
@@ -158,6 +218,28 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         );
     }
 
+    @Override
+    public KeysetPage<JsonSchemaDocument> search(
+        String documentDefinitionName,
+        SearchWithConfigRequest searchWithConfigRequest,
+        KeysetPageRequest pageRequest
+    ) {
+        return search(documentDefinitionName, toAdvancedSearchRequest(documentDefinitionName, searchWithConfigRequest), pageRequest);
+    }
+
+    @Override
+    public KeysetPage<JsonSchemaDocument> search(
+        String documentDefinitionName,
+        AdvancedSearchRequest advancedSearchRequest,
+        KeysetPageRequest pageRequest
+    ) {
+        SearchRequestValidator.validate(advancedSearchRequest);
+        return search(
+            (cb, query, documentRoot) -> buildQueryWhere(documentDefinitionName, advancedSearchRequest, cb, query, documentRoot),
+            pageRequest
+        );
+    }
+
     @Override
     public Long count(String documentDefinitionName, AdvancedSearchRequest advancedSearchRequest) {
         return count(
@@ -184,12 +266,127 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         List<JsonSchemaDocument> documents = typedQuery.getResultList();
         outboxService.send(() ->
             new DocumentsListed(
-                objectMapper.valueToTree(documents)
+                () -> objectMapper.valueToTree(documents)
             )
         );
         return new PageImpl<>(documents, pageable, count(queryWhereBuilder));
     }
 
+    /**
+     * Seeks to the row after the cursor instead of skipping rows, so every page costs the same regardless of how deep
+     * it is. Rows are ordered by (sort key, id), which makes the order total. When the sort key can be null, rows are
+     * ordered by (sort key is null, sort key, id) instead, which places rows without a sort key last in both
+     * directions.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private KeysetPage<JsonSchemaDocument> search(QueryWhereBuilder queryWhereBuilder, KeysetPageRequest pageRequest) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<JsonSchemaDocument> selectRoot = query.from(JsonSchemaDocument.class);
+        final Sort.Order sortOrder = getKeysetSortOrder(pageRequest.getSort());
+
+        queryWhereBuilder.apply(cb, query, selectRoot);
+        final Expression sortKey = getSortExpression(query, cb, selectRoot, sortOrder.getProperty());
+        final Expression<UUID> id = selectRoot.get(ID).get(ID);
+        final boolean ascending = sortOrder.isAscending();
+        final boolean nullable = isNullableSortProperty(sortOrder.getProperty());
+
+        query.multiselect(selectRoot, sortKey);
+        if (pageRequest.getCursor() != null) {
+            final var cursor = DocumentSearchCursor.decode(
+                objectMapper,
+                pageRequest.getCursor(),
+                sortOrder,
+                sortKey.getJavaType()
+            );
+            final Predicate idAfterCursor = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            final Predicate afterCursor;
+            if (cursor.getValue() == null) {
+                afterCursor = cb.and(cb.isNull(sortKey), idAfterCursor);
+            } else {
+                final var value = (Comparable) cursor.getValue();
+                final Predicate sortKeyAfterCursor = cb.or(
+                    ascending ? cb.greaterThan(sortKey, value) : cb.lessThan(sortKey, value),
+                    cb.and(cb.equal(sortKey, value), idAfterCursor)
+                );
+                afterCursor = nullable ? cb.or(cb.isNull(sortKey), sortKeyAfterCursor) : sortKeyAfterCursor;
+            }
+            query.where(query.getRestriction() == null
+                ? afterCursor
+                : cb.and(query.getRestriction(), afterCursor));
+        }
+        final List<Order> orders = new ArrayList<>();
+        if (nullable) {
+            orders.add(cb.asc(cb.selectCase().when(cb.isNull(sortKey), 1).otherwise(0)));
+        }
+        orders.add(ascending ? cb.asc(sortKey) : cb.desc(sortKey));
+        orders.add(ascending ? cb.asc(id) : cb.desc(id));
+        query.orderBy(orders);
+
+        final List<Tuple> rows = entityManager.createQuery(query)
+            .setMaxResults(pageRequest.getSize() + 1)
+            .getResultList();
+        final List<JsonSchemaDocument> documents = rows.stream()
+            .limit(pageRequest.getSize())
+            .map(row -> row.get(0, JsonSchemaDocument.class))
+            .toList();
+
+        String nextCursor = null;
+        if (rows.size() > pageRequest.getSize()) {
+            final var lastRow = rows.get(pageRequest.getSize() - 1);
+            nextCursor = DocumentSearchCursor.encode(
+                objectMapper,
+                sortOrder,
+                lastRow.get(1),
+                lastRow.get(0, JsonSchemaDocument.class).id().getId()
+            );
+        }
+
+        outboxService.send(() ->
+            new DocumentsListed(
+                () -> objectMapper.valueToTree(documents)
+            )
+        );
+
+        return switch (pageRequest.getCountMode()) {
+            case NONE -> new KeysetPage<>(documents, nextCursor, null, false);
+            case EXACT -> new KeysetPage<>(documents, nextCursor, count(queryWhereBuilder), true);
+            case LIMITED -> {
+                final long count = countLimited(queryWhereBuilder);
+                yield new KeysetPage<>(documents, nextCursor, Math.min(count, LIMITED_COUNT), count <= LIMITED_COUNT);
+            }
+        };
+    }
+
+    private Sort.Order getKeysetSortOrder(Sort sort) {
+        final var orders = sort.toList();
+        if (orders.size() != 1) {
+            throw new IllegalArgumentException("Keyset pagination supports sorting on one property. Found: '" + sort + "'");
+        }
+        return orders.get(0);
+    }
+
+    private boolean isNullableSortProperty(String property) {
+        if (property.startsWith(DOC_PREFIX) || property.startsWith("$.")) {
+            return true;
+        }
+        final var docProperty = property.startsWith(CASE_PREFIX) ? property.substring(CASE_PREFIX.length()) : property;
+        return !NON_NULL_SORT_PROPERTIES.contains(DOCUMENT_FIELD_MAP.getOrDefault(docProperty, docProperty));
+    }
+
+    private long countLimited(QueryWhereBuilder queryWhereBuilder) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<UUID> countQuery = cb.createQuery(UUID.class);
+        final Root<JsonSchemaDocument> countRoot = countQuery.from(JsonSchemaDocument.class);
+        countQuery.select(countRoot.get(ID).get(ID));
+        queryWhereBuilder.apply(cb, countQuery, countRoot);
+
+        return entityManager.createQuery(countQuery)
+            .setMaxResults(LIMITED_COUNT + 1)
+            .getResultList()
+            .size();
+    }
+
     private Long count(
         QueryWhereBuilder queryWhereBuilder
     ) {
@@ -211,10 +408,29 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         return count;
     }
 
+    private AdvancedSearchRequest toAdvancedSearchRequest(
+        String documentDefinitionName,
+        SearchWithConfigRequest searchWithConfigRequest
+    ) {
+        ZoneOffset zoneOffset = RequestHelper.getZoneOffset();
+        var searchFieldMap = searchFieldService.getSearchFields(documentDefinitionName).stream()
+            .collect(toMap(SearchField::getKey, searchField -> searchField));
+
+        var searchCriteria = searchWithConfigRequest.getOtherFilters().stream()
+            .map(otherFilter -> SearchRequestMapper.toOtherFilter(
+                otherFilter,
+                searchFieldMap.get(otherFilter.getKey()),
+                zoneOffset
+            ))
+            .toList();
+
+        return SearchRequestMapper.toAdvancedSearchRequest(searchWithConfigRequest, searchCriteria);
+    }
+
     private void buildQueryWhere(SearchRequest searchRequest, CriteriaBuilder cb, CriteriaQuery<?> query, Root<JsonSchemaDocument> documentRoot) {
         final List<Predicate> predicates = new ArrayList<>();
 
-        addNonJsonFieldPredicates(cb, documentRoot, searchRequest, predicates);
+        addNonJsonFieldPredicates(cb, query, documentRoot, searchRequest, predicates);
         addJsonFieldPredicates(cb, documentRoot, searchRequest, predicates);
 
         predicates.add(
@@ -258,7 +474,7 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         }
 
         if (searchRequest.getOtherFilters() != null && !searchRequest.getOtherFilters().isEmpty()) {
-            predicates.add(getOtherFilersPredicate(cb, documentRoot, searchRequest));
+            predicates.add(getOtherFilersPredicate(cb, query, documentRoot, documentDefinitionName, searchRequest));
         }
 
         if (searchRequest.getStatusFilter() != null && !searchRequest.getStatusFilter().isEmpty()) {
@@ -268,7 +484,7 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     }
 
     private void addNonJsonFieldPredicates(
-        CriteriaBuilder cb, Root<JsonSchemaDocument> root,
+        CriteriaBuilder cb, CriteriaQuery<?> query, Root<JsonSchemaDocument> root,
         SearchRequest searchRequest, List<Predicate> predicates
     ) {
 
@@ -288,7 +504,18 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         }
 
         if (!StringUtils.isEmpty(searchRequest.getGlobalSearchFilter())) {
-            predicates.add(findJsonValue(cb, root, searchRequest.getGlobalSearchFilter()));
+            var globalSearch = findJsonValue(cb, root, searchRequest.getGlobalSearchFilter());
+            if (searchTextForLikeSearch) {
+                globalSearch = withSearchText(
+                    cb,
+                    query,
+                    root,
+                    StringUtils.isEmpty(searchRequest.getDocumentDefinitionName()) ? null : searchRequest.getDocumentDefinitionName(),
+                    List.of(searchRequest.getGlobalSearchFilter()),
+                    globalSearch
+                );
+            }
+            predicates.add(globalSearch);
         }
     }
 
@@ -346,11 +573,13 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
 
     private Predicate getOtherFilersPredicate(
         CriteriaBuilder cb,
+        CriteriaQuery<?> query,
         Root<JsonSchemaDocument> root,
+        String documentDefinitionName,
         AdvancedSearchRequest searchRequest
     ) {
         var jsonPredicates = searchRequest.getOtherFilters().stream()
-            .map(currentCriteria -> buildQueryForSearchCriteria(cb, root, currentCriteria))
+            .map(currentCriteria -> buildQueryForSearchCriteria(cb, query, root, documentDefinitionName, currentCriteria))
             .toList()
             .toArray(Predicate[]::new);
 
@@ -385,7 +614,9 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
 
     private <T extends Comparable<? super T>> Predicate buildQueryForSearchCriteria(
         CriteriaBuilder cb,
+        CriteriaQuery<?> query,
         Root<JsonSchemaDocument> root,
+        String documentDefinitionName,
         AdvancedSearchRequest.OtherFilter searchCriteria
     ) {
         Expression<T> value;
@@ -401,7 +632,8 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         var rangeTo = searchCriteria.<T>getRangeTo();
 
         return switch (searchCriteria.getSearchType()) {
-            case LIKE -> cb.or(searchLike(cb, value, searchCriteria.getValues()));
+            case LIKE -> searchLikeWithSearchText(cb, query, root, documentDefinitionName, searchCriteria, value);
+            case TEXT -> searchText(cb, query, root, documentDefinitionName, searchCriteria, value);
             case EQUAL -> cb.or(searchEqual(cb, value, searchCriteria.getValues()));
             case GREATER_THAN_OR_EQUAL_TO -> searchGreaterThanOrEqualTo(cb, value, rangeFrom);
             case LESS_THAN_OR_EQUAL_TO -> searchLessThanOrEqualTo(cb, value, rangeTo);
@@ -450,6 +682,69 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
         }
     }
 
+    /**
+     * Matches the values of which the text contains all words of one of the search values. When the search text of the
+     * documents is enabled, its full-text index narrows down the documents first. The index matches whole words and
+     * word prefixes only.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Predicate searchText(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> root,
+        String documentDefinitionName,
+        AdvancedSearchRequest.OtherFilter searchCriteria,
+        Expression<T> value
+    ) {
+        var values = searchCriteria.getValues();
+        if (values.stream().anyMatch(searchValue -> !(searchValue instanceof String))) {
+            throw new IllegalArgumentException("Failed to do TEXT search. Reason: values '" + Arrays.toString(values.toArray()) + "' aren't of type 'String'");
+        }
+        var stringValues = values.stream().map(Object::toString).toList();
+        var valueLower = cb.lower((Expression<String>) value);
+        var text = cb.or(stringValues.stream()
+            .map(stringValue -> cb.and(JsonSchemaDocumentSearchText.tokenize(stringValue).stream()
+                .map(word -> cb.like(valueLower, "%" + word + "%"))
+                .toArray(Predicate[]::new)))
+            .toArray(Predicate[]::new));
+        if (documentSearchTextService == null || !searchCriteria.getPath().startsWith(DOC_PREFIX)) {
+            return text;
+        }
+        return withSearchText(cb, query, root, documentDefinitionName, stringValues, text);
+    }
+
+    private <T> Predicate searchLikeWithSearchText(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> root,
+        String documentDefinitionName,
+        AdvancedSearchRequest.OtherFilter searchCriteria,
+        Expression<T> value
+    ) {
+        var like = cb.or(searchLike(cb, value, searchCriteria.getValues()));
+        if (!searchTextForLikeSearch || !searchCriteria.getPath().startsWith(DOC_PREFIX) || searchCriteria.getValues().isEmpty()) {
+            return like;
+        }
+        var stringValues = searchCriteria.getValues().stream().map(Object::toString).toList();
+        return withSearchText(cb, query, root, documentDefinitionName, stringValues, like);
+    }
+
+    /**
+     * Narrows down the documents that the predicate is applied to with the full-text index of the search text.
+     */
+    private Predicate withSearchText(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> root,
+        String documentDefinitionName,
+        List<String> values,
+        Predicate predicate
+    ) {
+        return documentSearchTextService.getMatchPredicate(cb, query, root, documentDefinitionName, values)
+            .map(searchTextPredicate -> cb.and(searchTextPredicate, predicate))
+            .orElse(predicate);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Predicate[] searchLike(CriteriaBuilder cb, Expression<T> jsonValue, List<T> values) {
         if (values.isEmpty()) {
@@ -520,55 +815,61 @@ public class JsonSchemaDocumentSearchService implements DocumentSearchService {
     }
 
     private List<Order> getOrderBy(
-        CriteriaQuery<JsonSchemaDocument> query,
+        CriteriaQuery<?> query,
         CriteriaBuilder cb,
         Root<JsonSchemaDocument> root,
         Sort sort
     ) {
         return sort.stream()
             .map(order -> {
-                Expression<?> expression;
-                String property = order.getProperty();
-                if (property.startsWith(DOC_PREFIX)) {
-                    var jsonPath = "$." + property.substring(DOC_PREFIX.length());
-                    expression = queryDialectHelper.getJsonValueExpression(cb, root.get(CONTENT).get(CONTENT), jsonPath, String.class);
-                } else if (property.startsWith("$.")) {
-                    expression = cb.lower(queryDialectHelper.getJsonValueExpression(
-                        cb,
-                        root.get(CONTENT).get(CONTENT),
-                        property,
-                        String.class
-                    ));
-                } else {
-                    var docProperty = property.startsWith(CASE_PREFIX) ? property.substring(CASE_PREFIX.length()) : property;
-                    if (DOCUMENT_FIELD_MAP.containsKey(docProperty)) {
-                        docProperty = DOCUMENT_FIELD_MAP.get(docProperty);
-                    }
-
-                    Path<?> parent;
-                    if( docProperty.equals(INTERNAL_STATUS_ORDER)) {
-                        parent = root.join(INTERNAL_STATUS, JoinType.LEFT);
-                        docProperty = docProperty.substring(INTERNAL_STATUS.length() + 1);
-                    } else {
-                        parent = root;
-                    }
-
-                    var path = stringToPath(parent, docProperty);
-                    // This groupBy workaround is needed because PBAC adds a groupBy on 'id' by default.
-                    // Since sorting columns should be added to the groupBy, we do that here
-                    if (!query.getGroupList().isEmpty() && !query.getGroupList().contains(path)) {
-                        ArrayList<Expression<?>> grouping = new ArrayList<>(query.getGroupList());
-                        grouping.add(path);
-                        query.groupBy(grouping);
-                    }
-                    expression = path;
-                }
-
+                Expression<?> expression = getSortExpression(query, cb, root, order.getProperty());
                 return order.getDirection().isAscending() ? cb.asc(expression) : cb.desc(expression);
             })
             .collect(Collectors.toList());
     }
 
+    private Expression<?> getSortExpression(
+        CriteriaQuery<?> query,
+        CriteriaBuilder cb,
+        Root<JsonSchemaDocument> root,
+        String property
+    ) {
+        if (property.startsWith(DOC_PREFIX)) {
+            var jsonPath = "$." + property.substring(DOC_PREFIX.length());
+            return queryDialectHelper.getJsonValueExpression(cb, root.get(CONTENT).get(CONTENT), jsonPath, String.class);
+        } else if (property.startsWith("$.")) {
+            return cb.lower(queryDialectHelper.getJsonValueExpression(
+                cb,
+                root.get(CONTENT).get(CONTENT),
+                property,
+                String.class
+            ));
+        } else {
+            var docProperty = property.startsWith(CASE_PREFIX) ? property.substring(CASE_PREFIX.length()) : property;
+            if (DOCUMENT_FIELD_MAP.containsKey(docProperty)) {
+                docProperty = DOCUMENT_FIELD_MAP.get(docProperty);
+            }
+
+            Path<?> parent;
+            if( docProperty.equals(INTERNAL_STATUS_ORDER)) {
+                parent = root.join(INTERNAL_STATUS, JoinType.LEFT);
+                docProperty = docProperty.substring(INTERNAL_STATUS.length() + 1);
+            } else {
+                parent = root;
+            }
+
+            var path = stringToPath(parent, docProperty);
+            // This groupBy workaround is needed because PBAC adds a groupBy on 'id' by default.
+            // Since sorting columns should be added to the groupBy, we do that here
+            if (!query.getGroupList().isEmpty() && !query.getGroupList().contains(path)) {
+                ArrayList<Expression<?>> grouping = new ArrayList<>(query.getGroupList());
+                grouping.add(path);
+                query.groupBy(grouping);
+            }
+            return path;
+        }
+    }
+
     private <T> Path<T> stringToPath(Path<?> parent, String path) {
         String[] split = path.split("\\.");
         Path<?> result = parent;
@@ -27,9 +27,12 @@ import static com.ritense.document.service.JsonSchemaDocumentActionProvider.MODI
 import static com.ritense.document.service.JsonSchemaDocumentActionProvider.VIEW;
 import static com.ritense.document.service.JsonSchemaDocumentActionProvider.VIEW_LIST;
 import static com.ritense.valtimo.contract.Constants.SYSTEM_ACCOUNT;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import com.ritense.authorization.Action;
 import com.ritense.authorization.AuthorizationContext;
 import com.ritense.authorization.AuthorizationService;
@@ -65,6 +68,7 @@ import com.ritense.document.exception.UnknownDocumentDefinitionException;
 import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
 import com.ritense.document.service.DocumentService;
 import com.ritense.document.service.InternalCaseStatusService;
+import com.ritense.document.service.result.error.DocumentOperationError;
 import com.ritense.outbox.OutboxService;
 import com.ritense.resource.service.ResourceService;
 import com.ritense.valtimo.contract.audit.utils.AuditHelper;
@@ -74,18 +78,27 @@ import com.ritense.valtimo.contract.resource.Resource;
 import com.ritense.valtimo.contract.utils.RequestHelper;
 import com.ritense.valtimo.contract.utils.SecurityUtils;
 import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -93,6 +106,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class JsonSchemaDocumentService implements DocumentService {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonSchemaDocumentService.class);
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_VALIDATION_THREADS = 4;
 
     private final JsonSchemaDocumentRepository documentRepository;
     private final JsonSchemaDocumentDefinitionService documentDefinitionService;
@@ -111,6 +126,12 @@ public class JsonSchemaDocumentService implements DocumentService {
 
     private final InternalCaseStatusService internalCaseStatusService;
 
+    private final EntityManager entityManager;
+
+    private final int batchSize;
+
+    private final ExecutorService validationExecutor;
+
     public JsonSchemaDocumentService(
         JsonSchemaDocumentRepository documentRepository,
         JsonSchemaDocumentDefinitionService documentDefinitionService,
@@ -122,6 +143,38 @@ public class JsonSchemaDocumentService implements DocumentService {
         OutboxService outboxService,
         ObjectMapper objectMapper,
         InternalCaseStatusService internalCaseStatusService
+    ) {
+        this(
+            documentRepository,
+            documentDefinitionService,
+            documentSequenceGeneratorService,
+            resourceService,
+            userManagementService,
+            authorizationService,
+            applicationEventPublisher,
+            outboxService,
+            objectMapper,
+            internalCaseStatusService,
+            null,
+            DEFAULT_BATCH_SIZE,
+            DEFAULT_VALIDATION_THREADS
+        );
+    }
+
+    public JsonSchemaDocumentService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentDefinitionService documentDefinitionService,
+        JsonSchemaDocumentDefinitionSequenceGeneratorService documentSequenceGeneratorService,
+        @Nullable ResourceService resourceService,
+        UserManagementService userManagementService,
+        AuthorizationService authorizationService,
+        ApplicationEventPublisher applicationEventPublisher,
+        OutboxService outboxService,
+        ObjectMapper objectMapper,
+        InternalCaseStatusService internalCaseStatusService,
+        @Nullable EntityManager entityManager,
+        int batchSize,
+        int validationThreads
     ) {
         this.documentRepository = documentRepository;
         this.documentDefinitionService = documentDefinitionService;
@@ -133,6 +186,11 @@ public class JsonSchemaDocumentService implements DocumentService {
         this.outboxService = outboxService;
         this.objectMapper = objectMapper;
         this.internalCaseStatusService = internalCaseStatusService;
+        this.entityManager = entityManager;
+        this.batchSize = Math.max(1, batchSize);
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("document-validation-");
+        threadFactory.setDaemon(true);
+        this.validationExecutor = Executors.newFixedThreadPool(Math.max(1, validationThreads), threadFactory);
     }
 
     @Override
@@ -152,7 +210,7 @@ public class JsonSchemaDocumentService implements DocumentService {
             outboxService.send(() ->
                 new DocumentViewed(
                     document.id().toString(),
-                    objectMapper.valueToTree(document)
+                    () -> objectMapper.valueToTree(document)
                 )
             );
         }
@@ -195,7 +253,7 @@ public class JsonSchemaDocumentService implements DocumentService {
 
         outboxService.send(() ->
             new DocumentsListed(
-                objectMapper.valueToTree(documentPage.getContent())
+                () -> objectMapper.valueToTree(documentPage.getContent())
             )
         );
 
@@ -222,7 +280,7 @@ public class JsonSchemaDocumentService implements DocumentService {
 
         outboxService.send(() ->
             new DocumentsListed(
-                objectMapper.valueToTree(documentPage.getContent())
+                () -> objectMapper.valueToTree(documentPage.getContent())
             )
         );
 
@@ -279,6 +337,80 @@ public class JsonSchemaDocumentService implements DocumentService {
         return result;
     }
 
+    /**
+     * Creates the documents per document definition, see {@link JsonSchemaDocument#createAll}. The documents and their
+     * outbox messages are written with JDBC batches of {@code batchSize} statements. Requests for a document definition
+     * that doesn't exist get an error result, like requests with invalid content.
+     */
+    @Override
+    public List<JsonSchemaDocument.CreateDocumentResultImpl> createDocuments(List<NewDocumentRequest> newDocumentRequests) {
+        final var user = SecurityUtils.getCurrentUserLogin() != null ? SecurityUtils.getCurrentUserLogin() : SYSTEM_ACCOUNT;
+        final var results = new ArrayList<JsonSchemaDocument.CreateDocumentResultImpl>(
+            Collections.nCopies(newDocumentRequests.size(), null)
+        );
+
+        final Map<String, List<Integer>> indexesPerDefinition = IntStream.range(0, newDocumentRequests.size())
+            .boxed()
+            .collect(groupingBy(
+                index -> newDocumentRequests.get(index).documentDefinitionName(),
+                LinkedHashMap::new,
+                toList()
+            ));
+        indexesPerDefinition.forEach((documentDefinitionName, indexes) -> {
+            final Optional<JsonSchemaDocumentDefinition> optionalDefinition = runWithoutAuthorization(
+                () -> documentDefinitionService.findLatestByName(documentDefinitionName)
+            );
+            if (optionalDefinition.isEmpty()) {
+                final var message = new UnknownDocumentDefinitionException(documentDefinitionName).getMessage();
+                final DocumentOperationError error = () -> message;
+                indexes.forEach(index -> results.set(index, new JsonSchemaDocument.CreateDocumentResultImpl(List.of(error))));
+                return;
+            }
+            final var definition = optionalDefinition.get();
+            final var definitionResults = JsonSchemaDocument.createAll(
+                definition,
+                indexes.stream()
+                    .map(index -> JsonDocumentContent.build(newDocumentRequests.get(index).content()))
+                    .toList(),
+                indexes.stream()
+                    .map(index -> JsonSchemaDocumentRelation.from(newDocumentRequests.get(index).documentRelation()))
+                    .toList(),
+                user,
+                documentSequenceGeneratorService,
+                validationExecutor
+            );
+            for (int i = 0; i < indexes.size(); i++) {
+                results.set(indexes.get(i), definitionResults.get(i));
+            }
+        });
+
+        final var documents = new ArrayList<JsonSchemaDocument>();
+        for (int i = 0; i < results.size(); i++) {
+            final var newDocumentRequest = newDocumentRequests.get(i);
+            results.get(i).resultingDocument().ifPresent(jsonSchemaDocument -> {
+                newDocumentRequest.getResources()
+                    .stream()
+                    .map(JsonSchemaRelatedFile::from)
+                    .map(relatedFile -> relatedFile.withCreatedBy(user))
+                    .forEach(jsonSchemaDocument::addRelatedFile);
+                documents.add(jsonSchemaDocument);
+            });
+        }
+        if (documents.isEmpty()) {
+            return results;
+        }
+
+        authorizationService.requirePermission(
+            new EntityAuthorizationRequest<>(
+                JsonSchemaDocument.class,
+                CREATE,
+                documents
+            )
+        );
+        saveInBatches(documents);
+        return results;
+    }
+
     @Override
     public void modifyDocument(Document document, JsonNode jsonNode) {
         JsonSchemaDocument jsonSchemaDocument = (JsonSchemaDocument) document;
@@ -339,7 +471,7 @@ public class JsonSchemaDocumentService implements DocumentService {
             outboxService.send(() ->
                 new DocumentUpdated(
                     modifiedDocument.id().toString(),
-                    objectMapper.valueToTree(modifiedDocument)
+                    () -> objectMapper.valueToTree(modifiedDocument)
                 )
             );
         });
@@ -527,7 +659,7 @@ public class JsonSchemaDocumentService implements DocumentService {
         outboxService.send(() ->
             new DocumentAssigned(
                 document.id().toString(),
-                objectMapper.valueToTree(document)
+                () -> objectMapper.valueToTree(document)
             )
         );
     }
@@ -597,7 +729,7 @@ public class JsonSchemaDocumentService implements DocumentService {
         outboxService.send(() ->
             new DocumentAssigned(
                 document.id().toString(),
-                objectMapper.valueToTree(document)
+                () -> objectMapper.valueToTree(document)
             )
         );
     }
@@ -631,7 +763,7 @@ public class JsonSchemaDocumentService implements DocumentService {
         outboxService.send(() ->
             new DocumentUnassigned(
                 document.id().toString(),
-                objectMapper.valueToTree(document)
+                () -> objectMapper.valueToTree(document)
             )
         );
     }
@@ -661,7 +793,7 @@ public class JsonSchemaDocumentService implements DocumentService {
         outboxService.send(() ->
             new DocumentStatusChanged(
                 document.id().toString(),
-                objectMapper.valueToTree(document)
+                () -> objectMapper.valueToTree(document)
             )
         );
     }
@@ -803,9 +935,37 @@ public class JsonSchemaDocumentService implements DocumentService {
             outboxService.send(() ->
                 new DocumentAssigned(
                     document.id().toString(),
-                    objectMapper.valueToTree(document)
+                    () -> objectMapper.valueToTree(document)
                 )
             );
         });
     }
+    private void saveInBatches(List<JsonSchemaDocument> documents) {
+        final var session = entityManager != null ? entityManager.unwrap(Session.class) : null;
+        final var previousBatchSize = session != null ? session.getJdbcBatchSize() : null;
+        if (session != null) {
+            session.setJdbcBatchSize(batchSize);
+        }
+        try {
+            for (List<JsonSchemaDocument> batch : Lists.partition(documents, batchSize)) {
+                documentRepository.saveAll(batch);
+                batch.forEach(jsonSchemaDocument ->
+                    outboxService.send(() ->
+                        new DocumentCreated(
+                            jsonSchemaDocument.id().toString(),
+                            objectMapper.valueToTree(jsonSchemaDocument)
+                        )
+                    )
+                );
+                if (session != null) {
+                    session.flush();
+                }
+            }
+        } finally {
+            if (session != null) {
+                session.setJdbcBatchSize(previousBatchSize);
+            }
+        }
+    }
+
 }
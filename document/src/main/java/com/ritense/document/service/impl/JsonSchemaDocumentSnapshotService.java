@@ -19,30 +19,46 @@ package com.ritense.document.service.impl;
 import static com.ritense.document.repository.impl.specification.JsonSchemaDocumentSnapshotSpecificationHelper.bySearch;
 import static com.ritense.document.service.JsonSchemaDocumentSnapshotActionProvider.VIEW;
 import static com.ritense.document.service.JsonSchemaDocumentSnapshotActionProvider.VIEW_LIST;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
 
 import com.ritense.authorization.Action;
 import com.ritense.authorization.AuthorizationService;
 import com.ritense.authorization.request.EntityAuthorizationRequest;
 import com.ritense.document.domain.Document;
+import com.ritense.document.domain.impl.JsonDocumentContent;
 import com.ritense.document.domain.impl.JsonSchemaDocumentId;
 import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
+import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshotId;
 import com.ritense.document.domain.snapshot.DocumentSnapshot;
 import com.ritense.document.exception.DocumentNotFoundException;
 import com.ritense.document.repository.DocumentSnapshotRepository;
 import com.ritense.document.service.DocumentSnapshotService;
 import jakarta.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Stores and reads document snapshots.
+ *
+ * <p>When delta encoding is enabled, a snapshot only stores a patch against the previous snapshot of the document,
+ * and every {@code checkpointInterval} snapshots a full checkpoint is stored. Snapshots are always returned with
+ * their full content: deltas are reconstructed from their checkpoint when they are read.</p>
+ */
 public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotService {
 
     private final DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository;
     private final JsonSchemaDocumentService documentService;
     private final JsonSchemaDocumentDefinitionService documentDefinitionService;
     private final AuthorizationService authorizationService;
+    private final boolean deltaEnabled;
+    private final int checkpointInterval;
 
     public JsonSchemaDocumentSnapshotService(
         DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
@@ -50,10 +66,26 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         JsonSchemaDocumentDefinitionService documentDefinitionService,
         AuthorizationService authorizationService
     ) {
+        this(documentSnapshotRepository, documentService, documentDefinitionService, authorizationService, false, 1);
+    }
+
+    public JsonSchemaDocumentSnapshotService(
+        DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository,
+        JsonSchemaDocumentService documentService,
+        JsonSchemaDocumentDefinitionService documentDefinitionService,
+        AuthorizationService authorizationService,
+        boolean deltaEnabled,
+        int checkpointInterval
+    ) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("checkpointInterval must be at least 1");
+        }
         this.documentSnapshotRepository = documentSnapshotRepository;
         this.documentService = documentService;
         this.documentDefinitionService = documentDefinitionService;
         this.authorizationService = authorizationService;
+        this.deltaEnabled = deltaEnabled;
+        this.checkpointInterval = checkpointInterval;
     }
 
     @Override
@@ -67,6 +99,7 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
                     snapshot
                 )
             );
+            restoreContent(List.of(snapshot));
         }
 
         return Optional.ofNullable(snapshot);
@@ -94,10 +127,12 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
             )
         );
 
-        return documentSnapshotRepository.findAll(
+        final var page = documentSnapshotRepository.findAll(
             spec,
             pageable
         );
+        restoreContent(page.getContent());
+        return page;
     }
 
     @Transactional
@@ -111,12 +146,28 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         var documentDefinition = documentDefinitionService.findBy(document.definitionId())
             .orElseThrow();
 
-        documentSnapshotRepository.saveAndFlush(new JsonSchemaDocumentSnapshot(
-            document,
-            createdOn,
-            createdBy,
-            documentDefinition
-        ));
+        final var previous = deltaEnabled
+            ? documentSnapshotRepository.findFirstByDocumentIdOrderByCreatedOnDesc(documentId).orElse(null)
+            : null;
+
+        if (previous == null || previous.deltaSequence() + 1 >= checkpointInterval) {
+            documentSnapshotRepository.saveAndFlush(new JsonSchemaDocumentSnapshot(
+                document,
+                createdOn,
+                createdBy,
+                documentDefinition
+            ));
+        } else {
+            restoreContent(List.of(previous));
+            documentSnapshotRepository.saveAndFlush(JsonSchemaDocumentSnapshot.delta(
+                document,
+                createdOn,
+                createdBy,
+                documentDefinition,
+                previous,
+                previous.document().content().asJson()
+            ));
+        }
     }
 
     @Transactional
@@ -127,6 +178,35 @@ public class JsonSchemaDocumentSnapshotService implements DocumentSnapshotServic
         documentSnapshotRepository.deleteAllByDefinitionName(documentDefinitionName);
     }
 
+    private void restoreContent(Collection<JsonSchemaDocumentSnapshot> snapshots) {
+        final var deltas = snapshots.stream()
+            .filter(snapshot -> !snapshot.isContentRestored())
+            .toList();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        final var checkpointIds = deltas.stream()
+            .map(JsonSchemaDocumentSnapshot::checkpointId)
+            .collect(toSet());
+        final var chains = documentSnapshotRepository.findAllByCheckpointIdIn(checkpointIds).stream()
+            .collect(groupingBy(JsonSchemaDocumentSnapshot::checkpointId));
+        final var contents = new HashMap<JsonSchemaDocumentSnapshotId, JsonDocumentContent>();
+        documentSnapshotRepository.findAllById(
+            checkpointIds.stream().<DocumentSnapshot.Id>map(JsonSchemaDocumentSnapshotId::existingId).toList()
+        ).forEach(checkpoint -> contents.putAll(
+            JsonSchemaDocumentSnapshot.reconstruct(checkpoint, chains.getOrDefault(checkpoint.checkpointId(), List.of()))
+        ));
+        deltas.forEach(delta -> {
+            final var content = contents.get(delta.getId());
+            if (content == null) {
+                throw new IllegalStateException(
+                    "Unable to restore snapshot " + delta.getId() + ": checkpoint snapshot " + delta.checkpointId() + " not found"
+                );
+            }
+            delta.restoreContent(content);
+        });
+    }
+
     private void denyAuthorization() {
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
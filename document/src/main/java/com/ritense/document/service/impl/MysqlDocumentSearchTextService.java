@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static java.util.stream.Collectors.joining;
+
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
+import com.ritense.document.repository.impl.JsonSchemaDocumentSearchTextRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Searches the FULLTEXT index on {@code search_text}.
+ *
+ * <p>{@code MATCH ... AGAINST} can't be expressed in a criteria query, so the matching document ids are selected first
+ * and added to the search as a list. The selection is limited to the document definition of the search. When more
+ * than {@link #MAX_MATCHES} documents match, the list would not narrow down the search, and the index isn't used. InnoDB doesn't index words shorter than three characters, those words
+ * are left to the original search predicate.</p>
+ */
+public class MysqlDocumentSearchTextService extends AbstractDocumentSearchTextService {
+
+    static final int MAX_MATCHES = 5000;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final String MATCH_QUERY = """
+        SELECT json_schema_document_id
+        FROM json_schema_document_search_text
+        WHERE MATCH(search_text) AGAINST (? IN BOOLEAN MODE)
+        LIMIT ?
+        """;
+    private static final String DEFINITION_MATCH_QUERY = """
+        SELECT search_text.json_schema_document_id
+        FROM json_schema_document_search_text search_text
+        INNER JOIN json_schema_document document
+            ON document.json_schema_document_id = search_text.json_schema_document_id
+        WHERE MATCH(search_text.search_text) AGAINST (? IN BOOLEAN MODE)
+        AND document.document_definition_name = ?
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MysqlDocumentSearchTextService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentSearchTextRepository searchTextRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        JdbcTemplate jdbcTemplate,
+        int rebuildBatchSize
+    ) {
+        super(documentRepository, searchTextRepository, entityManager, transactionTemplate, rebuildBatchSize);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    protected Optional<Predicate> getMatchPredicate(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        String documentDefinitionName,
+        List<String> words
+    ) {
+        final var booleanQuery = toBooleanQuery(words);
+        if (booleanQuery.isEmpty()) {
+            return Optional.empty();
+        }
+        final RowMapper<UUID> toDocumentId = (resultSet, rowNum) -> toUuid(resultSet.getBytes(1));
+        final var documentIds = documentDefinitionName == null
+            ? jdbcTemplate.query(MATCH_QUERY, toDocumentId, booleanQuery, MAX_MATCHES + 1)
+            : jdbcTemplate.query(DEFINITION_MATCH_QUERY, toDocumentId, booleanQuery, documentDefinitionName, MAX_MATCHES + 1);
+        if (documentIds.size() > MAX_MATCHES) {
+            return Optional.empty();
+        } else if (documentIds.isEmpty()) {
+            return Optional.of(cb.disjunction());
+        }
+        return Optional.of(documentRoot.get("id").get("id").in(documentIds));
+    }
+
+    static String toBooleanQuery(List<String> words) {
+        return words.stream()
+            .filter(word -> word.length() >= MIN_WORD_LENGTH)
+            .map(word -> "+" + word + "*")
+            .collect(joining(" "));
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        final var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import com.ritense.document.repository.SearchFieldRepository;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * MySQL has no partial indexes and only uses an index for a JSON expression through a generated column with the
+ * exact same expression. Every search field index is therefore a virtual generated column, indexed with a prefix
+ * index. The column and its index share the same name.
+ */
+public class MysqlSearchFieldIndexService extends AbstractSearchFieldIndexService {
+
+    private static final int INDEX_PREFIX_LENGTH = 255;
+    private static final String FIND_INDEXES_QUERY = """
+        SELECT c.column_name, s.index_name
+        FROM information_schema.columns c
+        LEFT JOIN information_schema.statistics s
+            ON s.table_schema = c.table_schema
+            AND s.table_name = c.table_name
+            AND s.column_name = c.column_name
+        WHERE c.table_schema = DATABASE()
+        AND c.table_name = ?
+        AND LOCATE(?, c.column_name) = 1
+        """;
+
+    public MysqlSearchFieldIndexService(
+        JdbcTemplate jdbcTemplate,
+        SearchFieldRepository searchFieldRepository,
+        QueryDialectHelper queryDialectHelper,
+        boolean enabled
+    ) {
+        super(jdbcTemplate, searchFieldRepository, queryDialectHelper, enabled);
+    }
+
+    @Override
+    protected Map<String, Boolean> findIndexes(String indexPrefix) {
+        final var indexes = new LinkedHashMap<String, Boolean>();
+        jdbcTemplate.query(
+            FIND_INDEXES_QUERY,
+            resultSet -> {
+                indexes.merge(resultSet.getString(1), resultSet.getString(2) != null, Boolean::logicalOr);
+            },
+            DOCUMENT_TABLE,
+            indexPrefix
+        );
+        return indexes;
+    }
+
+    @Override
+    protected void createIndex(String indexName, String documentDefinitionName, String expression) {
+        executeDdl("ALTER TABLE " + DOCUMENT_TABLE + " ADD COLUMN " + indexName
+            + " LONGTEXT GENERATED ALWAYS AS (" + expression + ") VIRTUAL");
+        executeDdl("CREATE INDEX " + indexName
+            + " ON " + DOCUMENT_TABLE + " (" + indexName + "(" + INDEX_PREFIX_LENGTH + "))");
+    }
+
+    @Override
+    protected void dropIndex(String indexName) {
+        // Dropping the generated column drops its index as well
+        executeDdl("ALTER TABLE " + DOCUMENT_TABLE + " DROP COLUMN " + indexName);
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static java.util.stream.Collectors.joining;
+
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentSearchText;
+import com.ritense.document.repository.impl.JsonSchemaDocumentRepository;
+import com.ritense.document.repository.impl.JsonSchemaDocumentSearchTextRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Searches the GIN index on {@code to_tsvector('simple', search_text)} through the
+ * {@code document_search_text_matches} function, which the planner inlines.
+ */
+public class PostgresDocumentSearchTextService extends AbstractDocumentSearchTextService {
+
+    public PostgresDocumentSearchTextService(
+        JsonSchemaDocumentRepository documentRepository,
+        JsonSchemaDocumentSearchTextRepository searchTextRepository,
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        int rebuildBatchSize
+    ) {
+        super(documentRepository, searchTextRepository, entityManager, transactionTemplate, rebuildBatchSize);
+    }
+
+    @Override
+    protected Optional<Predicate> getMatchPredicate(
+        CriteriaBuilder cb,
+        CriteriaQuery<?> query,
+        Root<JsonSchemaDocument> documentRoot,
+        String documentDefinitionName,
+        List<String> words
+    ) {
+        if (words.isEmpty()) {
+            return Optional.empty();
+        }
+        final var subquery = query.subquery(UUID.class);
+        final var searchTextRoot = subquery.from(JsonSchemaDocumentSearchText.class);
+        subquery
+            .select(searchTextRoot.<UUID>get(DOCUMENT_ID))
+            .where(cb.isTrue(cb.function(
+                "document_search_text_matches",
+                Boolean.class,
+                searchTextRoot.get(SEARCH_TEXT),
+                cb.literal(toTsQuery(words))
+            )));
+        return Optional.of(documentRoot.get("id").get("id").in(subquery));
+    }
+
+    static String toTsQuery(List<String> words) {
+        return words.stream()
+            .map(word -> word + ":*")
+            .collect(joining(" & "));
+    }
+
+}
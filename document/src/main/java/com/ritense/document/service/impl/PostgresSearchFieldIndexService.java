@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import com.ritense.document.repository.SearchFieldRepository;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Creates partial expression indexes, limited to the documents of one document definition. The indexes are built
+ * concurrently, so documents can still be written while an index is being created.
+ */
+public class PostgresSearchFieldIndexService extends AbstractSearchFieldIndexService {
+
+    private static final String FIND_INDEXES_QUERY = """
+        SELECT index_class.relname, pg_index.indisvalid
+        FROM pg_index
+        JOIN pg_class index_class ON index_class.oid = pg_index.indexrelid
+        JOIN pg_class table_class ON table_class.oid = pg_index.indrelid
+        WHERE table_class.relname = ?
+        AND pg_table_is_visible(table_class.oid)
+        AND starts_with(index_class.relname, ?)
+        """;
+
+    public PostgresSearchFieldIndexService(
+        JdbcTemplate jdbcTemplate,
+        SearchFieldRepository searchFieldRepository,
+        QueryDialectHelper queryDialectHelper,
+        boolean enabled
+    ) {
+        super(jdbcTemplate, searchFieldRepository, queryDialectHelper, enabled);
+    }
+
+    @Override
+    protected Map<String, Boolean> findIndexes(String indexPrefix) {
+        final var indexes = new LinkedHashMap<String, Boolean>();
+        jdbcTemplate.query(
+            FIND_INDEXES_QUERY,
+            resultSet -> {
+                indexes.put(resultSet.getString(1), resultSet.getBoolean(2));
+            },
+            DOCUMENT_TABLE,
+            indexPrefix
+        );
+        return indexes;
+    }
+
+    @Override
+    protected void createIndex(String indexName, String documentDefinitionName, String expression) {
+        executeDdl("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName
+            + " ON " + DOCUMENT_TABLE + " ((" + expression + "))"
+            + " WHERE document_definition_name = " + quote(documentDefinitionName));
+    }
+
+    @Override
+    protected void dropIndex(String indexName) {
+        executeDdl("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+    }
+
+}
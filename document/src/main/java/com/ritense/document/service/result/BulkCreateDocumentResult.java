@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.result;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ritense.document.service.result.error.DocumentOperationError;
+import java.util.List;
+
+/**
+ * The result of one document in a bulk creation, without the content of the created document.
+ */
+public class BulkCreateDocumentResult {
+
+    private final int index;
+    private final String documentId;
+    private final List<String> errors;
+
+    public BulkCreateDocumentResult(int index, String documentId, List<String> errors) {
+        this.index = index;
+        this.documentId = documentId;
+        this.errors = errors;
+    }
+
+    public static BulkCreateDocumentResult from(int index, CreateDocumentResult result) {
+        return new BulkCreateDocumentResult(
+            index,
+            result.resultingDocument().map(document -> document.id().toString()).orElse(null),
+            result.errors().stream().map(DocumentOperationError::asString).toList()
+        );
+    }
+
+    @JsonProperty
+    public int index() {
+        return index;
+    }
+
+    @JsonProperty
+    public String documentId() {
+        return documentId;
+    }
+
+    @JsonProperty
+    public List<String> errors() {
+        return errors;
+    }
+
+}
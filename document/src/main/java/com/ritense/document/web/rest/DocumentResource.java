@@ -22,10 +22,13 @@ import com.ritense.document.domain.impl.request.GetDocumentCandidateUsersRequest
 import com.ritense.document.domain.impl.request.ModifyDocumentRequest;
 import com.ritense.document.domain.impl.request.NewDocumentRequest;
 import com.ritense.document.domain.impl.request.UpdateAssigneeRequest;
+import com.ritense.document.service.result.BulkCreateDocumentResult;
 import com.ritense.document.service.result.CreateDocumentResult;
 import com.ritense.document.service.result.ModifyDocumentResult;
 import com.ritense.valtimo.contract.authentication.NamedUser;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +39,8 @@ public interface DocumentResource {
 
     ResponseEntity<CreateDocumentResult> createNewDocument(@Valid NewDocumentRequest request);
 
+    ResponseEntity<List<BulkCreateDocumentResult>> createNewDocuments(InputStream requestBody) throws IOException;
+
     ResponseEntity<ModifyDocumentResult> modifyDocumentContent(@Valid ModifyDocumentRequest request);
 
     ResponseEntity<Void> assignResource(UUID documentId, UUID resourceId);
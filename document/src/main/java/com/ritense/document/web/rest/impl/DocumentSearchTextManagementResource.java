@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.web.rest.impl;
+
+import static com.ritense.valtimo.contract.domain.ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE;
+
+import com.ritense.document.service.DocumentSearchTextService;
+import com.ritense.document.web.rest.DocumentSearchTextManagement;
+import com.ritense.valtimo.contract.annotation.SkipComponentScan;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@SkipComponentScan
+@RequestMapping(value = "/api/management", produces = APPLICATION_JSON_UTF8_VALUE)
+public class DocumentSearchTextManagementResource implements DocumentSearchTextManagement {
+
+    private final DocumentSearchTextService documentSearchTextService;
+
+    public DocumentSearchTextManagementResource(final DocumentSearchTextService documentSearchTextService) {
+        this.documentSearchTextService = documentSearchTextService;
+    }
+
+    @Override
+    @PostMapping("/v1/document/search-text/rebuild")
+    public ResponseEntity<Void> rebuildSearchText() {
+        if (documentSearchTextService.rebuild()) {
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -18,6 +18,9 @@ package com.ritense.document.web.rest.impl;
 
 import static com.ritense.valtimo.contract.domain.ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ritense.document.domain.Document;
 import com.ritense.document.domain.impl.JsonSchemaDocumentId;
 import com.ritense.document.domain.impl.request.AssignToDocumentsRequest;
@@ -26,6 +29,7 @@ import com.ritense.document.domain.impl.request.ModifyDocumentRequest;
 import com.ritense.document.domain.impl.request.NewDocumentRequest;
 import com.ritense.document.domain.impl.request.UpdateAssigneeRequest;
 import com.ritense.document.service.DocumentService;
+import com.ritense.document.service.result.BulkCreateDocumentResult;
 import com.ritense.document.service.result.CreateDocumentResult;
 import com.ritense.document.service.result.DocumentResult;
 import com.ritense.document.service.result.ModifyDocumentResult;
@@ -33,6 +37,9 @@ import com.ritense.document.web.rest.DocumentResource;
 import com.ritense.valtimo.contract.annotation.SkipComponentScan;
 import com.ritense.valtimo.contract.authentication.NamedUser;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -59,9 +66,17 @@ public class JsonSchemaDocumentResource implements DocumentResource {
     private static final Logger logger = LoggerFactory.getLogger(JsonSchemaDocumentResource.class);
 
     private final DocumentService documentService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
 
-    public JsonSchemaDocumentResource(final DocumentService documentService) {
+    public JsonSchemaDocumentResource(
+        final DocumentService documentService,
+        final ObjectMapper objectMapper,
+        final int batchSize
+    ) {
         this.documentService = documentService;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     @Transactional
@@ -84,6 +99,32 @@ public class JsonSchemaDocumentResource implements DocumentResource {
         return applyResult(documentService.createDocument(request));
     }
 
+    /**
+     * Creates a document for every line of the NDJSON body. Every {@code batchSize} lines are created in a separate
+     * transaction, so the documents of earlier batches stay created when a later line can't be read.
+     */
+    @Override
+    @PostMapping(value = "/v1/document/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BulkCreateDocumentResult>> createNewDocuments(InputStream requestBody) throws IOException {
+        final var results = new ArrayList<BulkCreateDocumentResult>();
+        final var batch = new ArrayList<NewDocumentRequest>(batchSize);
+        try (MappingIterator<NewDocumentRequest> requests = objectMapper.readerFor(NewDocumentRequest.class)
+            .readValues(requestBody)) {
+            while (requests.hasNextValue()) {
+                batch.add(requests.nextValue());
+                if (batch.size() == batchSize) {
+                    createDocuments(batch, results);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            createDocuments(batch, results);
+            results.add(new BulkCreateDocumentResult(results.size(), null, List.of(e.getOriginalMessage())));
+            return ResponseEntity.badRequest().body(results);
+        }
+        createDocuments(batch, results);
+        return ResponseEntity.ok(results);
+    }
+
     @Override
     @PutMapping(value = "/v1/document", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ModifyDocumentResult> modifyDocumentContent(
@@ -170,4 +211,14 @@ public class JsonSchemaDocumentResource implements DocumentResource {
         return ResponseEntity.status(httpStatus).body(result);
     }
 
+    private void createDocuments(List<NewDocumentRequest> batch, List<BulkCreateDocumentResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (var result : documentService.createDocuments(batch)) {
+            results.add(BulkCreateDocumentResult.from(results.size(), result));
+        }
+        batch.clear();
+    }
+
 }
@@ -18,10 +18,22 @@ package com.ritense.document.event
 
 import com.fasterxml.jackson.databind.node.ObjectNode
 import com.ritense.outbox.domain.BaseEvent
+import java.util.function.Supplier
 
-class DocumentViewed(documentId: String, documentContent: ObjectNode) : BaseEvent(
-    type = "com.ritense.valtimo.document.viewed",
+/**
+ * Sent when a document is viewed. The document is supplied lazily, so it is only serialized when the event type is
+ * enabled and sampled.
+ */
+class DocumentViewed(documentId: String, documentContent: Supplier<out ObjectNode>) : BaseEvent(
+    type = TYPE,
     resultType = "com.ritense.document.domain.impl.JsonSchemaDocument",
     resultId = documentId,
-    result = documentContent
-)
\ No newline at end of file
+    resultSupplier = documentContent
+) {
+
+    constructor(documentId: String, documentContent: ObjectNode) : this(documentId, Supplier { documentContent })
+
+    companion object {
+        const val TYPE = "com.ritense.valtimo.document.viewed"
+    }
+}
@@ -18,10 +18,22 @@ package com.ritense.document.event
 
 import com.fasterxml.jackson.databind.node.ArrayNode
 import com.ritense.outbox.domain.BaseEvent
+import java.util.function.Supplier
 
-class DocumentsListed(documents: ArrayNode) : BaseEvent(
-    type = "com.ritense.valtimo.document.listed",
+/**
+ * Sent when documents are listed or searched. The documents are supplied lazily, so they are only serialized when the
+ * event type is enabled and sampled.
+ */
+class DocumentsListed(documents: Supplier<out ArrayNode>) : BaseEvent(
+    type = TYPE,
     resultType = "List<com.ritense.document.domain.impl.JsonSchemaDocument>",
     resultId = null,
-    result = documents
-)
+    resultSupplier = documents
+) {
+
+    constructor(documents: ArrayNode) : this(Supplier { documents })
+
+    companion object {
+        const val TYPE = "com.ritense.valtimo.document.listed"
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+CREATE INDEX idx_json_schema_document_search_text
+    ON json_schema_document_search_text
+    USING GIN (to_tsvector('simple', search_text));
+
+-- A single-expression SQL function is inlined by the planner, so the GIN index above is used when this function
+-- is called from a query.
+CREATE FUNCTION document_search_text_matches(search_text text, search_query text)
+    RETURNS BOOLEAN AS $$
+        SELECT to_tsvector('simple', search_text) @@ to_tsquery('simple', search_query);
+    $$
+LANGUAGE SQL IMMUTABLE;
@@ -20,7 +20,9 @@ import static org.mockito.Mockito.mock;
 
 import com.ritense.resource.service.ResourceService;
 import com.ritense.valtimo.contract.mail.MailSender;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -42,6 +44,11 @@ public class DocumentTestConfiguration {
         return mock(MailSender.class);
     }
 
+    @Bean
+    public HibernatePropertiesCustomizer explainStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, ExplainStatementInspector.INSTANCE);
+    }
+
     @TestConfiguration
     public static class TestConfig {
         //Beans extra
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document;
+
+import java.util.function.Supplier;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Lets a test read the query plan of a query, as Hibernate renders it and with the parameters Hibernate binds. Within
+ * {@link #explain(Supplier)}, select statements are prefixed with EXPLAIN, so the query returns one plan line per row.
+ */
+public class ExplainStatementInspector implements StatementInspector {
+
+    public static final ExplainStatementInspector INSTANCE = new ExplainStatementInspector();
+    private static final ThreadLocal<Boolean> EXPLAIN = ThreadLocal.withInitial(() -> false);
+
+    public static <T> T explain(Supplier<T> query) {
+        EXPLAIN.set(true);
+        try {
+            return query.get();
+        } finally {
+            EXPLAIN.remove();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (EXPLAIN.get() && sql.regionMatches(true, 0, "select", 0, 6)) {
+            return "EXPLAIN " + sql;
+        }
+        return sql;
+    }
+
+}
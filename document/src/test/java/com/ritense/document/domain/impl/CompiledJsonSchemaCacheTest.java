@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.TestHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompiledJsonSchemaCacheTest extends TestHelper {
+
+    @BeforeEach
+    void setUp() {
+        CompiledJsonSchemaCache.evictAll();
+    }
+
+    @Test
+    void shouldReuseCompiledSchemaForSameDefinitionId() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+
+        final var first = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("person")));
+        final var second = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("person")));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldRecompileWhenSourceDiffersForSameDefinitionId() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("house", 1);
+
+        final var first = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("house")));
+        final var second = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("noautodeploy/house_v2")));
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldNotCacheWhenConstructingDefinition() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+        new JsonSchemaDocumentDefinition(id, JsonSchema.fromResourceUri(path("person")));
+
+        final var jsonSchema = JsonSchema.fromResourceUri(path("person"));
+
+        assertThat(CompiledJsonSchemaCache.get(id, jsonSchema)).isSameAs(jsonSchema.getSchema());
+    }
+
+    @Test
+    void shouldCompareSchemasBySource() {
+        final var first = JsonSchema.fromResourceUri(path("person"));
+        final var second = JsonSchema.fromResourceUri(path("person"));
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(JsonSchema.fromResourceUri(path("house")));
+    }
+
+    @Test
+    void shouldRecompileAfterEviction() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("person", 1);
+
+        final var first = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("person")));
+        CompiledJsonSchemaCache.evict("person");
+        final var second = CompiledJsonSchemaCache.get(id, JsonSchema.fromResourceUri(path("person")));
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class JsonSchemaDocumentSearchTextTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldCollectDistinctWordsOfLeafValues() throws Exception {
+        final var content = objectMapper.readTree("""
+            {
+                "firstName": "Jan-Willem",
+                "email": "jan@example.com",
+                "address": {"street": "Kerkstraat", "number": 12.5},
+                "tags": ["Jan", null, true],
+                "empty": ""
+            }
+            """);
+
+        final var searchText = JsonSchemaDocumentSearchText.toSearchText(content);
+
+        assertThat(searchText).isEqualTo("jan willem example com kerkstraat 12 5 true");
+    }
+
+    @Test
+    void shouldTokenizeQueryLikeContent() {
+        assertThat(JsonSchemaDocumentSearchText.tokenize(" Jan@Example.COM ")).containsExactly("jan", "example", "com");
+        assertThat(JsonSchemaDocumentSearchText.tokenize("%_")).isEmpty();
+        assertThat(JsonSchemaDocumentSearchText.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void shouldLimitLengthOfSearchText() {
+        final var content = objectMapper.createArrayNode();
+        for (int i = 0; i < 50_000; i++) {
+            content.add("word" + i);
+        }
+
+        final var searchText = JsonSchemaDocumentSearchText.toSearchText(content);
+
+        assertThat(searchText.length()).isLessThanOrEqualTo(JsonSchemaDocumentSearchText.MAX_LENGTH);
+        assertThat(searchText).startsWith("word0 word1 ").doesNotEndWith(" ");
+    }
+
+}
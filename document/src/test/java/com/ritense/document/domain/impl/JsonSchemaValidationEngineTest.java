@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ritense.document.TestHelper;
+import org.everit.json.schema.ValidationException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class JsonSchemaValidationEngineTest extends TestHelper {
+
+    @ParameterizedTest
+    @EnumSource(JsonSchemaValidationEngine.class)
+    void shouldApplyDefaultValues(JsonSchemaValidationEngine engine) {
+        final var schema = JsonSchema.fromResourceUri(path("defaults-example")).getSchema();
+        final var content = new JsonDocumentContent("{\"firstName\": \"Jan\"}");
+
+        final var result = engine.validate(schema, content);
+
+        assertThat(result.asJson().get("firstName").asText()).isEqualTo("Jan");
+        assertThat(result.asJson().get("age").asInt()).isEqualTo(18);
+    }
+
+    @ParameterizedTest
+    @EnumSource(JsonSchemaValidationEngine.class)
+    void shouldNotModifyValidatedContent(JsonSchemaValidationEngine engine) {
+        final var schema = JsonSchema.fromResourceUri(path("defaults-example")).getSchema();
+        final var content = new JsonDocumentContent("{\"firstName\": \"Jan\"}");
+
+        engine.validate(schema, content);
+
+        assertThat(content.asJson().has("age")).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JsonSchemaValidationEngine.class)
+    void shouldRejectInvalidContent(JsonSchemaValidationEngine engine) {
+        final var schema = JsonSchema.fromResourceUri(path("person")).getSchema();
+        final var content = new JsonDocumentContent("{\"firstName\": \"Joeasdasdsadsadasdasdasdasdasdasdasd\"}");
+
+        assertThrows(ValidationException.class, () -> engine.validate(schema, content));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JsonSchemaValidationEngine.class)
+    void shouldProduceSameContentForNestedStructures(JsonSchemaValidationEngine engine) {
+        final var schema = JsonSchema.fromResourceUri(path("allows-all")).getSchema();
+        final var content = new JsonDocumentContent(
+            "{\"a\": {\"b\": [1, 2.5, \"c\", null, true, {\"d\": 12345678901}]}}"
+        );
+
+        final var expected = JsonSchemaValidationEngine.EVERIT.validate(schema, content);
+        final var result = engine.validate(schema, content);
+
+        assertThat(result.asJson()).isEqualTo(expected.asJson());
+    }
+
+}
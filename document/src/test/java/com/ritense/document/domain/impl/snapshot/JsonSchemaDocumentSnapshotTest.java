@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.domain.impl.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.BaseTest;
+import com.ritense.document.domain.impl.JsonDocumentContent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonSchemaDocumentSnapshotTest extends BaseTest {
+
+    @Test
+    void shouldReconstructDeltaContentFromCheckpoint() {
+        final var definition = definition();
+        final var first = createDocument(new JsonDocumentContent("{\"street\": \"Kerkstraat\", \"housenumber\": 1}"));
+        final var second = createDocument(
+            new JsonDocumentContent("{\"street\": \"Kerkstraat\", \"housenumber\": 2, \"buildDate\": \"2000\"}")
+        );
+        final var third = createDocument(new JsonDocumentContent("{\"street\": \"Dorpsstraat\"}"));
+
+        final var checkpoint = new JsonSchemaDocumentSnapshot(first, LocalDateTime.now(), USERNAME, definition);
+        final var firstDelta = JsonSchemaDocumentSnapshot.delta(
+            second, LocalDateTime.now(), USERNAME, definition, checkpoint, first.content().asJson()
+        );
+        final var secondDelta = JsonSchemaDocumentSnapshot.delta(
+            third, LocalDateTime.now(), USERNAME, definition, firstDelta, second.content().asJson()
+        );
+
+        assertThat(checkpoint.isCheckpoint()).isTrue();
+        assertThat(firstDelta.isContentRestored()).isFalse();
+        assertThat(firstDelta.checkpointId()).isEqualTo(checkpoint.getId().getId());
+        assertThat(secondDelta.checkpointId()).isEqualTo(checkpoint.getId().getId());
+        assertThat(secondDelta.deltaSequence()).isEqualTo(2);
+
+        final var contents = JsonSchemaDocumentSnapshot.reconstruct(checkpoint, List.of(secondDelta, firstDelta));
+
+        assertThat(contents.get(firstDelta.getId()).asJson()).isEqualTo(second.content().asJson());
+        assertThat(contents.get(secondDelta.getId()).asJson()).isEqualTo(third.content().asJson());
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class DocumentSearchCursorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldDecodeEncodedCursor() {
+        final var order = Sort.Order.desc("createdOn");
+        final var createdOn = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        final var id = UUID.randomUUID();
+
+        final var cursor = DocumentSearchCursor.decode(
+            objectMapper,
+            DocumentSearchCursor.encode(objectMapper, order, createdOn, id),
+            order,
+            LocalDateTime.class
+        );
+
+        assertThat(cursor.getValue()).isEqualTo(createdOn);
+        assertThat(cursor.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldDecodeCursorWithoutValue() {
+        final var order = Sort.Order.asc("doc:street");
+        final var id = UUID.randomUUID();
+
+        final var cursor = DocumentSearchCursor.decode(
+            objectMapper,
+            DocumentSearchCursor.encode(objectMapper, order, null, id),
+            order,
+            String.class
+        );
+
+        assertThat(cursor.getValue()).isNull();
+        assertThat(cursor.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldRejectCursorOfOtherSort() {
+        final var encoded = DocumentSearchCursor.encode(objectMapper, Sort.Order.asc("sequence"), 1L, UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            DocumentSearchCursor.decode(objectMapper, encoded, Sort.Order.desc("sequence"), Long.class)
+        );
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () ->
+            DocumentSearchCursor.decode(objectMapper, "not a cursor", Sort.Order.asc("sequence"), Long.class)
+        );
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ritense.document.BaseTest;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.repository.impl.JsonSchemaDocumentDefinitionRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonSchemaDocumentDefinitionCacheTest extends BaseTest {
+
+    private JsonSchemaDocumentDefinitionRepository documentDefinitionRepository;
+    private JsonSchemaDocumentDefinitionCache documentDefinitionCache;
+    private JsonSchemaDocumentDefinition definition;
+
+    @BeforeEach
+    public void setUp() {
+        documentDefinitionRepository = mock(JsonSchemaDocumentDefinitionRepository.class);
+        documentDefinitionCache = new JsonSchemaDocumentDefinitionCache(documentDefinitionRepository, true, 100);
+        definition = definitionOf("person");
+        when(documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc("person"))
+            .thenReturn(Optional.of(definition));
+    }
+
+    @Test
+    void shouldLoadLatestByNameOnlyOnce() {
+        findLatest();
+        final var result = findLatest();
+
+        assertThat(result).contains(definition);
+        verify(documentDefinitionRepository, times(1)).findFirstByIdNameOrderByIdVersionDesc("person");
+    }
+
+    @Test
+    void shouldNotShareTheLoadedInstance() {
+        final var loaded = findLatest().orElseThrow();
+        final var first = findLatest().orElseThrow();
+        final var second = findLatest().orElseThrow();
+
+        assertThat(loaded).isSameAs(definition);
+        assertThat(first).isEqualTo(definition).isNotSameAs(definition);
+        assertThat(second).isEqualTo(definition).isNotSameAs(first);
+        assertThat(first.createdOn()).isEqualTo(definition.createdOn());
+        assertThat(first.schema()).isEqualTo(definition.schema());
+    }
+
+    @Test
+    void shouldNotCacheMissingDefinition() {
+        when(documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc("unknown"))
+            .thenReturn(Optional.empty());
+
+        documentDefinitionCache.findLatestByName(
+            "unknown", () -> documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc("unknown")
+        );
+        documentDefinitionCache.findLatestByName(
+            "unknown", () -> documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc("unknown")
+        );
+
+        verify(documentDefinitionRepository, times(2)).findFirstByIdNameOrderByIdVersionDesc("unknown");
+    }
+
+    @Test
+    void shouldReloadAfterInvalidate() {
+        findLatest();
+        documentDefinitionCache.invalidate("person");
+        findLatest();
+
+        verify(documentDefinitionRepository, times(2)).findFirstByIdNameOrderByIdVersionDesc("person");
+    }
+
+    @Test
+    void shouldReloadByIdAfterInvalidate() {
+        when(documentDefinitionRepository.findById(definition.id())).thenReturn(Optional.of(definition));
+
+        findById();
+        findById();
+        documentDefinitionCache.invalidate("person");
+        findById();
+
+        verify(documentDefinitionRepository, times(2)).findById(definition.id());
+    }
+
+    @Test
+    void shouldClearCacheWhenStampChanges() {
+        when(documentDefinitionRepository.count()).thenReturn(1L);
+        when(documentDefinitionRepository.findMaxCreatedOn()).thenReturn(Optional.of(LocalDateTime.now()));
+        documentDefinitionCache.refreshIfChanged();
+
+        findLatest();
+        documentDefinitionCache.refreshIfChanged();
+        findLatest();
+        verify(documentDefinitionRepository, times(1)).findFirstByIdNameOrderByIdVersionDesc("person");
+
+        when(documentDefinitionRepository.count()).thenReturn(2L);
+        documentDefinitionCache.refreshIfChanged();
+        findLatest();
+        verify(documentDefinitionRepository, times(2)).findFirstByIdNameOrderByIdVersionDesc("person");
+    }
+
+    @Test
+    void shouldClearCacheWhenReadOnlyFlagChanges() {
+        when(documentDefinitionRepository.count()).thenReturn(1L);
+        when(documentDefinitionRepository.findMaxCreatedOn()).thenReturn(Optional.of(LocalDateTime.now()));
+        documentDefinitionCache.refreshIfChanged();
+        findLatest();
+
+        when(documentDefinitionRepository.countReadOnly()).thenReturn(1L);
+        documentDefinitionCache.refreshIfChanged();
+        findLatest();
+
+        verify(documentDefinitionRepository, times(2)).findFirstByIdNameOrderByIdVersionDesc("person");
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        documentDefinitionCache = JsonSchemaDocumentDefinitionCache.disabled();
+
+        findLatest();
+        findLatest();
+
+        verify(documentDefinitionRepository, times(2)).findFirstByIdNameOrderByIdVersionDesc("person");
+    }
+
+    private Optional<JsonSchemaDocumentDefinition> findLatest() {
+        return documentDefinitionCache.findLatestByName(
+            "person", () -> documentDefinitionRepository.findFirstByIdNameOrderByIdVersionDesc("person")
+        );
+    }
+
+    private Optional<JsonSchemaDocumentDefinition> findById() {
+        return documentDefinitionCache.findById(
+            definition.id(), () -> documentDefinitionRepository.findById(definition.id())
+        );
+    }
+
+}
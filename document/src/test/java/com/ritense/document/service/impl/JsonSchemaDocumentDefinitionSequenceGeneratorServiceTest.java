@@ -17,7 +17,10 @@
 package com.ritense.document.service.impl;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ritense.document.domain.impl.JsonSchemaDocumentDefinitionId;
@@ -35,7 +38,12 @@ public class JsonSchemaDocumentDefinitionSequenceGeneratorServiceTest {
     @BeforeEach
     public void setUp() {
         documentDefinitionSequenceRepository = mock(JsonSchemaDocumentDefinitionSequenceRepository.class);
-        sequenceGeneratorService = new JsonSchemaDocumentDefinitionSequenceGeneratorService(documentDefinitionSequenceRepository);
+        sequenceGeneratorService = new JsonSchemaDocumentDefinitionSequenceGeneratorService(
+            new JsonSchemaDocumentDefinitionSequenceAllocator(documentDefinitionSequenceRepository),
+            documentDefinitionSequenceRepository,
+            1,
+            false
+        );
     }
 
     @Test
@@ -63,4 +71,31 @@ public class JsonSchemaDocumentDefinitionSequenceGeneratorServiceTest {
         assertThat(nextSequence).isEqualTo(2);
     }
 
+    @Test
+    public void shouldHandOutSequencesFromReservedBlock() {
+        final var id = JsonSchemaDocumentDefinitionId.existingId("Some-Name", 1);
+        final var sequenceAllocator = mock(JsonSchemaDocumentDefinitionSequenceAllocator.class);
+        when(sequenceAllocator.allocate(id, 10)).thenReturn(10L, 30L);
+        sequenceGeneratorService = new JsonSchemaDocumentDefinitionSequenceGeneratorService(
+            sequenceAllocator, documentDefinitionSequenceRepository, 10, true
+        );
+
+        for (int i = 1; i <= 10; i++) {
+            assertThat(sequenceGeneratorService.next(id)).isEqualTo(i);
+        }
+        final long nextSequence = sequenceGeneratorService.next(id);
+
+        assertThat(nextSequence).isEqualTo(21);
+        verify(sequenceAllocator, times(2)).allocate(id, 10);
+    }
+
+    @Test
+    public void shouldRequireGapsToBeAllowedForBlocks() {
+        final var sequenceAllocator = mock(JsonSchemaDocumentDefinitionSequenceAllocator.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new JsonSchemaDocumentDefinitionSequenceGeneratorService(
+            sequenceAllocator, documentDefinitionSequenceRepository, 10, false
+        ));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.authorization.AuthorizationContext.runWithoutAuthorization;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ritense.document.BaseIntegrationTest;
+import com.ritense.document.domain.impl.JsonDocumentContent;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
+import com.ritense.document.domain.impl.request.ModifyDocumentRequest;
+import com.ritense.document.domain.impl.request.NewDocumentRequest;
+import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshot;
+import com.ritense.document.domain.impl.snapshot.JsonSchemaDocumentSnapshotId;
+import com.ritense.document.repository.DocumentSnapshotRepository;
+import com.ritense.document.service.DocumentDefinitionService;
+import com.ritense.document.service.DocumentSnapshotService;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+
+@Tag("integration")
+@SpringBootTest(properties = {
+    "valtimo.versioning.enabled=true",
+    "valtimo.versioning.delta.enabled=true",
+    "valtimo.versioning.delta.checkpoint-interval=3"
+})
+public class JsonSchemaDocumentDeltaSnapshotServiceIntTest extends BaseIntegrationTest {
+
+    private JsonSchemaDocumentDefinition definition;
+    private JsonSchemaDocument document;
+    private final List<String> contents = new ArrayList<>();
+    @Inject
+    private DocumentDefinitionService documentDefinitionService;
+    @Inject
+    private DocumentSnapshotRepository<JsonSchemaDocumentSnapshot> documentSnapshotRepository;
+    @Inject
+    protected DocumentSnapshotService documentSnapshotService;
+
+    @BeforeEach
+    public void beforeEach() {
+        definition = definition();
+        documentDefinitionService.store(definition);
+        document = (JsonSchemaDocument) runWithoutAuthorization(() -> documentService.createDocument(
+            new NewDocumentRequest(
+                definition.id().name(),
+                new JsonDocumentContent("{\"street\": \"Funenpark\"}").asJson()
+            )
+        )).resultingDocument().orElseThrow();
+        contents.clear();
+        contents.add(document.content().asJson().toString());
+        for (var street : List.of("Kanaalkade", "Hoofdweg", "Stationsplein", "Dorpsstraat")) {
+            final var modifiedDocument = runWithoutAuthorization(() -> documentService.modifyDocument(
+                new ModifyDocumentRequest(
+                    document.id().toString(),
+                    new JsonDocumentContent("{\"street\": \"" + street + "\"}").asJson()
+                )
+            )).resultingDocument().orElseThrow();
+            contents.add(modifiedDocument.content().asJson().toString());
+        }
+    }
+
+    @AfterEach
+    public void afterEach() {
+        documentSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldStoreCheckpointEveryCheckpointInterval() {
+        final var snapshots = storedSnapshots();
+
+        assertThat(snapshots).hasSize(5);
+        assertThat(snapshots).extracting(JsonSchemaDocumentSnapshot::deltaSequence).containsExactly(0, 1, 2, 0, 1);
+        assertThat(snapshots.get(1).checkpointId()).isEqualTo(snapshots.get(0).getId().getId());
+        assertThat(snapshots.get(2).checkpointId()).isEqualTo(snapshots.get(0).getId().getId());
+        assertThat(snapshots.get(4).checkpointId()).isEqualTo(snapshots.get(3).getId().getId());
+    }
+
+    @Test
+    public void shouldStoreDeltasWithoutContent() {
+        final var snapshots = storedSnapshots();
+
+        assertThat(snapshots).extracting(JsonSchemaDocumentSnapshot::isContentRestored)
+            .containsExactly(true, false, false, true, false);
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldRestoreContentWhenGettingDocumentSnapshots() {
+        final var snapshots = documentSnapshotService.getDocumentSnapshots(
+            null,
+            document.id(),
+            null,
+            null,
+            Pageable.unpaged()
+        ).getContent().stream()
+            .map(JsonSchemaDocumentSnapshot.class::cast)
+            .sorted(Comparator.comparing(JsonSchemaDocumentSnapshot::snapshotCreatedOn))
+            .toList();
+
+        assertThat(snapshots).extracting(snapshot -> snapshot.document().content().asJson().toString())
+            .containsExactlyElementsOf(contents);
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldRestoreContentWhenFindingSnapshotById() {
+        final var snapshots = storedSnapshots();
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            final var snapshot = documentSnapshotService.findById(snapshots.get(i).getId()).orElseThrow();
+            assertThat(snapshot.document().content().asJson().toString()).isEqualTo(contents.get(i));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "john@ritense.com", authorities = FULL_ACCESS_ROLE)
+    public void shouldFailWhenCheckpointIsMissing() {
+        final var snapshots = storedSnapshots();
+        documentSnapshotRepository.deleteById(JsonSchemaDocumentSnapshotId.existingId(snapshots.get(0).getId().getId()));
+
+        final var exception = assertThrows(IllegalStateException.class, () ->
+            documentSnapshotService.findById(snapshots.get(2).getId())
+        );
+        assertThat(exception.getMessage()).contains(snapshots.get(0).getId().getId().toString());
+    }
+
+    private List<JsonSchemaDocumentSnapshot> storedSnapshots() {
+        return documentSnapshotRepository.findAll().stream()
+            .filter(snapshot -> snapshot.document().id().equals(document.id()))
+            .sorted(Comparator.comparing(JsonSchemaDocumentSnapshot::snapshotCreatedOn))
+            .toList();
+    }
+
+}
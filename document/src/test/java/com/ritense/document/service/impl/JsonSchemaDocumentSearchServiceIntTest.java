@@ -43,6 +43,8 @@ import com.ritense.document.domain.impl.JsonSchemaDocumentDefinition;
 import com.ritense.document.domain.impl.request.NewDocumentRequest;
 import com.ritense.document.domain.search.AdvancedSearchRequest;
 import com.ritense.document.domain.search.AssigneeFilter;
+import com.ritense.document.domain.search.KeysetPage;
+import com.ritense.document.domain.search.KeysetPageRequest;
 import com.ritense.document.domain.search.SearchOperator;
 import com.ritense.document.domain.search.SearchWithConfigRequest;
 import com.ritense.document.event.DocumentsListed;
@@ -55,6 +57,8 @@ import jakarta.validation.ValidationException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -1314,6 +1318,56 @@ class JsonSchemaDocumentSearchServiceIntTest extends BaseIntegrationTest {
         }
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void keysetSearchShouldWalkAllPagesWithTiesAndNullsLast() {
+        createDocument("{\"street\": \"Alexanderkade\"}");
+        createDocument("{\"street\": \"Kalverstraat\"}");
+        createDocument("{\"housenumber\": 1}");
+        createDocument("{\"housenumber\": 2}");
+
+        final List<JsonSchemaDocument> ascending = walkKeysetPages(Sort.by(Direction.ASC, "doc:street"));
+        final List<JsonSchemaDocument> descending = walkKeysetPages(Sort.by(Direction.DESC, "doc:street"));
+
+        assertThat(ascending.stream().map(JsonSchemaDocument::id).distinct()).hasSize(7);
+        assertThat(ascending.stream().map(this::street)).containsExactly(
+            "Alexanderkade", "Funenpark", "Kalverstraat", "Kalverstraat", "Kalverstraat", "", ""
+        );
+        assertThat(descending.stream().map(JsonSchemaDocument::id).distinct()).hasSize(7);
+        assertThat(descending.stream().map(this::street)).containsExactly(
+            "Kalverstraat", "Kalverstraat", "Kalverstraat", "Funenpark", "Alexanderkade", "", ""
+        );
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, authorities = FULL_ACCESS_ROLE)
+    void keysetSearchShouldWalkAllPagesOfNonNullSortKeyWithTies() {
+        createDocument("{\"street\": \"Alexanderkade\"}");
+        createDocument("{\"street\": \"Westerkade\"}");
+
+        final List<JsonSchemaDocument> documents = walkKeysetPages(KeysetPageRequest.DEFAULT_SORT);
+
+        assertThat(documents.stream().map(JsonSchemaDocument::id).distinct()).hasSize(5);
+        assertThat(documents.stream().map(JsonSchemaDocument::createdOn).toList())
+            .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    private List<JsonSchemaDocument> walkKeysetPages(Sort sort) {
+        final List<JsonSchemaDocument> documents = new ArrayList<>();
+        KeysetPageRequest pageRequest = KeysetPageRequest.firstPage(2, sort);
+        KeysetPage<? extends Document> page;
+        do {
+            page = documentSearchService.search(definition.id().name(), new AdvancedSearchRequest(), pageRequest);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(2);
+            page.getContent().forEach(document -> documents.add((JsonSchemaDocument) document));
+            pageRequest = new KeysetPageRequest(2, sort, page.getNextCursor(), KeysetPageRequest.CountMode.NONE);
+        } while (page.hasNext());
+        return documents;
+    }
+
+    private String street(JsonSchemaDocument document) {
+        return document.content().asJson().path("street").asText();
+    }
 
     private CreateDocumentResult createDocument(String content) {
         var documentContent = new JsonDocumentContent(content);
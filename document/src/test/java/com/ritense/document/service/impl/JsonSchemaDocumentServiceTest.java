@@ -18,8 +18,11 @@ package com.ritense.document.service.impl;
 
 import static com.ritense.valtimo.contract.authentication.AuthoritiesConstants.USER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -129,6 +132,28 @@ class JsonSchemaDocumentServiceTest extends BaseTest {
         verify(documentRepository, times(1)).save(document);
     }
 
+    @Test
+    void shouldCreateDocumentsInOrderWithReservedSequences() {
+        final var definition = definitionOf("person");
+        when(documentDefinitionService.findLatestByName(eq("person"))).thenReturn(Optional.of(definition));
+        when(documentSequenceGeneratorService.next(definition.id(), 2)).thenReturn(List.of(7L, 8L));
+        final var requests = List.of(
+            new NewDocumentRequest("person", new JsonDocumentContent("{\"firstName\": \"Jan\"}").asJson()),
+            new NewDocumentRequest("person", new JsonDocumentContent("{\"firstName\": \"Joeasdasdsadsadasdasdasdasdasdasdasd\"}").asJson()),
+            new NewDocumentRequest("person", new JsonDocumentContent("{\"firstName\": \"Piet\"}").asJson())
+        );
+
+        final var results = jsonSchemaDocumentService.createDocuments(requests);
+
+        assertEquals(3, results.size());
+        assertEquals(7L, results.get(0).resultingDocument().orElseThrow().sequence());
+        assertTrue(results.get(1).resultingDocument().isEmpty());
+        assertFalse(results.get(1).errors().isEmpty());
+        assertEquals(8L, results.get(2).resultingDocument().orElseThrow().sequence());
+        verify(documentRepository, times(1)).saveAll(any());
+        verify(outboxService, times(2)).send(any());
+    }
+
     @Test
     void shouldCreateDocumentWithResources() {
         SecurityContextHolder.getContext()
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.authorization.AuthorizationContext.runWithoutAuthorization;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldDataType.TEXT;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.MULTIPLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.SINGLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldMatchType.EXACT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ritense.document.BaseIntegrationTest;
+import com.ritense.document.ExplainStatementInspector;
+import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.valtimo.contract.database.QueryDialectHelper;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verifies that the search queries, as Hibernate renders and binds them, use the indexes of the search fields.
+ */
+@EnabledIfSystemProperty(named = "spring.profiles.include", matches = "postgresql")
+class PostgresSearchFieldIndexServiceIntTest extends BaseIntegrationTest {
+
+    private static final String DEFINITION_NAME = "house";
+    private static final String JSON_PATH = "$.street";
+
+    @Inject
+    private PostgresSearchFieldIndexService searchFieldIndexService;
+
+    @Inject
+    private QueryDialectHelper queryDialectHelper;
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        searchFieldRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchFieldRepository.deleteAllInBatch();
+        searchFieldIndexService.synchronize(DEFINITION_NAME);
+    }
+
+    @Test
+    void exactSearchShouldUseIndexOfSearchField() {
+        final var indexName = createIndex(new SearchField("street", "doc:street", TEXT, SINGLE, EXACT, null, 0, null));
+
+        final var plan = explain((cb, value) -> cb.equal(cb.lower(value), "funenpark"));
+
+        assertThat(plan).anyMatch(line -> line.contains(indexName));
+    }
+
+    @Test
+    void multipleValueSearchShouldUseIndexOfSearchField() {
+        final var indexName = createIndex(new SearchField("street", "doc:street", TEXT, MULTIPLE, EXACT, null, 0, null));
+
+        final var plan = explain((cb, value) -> value.in("Funenpark", "Kalverstraat"));
+
+        assertThat(plan).anyMatch(line -> line.contains(indexName));
+    }
+
+    private String createIndex(SearchField searchField) {
+        runWithoutAuthorization(() -> {
+            searchFieldService.addSearchField(DEFINITION_NAME, searchField);
+            return null;
+        });
+        searchFieldIndexService.synchronize(DEFINITION_NAME);
+        return AbstractSearchFieldIndexService.getIndexName(
+            DEFINITION_NAME,
+            searchFieldIndexService.getIndexExpression(searchField).orElseThrow()
+        );
+    }
+
+    /**
+     * Explains a query on the street of the documents, with the value expression of the search queries.
+     */
+    private List<String> explain(BiFunction<CriteriaBuilder, Expression<String>, Predicate> predicate) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // The test table is small, so the planner would otherwise prefer a sequential scan
+            entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+            final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            final CriteriaQuery<String> query = cb.createQuery(String.class);
+            final Root<JsonSchemaDocument> root = query.from(JsonSchemaDocument.class);
+            final Expression<String> value = queryDialectHelper.getJsonValueExpression(
+                cb,
+                root.get("content").get("content"),
+                JSON_PATH,
+                String.class
+            );
+            query.select(root.get("documentDefinitionId").get("name"));
+            query.where(
+                cb.equal(root.get("documentDefinitionId").get("name"), DEFINITION_NAME),
+                predicate.apply(cb, value)
+            );
+            return ExplainStatementInspector.explain(() -> entityManager.createQuery(query).getResultList());
+        });
+    }
+
+}
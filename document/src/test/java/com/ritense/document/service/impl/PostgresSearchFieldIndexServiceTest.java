@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.document.service.impl;
+
+import static com.ritense.document.domain.impl.searchfield.SearchFieldDataType.DATE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldDataType.TEXT;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.MULTIPLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldFieldType.SINGLE;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldMatchType.EXACT;
+import static com.ritense.document.domain.impl.searchfield.SearchFieldMatchType.LIKE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.ritense.document.domain.impl.searchfield.SearchField;
+import com.ritense.document.domain.impl.searchfield.SearchFieldDataType;
+import com.ritense.document.domain.impl.searchfield.SearchFieldFieldType;
+import com.ritense.document.domain.impl.searchfield.SearchFieldIndexState;
+import com.ritense.document.domain.impl.searchfield.SearchFieldIndexStatus;
+import com.ritense.document.domain.impl.searchfield.SearchFieldMatchType;
+import com.ritense.document.repository.SearchFieldRepository;
+import com.ritense.valtimo.contract.database.PostgresQueryDialectHelper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class PostgresSearchFieldIndexServiceTest {
+
+    private static final String DEFINITION_NAME = "person";
+
+    private JdbcTemplate jdbcTemplate;
+    private SearchFieldRepository searchFieldRepository;
+    private Map<String, Boolean> existingIndexes;
+    private List<String> executedDdl;
+    private PostgresSearchFieldIndexService searchFieldIndexService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        searchFieldRepository = mock(SearchFieldRepository.class);
+        existingIndexes = new HashMap<>();
+        executedDdl = new ArrayList<>();
+        searchFieldIndexService = new PostgresSearchFieldIndexService(
+            jdbcTemplate,
+            searchFieldRepository,
+            new PostgresQueryDialectHelper(),
+            true
+        ) {
+            @Override
+            protected Map<String, Boolean> findIndexes(String indexPrefix) {
+                return existingIndexes;
+            }
+
+            @Override
+            protected void executeDdl(String sql) {
+                executedDdl.add(sql);
+            }
+        };
+    }
+
+    @Test
+    void shouldMirrorExpressionOfExactTextSearch() {
+        final var expression = searchFieldIndexService.getIndexExpression(searchField("doc:firstName", TEXT, SINGLE, EXACT));
+
+        assertThat(expression).contains(
+            "lower(trim(both '\"' from cast(jsonb_path_query_first(json_document_content, jsonpath('$.firstName')) as varchar)))"
+        );
+    }
+
+    @Test
+    void shouldNotLowerExpressionOfMultipleValueSearch() {
+        final var expression = searchFieldIndexService.getIndexExpression(searchField("doc:o'neill", TEXT, MULTIPLE, EXACT));
+
+        assertThat(expression).contains(
+            "trim(both '\"' from cast(jsonb_path_query_first(json_document_content, jsonpath('$.o''neill')) as varchar))"
+        );
+    }
+
+    @Test
+    void shouldNotSupportUnindexableSearchFields() {
+        assertThat(searchFieldIndexService.getIndexExpression(searchField("doc:name", TEXT, SINGLE, LIKE))).isEmpty();
+        assertThat(searchFieldIndexService.getIndexExpression(searchField("doc:birthDate", DATE, SINGLE, EXACT))).isEmpty();
+        assertThat(searchFieldIndexService.getIndexExpression(searchField("case:assigneeFullName", TEXT, SINGLE, EXACT))).isEmpty();
+    }
+
+    @Test
+    void shouldCreateMissingIndexesAndDropObsoleteIndexes() {
+        final var searchField = searchField("doc:firstName", TEXT, SINGLE, EXACT);
+        when(searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(DEFINITION_NAME))
+            .thenReturn(List.of(searchField));
+        existingIndexes.put(indexName("obsolete"), true);
+
+        searchFieldIndexService.synchronize(DEFINITION_NAME);
+
+        assertThat(executedDdl).hasSize(2);
+        assertThat(executedDdl.get(0)).isEqualTo("DROP INDEX CONCURRENTLY IF EXISTS " + indexName("obsolete"));
+        assertThat(executedDdl.get(1)).startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName(searchField));
+    }
+
+    @Test
+    void shouldRecreateInvalidIndex() {
+        final var searchField = searchField("doc:firstName", TEXT, SINGLE, EXACT);
+        when(searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(DEFINITION_NAME))
+            .thenReturn(List.of(searchField));
+        existingIndexes.put(indexName(searchField), false);
+
+        searchFieldIndexService.synchronize(DEFINITION_NAME);
+
+        assertThat(executedDdl).hasSize(2);
+        assertThat(executedDdl.get(0)).isEqualTo("DROP INDEX CONCURRENTLY IF EXISTS " + indexName(searchField));
+        assertThat(executedDdl.get(1)).startsWith("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName(searchField));
+    }
+
+    @Test
+    void shouldReportIndexStatus() {
+        final var indexed = searchField("doc:firstName", TEXT, SINGLE, EXACT);
+        final var missing = searchField("doc:lastName", TEXT, SINGLE, EXACT);
+        final var unsupported = searchField("doc:city", TEXT, SINGLE, LIKE);
+        when(searchFieldRepository.findAllByIdDocumentDefinitionNameOrderByOrder(DEFINITION_NAME))
+            .thenReturn(List.of(indexed, missing, unsupported));
+        existingIndexes.put(indexName(indexed), true);
+
+        final var status = searchFieldIndexService.getIndexStatus(DEFINITION_NAME);
+
+        assertThat(status).extracting(SearchFieldIndexStatus::getState).containsExactly(
+            SearchFieldIndexState.PRESENT,
+            SearchFieldIndexState.MISSING,
+            SearchFieldIndexState.UNSUPPORTED
+        );
+        assertThat(executedDdl).isEmpty();
+    }
+
+    private String indexName(SearchField searchField) {
+        return indexName(searchFieldIndexService.getIndexExpression(searchField).orElseThrow());
+    }
+
+    private String indexName(String expression) {
+        return AbstractSearchFieldIndexService.getIndexName(DEFINITION_NAME, expression);
+    }
+
+    private SearchField searchField(
+        String path,
+        SearchFieldDataType dataType,
+        SearchFieldFieldType fieldType,
+        SearchFieldMatchType matchType
+    ) {
+        return new SearchField(path.substring(path.indexOf(':') + 1), path, dataType, fieldType, matchType, null, 0, null);
+    }
+
+}
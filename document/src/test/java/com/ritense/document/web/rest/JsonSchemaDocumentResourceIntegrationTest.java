@@ -18,6 +18,11 @@ package com.ritense.document.web.rest;
 
 import static com.ritense.valtimo.contract.utils.TestUtil.convertObjectToJsonBytes;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -29,6 +34,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,11 +42,13 @@ import com.ritense.document.BaseIntegrationTest;
 import com.ritense.document.domain.Document;
 import com.ritense.document.domain.impl.JsonDocumentContent;
 import com.ritense.document.domain.impl.JsonSchemaDocument;
+import com.ritense.document.domain.impl.JsonSchemaDocumentId;
 import com.ritense.document.domain.impl.request.AssignToDocumentsRequest;
 import com.ritense.document.repository.DocumentRepository;
 import com.ritense.document.web.rest.impl.JsonSchemaDocumentResource;
 import com.ritense.outbox.domain.BaseEvent;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,7 +87,7 @@ class JsonSchemaDocumentResourceIntegrationTest extends BaseIntegrationTest {
         document = result.resultingDocument().orElseThrow();
         documentRepository.save(document);
 
-        jsonSchemaDocumentResource = new JsonSchemaDocumentResource(documentService);
+        jsonSchemaDocumentResource = new JsonSchemaDocumentResource(documentService, objectMapper, 2);
         mockMvc = MockMvcBuilders
             .standaloneSetup(jsonSchemaDocumentResource)
             .build();
@@ -269,4 +277,63 @@ class JsonSchemaDocumentResourceIntegrationTest extends BaseIntegrationTest {
         assertEquals(document.id().toString(), event.getResultId());
         assertEquals(objectMapper.valueToTree(document), event.getResult());
     }
+
+    @Test
+    @WithMockUser(username = USER_EMAIL, authorities = {FULL_ACCESS_ROLE})
+    void shouldReportTheResultOfEveryLineOfBulkCreation() throws Exception {
+        var body = String.join("\n",
+            "{\"definition\": \"house\", \"content\": {\"street\": \"Funenpark\"}}",
+            "{\"definition\": \"house\", \"content\": {\"unknownProperty\": \"value\"}}",
+            "{\"definition\": \"unknown-definition\", \"content\": {\"street\": \"Funenpark\"}}",
+            "{\"definition\": \"house\", \"content\": {\"street\": \"Kalverstraat\"}}"
+        );
+
+        mockMvc.perform(
+                post("/api/v1/document/bulk")
+                    .characterEncoding(UTF_8)
+                    .content(body)
+                    .contentType(MediaType.APPLICATION_NDJSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andExpect(jsonPath("$[*].index", contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$[0].documentId", notNullValue()))
+            .andExpect(jsonPath("$[0].errors", empty()))
+            .andExpect(jsonPath("$[1].documentId", nullValue()))
+            .andExpect(jsonPath("$[1].errors", hasSize(1)))
+            .andExpect(jsonPath("$[2].documentId", nullValue()))
+            .andExpect(jsonPath("$[2].errors", contains("No document definition with name unknown-definition exist")))
+            .andExpect(jsonPath("$[3].documentId", notNullValue()))
+            .andExpect(jsonPath("$[3].errors", empty()));
+    }
+
+    @Test
+    @WithMockUser(username = USER_EMAIL, authorities = {FULL_ACCESS_ROLE})
+    void shouldKeepTheDocumentsBeforeAnUnreadableLineOfBulkCreation() throws Exception {
+        var body = String.join("\n",
+            "{\"definition\": \"house\", \"content\": {\"street\": \"Funenpark\"}}",
+            "{\"definition\": \"house\", \"content\": {\"street\": \"Kalverstraat\"}}",
+            "{\"definition\": \"house\", \"content\": "
+        );
+
+        var response = mockMvc.perform(
+                post("/api/v1/document/bulk")
+                    .characterEncoding(UTF_8)
+                    .content(body)
+                    .contentType(MediaType.APPLICATION_NDJSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[2].documentId", nullValue()))
+            .andExpect(jsonPath("$[2].errors", hasSize(1)))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        var results = objectMapper.readTree(response);
+        for (int i = 0; i < 2; i++) {
+            var documentId = UUID.fromString(results.get(i).get("documentId").asText());
+            assertTrue(documentRepository.findById(JsonSchemaDocumentId.existingId(documentId)).isPresent());
+        }
+    }
 }
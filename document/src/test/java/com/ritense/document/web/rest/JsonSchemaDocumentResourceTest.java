@@ -39,6 +39,7 @@ import com.ritense.document.domain.impl.request.ModifyDocumentRequest;
 import com.ritense.document.service.impl.JsonSchemaDocumentService;
 import com.ritense.document.web.rest.impl.JsonSchemaDocumentResource;
 import com.ritense.valtimo.contract.authentication.NamedUser;
+import com.ritense.valtimo.contract.json.MapperSingleton;
 import com.ritense.valtimo.contract.utils.TestUtil;
 import java.util.List;
 import java.util.Optional;
@@ -59,7 +60,11 @@ class JsonSchemaDocumentResourceTest extends BaseTest {
     void setUp() {
 
         documentService = mock(JsonSchemaDocumentService.class);
-        DocumentResource documentResource = new JsonSchemaDocumentResource(documentService);
+        DocumentResource documentResource = new JsonSchemaDocumentResource(
+            documentService,
+            MapperSingleton.INSTANCE.get(),
+            100
+        );
 
         mockMvc = MockMvcBuilders.standaloneSetup(documentResource)
             .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka
+
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.publisher.BatchPublishingFailed
+import com.ritense.outbox.publisher.MessagePublisher
+import com.ritense.outbox.publisher.MessagePublishingFailed
+import com.ritense.outbox.publisher.MessageRejected
+import mu.KLogger
+import mu.KotlinLogging
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.common.InvalidRecordException
+import org.apache.kafka.common.errors.RecordTooLargeException
+import org.apache.kafka.common.errors.SerializationException
+import org.apache.kafka.common.header.internals.RecordHeaders
+import org.springframework.beans.factory.DisposableBean
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.support.SendResult
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import kotlin.text.Charsets.UTF_8
+
+/**
+ * Publishes outbox messages to a Kafka topic. The partition key of the message, which is the id of the aggregate of
+ * the event, is used as record key, so the events of one aggregate end up in the same Kafka partition in order.
+ *
+ * The producer is expected to be idempotent, so retries by the producer can't reorder or duplicate records.
+ */
+class KafkaMessagePublisher(
+    private val kafkaTemplate: KafkaTemplate<String, ByteArray>,
+    private val topic: String,
+    private val deliveryTimeout: Duration = Duration.ofSeconds(30)
+) : MessagePublisher {
+
+    override fun publish(message: OutboxMessage) {
+        val future = send(message)
+        kafkaTemplate.flush()
+        awaitAcknowledgement(message, future)
+    }
+
+    /**
+     * Hands all messages to the producer before waiting, so the producer can combine them in batches. Acknowledgements
+     * are awaited in the order the messages were sent, so on failure the messages before the failed one are known to
+     * be published.
+     */
+    override fun publishAll(messages: List<OutboxMessage>) {
+        val futures = ArrayList<CompletableFuture<SendResult<String, ByteArray>>>(messages.size)
+        var sendFailure: Exception? = null
+        for (message in messages) {
+            try {
+                futures.add(send(message))
+            } catch (e: Exception) {
+                sendFailure = e
+                break
+            }
+        }
+        kafkaTemplate.flush()
+        futures.forEachIndexed { index, future ->
+            try {
+                awaitAcknowledgement(messages[index], future)
+            } catch (e: Exception) {
+                throw BatchPublishingFailed(index, e)
+            }
+        }
+        if (sendFailure != null) {
+            throw BatchPublishingFailed(futures.size, sendFailure)
+        }
+    }
+
+    /**
+     * Closes the producer of the publisher.
+     */
+    fun shutdown() {
+        (kafkaTemplate.producerFactory as? DisposableBean)?.destroy()
+    }
+
+    private fun send(message: OutboxMessage): CompletableFuture<SendResult<String, ByteArray>> {
+        logger.trace { "Sending message to Kafka: topic=${topic}, key=${message.partitionKey}, msgId=${message.id}" }
+        return try {
+            kafkaTemplate.send(toRecord(message))
+        } catch (e: Exception) {
+            if (!isRejected(e)) {
+                throw e
+            }
+            throw MessageRejected("Outbox message was rejected: reason=${e.message}, topic=${topic}, msgId=${message.id}", e)
+        }
+    }
+
+    /**
+     * Creates a record in structured mode, or in the binary content mode of the CloudEvents Kafka binding when the
+     * message is binary. In binary mode, the attributes are sent as headers and the value contains the (still
+     * compressed) event data.
+     */
+    private fun toRecord(message: OutboxMessage): ProducerRecord<String, ByteArray> {
+        val headers = RecordHeaders()
+        val value = if (message.isBinary()) {
+            message.cloudEventAttributes().forEach { (name, attributeValue) ->
+                headers.add(CLOUD_EVENTS_HEADER_PREFIX + name, attributeValue.toByteArray(UTF_8))
+            }
+            message.contentType?.let { headers.add(CONTENT_TYPE_HEADER, it.toByteArray(UTF_8)) }
+            message.contentEncoding?.let { headers.add(CONTENT_ENCODING_HEADER, it.toByteArray(UTF_8)) }
+            message.data!!
+        } else {
+            message.message.toByteArray(UTF_8)
+        }
+        return ProducerRecord(topic, null, message.partitionKey, value, headers)
+    }
+
+    private fun awaitAcknowledgement(
+        message: OutboxMessage,
+        future: CompletableFuture<SendResult<String, ByteArray>>
+    ) {
+        try {
+            future.get(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        } catch (e: ExecutionException) {
+            val reason = "Outbox message was not acknowledged: reason=${e.cause?.message}, topic=${topic}, msgId=${message.id}"
+            throw if (isRejected(e.cause)) MessageRejected(reason, e.cause) else MessagePublishingFailed(reason, e.cause)
+        } catch (e: TimeoutException) {
+            throw MessagePublishingFailed("Outbox message delivery was not acknowledged in time: topic=${topic}, msgId=${message.id}")
+        }
+    }
+
+    /**
+     * Whether the record itself can never be written, as opposed to the cluster being unavailable.
+     */
+    private fun isRejected(error: Throwable?): Boolean {
+        return generateSequence(error) { it.cause }.any {
+            it is RecordTooLargeException || it is InvalidRecordException || it is SerializationException
+        }
+    }
+
+    companion object {
+        private const val CLOUD_EVENTS_HEADER_PREFIX = "ce_"
+        private const val CONTENT_TYPE_HEADER = "content-type"
+        private const val CONTENT_ENCODING_HEADER = "content-encoding"
+        private val logger: KLogger = KotlinLogging.logger {}
+    }
+}
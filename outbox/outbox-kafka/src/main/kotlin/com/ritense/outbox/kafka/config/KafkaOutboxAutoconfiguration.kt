@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka.config
+
+import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
+import com.ritense.outbox.kafka.KafkaMessagePublisher
+import com.ritense.outbox.publisher.MessagePublisher
+import org.apache.kafka.clients.producer.ProducerConfig
+import org.apache.kafka.common.serialization.ByteArraySerializer
+import org.apache.kafka.common.serialization.StringSerializer
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties
+import org.springframework.boot.context.properties.EnableConfigurationProperties
+import org.springframework.boot.ssl.SslBundles
+import org.springframework.context.annotation.Bean
+import org.springframework.kafka.core.DefaultKafkaProducerFactory
+import org.springframework.kafka.core.KafkaTemplate
+
+@AutoConfiguration
+@ConditionalOnOutboxEnabled
+@EnableConfigurationProperties(KafkaProperties::class, KafkaOutboxConfigurationProperties::class)
+class KafkaOutboxAutoconfiguration {
+
+    /**
+     * The producer of the outbox is not registered as a bean, so it doesn't replace the producer that Spring Boot
+     * configures for the application.
+     */
+    @Bean
+    @ConditionalOnMissingBean(MessagePublisher::class)
+    fun outboxPublisher(
+        kafkaProperties: KafkaProperties,
+        configurationProperties: KafkaOutboxConfigurationProperties,
+        sslBundles: ObjectProvider<SslBundles>
+    ): MessagePublisher {
+        val producerProperties = kafkaProperties.buildProducerProperties(sslBundles.ifAvailable)
+        producerProperties[ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG] = StringSerializer::class.java
+        producerProperties[ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG] = ByteArraySerializer::class.java
+        producerProperties[ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG] = true
+        producerProperties[ProducerConfig.ACKS_CONFIG] = "all"
+        // An idempotent producer keeps the order of the records with at most 5 requests in flight
+        producerProperties[ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG] =
+            configurationProperties.maxInFlight.coerceIn(1, 5)
+        producerProperties[ProducerConfig.LINGER_MS_CONFIG] = configurationProperties.linger.toMillis()
+        producerProperties[ProducerConfig.BATCH_SIZE_CONFIG] = configurationProperties.batchSize
+        producerProperties[ProducerConfig.COMPRESSION_TYPE_CONFIG] = configurationProperties.compressionType
+
+        val producerFactory = DefaultKafkaProducerFactory<String, ByteArray>(producerProperties)
+        return KafkaMessagePublisher(
+            KafkaTemplate(producerFactory),
+            configurationProperties.topic,
+            configurationProperties.deliveryTimeout
+        )
+    }
+}
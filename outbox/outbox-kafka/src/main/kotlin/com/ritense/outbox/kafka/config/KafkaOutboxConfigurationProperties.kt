@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka.config
+
+import org.springframework.boot.context.properties.ConfigurationProperties
+import java.time.Duration
+
+/**
+ * The connection to Kafka is configured with the 'spring.kafka' properties. These properties configure the outbox
+ * producer on top of that.
+ */
+@ConfigurationProperties(prefix = "valtimo.outbox.publisher.kafka")
+data class KafkaOutboxConfigurationProperties(
+    val topic: String = "valtimo-outbox",
+    val deliveryTimeout: Duration = Duration.ofSeconds(30),
+    val linger: Duration = Duration.ofMillis(5),
+    val batchSize: Int = 65536,
+    val compressionType: String = "lz4",
+    val maxInFlight: Int = 5
+)
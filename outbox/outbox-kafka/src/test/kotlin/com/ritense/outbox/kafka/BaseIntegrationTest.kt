@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka
+
+import com.ritense.outbox.config.condition.OnOutboxEnabledCondition
+import org.junit.jupiter.api.Tag
+import org.junit.jupiter.api.extension.ExtendWith
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.kafka.test.context.EmbeddedKafka
+import org.springframework.test.context.junit.jupiter.SpringExtension
+
+@SpringBootTest(properties = ["${OnOutboxEnabledCondition.PROPERTY_NAME}=true"])
+@EmbeddedKafka(partitions = 3, topics = ["valtimo-outbox"])
+@ExtendWith(SpringExtension::class)
+@Tag("integration")
+class BaseIntegrationTest {
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka
+
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.kafka.config.KafkaOutboxConfigurationProperties
+import org.apache.kafka.common.serialization.ByteArrayDeserializer
+import org.apache.kafka.common.serialization.StringDeserializer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory
+import org.springframework.kafka.test.EmbeddedKafkaBroker
+import org.springframework.kafka.test.utils.KafkaTestUtils
+import java.time.Duration
+import java.util.UUID
+
+class KafkaMessagePublisherIntTest @Autowired constructor(
+    val kafkaMessagePublisher: KafkaMessagePublisher,
+    val configurationProperties: KafkaOutboxConfigurationProperties,
+    val embeddedKafkaBroker: EmbeddedKafkaBroker
+) : BaseIntegrationTest() {
+
+    @Test
+    fun `should send messages to the kafka topic keyed by partition key`() {
+        val group = UUID.randomUUID().toString()
+        val messages = listOf(
+            OutboxMessage(message = "document-1 event 1", partitionKey = "document-1"),
+            OutboxMessage(message = "document-2 event 1", partitionKey = "document-2"),
+            OutboxMessage(message = "document-1 event 2", partitionKey = "document-1")
+        )
+
+        kafkaMessagePublisher.publishAll(messages)
+
+        val consumerProperties = KafkaTestUtils.consumerProps(group, "false", embeddedKafkaBroker)
+        val consumer = DefaultKafkaConsumerFactory(
+            consumerProperties,
+            StringDeserializer(),
+            ByteArrayDeserializer()
+        ).createConsumer()
+        consumer.use {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(it, configurationProperties.topic)
+            val records = KafkaTestUtils.getRecords(it, Duration.ofSeconds(10), messages.size)
+                .filter { record -> record.value().toString(Charsets.UTF_8).startsWith("document-") }
+
+            assertThat(records).hasSize(3)
+            assertThat(records.filter { record -> record.key() == "document-1" }.map { record -> record.value().toString(Charsets.UTF_8) })
+                .containsExactly("document-1 event 1", "document-1 event 2")
+            assertThat(records.filter { record -> record.key() == "document-1" }.map { record -> record.partition() }.distinct())
+                .hasSize(1)
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.kafka
+
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.publisher.BatchPublishingFailed
+import org.apache.kafka.clients.producer.MockProducer
+import org.apache.kafka.common.serialization.ByteArraySerializer
+import org.apache.kafka.common.serialization.StringSerializer
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.mock.MockProducerFactory
+
+class KafkaMessagePublisherTest {
+
+    @Test
+    fun `should send structured messages with the partition key as record key`() {
+        val producer = MockProducer(true, StringSerializer(), ByteArraySerializer())
+        val publisher = KafkaMessagePublisher(KafkaTemplate(MockProducerFactory { producer }), "test")
+
+        publisher.publishAll(
+            listOf(
+                OutboxMessage(message = "first", partitionKey = "document-1"),
+                OutboxMessage(message = "second", partitionKey = "document-2")
+            )
+        )
+
+        assertThat(producer.history().map { it.topic() }).containsOnly("test")
+        assertThat(producer.history().map { it.key() }).containsExactly("document-1", "document-2")
+        assertThat(producer.history().map { it.value().toString(Charsets.UTF_8) }).containsExactly("first", "second")
+    }
+
+    @Test
+    fun `should send binary messages with the CloudEvent attributes as headers`() {
+        val producer = MockProducer(true, StringSerializer(), ByteArraySerializer())
+        val publisher = KafkaMessagePublisher(KafkaTemplate(MockProducerFactory { producer }), "test")
+        val data = OutboxMessage.compress("""{"userId":"System"}""".toByteArray())
+
+        publisher.publish(
+            OutboxMessage(
+                message = """{"specversion":"1.0","id":"1","source":"application","type":"test","datacontenttype":"application/json"}""",
+                partitionKey = "document-1",
+                data = data,
+                contentType = "application/json",
+                contentEncoding = OutboxMessage.GZIP
+            )
+        )
+
+        val record = producer.history().single()
+        assertThat(record.value()).isEqualTo(data)
+        assertThat(record.headers().lastHeader("ce_id").value().toString(Charsets.UTF_8)).isEqualTo("1")
+        assertThat(record.headers().lastHeader("ce_type").value().toString(Charsets.UTF_8)).isEqualTo("test")
+        assertThat(record.headers().lastHeader("content-type").value().toString(Charsets.UTF_8)).isEqualTo("application/json")
+        assertThat(record.headers().lastHeader("content-encoding").value().toString(Charsets.UTF_8)).isEqualTo("gzip")
+        assertThat(record.headers().lastHeader("ce_datacontenttype")).isNull()
+    }
+
+    @Test
+    fun `should report the published messages when sending fails`() {
+        val producer = MockProducer(true, StringSerializer(), ByteArraySerializer())
+        val publisher = KafkaMessagePublisher(KafkaTemplate(MockProducerFactory { producer }), "test")
+        producer.sendException = RuntimeException("broker down")
+
+        val ex = assertThrows<BatchPublishingFailed> {
+            publisher.publishAll(listOf(OutboxMessage(message = "first"), OutboxMessage(message = "second")))
+        }
+
+        assertThat(ex.publishedCount).isEqualTo(0)
+        assertThat(producer.history()).isEmpty()
+    }
+}
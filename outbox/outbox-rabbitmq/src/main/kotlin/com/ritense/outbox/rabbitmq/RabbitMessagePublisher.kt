@@ -17,12 +17,16 @@
 package com.ritense.outbox.rabbitmq
 
 import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.publisher.BatchPublishingFailed
 import com.ritense.outbox.publisher.MessagePublisher
 import com.ritense.outbox.publisher.MessagePublishingFailed
+import com.ritense.outbox.publisher.MessageRejected
 import mu.KLogger
 import mu.KotlinLogging
 import org.springframework.amqp.core.Message
+import org.springframework.amqp.core.MessageProperties
 import org.springframework.amqp.rabbit.connection.CorrelationData
+import org.springframework.amqp.rabbit.core.RabbitOperations
 import org.springframework.amqp.rabbit.core.RabbitTemplate
 import java.time.Duration
 import java.util.UUID
@@ -33,7 +37,8 @@ class RabbitMessagePublisher(
     private val rabbitTemplate: RabbitTemplate,
     routingKey: String? = null,
     private val deliveryTimeout: Duration = Duration.ofSeconds(1),
-    exchange: String? = null
+    exchange: String? = null,
+    private val maxInFlight: Int = 1
 ) : MessagePublisher {
 
     private val exchange: String = exchange ?: run {
@@ -49,21 +54,97 @@ class RabbitMessagePublisher(
         require(rabbitTemplate.connectionFactory.isPublisherConfirms) { "The RabbitMQ outbox publisher requires correlated publisher-confirm-type!" }
         require(rabbitTemplate.connectionFactory.isPublisherReturns) { "The RabbitMQ outbox publisher requires publisher-returns to be enabled!" }
         require(rabbitTemplate.isMandatoryFor(Message("test".toByteArray()))) { "The RabbitMQ outbox publisher requires messages to be mandatory!" }
+        require(maxInFlight > 0) { "The RabbitMQ outbox publisher requires max-in-flight to be at least 1!" }
     }
 
     override fun publish(message: OutboxMessage) {
+        awaitConfirm(message, send(rabbitTemplate, message))
+    }
+
+    /**
+     * Keeps up to [maxInFlight] messages unconfirmed while publishing. All messages are sent on the same channel, so
+     * the broker receives them in order. Confirms are awaited in the order the messages were sent, so on failure the
+     * messages before the failed one are known to be confirmed.
+     *
+     * When a message is not confirmed, the messages sent after it were already handed to the broker. The confirms of
+     * those messages are awaited before the failure is reported, so they are no longer in flight when the batch is
+     * retried. They are still reported as unpublished, so they are sent again: with a [maxInFlight] above 1, consumers
+     * may receive these messages twice, and may receive them before the retried message that preceded them. With a
+     * [maxInFlight] of 1 every message is confirmed before the next one is sent, which never reorders messages.
+     */
+    override fun publishAll(messages: List<OutboxMessage>) {
+        if (maxInFlight == 1) {
+            return super.publishAll(messages)
+        }
+        rabbitTemplate.invoke { operations ->
+            val inFlight = ArrayDeque<Pair<OutboxMessage, CorrelationData>>(maxInFlight)
+            var confirmed = 0
+            try {
+                for (message in messages) {
+                    if (inFlight.size == maxInFlight) {
+                        val (oldest, correlationData) = inFlight.removeFirst()
+                        awaitConfirm(oldest, correlationData)
+                        confirmed++
+                    }
+                    inFlight.addLast(message to send(operations, message))
+                }
+                while (inFlight.isNotEmpty()) {
+                    val (oldest, correlationData) = inFlight.removeFirst()
+                    awaitConfirm(oldest, correlationData)
+                    confirmed++
+                }
+            } catch (e: Exception) {
+                awaitOutstandingConfirms(inFlight)
+                throw BatchPublishingFailed(confirmed, e)
+            }
+        }
+    }
+
+    private fun awaitOutstandingConfirms(inFlight: Collection<Pair<OutboxMessage, CorrelationData>>) {
+        inFlight.forEach { (message, correlationData) ->
+            try {
+                awaitConfirm(message, correlationData)
+                logger.debug { "Outbox message was confirmed after an earlier message failed and will be sent again: msgId=${message.id}" }
+            } catch (e: Exception) {
+                logger.debug { "Outbox message after an earlier failed message was not confirmed: msgId=${message.id}, error=${e.message}" }
+            }
+        }
+    }
+
+    private fun send(operations: RabbitOperations, message: OutboxMessage): CorrelationData {
         val correlationData = CorrelationData(UUID.randomUUID().toString())
         logger.trace { "Sending message to RabbitMQ: routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}" }
 
-        rabbitTemplate.convertAndSend(exchange, routingKey, message.message, correlationData)
+        if (message.isBinary()) {
+            operations.send(exchange, routingKey, toBinaryMessage(message), correlationData)
+        } else {
+            operations.convertAndSend(exchange, routingKey, message.message, correlationData)
+        }
+        return correlationData
+    }
+
+    /**
+     * Creates a message in the binary content mode of the CloudEvents AMQP binding: the attributes are sent as headers
+     * and the body contains the (still compressed) event data.
+     */
+    private fun toBinaryMessage(message: OutboxMessage): Message {
+        val properties = MessageProperties()
+        properties.contentType = message.contentType
+        properties.contentEncoding = message.contentEncoding
+        message.cloudEventAttributes().forEach { (name, value) ->
+            properties.setHeader(CLOUD_EVENTS_HEADER_PREFIX + name, value)
+        }
+        return Message(message.data!!, properties)
+    }
 
+    private fun awaitConfirm(message: OutboxMessage, correlationData: CorrelationData) {
         try {
             val result = correlationData.future.get(deliveryTimeout.toMillis(), TimeUnit.MILLISECONDS)
             if (!result!!.isAck) {
-                throw MessagePublishingFailed("Outbox message was not acknowledged: reason=${result.reason}, routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}\"")
+                throw MessageRejected("Outbox message was not acknowledged: reason=${result.reason}, routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}\"")
             } else if (correlationData.returned != null) {
                 val returned = correlationData.returned!!
-                throw MessagePublishingFailed("Could not deliver outbox message: routingKey=${returned.routingKey}, code=${returned.replyCode}, msg=${returned.replyText}, routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}\"")
+                throw MessageRejected("Could not deliver outbox message: routingKey=${returned.routingKey}, code=${returned.replyCode}, msg=${returned.replyText}, routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}\"")
             }
         } catch (timeoutException: TimeoutException) {
             throw MessagePublishingFailed("Outbox message delivery was not confirmed in time: routingKey=${routingKey}, msgId=${message.id}, correlationId= ${correlationData.id}")
@@ -71,6 +152,7 @@ class RabbitMessagePublisher(
     }
 
     companion object {
+        private const val CLOUD_EVENTS_HEADER_PREFIX = "cloudEvents_"
         private val logger: KLogger = KotlinLogging.logger {}
     }
 }
\ No newline at end of file
@@ -38,7 +38,8 @@ class RabbitOutboxAutoconfiguration {
             rabbitTemplate,
             configurationProperties.routingKey,
             configurationProperties.deliveryTimeout,
-            configurationProperties.exchange
+            configurationProperties.exchange,
+            configurationProperties.maxInFlight
         )
     }
 }
\ No newline at end of file
@@ -23,6 +23,12 @@ import java.time.Duration
 data class RabbitOutboxConfigurationProperties (
     val exchange: String? = null,
     val routingKey: String? = null,
-    val deliveryTimeout: Duration = Duration.ofSeconds(1)
+    val deliveryTimeout: Duration = Duration.ofSeconds(1),
+    /**
+     * The number of messages that may be sent before their confirms are received. A value above 1 publishes faster,
+     * but when a message is not confirmed, the messages sent after it are published again: consumers may then receive
+     * them twice, and out of order with the failed message. Only raise it when consumers tolerate that.
+     */
+    val maxInFlight: Int = 1
 )
 
@@ -1,18 +1,24 @@
 package com.ritense.outbox.rabbitmq
 
 import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.publisher.BatchPublishingFailed
 import com.ritense.outbox.publisher.MessagePublishingFailed
 import org.assertj.core.api.Assertions
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.eq
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.whenever
+import org.springframework.amqp.core.Message
 import org.springframework.amqp.core.MessageBuilder
 import org.springframework.amqp.core.ReturnedMessage
 import org.springframework.amqp.rabbit.connection.ConnectionFactory
 import org.springframework.amqp.rabbit.connection.CorrelationData
+import org.springframework.amqp.rabbit.core.RabbitOperations
 import org.springframework.amqp.rabbit.core.RabbitTemplate
 
 class RabbitMessagePublisherTest {
@@ -101,6 +107,63 @@ class RabbitMessagePublisherTest {
         Assertions.assertThat(ex.message).contains("not confirmed in time")
     }
 
+    @Test
+    fun `should report confirmed messages when a windowed publish fails`() {
+        val rabbitTemplate = getMockedRabbitTemplate()
+        whenever(rabbitTemplate.invoke(any<RabbitOperations.OperationsCallback<Any>>())).thenAnswer { answer ->
+            answer.getArgument<RabbitOperations.OperationsCallback<Any>>(0).doInRabbit(rabbitTemplate)
+        }
+        whenever(rabbitTemplate.convertAndSend(any<String>(), eq("test"), any<String>(), any<CorrelationData>())).thenAnswer { answer ->
+            val correlationData = answer.getArgument(3, CorrelationData::class.java)
+            val ack = answer.getArgument(2, String::class.java) != "nack"
+            correlationData.future.complete(CorrelationData.Confirm(ack, "reasons"))
+        }
+        val publisher = RabbitMessagePublisher(rabbitTemplate, "test", maxInFlight = 2)
+
+        val ex = assertThrows<BatchPublishingFailed> {
+            publisher.publishAll(
+                listOf(
+                    OutboxMessage(message = "first"),
+                    OutboxMessage(message = "second"),
+                    OutboxMessage(message = "nack"),
+                    OutboxMessage(message = "fourth")
+                )
+            )
+        }
+
+        Assertions.assertThat(ex.publishedCount).isEqualTo(2)
+        Assertions.assertThat(ex.cause).isInstanceOf(MessagePublishingFailed::class.java)
+        verify(rabbitTemplate, times(4)).convertAndSend(any<String>(), eq("test"), any<String>(), any<CorrelationData>())
+    }
+
+    @Test
+    fun `should send binary messages with the CloudEvent attributes as headers`() {
+        val rabbitTemplate = getMockedRabbitTemplate()
+        val captor = argumentCaptor<Message>()
+        whenever(rabbitTemplate.send(any<String>(), eq("test"), captor.capture(), any<CorrelationData>())).thenAnswer { answer ->
+            answer.getArgument(3, CorrelationData::class.java).future.complete(CorrelationData.Confirm(true, null))
+        }
+        val data = OutboxMessage.compress("""{"userId":"System"}""".toByteArray())
+        val publisher = RabbitMessagePublisher(rabbitTemplate, "test")
+
+        publisher.publish(
+            OutboxMessage(
+                message = """{"specversion":"1.0","id":"1","source":"application","type":"test","datacontenttype":"application/json"}""",
+                data = data,
+                contentType = "application/json",
+                contentEncoding = OutboxMessage.GZIP
+            )
+        )
+
+        val message = captor.firstValue
+        Assertions.assertThat(message.body).isEqualTo(data)
+        Assertions.assertThat(message.messageProperties.contentType).isEqualTo("application/json")
+        Assertions.assertThat(message.messageProperties.contentEncoding).isEqualTo("gzip")
+        Assertions.assertThat(message.messageProperties.headers).containsEntry("cloudEvents_id", "1")
+        Assertions.assertThat(message.messageProperties.headers).containsEntry("cloudEvents_type", "test")
+        Assertions.assertThat(message.messageProperties.headers).doesNotContainKey("cloudEvents_datacontenttype")
+    }
+
     private fun getMockedRabbitTemplate(
         publisherConfirms: Boolean = true,
         publisherReturns: Boolean = true,
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * The state of the outbox at [measuredOn].
+ */
+data class OutboxBacklog(
+    val size: Long,
+    val waitingForRetry: Long,
+    val oldestMessageCreatedOn: LocalDateTime?,
+    val deadLetters: Long,
+    val measuredOn: LocalDateTime
+) {
+
+    /**
+     * Returns how long the oldest message has been waiting to be published, or zero when the outbox is empty.
+     */
+    fun oldestMessageAge(): Duration {
+        val createdOn = oldestMessageCreatedOn ?: return Duration.ZERO
+        return Duration.between(createdOn, measuredOn).coerceAtLeast(Duration.ZERO)
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import com.ritense.outbox.repository.OutboxDeadLetterRepository
+import com.ritense.outbox.repository.OutboxMessageRepository
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * Measures the backlog of the outbox. The measurement is kept for the [refreshInterval], so metric scrapes and the
+ * actuator endpoint don't query the outbox tables more often than that.
+ */
+open class OutboxBacklogService(
+    private val outboxMessageRepository: OutboxMessageRepository,
+    private val outboxDeadLetterRepository: OutboxDeadLetterRepository,
+    private val refreshInterval: Duration = Duration.ofSeconds(10)
+) {
+    @Volatile
+    private var backlog: OutboxBacklog? = null
+
+    open fun getBacklog(): OutboxBacklog {
+        backlog?.takeIf { isFresh(it) }?.let { return it }
+        synchronized(this) {
+            backlog?.takeIf { isFresh(it) }?.let { return it }
+            return measure().also { backlog = it }
+        }
+    }
+
+    private fun isFresh(backlog: OutboxBacklog) =
+        backlog.measuredOn.plus(refreshInterval).isAfter(LocalDateTime.now())
+
+    private fun measure(): OutboxBacklog {
+        val now = LocalDateTime.now()
+        return OutboxBacklog(
+            size = outboxMessageRepository.count(),
+            waitingForRetry = outboxMessageRepository.countWaitingForRetry(now),
+            oldestMessageCreatedOn = outboxMessageRepository.findOldestCreatedOn(),
+            deadLetters = outboxDeadLetterRepository.count(),
+            measuredOn = now
+        )
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import jakarta.persistence.Column
+import jakarta.persistence.Entity
+import jakarta.persistence.Id
+import jakarta.persistence.Table
+import java.time.LocalDateTime
+import java.util.UUID
+
+/**
+ * An outbox message that could not be published within the maximum number of attempts.
+ */
+@Entity
+@Table(name = "outbox_dead_letter")
+class OutboxDeadLetter(
+
+    @Id
+    @Column(name = "id")
+    val id: UUID,
+
+    @Column(name = "message")
+    val message: String,
+
+    @Column(name = "created_on")
+    val createdOn: LocalDateTime,
+
+    @Column(name = "partition_key")
+    val partitionKey: String?,
+
+    @Column(name = "partition_number")
+    val partitionNumber: Int,
+
+    @Column(name = "attempts")
+    val attempts: Int,
+
+    @Column(name = "last_error")
+    val lastError: String?,
+
+    @Column(name = "dead_lettered_on")
+    val deadLetteredOn: LocalDateTime = LocalDateTime.now(),
+
+    @Column(name = "message_data")
+    val data: ByteArray? = null,
+
+    @Column(name = "content_type")
+    val contentType: String? = null,
+
+    @Column(name = "content_encoding")
+    val contentEncoding: String? = null
+)
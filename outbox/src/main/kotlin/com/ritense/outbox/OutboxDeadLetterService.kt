@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import com.ritense.outbox.publisher.OutboxRetryPolicy
+import com.ritense.outbox.repository.OutboxDeadLetterRepository
+import com.ritense.outbox.repository.OutboxMessageRepository
+import mu.KotlinLogging
+import org.springframework.data.domain.Page
+import org.springframework.data.domain.Pageable
+import org.springframework.transaction.annotation.Transactional
+import java.time.LocalDateTime
+import java.util.UUID
+
+/**
+ * Keeps track of outbox messages that failed to publish. A failed message is retried after a backoff, and moved to the
+ * dead-letter table when it exceeds the maximum number of attempts. Dead letters can be replayed, which puts them
+ * back in the outbox as new messages.
+ */
+open class OutboxDeadLetterService(
+    private val outboxMessageRepository: OutboxMessageRepository,
+    private val outboxDeadLetterRepository: OutboxDeadLetterRepository,
+    private val retryPolicy: OutboxRetryPolicy,
+    private val partitionCount: Int = 1,
+) {
+
+    init {
+        require(partitionCount > 0) { "The outbox partition count must be at least 1" }
+    }
+
+
+    /**
+     * Records a failed attempt to publish the message. Must be called in the transaction that claimed the message.
+     */
+    @Transactional
+    open fun recordFailure(message: OutboxMessage, error: Throwable) {
+        val attempts = message.attempts + 1
+        val lastError = (error.message ?: error::class.java.name).take(MAX_ERROR_LENGTH)
+        if (retryPolicy.isExhausted(attempts)) {
+            logger.error(error) { "OutboxMessage '${message.id}' failed $attempts times. Moving it to the dead-letter table" }
+            outboxDeadLetterRepository.save(
+                OutboxDeadLetter(
+                    id = message.id,
+                    message = message.message,
+                    createdOn = message.createdOn,
+                    partitionKey = message.partitionKey,
+                    partitionNumber = message.partitionNumber,
+                    attempts = attempts,
+                    lastError = lastError,
+                    data = message.data,
+                    contentType = message.contentType,
+                    contentEncoding = message.contentEncoding
+                )
+            )
+            outboxMessageRepository.deleteAllByIdInBatch(listOf(message.id))
+        } else {
+            val nextAttemptOn = retryPolicy.nextAttemptOn(attempts, LocalDateTime.now())
+            logger.warn(error) { "OutboxMessage '${message.id}' failed $attempts times. Retrying at $nextAttemptOn" }
+            outboxMessageRepository.updateAttempts(message.id, attempts, nextAttemptOn, lastError)
+        }
+    }
+
+    open fun getDeadLetters(pageable: Pageable): Page<OutboxDeadLetter> = outboxDeadLetterRepository.findAll(pageable)
+
+    open fun getDeadLetter(id: UUID): OutboxDeadLetter? = outboxDeadLetterRepository.findById(id).orElse(null)
+
+    /**
+     * Puts the dead letter back in the outbox. It is published after the messages that are already in its partition.
+     * The partition is computed again from the partition key, so the message follows the other messages with the same
+     * key when the partition count changed after it failed.
+     *
+     * @return false when no dead letter with the id exists
+     */
+    @Transactional
+    open fun replay(id: UUID): Boolean {
+        val deadLetter = outboxDeadLetterRepository.findById(id).orElse(null) ?: return false
+        outboxMessageRepository.save(
+            OutboxMessage(
+                id = deadLetter.id,
+                message = deadLetter.message,
+                partitionKey = deadLetter.partitionKey,
+                partitionNumber = OutboxMessage.partitionOf(deadLetter.partitionKey, partitionCount),
+                data = deadLetter.data,
+                contentType = deadLetter.contentType,
+                contentEncoding = deadLetter.contentEncoding
+            )
+        )
+        outboxDeadLetterRepository.delete(deadLetter)
+        logger.info { "Replaying OutboxMessage '${deadLetter.id}'" }
+        return true
+    }
+
+    @Transactional
+    open fun delete(id: UUID): Boolean {
+        val deadLetter = outboxDeadLetterRepository.findById(id).orElse(null) ?: return false
+        outboxDeadLetterRepository.delete(deadLetter)
+        return true
+    }
+
+    companion object {
+        private const val MAX_ERROR_LENGTH = 4000
+        private val logger = KotlinLogging.logger {}
+    }
+}
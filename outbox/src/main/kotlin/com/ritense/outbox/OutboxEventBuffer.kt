@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import com.ritense.outbox.config.OutboxConfigurationProperties.EventConfiguration
+import com.ritense.outbox.domain.BaseEvent
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * Collects the events that are sent in one transaction, and writes them to the outbox just before the transaction
+ * commits. An event of a type that may be coalesced replaces the previous event of its aggregate (the events with the
+ * same result id) when that event has the same type, so only the last of a run of such events is serialized and saved.
+ * The replacing event takes the position of the replaced one, and an event is never coalesced past another event of
+ * the same aggregate, so the events of an aggregate are saved in the order in which they were sent.
+ */
+class OutboxEventBuffer private constructor(
+    private val key: Any,
+    private val flush: (List<BufferedEvent>) -> Unit
+) : TransactionSynchronization {
+
+    private val events = ArrayList<BufferedEvent>()
+    private val lastIndexByResultId = HashMap<String, Int>()
+    private var flushed = false
+
+    /**
+     * @return false when the buffer was already flushed, in which case the event must be saved directly
+     */
+    fun add(event: BufferedEvent): Boolean {
+        if (flushed) {
+            return false
+        }
+        val resultId = event.baseEvent.resultId ?: run {
+            events.add(event)
+            return true
+        }
+        val lastIndex = lastIndexByResultId[resultId]
+        if (lastIndex != null && canCoalesce(events[lastIndex], event)) {
+            events[lastIndex] = event
+        } else {
+            lastIndexByResultId[resultId] = events.size
+            events.add(event)
+        }
+        return true
+    }
+
+    override fun beforeCommit(readOnly: Boolean) {
+        flushed = true
+        if (events.isNotEmpty()) {
+            flush(events.toList())
+            events.clear()
+            lastIndexByResultId.clear()
+        }
+    }
+
+    private fun canCoalesce(previous: BufferedEvent, event: BufferedEvent) =
+        previous.configuration.coalesce && event.configuration.coalesce && previous.baseEvent.type == event.baseEvent.type
+
+    override fun suspend() {
+        TransactionSynchronizationManager.unbindResource(key)
+    }
+
+    override fun resume() {
+        TransactionSynchronizationManager.bindResource(key, this)
+    }
+
+    override fun afterCompletion(status: Int) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(key)
+    }
+
+    data class BufferedEvent(
+        val baseEvent: BaseEvent,
+        val userId: String,
+        val roles: Set<String>,
+        val configuration: EventConfiguration
+    )
+
+    companion object {
+        /**
+         * Returns the buffer of the current transaction, and creates it when it doesn't exist yet.
+         */
+        fun current(key: Any, flush: (List<BufferedEvent>) -> Unit): OutboxEventBuffer {
+            val existing = TransactionSynchronizationManager.getResource(key) as OutboxEventBuffer?
+            if (existing != null) {
+                return existing
+            }
+            val buffer = OutboxEventBuffer(key, flush)
+            TransactionSynchronizationManager.bindResource(key, buffer)
+            TransactionSynchronizationManager.registerSynchronization(buffer)
+            return buffer
+        }
+    }
+}
@@ -16,13 +16,28 @@
 
 package com.ritense.outbox
 
+import io.cloudevents.CloudEvent
+import io.cloudevents.core.builder.CloudEventBuilder
+import io.cloudevents.core.provider.EventFormatProvider
+import io.cloudevents.jackson.JsonFormat
 import jakarta.persistence.Column
 import jakarta.persistence.Entity
 import jakarta.persistence.Id
 import jakarta.persistence.Table
+import java.io.ByteArrayOutputStream
 import java.time.LocalDateTime
+import java.time.OffsetDateTime
+import java.time.format.DateTimeFormatter
 import java.util.UUID
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import kotlin.text.Charsets.UTF_8
 
+/**
+ * A message in the outbox. The [message] contains a CloudEvent in structured JSON mode. When the message is stored in
+ * binary mode, the [message] only contains the attributes of the CloudEvent and the [data] contains the event data,
+ * encoded with [contentEncoding].
+ */
 @Entity
 @Table(name = "outbox_message")
 class OutboxMessage(
@@ -35,5 +50,103 @@ class OutboxMessage(
     val message: String,
 
     @Column(name = "created_on")
-    val createdOn: LocalDateTime = LocalDateTime.now()
-)
+    val createdOn: LocalDateTime = LocalDateTime.now(),
+
+    @Column(name = "partition_key")
+    val partitionKey: String? = null,
+
+    @Column(name = "partition_number")
+    val partitionNumber: Int = 0,
+
+    @Column(name = "attempts")
+    val attempts: Int = 0,
+
+    @Column(name = "next_attempt_on")
+    val nextAttemptOn: LocalDateTime? = null,
+
+    @Column(name = "last_error")
+    val lastError: String? = null,
+
+    @Column(name = "message_data")
+    val data: ByteArray? = null,
+
+    @Column(name = "content_type")
+    val contentType: String? = null,
+
+    @Column(name = "content_encoding")
+    val contentEncoding: String? = null
+) {
+
+    fun isBinary() = data != null
+
+    /**
+     * Returns the event data, decoded with the [contentEncoding].
+     */
+    fun decodeData(): ByteArray? {
+        val data = data ?: return null
+        return when (contentEncoding) {
+            null -> data
+            GZIP -> GZIPInputStream(data.inputStream()).use { it.readBytes() }
+            else -> throw IllegalStateException("Unsupported content encoding '$contentEncoding' of OutboxMessage '$id'")
+        }
+    }
+
+    /**
+     * Returns the complete CloudEvent, regardless of the mode in which the message is stored.
+     */
+    fun toCloudEvent(): CloudEvent {
+        val event = jsonFormat().deserialize(message.toByteArray(UTF_8))
+        val data = decodeData() ?: return event
+        return CloudEventBuilder.v1(event)
+            .withData(contentType ?: event.dataContentType, data)
+            .build()
+    }
+
+    /**
+     * Returns the type of the CloudEvent.
+     */
+    fun eventType(): String = jsonFormat().deserialize(message.toByteArray(UTF_8)).type
+
+    /**
+     * Returns the attributes and extensions of the CloudEvent as strings, except the data content type. Publishers use
+     * them as headers when they send a binary message.
+     */
+    fun cloudEventAttributes(): Map<String, String> {
+        val event = jsonFormat().deserialize(message.toByteArray(UTF_8))
+        val attributes = linkedMapOf<String, String>()
+        event.attributeNames.filter { it != DATA_CONTENT_TYPE_ATTRIBUTE }.forEach { name ->
+            event.getAttribute(name)?.let { attributes[name] = attributeToString(it) }
+        }
+        event.extensionNames.forEach { name ->
+            event.getExtension(name)?.let { attributes[name] = attributeToString(it) }
+        }
+        return attributes
+    }
+
+    companion object {
+        const val GZIP = "gzip"
+        private const val DATA_CONTENT_TYPE_ATTRIBUTE = "datacontenttype"
+
+        fun compress(data: ByteArray): ByteArray {
+            val output = ByteArrayOutputStream(data.size / 4 + 64)
+            GZIPOutputStream(output).use { it.write(data) }
+            return output.toByteArray()
+        }
+
+        fun jsonFormat() = EventFormatProvider.getInstance().resolveFormat(JsonFormat.CONTENT_TYPE)!!
+
+        private fun attributeToString(value: Any) = when (value) {
+            is OffsetDateTime -> value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+            else -> value.toString()
+        }
+
+        /**
+         * Maps a partition key to one of the partitions. Messages without a key share one partition, so their order is
+         * preserved as well.
+         */
+        @JvmStatic
+        fun partitionOf(partitionKey: String?, partitionCount: Int): Int {
+            return Math.floorMod((partitionKey ?: "").hashCode(), partitionCount)
+        }
+    }
+}
@@ -17,18 +17,22 @@
 package com.ritense.outbox
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.outbox.config.OutboxConfigurationProperties
 import com.ritense.outbox.domain.BaseEvent
 import com.ritense.outbox.domain.CloudEventData
+import com.ritense.outbox.domain.OutboxMessageFormat
 import com.ritense.outbox.exception.OutboxTransactionReadOnlyException
+import com.ritense.outbox.publisher.OutboxNotifier
 import com.ritense.outbox.repository.OutboxMessageRepository
 import io.cloudevents.core.builder.CloudEventBuilder
-import io.cloudevents.core.provider.EventFormatProvider
-import io.cloudevents.jackson.JsonFormat
+import jakarta.persistence.EntityManager
 import mu.KotlinLogging
+import org.hibernate.Session
 import org.springframework.transaction.annotation.Propagation
 import org.springframework.transaction.annotation.Transactional
 import org.springframework.transaction.support.TransactionSynchronizationManager
 import java.net.URI
+import java.time.LocalDateTime
 import java.time.ZonedDateTime
 import java.util.UUID
 import java.util.function.Supplier
@@ -39,31 +43,111 @@ open class ValtimoOutboxService(
     private val objectMapper: ObjectMapper,
     private val userProvider: UserProvider,
     private val cloudEventSource: String,
+    private val outboxNotifier: OutboxNotifier? = null,
+    private val partitionCount: Int = 1,
+    private val outboxConfigurationProperties: OutboxConfigurationProperties = OutboxConfigurationProperties(),
+    private val entityManager: EntityManager? = null,
 ) : OutboxService {
 
+    init {
+        require(partitionCount > 0) { "The outbox partition count must be at least 1" }
+    }
+
+
+    /**
+     * Sends the event, unless its type is disabled or not sampled. The result of the event is only read after that
+     * check, so a lazily supplied result is never built for events that are not sent.
+     *
+     * When the transaction buffer is enabled, the event is written to the outbox just before the transaction commits.
+     * Events of types that may be coalesced keep a lazily supplied result until then. Other events read their result
+     * immediately, so they keep the state at the time they were sent.
+     */
     @Transactional(propagation = Propagation.MANDATORY)
     override fun send(eventSupplier: Supplier<BaseEvent>) {
         val baseEvent = eventSupplier.get()
+        val eventConfiguration = outboxConfigurationProperties.getEventConfiguration(baseEvent.type)
+        if (!eventConfiguration.isSampled()) {
+            logger.trace { "Skipping event '${baseEvent.id}' of type '${baseEvent.type}'" }
+            return
+        }
 
         val userId = baseEvent.userId ?: userProvider.getCurrentUserLogin() ?: "System"
-        val roles = baseEvent.roles.ifEmpty { userProvider.getCurrentUserRoles() }
+        val roles = baseEvent.roles.ifEmpty { userProvider.getCurrentUserRoles() }.toSet()
+        val bufferedEvent = OutboxEventBuffer.BufferedEvent(baseEvent, userId, roles, eventConfiguration)
+
+        if (outboxConfigurationProperties.buffer.enabled && TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                throw OutboxTransactionReadOnlyException()
+            }
+            if (!eventConfiguration.coalesce) {
+                // Reads the lazily supplied result now, so it is not affected by later changes in the transaction
+                baseEvent.result
+            }
+            if (OutboxEventBuffer.current(this, ::saveBuffered).add(bufferedEvent)) {
+                return
+            }
+        }
+        save(toOutboxMessage(bufferedEvent))
+    }
+
+    private fun toOutboxMessage(bufferedEvent: OutboxEventBuffer.BufferedEvent): OutboxMessage {
+        val baseEvent = bufferedEvent.baseEvent
+        val eventConfiguration = bufferedEvent.configuration
+        val result = eventConfiguration.projection.project(baseEvent.result, eventConfiguration.fields)
         val cloudEventData =
-            CloudEventData(userId, roles.toSet(), baseEvent.resultType, baseEvent.resultId, baseEvent.result)
-        val cloudEvent = CloudEventBuilder.v1()
+            CloudEventData(bufferedEvent.userId, bufferedEvent.roles, baseEvent.resultType, baseEvent.resultId, result)
+        val cloudEventBuilder = CloudEventBuilder.v1()
             .withId(baseEvent.id.toString())
             .withSource(URI(cloudEventSource))
             .withTime(baseEvent.date.atOffset(ZonedDateTime.now().offset))
             .withType(baseEvent.type)
-            .withDataContentType("application/json")
-            .withData(objectMapper.writeValueAsBytes(cloudEventData))
-            .build()
-        val serializedCloudEvent = EventFormatProvider
-            .getInstance()
-            .resolveFormat(JsonFormat.CONTENT_TYPE)!!
-            .serialize(cloudEvent)
-        val serializedCloudEventString = String(serializedCloudEvent, UTF_8)
-
-        send(serializedCloudEventString)
+            .withDataContentType(DATA_CONTENT_TYPE)
+        val data = objectMapper.writeValueAsBytes(cloudEventData)
+
+        return when (outboxConfigurationProperties.messageFormat) {
+            OutboxMessageFormat.STRUCTURED -> {
+                val serializedCloudEvent = OutboxMessage.jsonFormat().serialize(cloudEventBuilder.withData(data).build())
+                OutboxMessage(
+                    message = String(serializedCloudEvent, UTF_8),
+                    partitionKey = partitionKeyOf(baseEvent.resultId),
+                    partitionNumber = OutboxMessage.partitionOf(baseEvent.resultId, partitionCount)
+                )
+            }
+            OutboxMessageFormat.BINARY -> {
+                val serializedAttributes = OutboxMessage.jsonFormat().serialize(cloudEventBuilder.build())
+                OutboxMessage(
+                    message = String(serializedAttributes, UTF_8),
+                    partitionKey = partitionKeyOf(baseEvent.resultId),
+                    partitionNumber = OutboxMessage.partitionOf(baseEvent.resultId, partitionCount),
+                    data = OutboxMessage.compress(data),
+                    contentType = DATA_CONTENT_TYPE,
+                    contentEncoding = OutboxMessage.GZIP
+                )
+            }
+        }
+    }
+
+    /**
+     * Saves the buffered events of a transaction. The messages are persisted directly instead of merged, so Hibernate
+     * can insert them in JDBC batches.
+     */
+    private fun saveBuffered(bufferedEvents: List<OutboxEventBuffer.BufferedEvent>) {
+        val outboxMessages = bufferedEvents.map { toOutboxMessage(it) }
+        logger.debug { "Saving ${outboxMessages.size} buffered OutboxMessages" }
+        if (entityManager == null) {
+            outboxMessageRepository.saveAll(outboxMessages)
+        } else {
+            val session = entityManager.unwrap(Session::class.java)
+            val previousBatchSize = session.jdbcBatchSize
+            session.jdbcBatchSize = outboxConfigurationProperties.buffer.batchSize
+            try {
+                outboxMessages.forEach { entityManager.persist(it) }
+                session.flush()
+            } finally {
+                session.jdbcBatchSize = previousBatchSize
+            }
+        }
+        outboxNotifier?.messageSaved()
     }
 
     /**
@@ -79,23 +163,59 @@ open class ValtimoOutboxService(
      * }
      */
     @Transactional(propagation = Propagation.MANDATORY)
-    open fun send(message: String) {
+    open fun send(message: String) = send(message, null)
+
+    /**
+     * Saves the message in the partition of the [partitionKey]. Messages with the same key are published in the order
+     * they were saved.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    open fun send(message: String, partitionKey: String?) {
+        save(
+            OutboxMessage(
+                message = message,
+                partitionKey = partitionKeyOf(partitionKey),
+                partitionNumber = OutboxMessage.partitionOf(partitionKey, partitionCount)
+            )
+        )
+    }
+
+    private fun partitionKeyOf(partitionKey: String?) = partitionKey?.take(255)
+
+    private fun save(outboxMessage: OutboxMessage) {
         if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
             throw OutboxTransactionReadOnlyException()
         }
 
-        val outboxMessage = OutboxMessage(
-            message = message
-        )
         logger.debug { "Saving OutboxMessage '${outboxMessage.id}'" }
         outboxMessageRepository.save(outboxMessage)
+        outboxNotifier?.messageSaved()
     }
 
-    open fun getOldestMessage() = outboxMessageRepository.findOutboxMessage()
+    open fun getOldestMessage() = outboxMessageRepository.findOutboxMessage(LocalDateTime.now())
 
     open fun deleteMessage(id: UUID) = outboxMessageRepository.deleteById(id)
 
+    /**
+     * Claims the oldest messages, skipping messages that are locked by another transaction.
+     */
+    open fun getOldestMessages(limit: Int) = outboxMessageRepository.findOutboxMessages(limit, LocalDateTime.now())
+
+    open fun deleteMessages(ids: List<UUID>) = outboxMessageRepository.deleteAllByIdInBatch(ids)
+
+    open fun getOldestMessages(partition: Int, limit: Int) =
+        outboxMessageRepository.findOutboxMessages(partition, limit, LocalDateTime.now())
+
+    open fun lockPartition(partition: Int) = outboxMessageRepository.lockPartition(partition) != null
+
+    open fun createPartitions() {
+        for (partition in 0 until partitionCount) {
+            outboxMessageRepository.createPartition(partition)
+        }
+    }
+
     companion object {
+        private const val DATA_CONTENT_TYPE = "application/json"
         private val logger = KotlinLogging.logger {}
     }
 }
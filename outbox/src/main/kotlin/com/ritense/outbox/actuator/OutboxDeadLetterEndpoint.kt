@@ -0,0 +1,73 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.actuator
+
+import com.ritense.outbox.OutboxDeadLetter
+import com.ritense.outbox.OutboxDeadLetterService
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation
+import org.springframework.boot.actuate.endpoint.annotation.Selector
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation
+import org.springframework.data.domain.PageRequest
+import org.springframework.data.domain.Sort
+import java.util.UUID
+
+/**
+ * Actuator endpoint to inspect, replay and delete outbox dead letters.
+ *
+ * - GET /outboxdeadletters?page=0&size=20
+ * - GET /outboxdeadletters/{id}
+ * - POST /outboxdeadletters/{id} replays the dead letter
+ * - DELETE /outboxdeadletters/{id}
+ */
+@Endpoint(id = "outboxdeadletters")
+class OutboxDeadLetterEndpoint(
+    private val outboxDeadLetterService: OutboxDeadLetterService
+) {
+
+    @ReadOperation
+    fun deadLetters(page: Int?, size: Int?): Map<String, Any> {
+        val pageable = PageRequest.of(
+            page ?: 0,
+            (size ?: DEFAULT_PAGE_SIZE).coerceIn(1, MAX_PAGE_SIZE),
+            Sort.by(Sort.Direction.DESC, "deadLetteredOn")
+        )
+        val deadLetters = outboxDeadLetterService.getDeadLetters(pageable)
+        return mapOf(
+            "content" to deadLetters.content,
+            "totalElements" to deadLetters.totalElements,
+            "totalPages" to deadLetters.totalPages,
+            "number" to deadLetters.number,
+            "size" to deadLetters.size
+        )
+    }
+
+    @ReadOperation
+    fun deadLetter(@Selector id: UUID): OutboxDeadLetter? = outboxDeadLetterService.getDeadLetter(id)
+
+    @WriteOperation
+    fun replay(@Selector id: UUID): Map<String, Boolean> = mapOf("replayed" to outboxDeadLetterService.replay(id))
+
+    @DeleteOperation
+    fun delete(@Selector id: UUID): Map<String, Boolean> = mapOf("deleted" to outboxDeadLetterService.delete(id))
+
+    companion object {
+        private const val DEFAULT_PAGE_SIZE = 20
+        private const val MAX_PAGE_SIZE = 500
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.actuator
+
+import com.ritense.outbox.OutboxBacklogService
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation
+import java.time.Duration
+
+/**
+ * Actuator endpoint that summarizes the state of the outbox. The status is DELAYED when the oldest message has been
+ * waiting longer than the [maxOldestMessageAge], and UP otherwise.
+ *
+ * - GET /outbox
+ */
+@Endpoint(id = "outbox")
+class OutboxEndpoint(
+    private val outboxBacklogService: OutboxBacklogService,
+    private val maxOldestMessageAge: Duration
+) {
+
+    @ReadOperation
+    fun outbox(): Map<String, Any?> {
+        val backlog = outboxBacklogService.getBacklog()
+        val oldestMessageAge = backlog.oldestMessageAge()
+        return linkedMapOf(
+            "status" to if (oldestMessageAge > maxOldestMessageAge) STATUS_DELAYED else STATUS_UP,
+            "backlogSize" to backlog.size,
+            "waitingForRetry" to backlog.waitingForRetry,
+            "oldestMessageCreatedOn" to backlog.oldestMessageCreatedOn,
+            "oldestMessageAge" to oldestMessageAge.toString(),
+            "maxOldestMessageAge" to maxOldestMessageAge.toString(),
+            "deadLetters" to backlog.deadLetters,
+            "measuredOn" to backlog.measuredOn
+        )
+    }
+
+    companion object {
+        const val STATUS_UP = "UP"
+        const val STATUS_DELAYED = "DELAYED"
+    }
+}
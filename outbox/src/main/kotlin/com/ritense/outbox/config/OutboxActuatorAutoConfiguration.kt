@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.config
+
+import com.ritense.outbox.OutboxBacklogService
+import com.ritense.outbox.OutboxDeadLetterService
+import com.ritense.outbox.actuator.OutboxDeadLetterEndpoint
+import com.ritense.outbox.actuator.OutboxEndpoint
+import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.AutoConfigureAfter
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.context.annotation.Bean
+import java.time.Duration
+
+@AutoConfiguration
+@ConditionalOnOutboxEnabled
+@AutoConfigureAfter(OutboxAutoConfiguration::class)
+@ConditionalOnClass(name = ["org.springframework.boot.actuate.endpoint.annotation.Endpoint"])
+class OutboxActuatorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(OutboxDeadLetterService::class)
+    @ConditionalOnMissingBean(OutboxDeadLetterEndpoint::class)
+    fun outboxDeadLetterEndpoint(
+        outboxDeadLetterService: OutboxDeadLetterService
+    ): OutboxDeadLetterEndpoint {
+        return OutboxDeadLetterEndpoint(outboxDeadLetterService)
+    }
+
+    @Bean
+    @ConditionalOnBean(OutboxBacklogService::class)
+    @ConditionalOnMissingBean(OutboxEndpoint::class)
+    fun outboxEndpoint(
+        outboxBacklogService: OutboxBacklogService,
+        @Value("\${valtimo.outbox.health.max-oldest-message-age:PT5M}") maxOldestMessageAge: Duration
+    ): OutboxEndpoint {
+        return OutboxEndpoint(outboxBacklogService, maxOldestMessageAge)
+    }
+}
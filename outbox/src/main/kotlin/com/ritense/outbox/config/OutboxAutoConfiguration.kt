@@ -17,8 +17,12 @@
 package com.ritense.outbox.config
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.ritense.outbox.OutboxBacklogService
+import com.ritense.outbox.OutboxDeadLetter
+import com.ritense.outbox.OutboxDeadLetterService
 import com.ritense.outbox.OutboxLiquibaseRunner
 import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.repository.OutboxDeadLetterRepository
 import com.ritense.outbox.repository.OutboxMessageRepository
 import com.ritense.outbox.OutboxService
 import com.ritense.outbox.UserProvider
@@ -27,8 +31,12 @@ import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
 import com.ritense.outbox.repository.impl.MySqlOutboxMessageRepository
 import com.ritense.outbox.repository.impl.PostgresOutboxMessageRepository
 import com.ritense.outbox.publisher.MessagePublisher
+import com.ritense.outbox.publisher.OutboxNotifier
+import com.ritense.outbox.publisher.OutboxPublisherMetrics
+import com.ritense.outbox.publisher.OutboxRetryPolicy
 import com.ritense.outbox.publisher.PollingPublisherJob
 import com.ritense.outbox.publisher.PollingPublisherService
+import jakarta.persistence.EntityManager
 import org.springframework.beans.factory.annotation.Value
 import org.springframework.boot.autoconfigure.AutoConfiguration
 import org.springframework.boot.autoconfigure.AutoConfigureAfter
@@ -43,6 +51,7 @@ import org.springframework.context.annotation.Bean
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean
 import org.springframework.transaction.PlatformTransactionManager
+import java.time.Duration
 import java.util.UUID
 import javax.sql.DataSource
 
@@ -51,7 +60,7 @@ import javax.sql.DataSource
 @EnableJpaRepositories(basePackages = ["com.ritense.outbox.repository.impl"])
 @EntityScan(basePackages = ["com.ritense.outbox"])
 @AutoConfigureAfter(DataSourceAutoConfiguration::class, HibernateJpaAutoConfiguration::class)
-@EnableConfigurationProperties(LiquibaseProperties::class)
+@EnableConfigurationProperties(LiquibaseProperties::class, OutboxConfigurationProperties::class)
 class OutboxAutoConfiguration {
 
     @Bean
@@ -77,12 +86,20 @@ class OutboxAutoConfiguration {
         objectMapper: ObjectMapper,
         userProvider: UserProvider,
         @Value("\${valtimo.outbox.publisher.cloudevent-source:\${spring.application.name:application}}") cloudEventSource: String,
+        outboxNotifier: OutboxNotifier?,
+        @Value("\${valtimo.outbox.partition-count:1}") partitionCount: Int,
+        outboxConfigurationProperties: OutboxConfigurationProperties,
+        entityManager: EntityManager?,
     ): OutboxService {
         return ValtimoOutboxService(
             outboxMessageRepository,
             objectMapper,
             userProvider,
             cloudEventSource,
+            outboxNotifier,
+            partitionCount,
+            outboxConfigurationProperties,
+            entityManager,
         )
     }
 
@@ -91,15 +108,61 @@ class OutboxAutoConfiguration {
     fun pollingPublisherService(
         outboxService: ValtimoOutboxService,
         messagePublisher: MessagePublisher,
-        platformTransactionManager: PlatformTransactionManager
+        platformTransactionManager: PlatformTransactionManager,
+        @Value("\${valtimo.outbox.publisher.polling.batch-size:1}") batchSize: Int,
+        @Value("\${valtimo.outbox.partition-count:1}") partitionCount: Int,
+        @Value("\${valtimo.outbox.publisher.workers:1}") workers: Int,
+        outboxDeadLetterService: OutboxDeadLetterService,
+        outboxPublisherMetrics: OutboxPublisherMetrics?
     ): PollingPublisherService {
         return PollingPublisherService(
             outboxService,
             messagePublisher,
-            platformTransactionManager
+            platformTransactionManager,
+            batchSize,
+            partitionCount,
+            workers,
+            outboxDeadLetterService,
+            outboxPublisherMetrics ?: OutboxPublisherMetrics.NOOP
         )
     }
 
+    @Bean
+    @ConditionalOnMissingBean(OutboxRetryPolicy::class)
+    fun outboxRetryPolicy(
+        @Value("\${valtimo.outbox.publisher.retry.max-attempts:10}") maxAttempts: Int,
+        @Value("\${valtimo.outbox.publisher.retry.initial-backoff:PT10S}") initialBackoff: Duration,
+        @Value("\${valtimo.outbox.publisher.retry.max-backoff:PT1H}") maxBackoff: Duration
+    ): OutboxRetryPolicy {
+        return OutboxRetryPolicy(maxAttempts, initialBackoff, maxBackoff)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxDeadLetterService::class)
+    fun outboxDeadLetterService(
+        outboxMessageRepository: OutboxMessageRepository,
+        outboxDeadLetterRepository: OutboxDeadLetterRepository,
+        outboxRetryPolicy: OutboxRetryPolicy,
+        @Value("\${valtimo.outbox.partition-count:1}") partitionCount: Int
+    ): OutboxDeadLetterService {
+        return OutboxDeadLetterService(
+            outboxMessageRepository,
+            outboxDeadLetterRepository,
+            outboxRetryPolicy,
+            partitionCount
+        )
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxBacklogService::class)
+    fun outboxBacklogService(
+        outboxMessageRepository: OutboxMessageRepository,
+        outboxDeadLetterRepository: OutboxDeadLetterRepository,
+        @Value("\${valtimo.outbox.metrics.backlog-refresh-interval:PT10S}") refreshInterval: Duration
+    ): OutboxBacklogService {
+        return OutboxBacklogService(outboxMessageRepository, outboxDeadLetterRepository, refreshInterval)
+    }
+
     @Bean
     @ConditionalOnMissingBean(PollingPublisherJob::class)
     fun pollingPublisherJob(
@@ -119,4 +182,9 @@ class OutboxAutoConfiguration {
     fun mySqlOutboxMessageRepository(): JpaRepositoryFactoryBean<OutboxMessageRepository, OutboxMessage, UUID> {
         return JpaRepositoryFactoryBean(MySqlOutboxMessageRepository::class.java)
     }
+
+    @Bean
+    fun outboxDeadLetterRepository(): JpaRepositoryFactoryBean<OutboxDeadLetterRepository, OutboxDeadLetter, UUID> {
+        return JpaRepositoryFactoryBean(OutboxDeadLetterRepository::class.java)
+    }
 }
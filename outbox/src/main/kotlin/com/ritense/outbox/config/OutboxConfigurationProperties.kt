@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.config
+
+import com.ritense.outbox.domain.EventPayloadProjection
+import com.ritense.outbox.domain.OutboxMessageFormat
+import org.springframework.boot.context.properties.ConfigurationProperties
+import java.util.concurrent.ThreadLocalRandom
+
+/**
+ * Configures the format of the outbox messages and the events per event type. For example:
+ *
+ * valtimo.outbox.message-format=binary
+ * valtimo.outbox.buffer.enabled=true
+ * valtimo.outbox.events[com.ritense.valtimo.document.updated].coalesce=true
+ * valtimo.outbox.events[com.ritense.valtimo.document.viewed].sample-rate=0.1
+ * valtimo.outbox.events[com.ritense.valtimo.document.listed].projection=ids
+ */
+@ConfigurationProperties(prefix = "valtimo.outbox")
+data class OutboxConfigurationProperties(
+    val messageFormat: OutboxMessageFormat = OutboxMessageFormat.STRUCTURED,
+    val buffer: BufferConfiguration = BufferConfiguration(),
+    val events: Map<String, EventConfiguration> = emptyMap()
+) {
+
+    fun getEventConfiguration(type: String) = events[type] ?: DEFAULT_EVENT_CONFIGURATION
+
+    data class EventConfiguration(
+        val enabled: Boolean = true,
+        val sampleRate: Double = 1.0,
+        val projection: EventPayloadProjection = EventPayloadProjection.FULL,
+        val fields: List<String> = emptyList(),
+        val coalesce: Boolean = false
+    ) {
+
+        init {
+            require(sampleRate in 0.0..1.0) { "The sample rate of an outbox event must be between 0 and 1" }
+        }
+
+        /**
+         * Decides whether an event of this type is sent to the outbox.
+         */
+        fun isSampled() = enabled && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)
+    }
+
+    /**
+     * When enabled, the events of a transaction are written to the outbox in one batch just before the transaction
+     * commits. Events of types with 'coalesce' enabled replace earlier events with the same type and result id.
+     */
+    data class BufferConfiguration(
+        val enabled: Boolean = false,
+        val batchSize: Int = 50
+    )
+
+    companion object {
+        private val DEFAULT_EVENT_CONFIGURATION = EventConfiguration()
+    }
+}
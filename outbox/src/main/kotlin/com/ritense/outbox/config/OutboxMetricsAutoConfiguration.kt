@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.config
+
+import com.ritense.outbox.OutboxBacklogService
+import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
+import com.ritense.outbox.metrics.MicrometerOutboxMetrics
+import com.ritense.outbox.publisher.MessagePublisher
+import com.ritense.outbox.publisher.OutboxPublisherMetrics
+import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.AutoConfigureAfter
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.context.annotation.Bean
+
+@AutoConfiguration
+@ConditionalOnOutboxEnabled
+@AutoConfigureAfter(
+    value = [OutboxAutoConfiguration::class],
+    name = ["org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"]
+)
+@ConditionalOnClass(name = ["io.micrometer.core.instrument.MeterRegistry"])
+class OutboxMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry::class, OutboxBacklogService::class)
+    @ConditionalOnMissingBean(OutboxPublisherMetrics::class)
+    fun outboxPublisherMetrics(
+        meterRegistry: MeterRegistry,
+        outboxBacklogService: OutboxBacklogService,
+        messagePublisher: MessagePublisher
+    ): OutboxPublisherMetrics {
+        return MicrometerOutboxMetrics(meterRegistry, outboxBacklogService, messagePublisher)
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.config
+
+import com.ritense.outbox.config.condition.ConditionalOnOutboxEnabled
+import com.ritense.outbox.publisher.AfterCommitOutboxNotifier
+import com.ritense.outbox.publisher.OutboxNotifier
+import com.ritense.outbox.publisher.OutboxPublisherWakeUp
+import com.ritense.outbox.publisher.PollingPublisherService
+import com.ritense.outbox.publisher.PostgresOutboxListener
+import com.ritense.outbox.publisher.PostgresOutboxNotifier
+import org.springframework.boot.autoconfigure.AutoConfiguration
+import org.springframework.boot.autoconfigure.AutoConfigureAfter
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.context.annotation.Bean
+import org.springframework.jdbc.core.JdbcTemplate
+import javax.sql.DataSource
+
+/**
+ * Wakes up the outbox publisher as soon as new messages are committed. The scheduled poll remains as a fallback.
+ *
+ * On PostgreSQL, the publishers of all nodes are woken up with LISTEN/NOTIFY. On other databases, only the publisher of
+ * the node that saved the messages is woken up.
+ */
+@AutoConfiguration
+@ConditionalOnOutboxEnabled
+@ConditionalOnProperty(prefix = "valtimo.outbox.publisher.notify", name = ["enabled"], havingValue = "true")
+@AutoConfigureAfter(OutboxAutoConfiguration::class)
+class OutboxNotifyAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxPublisherWakeUp::class)
+    fun outboxPublisherWakeUp(
+        pollingPublisherService: PollingPublisherService
+    ): OutboxPublisherWakeUp {
+        return OutboxPublisherWakeUp(pollingPublisherService)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxNotifier::class)
+    @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "postgres")
+    fun postgresOutboxNotifier(
+        jdbcTemplate: JdbcTemplate
+    ): OutboxNotifier {
+        return PostgresOutboxNotifier(jdbcTemplate)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(PostgresOutboxListener::class)
+    @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "postgres")
+    fun postgresOutboxListener(
+        dataSource: DataSource,
+        applicationEventPublisher: ApplicationEventPublisher
+    ): PostgresOutboxListener {
+        return PostgresOutboxListener(dataSource, applicationEventPublisher)
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxNotifier::class)
+    @ConditionalOnProperty(prefix = "valtimo", name = ["database"], havingValue = "mysql", matchIfMissing = true)
+    fun afterCommitOutboxNotifier(
+        applicationEventPublisher: ApplicationEventPublisher
+    ): OutboxNotifier {
+        return AfterCommitOutboxNotifier(applicationEventPublisher)
+    }
+}
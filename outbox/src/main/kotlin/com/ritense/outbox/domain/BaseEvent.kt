@@ -19,7 +19,13 @@ package com.ritense.outbox.domain
 import com.fasterxml.jackson.databind.node.ContainerNode
 import java.time.LocalDateTime
 import java.util.UUID
+import java.util.function.Supplier
 
+/**
+ * An event that is sent to the outbox. The [result] can be supplied lazily, so it is only built when the event is
+ * actually sent. Events can be disabled or sampled per type, see
+ * [com.ritense.outbox.config.OutboxConfigurationProperties].
+ */
 abstract class BaseEvent(
     val id: UUID = UUID.randomUUID(),
     val type: String,
@@ -28,5 +34,19 @@ abstract class BaseEvent(
     val roles: Set<String> = setOf(),
     val resultType: String?,
     val resultId: String?,
-    val result: ContainerNode<*>?,
-)
\ No newline at end of file
+    private val resultSupplier: Supplier<out ContainerNode<*>?>,
+) {
+
+    constructor(
+        id: UUID = UUID.randomUUID(),
+        type: String,
+        date: LocalDateTime = LocalDateTime.now(),
+        userId: String? = null,
+        roles: Set<String> = setOf(),
+        resultType: String?,
+        resultId: String?,
+        result: ContainerNode<*>?,
+    ) : this(id, type, date, userId, roles, resultType, resultId, Supplier { result })
+
+    val result: ContainerNode<*>? by lazy { resultSupplier.get() }
+}
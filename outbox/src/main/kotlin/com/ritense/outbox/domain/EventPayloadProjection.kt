@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.domain
+
+import com.fasterxml.jackson.databind.node.ArrayNode
+import com.fasterxml.jackson.databind.node.ContainerNode
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.fasterxml.jackson.databind.node.ObjectNode
+
+/**
+ * Reduces the result of an event before it is written to the outbox. A projection of an array is applied to each of
+ * its elements.
+ */
+enum class EventPayloadProjection {
+
+    /**
+     * Keeps the complete result.
+     */
+    FULL {
+        override fun project(result: ContainerNode<*>?, fields: List<String>) = result
+    },
+
+    /**
+     * Keeps only the 'id' field.
+     */
+    IDS {
+        override fun project(result: ContainerNode<*>?, fields: List<String>) = FIELDS.project(result, ID_FIELDS)
+    },
+
+    /**
+     * Keeps only the configured fields. Nested fields are selected with a dot, for example 'content.firstName'.
+     */
+    FIELDS {
+        override fun project(result: ContainerNode<*>?, fields: List<String>): ContainerNode<*>? {
+            return when (result) {
+                is ArrayNode -> JsonNodeFactory.instance.arrayNode(result.size()).apply {
+                    result.forEach { element -> add(if (element is ContainerNode<*>) project(element, fields) else element) }
+                }
+                is ObjectNode -> JsonNodeFactory.instance.objectNode().apply {
+                    fields.forEach { field -> copyField(result, this, field.split('.')) }
+                }
+                else -> result
+            }
+        }
+    },
+
+    /**
+     * Leaves the result out. The event still contains the result type and id.
+     */
+    NONE {
+        override fun project(result: ContainerNode<*>?, fields: List<String>): ContainerNode<*>? = null
+    };
+
+    abstract fun project(result: ContainerNode<*>?, fields: List<String>): ContainerNode<*>?
+
+    companion object {
+        private val ID_FIELDS = listOf("id")
+
+        private fun copyField(source: ObjectNode, target: ObjectNode, path: List<String>) {
+            val value = source.get(path.first()) ?: return
+            if (path.size == 1) {
+                target.set<ObjectNode>(path.first(), value.deepCopy())
+            } else if (value is ObjectNode) {
+                val nestedTarget = target.get(path.first()) as? ObjectNode ?: target.putObject(path.first())
+                copyField(value, nestedTarget, path.drop(1))
+            }
+        }
+    }
+}
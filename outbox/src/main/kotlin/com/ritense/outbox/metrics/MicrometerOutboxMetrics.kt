@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.metrics
+
+import com.ritense.outbox.OutboxBacklogService
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.publisher.MessagePublisher
+import com.ritense.outbox.publisher.OutboxPublisherMetrics
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.DistributionSummary
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tag
+import io.micrometer.core.instrument.TimeGauge
+import io.micrometer.core.instrument.Timer
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+/**
+ * Micrometer metrics of the outbox:
+ *
+ * - `valtimo.outbox.backlog.size`: messages in the outbox
+ * - `valtimo.outbox.backlog.retrying`: messages in the outbox that wait for a retry
+ * - `valtimo.outbox.backlog.oldest.age`: how long the oldest message has been waiting
+ * - `valtimo.outbox.dead.letters`: messages in the dead-letter table
+ * - `valtimo.outbox.publish`: latency of the publisher, tagged with the publisher and the outcome
+ * - `valtimo.outbox.publish.batch.size`: number of messages per call to the publisher
+ * - `valtimo.outbox.publish.failures`: failed messages, tagged with the publisher and the event type
+ *
+ * The backlog gauges are measured by the [OutboxBacklogService].
+ */
+class MicrometerOutboxMetrics(
+    private val meterRegistry: MeterRegistry,
+    outboxBacklogService: OutboxBacklogService,
+    messagePublisher: MessagePublisher
+) : OutboxPublisherMetrics {
+
+    private val publisherTag = Tag.of("publisher", messagePublisher::class.java.simpleName)
+    private val publishedTimer = publishTimer("success")
+    private val failedTimer = publishTimer("failure")
+    private val batchSizeSummary = DistributionSummary.builder("valtimo.outbox.publish.batch.size")
+        .description("Number of outbox messages per call to the publisher")
+        .baseUnit("messages")
+        .tags(listOf(publisherTag))
+        .register(meterRegistry)
+
+    init {
+        Gauge.builder("valtimo.outbox.backlog.size", outboxBacklogService) { it.getBacklog().size.toDouble() }
+            .description("Number of messages in the outbox")
+            .baseUnit("messages")
+            .register(meterRegistry)
+        Gauge.builder("valtimo.outbox.backlog.retrying", outboxBacklogService) { it.getBacklog().waitingForRetry.toDouble() }
+            .description("Number of messages in the outbox that wait for a retry")
+            .baseUnit("messages")
+            .register(meterRegistry)
+        TimeGauge.builder("valtimo.outbox.backlog.oldest.age", outboxBacklogService, TimeUnit.MILLISECONDS) {
+            it.getBacklog().oldestMessageAge().toMillis().toDouble()
+        }
+            .description("Time the oldest message in the outbox has been waiting to be published")
+            .register(meterRegistry)
+        Gauge.builder("valtimo.outbox.dead.letters", outboxBacklogService) { it.getBacklog().deadLetters.toDouble() }
+            .description("Number of messages in the outbox dead-letter table")
+            .baseUnit("messages")
+            .register(meterRegistry)
+    }
+
+    override fun recordPublished(batchSize: Int, duration: Duration) {
+        publishedTimer.record(duration)
+        batchSizeSummary.record(batchSize.toDouble())
+    }
+
+    override fun recordFailure(failedMessage: OutboxMessage?, batchSize: Int, duration: Duration) {
+        failedTimer.record(duration)
+        batchSizeSummary.record(batchSize.toDouble())
+        Counter.builder("valtimo.outbox.publish.failures")
+            .description("Number of outbox messages that failed to publish")
+            .tags(listOf(publisherTag, Tag.of("type", eventTypeOf(failedMessage))))
+            .register(meterRegistry)
+            .increment()
+    }
+
+    private fun publishTimer(outcome: String) = Timer.builder("valtimo.outbox.publish")
+        .description("Time to publish outbox messages")
+        .tags(listOf(publisherTag, Tag.of("outcome", outcome)))
+        .register(meterRegistry)
+
+    private fun eventTypeOf(message: OutboxMessage?): String {
+        return message?.let { runCatching { it.eventType() }.getOrNull() } ?: UNKNOWN_TYPE
+    }
+
+    companion object {
+        private const val UNKNOWN_TYPE = "unknown"
+    }
+}
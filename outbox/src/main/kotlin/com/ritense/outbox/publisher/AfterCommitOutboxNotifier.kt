@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * Wakes up the publisher of this JVM after the transaction that saved outbox messages has been committed. Messages
+ * saved on other nodes are still picked up by the scheduled poll.
+ */
+class AfterCommitOutboxNotifier(
+    private val applicationEventPublisher: ApplicationEventPublisher
+) : OutboxNotifier {
+
+    override fun messageSaved() {
+        if (TransactionSynchronizationManager.hasResource(TRANSACTION_KEY)) {
+            return
+        }
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, true)
+        TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+            override fun afterCommit() {
+                applicationEventPublisher.publishEvent(OutboxWakeUpEvent())
+            }
+
+            override fun afterCompletion(status: Int) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY)
+            }
+        })
+    }
+
+    companion object {
+        private val TRANSACTION_KEY = AfterCommitOutboxNotifier::class.java.name
+    }
+}
@@ -20,5 +20,26 @@ import com.ritense.outbox.OutboxMessage
 
 interface MessagePublisher {
 
+    /**
+     * Publishes the message. A binary message ([OutboxMessage.isBinary]) should be sent in the binary content mode of
+     * the protocol, with [OutboxMessage.cloudEventAttributes] as headers. Publishers that cannot do this can send
+     * [OutboxMessage.toCloudEvent] in structured mode instead.
+     */
     fun publish(message: OutboxMessage)
+
+    /**
+     * Publishes the messages in the given order. The call may only return when every message has been published.
+     * Publishers that can send several messages in one round-trip should override this method.
+     *
+     * @throws BatchPublishingFailed when only the first messages of the list were published
+     */
+    fun publishAll(messages: List<OutboxMessage>) {
+        messages.forEachIndexed { index, message ->
+            try {
+                publish(message)
+            } catch (e: Exception) {
+                throw BatchPublishingFailed(index, e)
+            }
+        }
+    }
 }
@@ -16,4 +16,7 @@
 
 package com.ritense.outbox.publisher
 
-class MessagePublishingFailed(message: String) : RuntimeException(message)
\ No newline at end of file
+open class MessagePublishingFailed @JvmOverloads constructor(
+    message: String,
+    cause: Throwable? = null
+) : RuntimeException(message, cause)
\ No newline at end of file
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import mu.KotlinLogging
+import org.springframework.context.event.EventListener
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Runs the [PollingPublisherService] on a separate thread when an [OutboxWakeUpEvent] is received. Wake-ups that
+ * arrive while a run is still waiting to start are merged into that run.
+ */
+open class OutboxPublisherWakeUp(
+    private val pollingPublisherService: PollingPublisherService
+) {
+    private val pending = AtomicBoolean(false)
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor { runnable ->
+        Thread(runnable, "outbox-publisher-wake-up").apply { isDaemon = true }
+    }
+
+    @EventListener(OutboxWakeUpEvent::class)
+    open fun wakeUp() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute {
+                pending.set(false)
+                try {
+                    pollingPublisherService.pollAndPublishAll()
+                } catch (e: Exception) {
+                    logger.warn(e) { "Failed to publish outbox messages after wake-up" }
+                }
+            }
+        }
+    }
+
+    open fun shutdown() {
+        executor.shutdownNow()
+    }
+
+    companion object {
+        private val logger = KotlinLogging.logger {}
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import java.time.Duration
+import java.time.LocalDateTime
+
+/**
+ * Decides when a message that failed to publish is retried. The delay doubles with every attempt, starting at
+ * [initialBackoff] and limited to [maxBackoff]. After [maxAttempts] failed attempts the message is dead-lettered.
+ */
+data class OutboxRetryPolicy(
+    val maxAttempts: Int = 10,
+    val initialBackoff: Duration = Duration.ofSeconds(10),
+    val maxBackoff: Duration = Duration.ofHours(1)
+) {
+
+    init {
+        require(maxAttempts > 0) { "The maximum number of outbox publish attempts must be at least 1" }
+    }
+
+    fun isExhausted(attempts: Int) = attempts >= maxAttempts
+
+    fun nextAttemptOn(attempts: Int, now: LocalDateTime): LocalDateTime {
+        val multiplier = 1L shl (attempts - 1).coerceIn(0, 30)
+        val backoff = initialBackoff.multipliedBy(multiplier)
+        return now.plus(if (backoff > maxBackoff) maxBackoff else backoff)
+    }
+}
@@ -16,41 +16,81 @@
 
 package com.ritense.outbox.publisher
 
+import com.ritense.outbox.OutboxDeadLetterService
+import com.ritense.outbox.OutboxMessage
 import com.ritense.outbox.ValtimoOutboxService
 import mu.KotlinLogging
 import org.springframework.transaction.PlatformTransactionManager
 import org.springframework.transaction.support.TransactionTemplate
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.random.Random
 
+/**
+ * Publishes the messages of the outbox table.
+ *
+ * With one partition, all messages are published one at a time in the order they were created. With more partitions,
+ * ordering only holds within a partition. The partitions are then published in parallel by [workers] threads per node.
+ * A worker locks the row of a partition in `outbox_partition` while it publishes, so every partition is published by
+ * one worker of one node at a time.
+ */
 open class PollingPublisherService(
     private val outboxService: ValtimoOutboxService,
     private val messagePublisher: MessagePublisher,
-    private val platformTransactionManager: PlatformTransactionManager
+    private val platformTransactionManager: PlatformTransactionManager,
+    private val batchSize: Int = 1,
+    private val partitionCount: Int = 1,
+    private val workers: Int = 1,
+    private val deadLetterService: OutboxDeadLetterService? = null,
+    private val metrics: OutboxPublisherMetrics = OutboxPublisherMetrics.NOOP
 ) {
     private val polling = AtomicBoolean(false)
+    private val partitionsCreated = AtomicBoolean(false)
 
     init {
+        require(batchSize > 0) { "The outbox publisher batch size must be at least 1" }
+        require(partitionCount > 0) { "The outbox partition count must be at least 1" }
+        require(workers > 0) { "The number of outbox publisher workers must be at least 1" }
         logger.info { "Using ${messagePublisher::class.qualifiedName} as outbox message publisher." }
     }
 
+    private val executor: ExecutorService? = if (partitionCount > 1) {
+        val threadNumber = AtomicInteger()
+        Executors.newFixedThreadPool(workers) { runnable ->
+            Thread(runnable, "outbox-publisher-${threadNumber.incrementAndGet()}").apply { isDaemon = true }
+        }
+    } else {
+        null
+    }
+
     /**
      * Poll messages from the outbox table and publishes them in the correct order.
      */
     open fun pollAndPublishAll() {
         if (polling.compareAndSet(false, true)) {
             try {
-                do {
-                    TransactionTemplate(platformTransactionManager).executeWithoutResult {
-                        val oldestMessage = outboxService.getOldestMessage()
-                        if (oldestMessage != null) {
-                            logger.debug { "Sending OutboxMessage '${oldestMessage.id}'" }
-                            messagePublisher.publish(oldestMessage)
-                            outboxService.deleteMessage(oldestMessage.id)
-                        } else {
+                if (executor != null) {
+                    pollAndPublishPartitions(executor)
+                } else {
+                    do {
+                        val failure = TransactionTemplate(platformTransactionManager).execute {
+                            if (batchSize > 1) publishBatch() else publishOldest()
+                        }
+                        if (failure != null) {
+                            if (!isRetried(failure)) {
+                                throw failure
+                            }
+                            // The failed message waits for its retry. The next poll continues with the other messages.
                             polling.set(false)
                         }
-                    }
-                } while (polling.get())
+                    } while (polling.get())
+                }
             } catch (e: Exception) {
                 throw RuntimeException("Failed to poll and publish outbox messages", e)
             } finally {
@@ -59,6 +99,147 @@ open class PollingPublisherService(
         }
     }
 
+    open fun shutdown() {
+        executor?.shutdownNow()
+    }
+
+    /**
+     * Lets the workers take the partitions one by one, starting at a random partition so the nodes start at different
+     * partitions. A failing partition does not stop the other partitions. Failures that are not handled by the
+     * [deadLetterService] are thrown at the end.
+     */
+    private fun pollAndPublishPartitions(executor: ExecutorService) {
+        if (!partitionsCreated.get()) {
+            TransactionTemplate(platformTransactionManager).executeWithoutResult { outboxService.createPartitions() }
+            partitionsCreated.set(true)
+        }
+        val offset = Random.nextInt(partitionCount)
+        val next = AtomicInteger()
+        val failure = AtomicReference<Exception>()
+        val tasks = (1..minOf(workers, partitionCount)).map {
+            CompletableFuture.runAsync({
+                var index = next.getAndIncrement()
+                while (index < partitionCount) {
+                    val partition = (offset + index) % partitionCount
+                    try {
+                        publishPartition(partition)
+                    } catch (e: Exception) {
+                        logger.warn(e) { "Failed to publish outbox messages of partition $partition" }
+                        failure.compareAndSet(null, e)
+                    }
+                    index = next.getAndIncrement()
+                }
+            }, executor)
+        }
+        try {
+            CompletableFuture.allOf(*tasks.toTypedArray()).join()
+        } catch (e: CompletionException) {
+            throw e.cause ?: e
+        }
+        failure.get()?.let { throw it }
+    }
+
+    private fun publishPartition(partition: Int) {
+        do {
+            var published = false
+            val failure = TransactionTemplate(platformTransactionManager).execute {
+                if (!outboxService.lockPartition(partition)) {
+                    return@execute null
+                }
+                val messages = outboxService.getOldestMessages(partition, batchSize)
+                if (messages.isEmpty()) {
+                    return@execute null
+                }
+                published = true
+                publishAndDelete(messages)
+            }
+            if (failure != null) {
+                if (!isRetried(failure)) {
+                    throw failure
+                }
+                return
+            }
+        } while (published)
+    }
+
+    private fun publishOldest(): Exception? {
+        val oldestMessage = outboxService.getOldestMessage()
+        if (oldestMessage == null) {
+            polling.set(false)
+            return null
+        }
+        logger.debug { "Sending OutboxMessage '${oldestMessage.id}'" }
+        return try {
+            measure(listOf(oldestMessage)) { messagePublisher.publish(oldestMessage) }
+            outboxService.deleteMessage(oldestMessage.id)
+            null
+        } catch (e: Exception) {
+            rejection(e)?.let { deadLetterService?.recordFailure(oldestMessage, it) }
+            e
+        }
+    }
+
+    /**
+     * Claims up to [batchSize] of the oldest messages, publishes them in order and deletes them in one statement.
+     * When publishing fails, only the messages that were published before the failure are deleted, so the failed
+     * message and the rest of the batch are retried in order. When the broker rejected the message, the failure is
+     * recorded by the [deadLetterService], which delays its retry.
+     *
+     * @return the failure, which must be handled after the changes to the outbox have been committed
+     */
+    private fun publishBatch(): Exception? {
+        val messages = outboxService.getOldestMessages(batchSize)
+        if (messages.isEmpty()) {
+            polling.set(false)
+            return null
+        }
+        return publishAndDelete(messages)
+    }
+
+    private fun publishAndDelete(messages: List<OutboxMessage>): Exception? {
+        logger.debug { "Sending ${messages.size} OutboxMessages starting with '${messages.first().id}'" }
+        return try {
+            measure(messages) { messagePublisher.publishAll(messages) }
+            outboxService.deleteMessages(messages.map { it.id })
+            null
+        } catch (e: BatchPublishingFailed) {
+            val published = messages.take(e.publishedCount)
+            if (published.isNotEmpty()) {
+                outboxService.deleteMessages(published.map { it.id })
+            }
+            if (e.publishedCount < messages.size) {
+                rejection(e)?.let { deadLetterService?.recordFailure(messages[e.publishedCount], it) }
+            }
+            e
+        }
+    }
+
+    /**
+     * Only a rejection of the message itself counts as a failed attempt. When the broker cannot be reached, every
+     * message would fail the same way, so the failure is thrown and the messages stay untouched until the next poll.
+     */
+    private fun rejection(e: Exception): MessageRejected? {
+        return when (e) {
+            is MessageRejected -> e
+            is BatchPublishingFailed -> e.cause as? MessageRejected
+            else -> null
+        }
+    }
+
+    private fun isRetried(failure: Exception) = deadLetterService != null && rejection(failure) != null
+
+    private fun measure(messages: List<OutboxMessage>, publish: () -> Unit) {
+        val start = System.nanoTime()
+        try {
+            publish()
+        } catch (e: Exception) {
+            val failedMessage = if (e is BatchPublishingFailed) messages.getOrNull(e.publishedCount) else messages.first()
+            metrics.recordFailure(failedMessage, messages.size, Duration.ofNanos(System.nanoTime() - start))
+            throw e
+        }
+        metrics.recordPublished(messages.size, Duration.ofNanos(System.nanoTime() - start))
+    }
+
     companion object {
         val logger = KotlinLogging.logger {}
     }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import mu.KotlinLogging
+import org.postgresql.PGConnection
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.context.SmartLifecycle
+import java.time.Duration
+import javax.sql.DataSource
+
+/**
+ * Listens for the notifications of the [PostgresOutboxNotifier] and wakes up the publisher when they arrive.
+ *
+ * The listener keeps one connection of the pool open while the application is running. When the connection is lost,
+ * it reconnects after [reconnectDelay] and wakes up the publisher once, so no notification is missed in between.
+ */
+class PostgresOutboxListener(
+    private val dataSource: DataSource,
+    private val applicationEventPublisher: ApplicationEventPublisher,
+    private val reconnectDelay: Duration = Duration.ofSeconds(5)
+) : SmartLifecycle {
+
+    @Volatile
+    private var running = false
+    private var thread: Thread? = null
+
+    override fun start() {
+        running = true
+        thread = Thread(::listen, "outbox-listener").apply {
+            isDaemon = true
+            start()
+        }
+    }
+
+    override fun stop() {
+        running = false
+        thread?.interrupt()
+        thread = null
+    }
+
+    override fun isRunning() = running
+
+    private fun listen() {
+        while (running) {
+            try {
+                dataSource.connection.use { connection ->
+                    connection.autoCommit = true
+                    connection.createStatement().use { it.execute("LISTEN ${PostgresOutboxNotifier.CHANNEL}") }
+                    val pgConnection = connection.unwrap(PGConnection::class.java)
+                    logger.debug { "Listening for outbox notifications" }
+                    applicationEventPublisher.publishEvent(OutboxWakeUpEvent())
+                    while (running) {
+                        val notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS)
+                        if (!notifications.isNullOrEmpty()) {
+                            applicationEventPublisher.publishEvent(OutboxWakeUpEvent())
+                        }
+                    }
+                }
+            } catch (e: Exception) {
+                if (running) {
+                    logger.warn(e) { "Lost connection for outbox notifications. Reconnecting in $reconnectDelay" }
+                    try {
+                        Thread.sleep(reconnectDelay.toMillis())
+                    } catch (interrupted: InterruptedException) {
+                        Thread.currentThread().interrupt()
+                        return
+                    }
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val POLL_TIMEOUT_MILLIS = 1000
+        private val logger = KotlinLogging.logger {}
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+
+/**
+ * Sends a PostgreSQL NOTIFY in the transaction that saved outbox messages. PostgreSQL only delivers the notification
+ * when the transaction commits, and delivers it to the [PostgresOutboxListener] of every node.
+ */
+class PostgresOutboxNotifier(
+    private val jdbcTemplate: JdbcTemplate
+) : OutboxNotifier {
+
+    override fun messageSaved() {
+        if (TransactionSynchronizationManager.hasResource(TRANSACTION_KEY)) {
+            return
+        }
+        jdbcTemplate.execute("NOTIFY $CHANNEL")
+        TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, true)
+        TransactionSynchronizationManager.registerSynchronization(object : TransactionSynchronization {
+            override fun afterCompletion(status: Int) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY)
+            }
+        })
+    }
+
+    companion object {
+        const val CHANNEL = "valtimo_outbox"
+        private val TRANSACTION_KEY = PostgresOutboxNotifier::class.java.name
+    }
+}
@@ -18,11 +18,50 @@ package com.ritense.outbox.repository
 
 import com.ritense.outbox.OutboxMessage
 import org.springframework.data.jpa.repository.JpaRepository
+import org.springframework.data.jpa.repository.Modifying
+import org.springframework.data.jpa.repository.Query
 import org.springframework.data.repository.NoRepositoryBean
+import org.springframework.data.repository.query.Param
+import java.time.LocalDateTime
 import java.util.UUID
 
 @NoRepositoryBean
 interface OutboxMessageRepository : JpaRepository<OutboxMessage, UUID> {
 
-    fun findOutboxMessage(): OutboxMessage?
+    /**
+     * Finds the oldest message that can be published: messages that wait for a retry, and later messages with the same
+     * partition key, are skipped.
+     */
+    fun findOutboxMessage(now: LocalDateTime): OutboxMessage?
+
+    fun findOutboxMessages(limit: Int, now: LocalDateTime): List<OutboxMessage>
+
+    fun findOutboxMessages(partition: Int, limit: Int, now: LocalDateTime): List<OutboxMessage>
+
+    /**
+     * Locks the partition for the current transaction.
+     *
+     * @return the partition, or null when the partition is locked by another transaction
+     */
+    fun lockPartition(partition: Int): Int?
+
+    fun createPartition(partition: Int)
+
+    @Query("SELECT MIN(m.createdOn) FROM OutboxMessage m")
+    fun findOldestCreatedOn(): LocalDateTime?
+
+    @Query("SELECT COUNT(m) FROM OutboxMessage m WHERE m.nextAttemptOn > :now")
+    fun countWaitingForRetry(@Param("now") now: LocalDateTime): Long
+
+    @Modifying
+    @Query(
+        "UPDATE OutboxMessage m SET m.attempts = :attempts, m.nextAttemptOn = :nextAttemptOn, m.lastError = :lastError " +
+            "WHERE m.id = :id"
+    )
+    fun updateAttempts(
+        @Param("id") id: UUID,
+        @Param("attempts") attempts: Int,
+        @Param("nextAttemptOn") nextAttemptOn: LocalDateTime,
+        @Param("lastError") lastError: String?
+    )
 }
@@ -18,12 +18,41 @@ package com.ritense.outbox.repository.impl
 
 import com.ritense.outbox.OutboxMessage
 import com.ritense.outbox.repository.OutboxMessageRepository
+import org.springframework.data.jpa.repository.Modifying
 import org.springframework.data.jpa.repository.Query
 import org.springframework.data.repository.NoRepositoryBean
+import org.springframework.data.repository.query.Param
+import java.time.LocalDateTime
 
 @NoRepositoryBean
 interface MySqlOutboxMessageRepository : OutboxMessageRepository {
 
-    @Query("SELECT * FROM outbox_message LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
-    override fun findOutboxMessage(): OutboxMessage?
+    @Query(
+        "SELECT * FROM outbox_message m WHERE NOT EXISTS (SELECT 1 FROM outbox_message b WHERE b.next_attempt_on > :now AND b.partition_key <=> m.partition_key AND b.created_on <= m.created_on) ORDER BY m.created_on ASC LIMIT 1 FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    override fun findOutboxMessage(@Param("now") now: LocalDateTime): OutboxMessage?
+
+    @Query(
+        "SELECT * FROM outbox_message m WHERE NOT EXISTS (SELECT 1 FROM outbox_message b WHERE b.next_attempt_on > :now AND b.partition_key <=> m.partition_key AND b.created_on <= m.created_on) ORDER BY m.created_on ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    override fun findOutboxMessages(@Param("limit") limit: Int, @Param("now") now: LocalDateTime): List<OutboxMessage>
+
+    @Query(
+        "SELECT * FROM outbox_message m WHERE m.partition_number = :partition AND NOT EXISTS (SELECT 1 FROM outbox_message b WHERE b.next_attempt_on > :now AND b.partition_key <=> m.partition_key AND b.created_on <= m.created_on) ORDER BY m.created_on ASC LIMIT :limit",
+        nativeQuery = true
+    )
+    override fun findOutboxMessages(
+        @Param("partition") partition: Int,
+        @Param("limit") limit: Int,
+        @Param("now") now: LocalDateTime
+    ): List<OutboxMessage>
+
+    @Query("SELECT partition_number FROM outbox_partition WHERE partition_number = :partition FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    override fun lockPartition(@Param("partition") partition: Int): Int?
+
+    @Modifying
+    @Query("INSERT IGNORE INTO outbox_partition (partition_number) VALUES (:partition)", nativeQuery = true)
+    override fun createPartition(@Param("partition") partition: Int)
 }
\ No newline at end of file
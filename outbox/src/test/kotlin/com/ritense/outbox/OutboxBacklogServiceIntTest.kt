@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox
+
+import com.ritense.outbox.actuator.OutboxEndpoint
+import com.ritense.outbox.repository.OutboxDeadLetterRepository
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.springframework.beans.factory.annotation.Autowired
+import java.time.Duration
+import java.time.LocalDateTime
+
+class OutboxBacklogServiceIntTest : BaseIntegrationTest() {
+
+    @Autowired
+    lateinit var outboxDeadLetterRepository: OutboxDeadLetterRepository
+
+    @Test
+    fun `should measure the backlog of the outbox`() {
+        val oldest = LocalDateTime.now().minusMinutes(10)
+        outboxMessageRepository.save(OutboxMessage(message = "oldest", createdOn = oldest))
+        outboxMessageRepository.save(
+            OutboxMessage(message = "retrying", attempts = 1, nextAttemptOn = LocalDateTime.now().plusMinutes(1))
+        )
+        val outboxBacklogService = OutboxBacklogService(outboxMessageRepository, outboxDeadLetterRepository, Duration.ZERO)
+
+        val backlog = outboxBacklogService.getBacklog()
+
+        assertThat(backlog.size).isEqualTo(2)
+        assertThat(backlog.waitingForRetry).isEqualTo(1)
+        assertThat(backlog.deadLetters).isZero()
+        assertThat(backlog.oldestMessageAge()).isGreaterThanOrEqualTo(Duration.ofMinutes(10))
+        assertThat(OutboxEndpoint(outboxBacklogService, Duration.ofMinutes(5)).outbox()["status"])
+            .isEqualTo(OutboxEndpoint.STATUS_DELAYED)
+    }
+
+    @Test
+    fun `should reuse the measurement within the refresh interval`() {
+        val outboxBacklogService = OutboxBacklogService(outboxMessageRepository, outboxDeadLetterRepository, Duration.ofHours(1))
+        val measured = outboxBacklogService.getBacklog()
+
+        outboxMessageRepository.save(OutboxMessage(message = "new"))
+
+        assertThat(outboxBacklogService.getBacklog()).isSameAs(measured)
+        assertThat(measured.size).isZero()
+        assertThat(OutboxEndpoint(outboxBacklogService, Duration.ofMinutes(5)).outbox()["status"])
+            .isEqualTo(OutboxEndpoint.STATUS_UP)
+    }
+}
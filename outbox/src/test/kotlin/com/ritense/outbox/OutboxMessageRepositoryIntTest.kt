@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.transaction.PlatformTransactionManager
 import org.springframework.transaction.support.TransactionTemplate
+import java.time.LocalDateTime
 
 class OutboxMessageRepositoryIntTest : BaseIntegrationTest() {
 
@@ -37,7 +38,7 @@ class OutboxMessageRepositoryIntTest : BaseIntegrationTest() {
 
         val outboxMessage1Ref = async(Dispatchers.IO) {
             TransactionTemplate(platformTransactionManager).execute {
-                val outboxMessage = outboxMessageRepository.findOutboxMessage()
+                val outboxMessage = outboxMessageRepository.findOutboxMessage(LocalDateTime.now())
                 Thread.sleep(1000)
                 outboxMessage
             }
@@ -45,7 +46,7 @@ class OutboxMessageRepositoryIntTest : BaseIntegrationTest() {
 
         val outboxMessage2Ref = async(Dispatchers.IO) {
             TransactionTemplate(platformTransactionManager).execute {
-                val outboxMessage = outboxMessageRepository.findOutboxMessage()
+                val outboxMessage = outboxMessageRepository.findOutboxMessage(LocalDateTime.now())
                 Thread.sleep(1000)
                 outboxMessage
             }
@@ -19,21 +19,33 @@ package com.ritense.outbox
 import com.fasterxml.jackson.databind.node.ObjectNode
 import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
 import com.fasterxml.jackson.module.kotlin.readValue
+import com.ritense.outbox.config.OutboxConfigurationProperties
 import com.ritense.outbox.domain.BaseEvent
+import com.ritense.outbox.domain.OutboxMessageFormat
 import com.ritense.outbox.exception.OutboxTransactionReadOnlyException
+import jakarta.persistence.EntityManager
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.security.test.context.support.WithMockUser
 import org.springframework.transaction.IllegalTransactionStateException
+import org.springframework.transaction.PlatformTransactionManager
 import org.springframework.transaction.annotation.Transactional
+import org.springframework.transaction.support.TransactionTemplate
+import java.util.function.Supplier
 
 class ValtimoOutboxServiceIntTest : BaseIntegrationTest() {
 
     @Autowired
     lateinit var outboxService: ValtimoOutboxService
 
+    @Autowired
+    lateinit var entityManager: EntityManager
+
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
     @Test
     @Transactional
     fun `should create OutboxMessage`() {
@@ -115,6 +127,130 @@ class ValtimoOutboxServiceIntTest : BaseIntegrationTest() {
         assertThat(roles).containsExactlyInAnyOrder("ADMIN", "USER")
     }
 
+    @Test
+    @Transactional
+    fun `should not build the result of a disabled event type`() {
+        var resultBuilt = false
+
+        outboxService.send {
+            LazyTestEvent("test.disabled") {
+                resultBuilt = true
+                jacksonObjectMapper().createObjectNode()
+            }
+        }
+
+        assertThat(outboxMessageRepository.findAll()).isEmpty()
+        assertThat(resultBuilt).isFalse()
+    }
+
+    @Test
+    @Transactional
+    fun `should project the result to the configured fields`() {
+        outboxService.send {
+            LazyTestEvent("test.projected") {
+                objectMapper.readValue<ObjectNode>(
+                    """{"name":"textBook","price":10,"address":{"city":"Amsterdam","street":"Dam"}}"""
+                )
+            }
+        }
+
+        val messages = outboxMessageRepository.findAll()
+        assertThat(messages.size).isEqualTo(1)
+        val result: ObjectNode = objectMapper.readValue(messages[0].message)
+        assertThat(result["data"]["result"].toString()).isEqualTo("""{"name":"textBook","address":{"city":"Amsterdam"}}""")
+    }
+
+    @Test
+    @Transactional
+    fun `should save the data compressed when the binary message format is configured`() {
+        val binaryOutboxService = ValtimoOutboxService(
+            outboxMessageRepository,
+            objectMapper,
+            UserProvider(),
+            "application",
+            outboxConfigurationProperties = OutboxConfigurationProperties(messageFormat = OutboxMessageFormat.BINARY)
+        )
+
+        binaryOutboxService.send { TestEvent() }
+
+        val message = outboxMessageRepository.findAll().single()
+        assertThat(message.isBinary()).isTrue()
+        assertThat(message.contentEncoding).isEqualTo(OutboxMessage.GZIP)
+        val attributes: ObjectNode = objectMapper.readValue(message.message)
+        assertThat(attributes.has("data")).isFalse()
+        assertThat(message.cloudEventAttributes()).containsEntry("type", "test")
+        val data: ObjectNode = objectMapper.readValue(message.decodeData()!!)
+        assertThat(data["userId"].textValue()).isEqualTo("System")
+        assertThat(message.toCloudEvent().data!!.toBytes()).isEqualTo(message.decodeData())
+    }
+
+    @Test
+    fun `should coalesce buffered events and save them before the transaction commits`() {
+        val bufferedOutboxService = ValtimoOutboxService(
+            outboxMessageRepository,
+            objectMapper,
+            UserProvider(),
+            "application",
+            outboxConfigurationProperties = OutboxConfigurationProperties(
+                buffer = OutboxConfigurationProperties.BufferConfiguration(enabled = true),
+                events = mapOf("test.coalesced" to OutboxConfigurationProperties.EventConfiguration(coalesce = true))
+            ),
+            entityManager = entityManager
+        )
+        val builtResults = mutableListOf<String>()
+
+        TransactionTemplate(platformTransactionManager).executeWithoutResult {
+            listOf("first", "second", "last").forEach { name ->
+                bufferedOutboxService.send {
+                    LazyTestEvent("test.coalesced") {
+                        builtResults.add(name)
+                        objectMapper.createObjectNode().put("name", name)
+                    }
+                }
+            }
+            bufferedOutboxService.send { TestEvent() }
+
+            assertThat(outboxMessageRepository.count()).isZero()
+        }
+
+        val messages = outboxMessageRepository.findAll()
+        assertThat(messages.size).isEqualTo(2)
+        assertThat(builtResults).containsExactly("last")
+        val results = messages.map { objectMapper.readValue<ObjectNode>(it.message)["type"].textValue() }
+        assertThat(results).containsExactlyInAnyOrder("test.coalesced", "test")
+    }
+
+    @Test
+    fun `should not coalesce buffered events past another event of the same aggregate`() {
+        val bufferedOutboxService = ValtimoOutboxService(
+            outboxMessageRepository,
+            objectMapper,
+            UserProvider(),
+            "application",
+            outboxConfigurationProperties = OutboxConfigurationProperties(
+                buffer = OutboxConfigurationProperties.BufferConfiguration(enabled = true),
+                events = mapOf("test.coalesced" to OutboxConfigurationProperties.EventConfiguration(coalesce = true))
+            ),
+            entityManager = entityManager
+        )
+        val builtResults = mutableListOf<String>()
+
+        TransactionTemplate(platformTransactionManager).executeWithoutResult {
+            listOf("test.coalesced" to "first", "test" to "intervening", "test.coalesced" to "second", "test.coalesced" to "last")
+                .forEach { (type, name) ->
+                    bufferedOutboxService.send {
+                        LazyTestEvent(type) {
+                            builtResults.add(name)
+                            objectMapper.createObjectNode().put("name", name)
+                        }
+                    }
+                }
+        }
+
+        assertThat(outboxMessageRepository.count()).isEqualTo(3)
+        assertThat(builtResults).containsExactly("first", "intervening", "last")
+    }
+
     data class OrderCreatedEvent(
         val name: String
     )
@@ -125,4 +261,11 @@ class ValtimoOutboxServiceIntTest : BaseIntegrationTest() {
         resultId = "test",
         result = jacksonObjectMapper().createObjectNode()
     )
+
+    class LazyTestEvent(type: String, result: Supplier<ObjectNode>) : BaseEvent(
+        type = type,
+        resultType = "test",
+        resultId = "test",
+        resultSupplier = result
+    )
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.outbox.publisher
+
+import com.ritense.outbox.BaseIntegrationTest
+import com.ritense.outbox.ValtimoOutboxService
+import com.ritense.outbox.test.OrderCreatedEvent
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.verify
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.TransactionTemplate
+
+@TestPropertySource(properties = ["valtimo.outbox.publisher.notify.enabled=true"])
+class OutboxPublisherWakeUpIntTest : BaseIntegrationTest() {
+
+    @Autowired
+    lateinit var outboxService: ValtimoOutboxService
+
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
+    @Test
+    fun `should publish message after commit without waiting for the scheduled poll`() {
+        TransactionTemplate(platformTransactionManager).executeWithoutResult {
+            outboxService.send(objectMapper.writeValueAsString(OrderCreatedEvent("textBook")))
+        }
+
+        verify(messagePublisher, timeout(5000)).publish(any())
+    }
+}
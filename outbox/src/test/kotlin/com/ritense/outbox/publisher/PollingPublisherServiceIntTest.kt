@@ -17,23 +17,59 @@
 package com.ritense.outbox.publisher
 
 import com.ritense.outbox.BaseIntegrationTest
+import com.ritense.outbox.OutboxBacklogService
+import com.ritense.outbox.OutboxDeadLetter
+import com.ritense.outbox.OutboxDeadLetterService
+import com.ritense.outbox.OutboxMessage
+import com.ritense.outbox.ValtimoOutboxService
+import com.ritense.outbox.metrics.MicrometerOutboxMetrics
+import com.ritense.outbox.repository.OutboxDeadLetterRepository
 import com.ritense.outbox.test.OrderCreatedEvent
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
 import org.mockito.kotlin.any
+import org.mockito.kotlin.argThat
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.atLeastOnce
+import org.mockito.kotlin.doThrow
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.transaction.PlatformTransactionManager
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.UUID
 
 class PollingPublisherServiceIntTest : BaseIntegrationTest() {
 
     @Autowired
     lateinit var pollingPublisherService: PollingPublisherService
 
+    @Autowired
+    lateinit var outboxService: ValtimoOutboxService
+
+    @Autowired
+    lateinit var platformTransactionManager: PlatformTransactionManager
+
+    @Autowired
+    lateinit var outboxDeadLetterRepository: OutboxDeadLetterRepository
+
+    @Autowired
+    lateinit var outboxDeadLetterService: OutboxDeadLetterService
+
+    @AfterEach
+    fun cleanUpDeadLetters() {
+        outboxDeadLetterRepository.deleteAll()
+    }
+
     @Test
     fun `should publish messages`() {
         insertOutboxMessage(OrderCreatedEvent("textBook"))
@@ -48,7 +84,7 @@ class PollingPublisherServiceIntTest : BaseIntegrationTest() {
         insertOutboxMessage(OrderCreatedEvent("event 1"))
         insertOutboxMessage(OrderCreatedEvent("event 2"))
         whenever(messagePublisher.publish(any())).then { Thread.sleep(1000) }
-        verify(outboxMessageRepository, times(0)).findOutboxMessage()
+        verify(outboxMessageRepository, times(0)).findOutboxMessage(any())
 
         listOf(
             async(Dispatchers.IO) { pollingPublisherService.pollAndPublishAll() },
@@ -60,7 +96,7 @@ class PollingPublisherServiceIntTest : BaseIntegrationTest() {
         // Poller 2: Polling is blocked. NO database read
         // Poller 1: read database. Find event 2
         // Poller 1: read database. Find NULL
-        verify(outboxMessageRepository, times(3)).findOutboxMessage()
+        verify(outboxMessageRepository, times(3)).findOutboxMessage(any())
     }
 
     @Test
@@ -68,7 +104,7 @@ class PollingPublisherServiceIntTest : BaseIntegrationTest() {
         insertOutboxMessage(OrderCreatedEvent("event 1"))
         insertOutboxMessage(OrderCreatedEvent("event 2"))
         whenever(messagePublisher.publish(any())).then { Thread.sleep(1000) }
-        verify(outboxMessageRepository, times(0)).findOutboxMessage()
+        verify(outboxMessageRepository, times(0)).findOutboxMessage(any())
 
         pollingPublisherService.pollAndPublishAll()
         pollingPublisherService.pollAndPublishAll()
@@ -78,6 +114,212 @@ class PollingPublisherServiceIntTest : BaseIntegrationTest() {
         // Poller 1: read database. Find event 2
         // Poller 1: read database. Find NULL
         // Poller 2: read database. Find NULL
-        verify(outboxMessageRepository, times(4)).findOutboxMessage()
+        verify(outboxMessageRepository, times(4)).findOutboxMessage(any())
+    }
+
+    @Test
+    fun `should publish and delete messages in batches`() {
+        val createdOn = LocalDateTime.now().minusMinutes(1)
+        for (event in 1..3) {
+            outboxMessageRepository.save(
+                OutboxMessage(
+                    message = objectMapper.writeValueAsString(OrderCreatedEvent("event $event")),
+                    createdOn = createdOn.plusSeconds(event.toLong())
+                )
+            )
+        }
+        val batchPublisherService = PollingPublisherService(
+            outboxService,
+            messagePublisher,
+            platformTransactionManager,
+            2
+        )
+
+        batchPublisherService.pollAndPublishAll()
+
+        val captor = argumentCaptor<List<OutboxMessage>>()
+        verify(messagePublisher, times(2)).publishAll(captor.capture())
+        assertThat(captor.allValues.map { it.size }).containsExactly(2, 1)
+        assertThat(captor.allValues.flatten().map { it.message }).containsExactly(
+            objectMapper.writeValueAsString(OrderCreatedEvent("event 1")),
+            objectMapper.writeValueAsString(OrderCreatedEvent("event 2")),
+            objectMapper.writeValueAsString(OrderCreatedEvent("event 3"))
+        )
+        assertThat(outboxMessageRepository.count()).isZero()
+    }
+
+    @Test
+    fun `should publish partitions in parallel and keep the order within a partition`() {
+        val partitionCount = 4
+        val keys = listOf("document-1", "document-2", "document-3")
+        for (event in 1..3) {
+            keys.forEach { key ->
+                outboxMessageRepository.save(
+                    OutboxMessage(
+                        message = "$key $event",
+                        createdOn = LocalDateTime.now().plusNanos(event * 1000L),
+                        partitionKey = key,
+                        partitionNumber = OutboxMessage.partitionOf(key, partitionCount)
+                    )
+                )
+            }
+        }
+        val partitionedPublisherService = PollingPublisherService(
+            outboxService,
+            messagePublisher,
+            platformTransactionManager,
+            batchSize = 10,
+            partitionCount = partitionCount,
+            workers = 2
+        )
+
+        try {
+            partitionedPublisherService.pollAndPublishAll()
+        } finally {
+            partitionedPublisherService.shutdown()
+        }
+
+        val captor = argumentCaptor<List<OutboxMessage>>()
+        verify(messagePublisher, atLeastOnce()).publishAll(captor.capture())
+        val published = captor.allValues.flatten()
+        assertThat(published).hasSize(9)
+        keys.forEach { key ->
+            assertThat(published.filter { it.partitionKey == key }.map { it.message })
+                .containsExactly("$key 1", "$key 2", "$key 3")
+        }
+        assertThat(outboxMessageRepository.count()).isZero()
+    }
+
+    @Test
+    fun `should retry a failing message later and keep publishing messages of other keys`() {
+        saveOutboxMessage("poison", "document-1", 1)
+        saveOutboxMessage("healthy", "document-2", 2)
+        doThrow(MessageRejected("broken")).whenever(messagePublisher).publish(argThat { message == "poison" })
+
+        pollingPublisherService.pollAndPublishAll()
+        pollingPublisherService.pollAndPublishAll()
+
+        verify(messagePublisher, times(1)).publish(argThat { message == "healthy" })
+        val poison = outboxMessageRepository.findAll().single()
+        assertThat(poison.message).isEqualTo("poison")
+        assertThat(poison.attempts).isEqualTo(1)
+        assertThat(poison.lastError).isEqualTo("broken")
+        assertThat(poison.nextAttemptOn).isAfter(LocalDateTime.now())
+    }
+
+    @Test
+    fun `should not count a failure of the broker connection as an attempt`() {
+        saveOutboxMessage("message", "document-1", 1)
+        doThrow(MessagePublishingFailed("Connection refused")).whenever(messagePublisher).publish(any())
+
+        assertThrows<RuntimeException> { pollingPublisherService.pollAndPublishAll() }
+
+        val message = outboxMessageRepository.findAll().single()
+        assertThat(message.attempts).isZero()
+        assertThat(message.nextAttemptOn).isNull()
+        assertThat(message.lastError).isNull()
+    }
+
+    @Test
+    fun `should move a message to the dead-letter table after the maximum number of attempts and replay it`() {
+        val poison = saveOutboxMessage("poison", "document-1", 1)
+        doThrow(MessageRejected("broken")).whenever(messagePublisher).publish(any())
+        val deadLetterPublisherService = PollingPublisherService(
+            outboxService,
+            messagePublisher,
+            platformTransactionManager,
+            deadLetterService = OutboxDeadLetterService(
+                outboxMessageRepository,
+                outboxDeadLetterRepository,
+                OutboxRetryPolicy(maxAttempts = 1)
+            )
+        )
+
+        deadLetterPublisherService.pollAndPublishAll()
+
+        assertThat(outboxMessageRepository.count()).isZero()
+        val deadLetter = outboxDeadLetterRepository.findById(poison.id).orElseThrow()
+        assertThat(deadLetter.attempts).isEqualTo(1)
+        assertThat(deadLetter.lastError).isEqualTo("broken")
+
+        assertThat(outboxDeadLetterService.replay(poison.id)).isTrue()
+
+        assertThat(outboxDeadLetterRepository.count()).isZero()
+        val replayed = outboxMessageRepository.findById(poison.id).orElseThrow()
+        assertThat(replayed.message).isEqualTo("poison")
+        assertThat(replayed.attempts).isZero()
+    }
+
+    @Test
+    fun `should recompute the partition of a replayed dead letter`() {
+        val deadLetter = outboxDeadLetterRepository.save(
+            OutboxDeadLetter(
+                id = UUID.randomUUID(),
+                message = "poison",
+                createdOn = LocalDateTime.now(),
+                partitionKey = "document-1",
+                partitionNumber = 7,
+                attempts = 1,
+                lastError = "broken"
+            )
+        )
+        val replayService = OutboxDeadLetterService(
+            outboxMessageRepository,
+            outboxDeadLetterRepository,
+            OutboxRetryPolicy(maxAttempts = 1),
+            partitionCount = 4
+        )
+
+        assertThat(replayService.replay(deadLetter.id)).isTrue()
+
+        val replayed = outboxMessageRepository.findById(deadLetter.id).orElseThrow()
+        assertThat(replayed.partitionNumber).isEqualTo(OutboxMessage.partitionOf("document-1", 4))
+    }
+
+    @Test
+    fun `should record publish metrics and failures per event type`() {
+        saveOutboxMessage("healthy", "document-1", 1)
+        outboxMessageRepository.save(
+            OutboxMessage(
+                message = """{"specversion":"1.0","id":"1","source":"application","type":"order.created"}""",
+                createdOn = LocalDateTime.now().plusNanos(2000L),
+                partitionKey = "document-2"
+            )
+        )
+        doThrow(MessageRejected("broken")).whenever(messagePublisher).publish(argThat { partitionKey == "document-2" })
+        val meterRegistry = SimpleMeterRegistry()
+        val metricsPublisherService = PollingPublisherService(
+            outboxService,
+            messagePublisher,
+            platformTransactionManager,
+            deadLetterService = outboxDeadLetterService,
+            metrics = MicrometerOutboxMetrics(
+                meterRegistry,
+                OutboxBacklogService(outboxMessageRepository, outboxDeadLetterRepository, Duration.ZERO),
+                messagePublisher
+            )
+        )
+
+        metricsPublisherService.pollAndPublishAll()
+
+        assertThat(meterRegistry.get("valtimo.outbox.publish").tag("outcome", "success").timer().count()).isEqualTo(1)
+        assertThat(meterRegistry.get("valtimo.outbox.publish").tag("outcome", "failure").timer().count()).isEqualTo(1)
+        assertThat(meterRegistry.get("valtimo.outbox.publish.batch.size").summary().totalAmount()).isEqualTo(2.0)
+        assertThat(meterRegistry.get("valtimo.outbox.publish.failures").tag("type", "order.created").counter().count())
+            .isEqualTo(1.0)
+        assertThat(meterRegistry.get("valtimo.outbox.backlog.size").gauge().value()).isEqualTo(1.0)
+        assertThat(meterRegistry.get("valtimo.outbox.backlog.retrying").gauge().value()).isEqualTo(1.0)
+        assertThat(meterRegistry.get("valtimo.outbox.backlog.oldest.age").timeGauge().value()).isGreaterThanOrEqualTo(0.0)
+    }
+
+    private fun saveOutboxMessage(message: String, partitionKey: String, order: Long): OutboxMessage {
+        return outboxMessageRepository.save(
+            OutboxMessage(
+                message = message,
+                createdOn = LocalDateTime.now().plusNanos(order * 1000L),
+                partitionKey = partitionKey,
+                partitionNumber = 0
+            )
+        )
     }
 }
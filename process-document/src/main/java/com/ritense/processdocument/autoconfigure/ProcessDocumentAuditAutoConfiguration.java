@@ -16,6 +16,7 @@
 
 package com.ritense.processdocument.autoconfigure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ritense.audit.service.AuditSearchService;
 import com.ritense.audit.service.AuditService;
 import com.ritense.authorization.AuthorizationService;
@@ -23,6 +24,8 @@ import com.ritense.document.service.impl.JsonSchemaDocumentService;
 import com.ritense.processdocument.service.ProcessDocumentAuditService;
 import com.ritense.processdocument.service.impl.CamundaProcessJsonSchemaDocumentAuditService;
 import com.ritense.processdocument.web.rest.ProcessDocumentAuditResource;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -49,9 +52,19 @@ public class ProcessDocumentAuditAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(ProcessDocumentAuditResource.class)
     public ProcessDocumentAuditResource processDocumentAuditResource(
-        ProcessDocumentAuditService processDocumentAuditService
+        ProcessDocumentAuditService processDocumentAuditService,
+        ObjectMapper objectMapper,
+        @Value("${valtimo.audit.export.timeout:PT1H}") Duration exportTimeout,
+        @Value("${valtimo.audit.export.threads:4}") int exportThreads,
+        @Value("${valtimo.audit.export.queue-capacity:16}") int exportQueueCapacity
     ) {
-        return new ProcessDocumentAuditResource(processDocumentAuditService);
+        return new ProcessDocumentAuditResource(
+            processDocumentAuditService,
+            objectMapper,
+            exportTimeout,
+            exportThreads,
+            exportQueueCapacity
+        );
     }
 
 }
\ No newline at end of file
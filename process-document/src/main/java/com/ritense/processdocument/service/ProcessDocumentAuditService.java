@@ -17,7 +17,9 @@
 package com.ritense.processdocument.service;
 
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.document.domain.Document;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -25,4 +27,16 @@ public interface ProcessDocumentAuditService {
 
     Page<AuditRecord> getAuditLog(Document.Id documentId, Pageable pageable);
 
+    AuditRecordCursorPage getAuditLog(Document.Id documentId, String cursor, int size);
+
+    /**
+     * Fails when the document does not exist, or when the current user may not view its audit log.
+     */
+    void requireAuditLogPermission(Document.Id documentId);
+
+    /**
+     * Reads the complete audit log of the document in the order in which it occurred, one audit record at a time.
+     */
+    void readAuditLog(Document.Id documentId, Consumer<AuditRecord> consumer);
+
 }
\ No newline at end of file
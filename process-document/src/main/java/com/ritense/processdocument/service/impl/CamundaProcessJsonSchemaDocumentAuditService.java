@@ -19,6 +19,7 @@ package com.ritense.processdocument.service.impl;
 import static com.ritense.document.service.JsonSchemaDocumentActionProvider.VIEW;
 
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.audit.service.AuditService;
 import com.ritense.authorization.AuthorizationContext;
 import com.ritense.authorization.AuthorizationService;
@@ -42,11 +43,27 @@ import com.ritense.valtimo.contract.event.TaskAssignedEvent;
 import com.ritense.valtimo.contract.event.TaskCompletedEvent;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public class CamundaProcessJsonSchemaDocumentAuditService implements ProcessDocumentAuditService {
 
+    private static final List<Class<? extends AuditEvent>> EVENT_TYPES = List.of(
+        JsonSchemaDocumentCreatedEvent.class,
+        JsonSchemaDocumentModifiedEvent.class,
+        TaskAssignedEvent.class,
+        TaskCompletedEvent.class,
+        ProcessStartedEvent.class,
+        ProcessEndedEvent.class,
+        DossierDocumentGeneratedEvent.class,
+        DocumentRelatedFileAddedEvent.class,
+        DocumentRelatedFileRemovedEvent.class,
+        BesluitAddedEvent.class,
+        DocumentAssigneeChangedEvent.class,
+        DocumentUnassignedEvent.class
+    );
+
     private final AuditService auditService;
     private final JsonSchemaDocumentService documentService;
 
@@ -67,21 +84,36 @@ public class CamundaProcessJsonSchemaDocumentAuditService implements ProcessDocu
         final Document.Id id,
         final Pageable pageable
     ) {
-        final List<Class<? extends AuditEvent>> eventTypes = List.of(
-            JsonSchemaDocumentCreatedEvent.class,
-            JsonSchemaDocumentModifiedEvent.class,
-            TaskAssignedEvent.class,
-            TaskCompletedEvent.class,
-            ProcessStartedEvent.class,
-            ProcessEndedEvent.class,
-            DossierDocumentGeneratedEvent.class,
-            DocumentRelatedFileAddedEvent.class,
-            DocumentRelatedFileRemovedEvent.class,
-            BesluitAddedEvent.class,
-            DocumentAssigneeChangedEvent.class,
-            DocumentUnassignedEvent.class
-        );
+        requireAuditLogPermission(id);
+        return AuthorizationContext.runWithoutAuthorization(() ->
+            auditService.findByEventAndDocumentId(EVENT_TYPES, UUID.fromString(id.toString()), pageable));
+    }
+
+    @Override
+    public AuditRecordCursorPage getAuditLog(
+        final Document.Id id,
+        final String cursor,
+        final int size
+    ) {
+        requireAuditLogPermission(id);
+        return AuthorizationContext.runWithoutAuthorization(() ->
+            auditService.findByEventAndDocumentId(EVENT_TYPES, UUID.fromString(id.toString()), cursor, size));
+    }
 
+    @Override
+    public void readAuditLog(
+        final Document.Id id,
+        final Consumer<AuditRecord> consumer
+    ) {
+        requireAuditLogPermission(id);
+        AuthorizationContext.runWithoutAuthorization(() -> {
+            auditService.readByEventAndDocumentId(EVENT_TYPES, UUID.fromString(id.toString()), consumer);
+            return null;
+        });
+    }
+
+    @Override
+    public void requireAuditLogPermission(final Document.Id id) {
         final var document = documentService.getDocumentBy(id);
         authorizationService.requirePermission(
             new EntityAuthorizationRequest<>(
@@ -90,9 +122,6 @@ public class CamundaProcessJsonSchemaDocumentAuditService implements ProcessDocu
                 document
             )
         );
-
-        return AuthorizationContext.runWithoutAuthorization(() ->
-            auditService.findByEventAndDocumentId(eventTypes, UUID.fromString(id.toString()), pageable));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2024 Ritense BV, the Netherlands.
+ *
+ * Licensed under EUPL, Version 1.2 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ritense.processdocument.web.rest;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ritense.audit.domain.AuditRecord;
+import com.ritense.valtimo.contract.json.MapperSingleton;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/**
+ * File formats of the audit log export. Every audit record is written as soon as it is read, so the export never holds
+ * more than one audit record in memory.
+ */
+public enum AuditLogExportFormat {
+
+    /**
+     * One JSON audit record per line, in the same representation as the paged audit log.
+     */
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON) {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void write(Writer writer, AuditRecord auditRecord, ObjectWriter objectWriter) throws IOException {
+            writer.write(objectWriter.writeValueAsString(auditRecord));
+            writer.write('\n');
+        }
+    },
+
+    /**
+     * One audit record per row. The audit event is written as JSON.
+     */
+    CSV("csv", MediaType.parseMediaType("text/csv")) {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("occurredOn,user,createdOn,eventType,auditEvent\r\n");
+        }
+
+        @Override
+        void write(Writer writer, AuditRecord auditRecord, ObjectWriter objectWriter) throws IOException {
+            writer.write(format(auditRecord.getMetaData().getOccurredOn()));
+            writer.write(',');
+            writer.write(escape(auditRecord.getMetaData().getUser()));
+            writer.write(',');
+            writer.write(format(auditRecord.getCreatedOn()));
+            writer.write(',');
+            writer.write(escape(auditRecord.getAuditEvent().getClass().getName()));
+            writer.write(',');
+            writer.write(escape(objectWriter.writeValueAsString(auditRecord.getAuditEvent())));
+            writer.write("\r\n");
+        }
+    };
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+        DateTimeFormatter.ofPattern(MapperSingleton.DATE_TIME_FORMAT);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    AuditLogExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public static AuditLogExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+            .filter(format -> format.extension.equals(value.toLowerCase(Locale.ROOT)))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported audit log export format: " + value));
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void write(Writer writer, AuditRecord auditRecord, ObjectWriter objectWriter) throws IOException;
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? "" : DATE_TIME_FORMATTER.format(dateTime);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+}
@@ -17,31 +17,105 @@
 package com.ritense.processdocument.web.rest;
 
 import static com.ritense.valtimo.contract.domain.ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ritense.audit.domain.AuditRecord;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.document.domain.impl.JsonSchemaDocumentId;
 import com.ritense.processdocument.service.ProcessDocumentAuditService;
 import com.ritense.valtimo.contract.annotation.SkipComponentScan;
 import com.ritense.valtimo.contract.audit.view.AuditView;
+import com.ritense.valtimo.contract.json.MapperSingleton;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @RestController
 @SkipComponentScan
 @RequestMapping(value = "/api", produces = APPLICATION_JSON_UTF8_VALUE)
-public class ProcessDocumentAuditResource {
+public class ProcessDocumentAuditResource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessDocumentAuditResource.class);
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final Duration DEFAULT_EXPORT_TIMEOUT = Duration.ofHours(1);
+    private static final int DEFAULT_EXPORT_THREADS = 4;
+    private static final int DEFAULT_EXPORT_QUEUE_CAPACITY = 16;
 
     private final ProcessDocumentAuditService processDocumentAuditService;
+    private final ObjectWriter auditRecordWriter;
+    private final Duration exportTimeout;
+    private final ThreadPoolTaskExecutor exportExecutor;
 
     public ProcessDocumentAuditResource(ProcessDocumentAuditService processDocumentAuditService) {
+        this(processDocumentAuditService, MapperSingleton.INSTANCE.get());
+    }
+
+    public ProcessDocumentAuditResource(
+        ProcessDocumentAuditService processDocumentAuditService,
+        ObjectMapper objectMapper
+    ) {
+        this(
+            processDocumentAuditService,
+            objectMapper,
+            DEFAULT_EXPORT_TIMEOUT,
+            DEFAULT_EXPORT_THREADS,
+            DEFAULT_EXPORT_QUEUE_CAPACITY
+        );
+    }
+
+    /**
+     * @param exportThreads       the number of exports that run at the same time. Every running export holds a
+     *                            database connection.
+     * @param exportQueueCapacity the number of exports that may wait for a thread. Further exports are rejected with
+     *                            503 Service Unavailable.
+     */
+    public ProcessDocumentAuditResource(
+        ProcessDocumentAuditService processDocumentAuditService,
+        ObjectMapper objectMapper,
+        Duration exportTimeout,
+        int exportThreads,
+        int exportQueueCapacity
+    ) {
         this.processDocumentAuditService = processDocumentAuditService;
+        this.auditRecordWriter = objectMapper.writerWithView(AuditView.Public.class);
+        this.exportTimeout = exportTimeout;
+        // Owned by this bean rather than exposed as an Executor bean, which would replace the application task executor
+        this.exportExecutor = new ThreadPoolTaskExecutor();
+        this.exportExecutor.setCorePoolSize(exportThreads);
+        this.exportExecutor.setMaxPoolSize(exportThreads);
+        this.exportExecutor.setQueueCapacity(exportQueueCapacity);
+        this.exportExecutor.setThreadNamePrefix("audit-log-export-");
+        this.exportExecutor.setDaemon(true);
+        this.exportExecutor.initialize();
     }
 
     @GetMapping("/v1/process-document/instance/document/{documentId}/audit")
@@ -53,4 +127,98 @@ public class ProcessDocumentAuditResource {
         return ResponseEntity.ok(processDocumentAuditService.getAuditLog(JsonSchemaDocumentId.existingId(documentId), pageable));
     }
 
+    @GetMapping("/v1/process-document/instance/document/{documentId}/audit/cursor")
+    @JsonView(AuditView.Public.class)
+    public ResponseEntity<AuditRecordCursorPage> getAuditLogPage(
+        @PathVariable UUID documentId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(
+            processDocumentAuditService.getAuditLog(JsonSchemaDocumentId.existingId(documentId), cursor, size)
+        );
+    }
+
+    @GetMapping(
+        value = "/v1/process-document/instance/document/{documentId}/audit/export",
+        produces = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE}
+    )
+    public ResponseEntity<ResponseBodyEmitter> exportAuditLog(
+        @PathVariable UUID documentId,
+        @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        final AuditLogExportFormat exportFormat = AuditLogExportFormat.fromValue(format);
+        final JsonSchemaDocumentId id = JsonSchemaDocumentId.existingId(documentId);
+        // Fail before the response is committed, so an unknown document or a denied request gets a proper status
+        processDocumentAuditService.requireAuditLogPermission(id);
+        final ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeout.toMillis());
+        try {
+            exportExecutor.execute(new DelegatingSecurityContextRunnable(() -> export(id, exportFormat, emitter)));
+        } catch (TaskRejectedException e) {
+            logger.warn("Audit log export of document {} rejected: too many exports are running", id);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .build();
+        }
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("audit-log-" + documentId + "." + exportFormat.getExtension())
+                .build()
+                .toString())
+            .body(emitter);
+    }
+
+    @Override
+    public void destroy() {
+        exportExecutor.shutdown();
+    }
+
+    private void export(JsonSchemaDocumentId id, AuditLogExportFormat exportFormat, ResponseBodyEmitter emitter) {
+        try {
+            final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new EmitterOutputStream(emitter, exportFormat.getMediaType()), StandardCharsets.UTF_8)
+            );
+            exportFormat.writeHeader(writer);
+            processDocumentAuditService.readAuditLog(id, auditRecord -> {
+                try {
+                    exportFormat.write(writer, auditRecord, auditRecordWriter);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            emitter.complete();
+        } catch (Exception e) {
+            logger.warn("Audit log export of document {} failed", id, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Sends everything written to it as chunks of the response. The writer on top of it decides the chunk size.
+     */
+    private static class EmitterOutputStream extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+        private final MediaType mediaType;
+
+        private EmitterOutputStream(ResponseBodyEmitter emitter, MediaType mediaType) {
+            this.emitter = emitter;
+            this.mediaType = mediaType;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            emitter.send(new byte[] {(byte) b}, mediaType);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > 0) {
+                emitter.send(Arrays.copyOfRange(bytes, offset, offset + length), mediaType);
+            }
+        }
+    }
+
 }
@@ -84,6 +84,12 @@ class DocumentJsonValueResolverFactory(
         )
     }
 
+    override fun createResolvers(documents: Map<String, Any>): Map<String, Function<String, Any?>> {
+        return documents.mapValues { (documentId, document) ->
+            if (document is Document) createResolver(document) else createResolver(documentId)
+        }
+    }
+
     override fun handleValues(
         processInstanceId: String,
         variableScope: VariableScope?,
@@ -60,6 +60,12 @@ class DocumentTableValueResolver(
         return AuthorizationContext.runWithoutAuthorization { createResolver(documentService.get(documentId)) }
     }
 
+    override fun createResolvers(documents: Map<String, Any>): Map<String, Function<String, Any?>> {
+        return documents.mapValues { (documentId, document) ->
+            if (document is Document) createResolver(document) else createResolver(documentId)
+        }
+    }
+
     override fun handleValues(processInstanceId: String, variableScope: VariableScope?, values: Map<String, Any?>) {
         val firstValue = values.iterator().next()
         throw NotImplementedError("Unable to handle value: {${firstValue.key} to ${firstValue.value}}")
@@ -17,19 +17,30 @@
 package com.ritense.processdocument.web.rest;
 
 import static com.ritense.valtimo.contract.domain.ValtimoMediaType.APPLICATION_JSON_UTF8_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ritense.audit.domain.AuditRecord;
 import com.ritense.audit.domain.AuditRecordBuilder;
+import com.ritense.audit.domain.AuditRecordCursorPage;
 import com.ritense.audit.domain.AuditRecordId;
 import com.ritense.audit.domain.MetaData;
 import com.ritense.audit.domain.MetaDataBuilder;
@@ -39,19 +50,28 @@ import com.ritense.processdocument.service.ProcessDocumentAuditService;
 import com.ritense.valtimo.contract.audit.AuditEvent;
 import com.ritense.valtimo.contract.json.MapperSingleton;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 @ExtendWith(SpringExtension.class)
@@ -66,13 +86,20 @@ public class ProcessDocumentAuditResourceTest extends BaseTest {
     @BeforeEach
     public void setUp() {
         processDocumentAuditService = mock(ProcessDocumentAuditService.class);
-        processDocumentAuditResource = new ProcessDocumentAuditResource(processDocumentAuditService);
+        processDocumentAuditResource = new ProcessDocumentAuditResource(
+            processDocumentAuditService, MapperSingleton.INSTANCE.get()
+        );
         mockMvc = MockMvcBuilders.standaloneSetup(processDocumentAuditResource)
             .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
-            .setMessageConverters(jacksonMessageConverter())
+            .setMessageConverters(jacksonMessageConverter(), new ByteArrayHttpMessageConverter())
             .build();
     }
 
+    @AfterEach
+    public void tearDown() {
+        processDocumentAuditResource.destroy();
+    }
+
     @Test
     public void shouldReturnMetaDataAndAuditEventWithoutOriginField() throws Exception {
         final TestEvent event = testEvent(UUID.randomUUID(), LocalDateTime.now());
@@ -96,6 +123,118 @@ public class ProcessDocumentAuditResourceTest extends BaseTest {
             .andExpect(jsonPath("$.content[0].auditEvent.origin").doesNotExist());
     }
 
+    @Test
+    public void shouldReturnAuditLogPageWithNextCursor() throws Exception {
+        final TestEvent event = testEvent(UUID.randomUUID(), LocalDateTime.now());
+        final AuditRecord auditRecord = auditRecord(event, metaData(event));
+
+        when(processDocumentAuditService.getAuditLog(any(), eq("current"), eq(1)))
+            .thenReturn(new AuditRecordCursorPage(List.of(auditRecord), "next"));
+
+        mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/cursor", UUID.randomUUID().toString())
+                    .param("cursor", "current")
+                    .param("size", "1")
+                    .accept(APPLICATION_JSON_VALUE))
+            .andDo(print())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].metaData.user").value("somebody"))
+            .andExpect(jsonPath("$.content[0].metaData.origin").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void shouldExportAuditLogAsNdjson() throws Exception {
+        final TestEvent event = testEvent(UUID.randomUUID(), LocalDateTime.now());
+        final AuditRecord auditRecord = auditRecord(event, metaData(event));
+        doAnswer(invocation -> {
+            final Consumer<AuditRecord> consumer = invocation.getArgument(1);
+            consumer.accept(auditRecord);
+            consumer.accept(auditRecord);
+            return null;
+        }).when(processDocumentAuditService).readAuditLog(any(), any());
+
+        final MvcResult result = mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/export", UUID.randomUUID().toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+        final String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"user\":\"somebody\"").doesNotContain("origin");
+    }
+
+    @Test
+    public void shouldExportAuditLogAsCsv() throws Exception {
+        final TestEvent event = testEvent(UUID.randomUUID(), LocalDateTime.now());
+        final AuditRecord auditRecord = auditRecord(event, metaData(event));
+        doAnswer(invocation -> {
+            final Consumer<AuditRecord> consumer = invocation.getArgument(1);
+            consumer.accept(auditRecord);
+            return null;
+        }).when(processDocumentAuditService).readAuditLog(any(), any());
+
+        final MvcResult result = mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/export", UUID.randomUUID().toString())
+                    .param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        final String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+        final String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("occurredOn,user,createdOn,eventType,auditEvent");
+        assertThat(lines[1]).contains(",somebody,").contains(TestEvent.class.getName()).doesNotContain("origin");
+    }
+
+    @Test
+    public void shouldNotStartExportWhenPermissionIsDenied() {
+        doThrow(new AccessDeniedException("Unauthorized"))
+            .when(processDocumentAuditService).requireAuditLogPermission(any());
+
+        assertThatThrownBy(() -> mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/export", UUID.randomUUID().toString())))
+            .hasCauseInstanceOf(AccessDeniedException.class);
+        verify(processDocumentAuditService, never()).readAuditLog(any(), any());
+    }
+
+    @Test
+    public void shouldRejectExportWhenExportsAreSaturated() throws Exception {
+        processDocumentAuditResource.destroy();
+        processDocumentAuditResource = new ProcessDocumentAuditResource(
+            processDocumentAuditService, MapperSingleton.INSTANCE.get(), Duration.ofMinutes(1), 1, 0
+        );
+        mockMvc = MockMvcBuilders.standaloneSetup(processDocumentAuditResource).build();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(processDocumentAuditService).readAuditLog(any(), any());
+
+        mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/export", UUID.randomUUID().toString()))
+            .andExpect(request().asyncStarted());
+        started.await();
+        mockMvc.perform(
+                get("/api/v1/process-document/instance/document/{documentId}/audit/export", UUID.randomUUID().toString()))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        release.countDown();
+    }
+
     private AuditRecord auditRecord(AuditEvent event, MetaData metaData) {
         return new AuditRecordBuilder()
             .id(AuditRecordId.newId(event.getId()))
@@ -85,6 +85,21 @@ interface ValueResolverFactory {
     fun createResolver(documentId: String)
         : Function<String, Any?>
 
+    /**
+     * This creates requestedValue resolvers for many documents at once, for example for all rows of a case list.
+     *
+     * The caller passes the documents it already loaded, so implementations that resolve against the document itself
+     * can use them instead of loading the documents again. Other implementations can override this method to load
+     * their context of all documents in one pass. By default, [createResolver] is called for every document.
+     *
+     * @param documents The documents the values belong to, by documentId
+     *
+     * @return a map where the key is the documentId, and the value the resolver for that document.
+     */
+    fun createResolvers(documents: Map<String, Any>): Map<String, Function<String, Any?>> {
+        return documents.keys.associateWith { documentId -> createResolver(documentId) }
+    }
+
     /**
      * @param processInstanceId The Camunda processInstanceId these values belong to
      * @param variableScope An implementation of VariableScope.
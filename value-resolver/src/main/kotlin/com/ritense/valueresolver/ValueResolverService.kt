@@ -71,6 +71,19 @@ interface ValueResolverService {
         requestedValues: Collection<String>
     ): Map<String, Any?>
 
+    /**
+     * Resolves the same requestedValues for many documents at once. Every resolver factory is asked once for the
+     * resolvers of all documents, so it can load what it needs in bulk.
+     *
+     * @param documents The already loaded documents these values belong to, by documentInstanceId
+     * @param requestedValues The requestedValues that should be resolved into values.
+     * @return A map where the key is the documentInstanceId, and the value the map of resolved values of that document.
+     */
+    fun resolveValues(
+        documents: Map<String, Any>,
+        requestedValues: Collection<String>
+    ): Map<String, Map<String, Any?>>
+
     /**
      * Handle values. Usually by storing them somewhere.
      *
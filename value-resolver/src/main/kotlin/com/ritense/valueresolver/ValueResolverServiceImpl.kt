@@ -115,6 +115,27 @@ open class ValueResolverServiceImpl(
         }.flatten().toMap()
     }
 
+    override fun resolveValues(
+        documents: Map<String, Any>,
+        requestedValues: Collection<String>
+    ): Map<String, Map<String, Any?>> {
+        val resolvedValues = documents.keys.associateWith { mutableMapOf<String, Any?>() }
+        if (documents.isEmpty()) {
+            return resolvedValues
+        }
+        toResolverFactoryMap(requestedValues).forEach { (resolverFactory, requestedValues) ->
+            val resolvers = resolverFactory.createResolvers(documents)
+            resolvedValues.forEach { (documentInstanceId, values) ->
+                val resolver = resolvers[documentInstanceId]
+                    ?: resolverFactory.createResolver(documentInstanceId)
+                requestedValues.forEach { requestedValue ->
+                    values[requestedValue] = resolver.apply(trimPrefix(requestedValue))
+                }
+            }
+        }
+        return resolvedValues
+    }
+
     /**
      * Handle values. Usually by storing them somewhere.
      *
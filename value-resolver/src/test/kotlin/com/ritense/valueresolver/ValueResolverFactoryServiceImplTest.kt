@@ -85,6 +85,23 @@ internal class ValueResolverFactoryServiceImplTest {
         )
     }
 
+    @Test
+    fun `Should resolve requested values for many documents`() {
+        val firstDocumentId = UUID.randomUUID().toString()
+        val secondDocumentId = UUID.randomUUID().toString()
+
+        val resolvedValues = resolverService.resolveValues(
+            mapOf(firstDocumentId to Any(), secondDocumentId to Any()),
+            listOf("fixedValue", "other")
+        )
+
+        assertThat(resolvedValues).containsOnlyKeys(firstDocumentId, secondDocumentId)
+        assertThat(resolvedValues[firstDocumentId]).containsExactlyInAnyOrderEntriesOf(
+            mapOf("fixedValue" to "fixedValue", "other" to "other")
+        )
+        assertThat(resolvedValues[secondDocumentId]).isEqualTo(resolvedValues[firstDocumentId])
+    }
+
     @Test
     @Throws(RuntimeException::class)
     fun `Should throw exception on unknown prefix`() {